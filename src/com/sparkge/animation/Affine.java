@@ -0,0 +1,63 @@
+/**
+ * @description 3x4 affine matrix helpers over flat float arrays, used for joint transforms
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.animation;
+
+/**
+ * A matrix is 12 consecutive floats: the top three rows of a row-major 4x4 matrix whose bottom row is 0 0 0 1.
+ */
+final class Affine {
+
+    static final int FLOATS = 12;
+
+    private Affine() {
+    }
+
+    /**
+     * @description writes translation * rotation * scale
+     */
+    static void fromTrs(float tx, float ty, float tz, float qx, float qy, float qz, float qw,
+                        float sx, float sy, float sz, float[] out, int o) {
+        float xx = qx * qx, yy = qy * qy, zz = qz * qz;
+        float xy = qx * qy, xz = qx * qz, yz = qy * qz;
+        float wx = qw * qx, wy = qw * qy, wz = qw * qz;
+        out[o] = (1 - 2 * (yy + zz)) * sx;
+        out[o + 1] = 2 * (xy - wz) * sy;
+        out[o + 2] = 2 * (xz + wy) * sz;
+        out[o + 3] = tx;
+        out[o + 4] = 2 * (xy + wz) * sx;
+        out[o + 5] = (1 - 2 * (xx + zz)) * sy;
+        out[o + 6] = 2 * (yz - wx) * sz;
+        out[o + 7] = ty;
+        out[o + 8] = 2 * (xz - wy) * sx;
+        out[o + 9] = 2 * (yz + wx) * sy;
+        out[o + 10] = (1 - 2 * (xx + yy)) * sz;
+        out[o + 11] = tz;
+    }
+
+    /**
+     * @description writes a * b; out may not overlap a or b
+     */
+    static void mul(float[] a, int ao, float[] b, int bo, float[] out, int o) {
+        for (int row = 0; row < 3; row++) {
+            float r0 = a[ao + row * 4], r1 = a[ao + row * 4 + 1], r2 = a[ao + row * 4 + 2], r3 = a[ao + row * 4 + 3];
+            out[o + row * 4] = r0 * b[bo] + r1 * b[bo + 4] + r2 * b[bo + 8];
+            out[o + row * 4 + 1] = r0 * b[bo + 1] + r1 * b[bo + 5] + r2 * b[bo + 9];
+            out[o + row * 4 + 2] = r0 * b[bo + 2] + r1 * b[bo + 6] + r2 * b[bo + 10];
+            out[o + row * 4 + 3] = r0 * b[bo + 3] + r1 * b[bo + 7] + r2 * b[bo + 11] + r3;
+        }
+    }
+
+    static void setIdentity(float[] out, int o) {
+        for (int i = 0; i < FLOATS; i++) {
+            out[o + i] = 0;
+        }
+        out[o] = 1;
+        out[o + 5] = 1;
+        out[o + 10] = 1;
+    }
+}
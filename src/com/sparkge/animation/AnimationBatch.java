@@ -0,0 +1,272 @@
+/**
+ * @description samples, blends and skins every animated skeleton in one pass per frame
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.animation;
+
+import com.sparkge.core.JobSystem;
+
+/**
+ * Each instance plays a primary clip and can blend towards a secondary clip, e.g. for cross fades. update()
+ * samples both into column (structure of arrays) poses, blends them with nlerp, concatenates joints down the
+ * hierarchy and multiplies in the inverse bind matrices, leaving a skinning palette of 3x4 matrices ready to
+ * upload with a PaletteBuffer. Instances are independent, so they are split across the JobSystem.
+ *
+ * Instance i's palette starts at matrix i * maxJoints, which the shader gets as its palette offset. Instance
+ * indices never move while the instance is alive.
+ */
+public class AnimationBatch {
+
+    private static final int MIN_BATCH = 8;
+
+    private final int maxInstances;
+    private final int maxJoints;
+
+    private final Skeleton[] skeletons;
+    private final AnimationClip[] primaryClips, secondaryClips;
+    private final float[] primaryTimes, secondaryTimes;
+    private final boolean[] primaryLoops, secondaryLoops;
+    private final float[] weights;
+    private final float[] speeds;
+    private final int[] freeList;
+    private int freeCount;
+    private int highWater;
+
+    private final Pose primary;
+    private final Pose secondary;
+    private final float[] model;
+    private final float[] palette;
+    private float step;
+
+    private final JobSystem.RangeTask updateTask = this::updateRange;
+
+    /**
+     * @description constructor
+     * @param maxInstances maximum number of animated skeletons
+     * @param maxJoints maximum joints per skeleton
+     */
+    public AnimationBatch(int maxInstances, int maxJoints) {
+        this.maxInstances = maxInstances;
+        this.maxJoints = maxJoints;
+        this.skeletons = new Skeleton[maxInstances];
+        this.primaryClips = new AnimationClip[maxInstances];
+        this.secondaryClips = new AnimationClip[maxInstances];
+        this.primaryTimes = new float[maxInstances];
+        this.secondaryTimes = new float[maxInstances];
+        this.primaryLoops = new boolean[maxInstances];
+        this.secondaryLoops = new boolean[maxInstances];
+        this.weights = new float[maxInstances];
+        this.speeds = new float[maxInstances];
+        this.freeList = new int[maxInstances];
+        for (int i = 0; i < maxInstances; i++) {
+            this.freeList[i] = maxInstances - 1 - i;
+        }
+        this.freeCount = maxInstances;
+
+        int joints = maxInstances * maxJoints;
+        this.primary = new Pose(joints);
+        this.secondary = new Pose(joints);
+        this.model = new float[joints * Affine.FLOATS];
+        this.palette = new float[joints * Affine.FLOATS];
+    }
+
+    /**
+     * @description adds an instance in its bind pose
+     * @param skeleton the instance's skeleton, at most maxJoints joints
+     * @return instance index, or -1 if the batch is full
+     */
+    public int add(Skeleton skeleton) {
+        if (skeleton.getJointCount() > this.maxJoints) {
+            throw new IllegalArgumentException("Skeleton has " + skeleton.getJointCount() + " joints, the batch allows "
+                    + this.maxJoints);
+        }
+        if (this.freeCount == 0) {
+            return -1;
+        }
+        int i = this.freeList[--this.freeCount];
+        this.skeletons[i] = skeleton;
+        this.primaryClips[i] = null;
+        this.secondaryClips[i] = null;
+        this.weights[i] = 0;
+        this.speeds[i] = 1;
+        this.highWater = Math.max(this.highWater, i + 1);
+        return i;
+    }
+
+    /**
+     * @description removes an instance
+     * @param instance instance index
+     */
+    public void remove(int instance) {
+        if (this.skeletons[instance] != null) {
+            this.skeletons[instance] = null;
+            this.primaryClips[instance] = null;
+            this.secondaryClips[instance] = null;
+            this.freeList[this.freeCount++] = instance;
+        }
+    }
+
+    /**
+     * @description sets the primary clip
+     * @param instance instance index
+     * @param clip the clip, or null for the bind pose
+     * @param time start time in seconds
+     * @param loop wrap around at the end rather than hold the last frame
+     */
+    public void play(int instance, AnimationClip clip, float time, boolean loop) {
+        this.primaryClips[instance] = clip;
+        this.primaryTimes[instance] = time;
+        this.primaryLoops[instance] = loop;
+    }
+
+    /**
+     * @description sets the secondary clip blended over the primary
+     * @param instance instance index
+     * @param clip the clip, or null for none
+     * @param time start time in seconds
+     * @param loop wrap around at the end rather than hold the last frame
+     */
+    public void blendTo(int instance, AnimationClip clip, float time, boolean loop) {
+        this.secondaryClips[instance] = clip;
+        this.secondaryTimes[instance] = time;
+        this.secondaryLoops[instance] = loop;
+    }
+
+    /**
+     * @description sets how much of the secondary clip is used
+     * @param instance instance index
+     * @param weight 0 for only the primary clip, 1 for only the secondary
+     */
+    public void setBlendWeight(int instance, float weight) {
+        this.weights[instance] = weight;
+    }
+
+    /**
+     * @description sets the playback rate of both clips
+     * @param instance instance index
+     * @param speed 1 for normal speed
+     */
+    public void setSpeed(int instance, float speed) {
+        this.speeds[instance] = speed;
+    }
+
+    /**
+     * @description advances every instance and rebuilds the palette
+     * @param deltaSeconds elapsed time
+     */
+    public void update(float deltaSeconds) {
+        this.step = deltaSeconds;
+        JobSystem.getDefault().parallelFor(this.highWater, MIN_BATCH, this.updateTask);
+    }
+
+    /**
+     * @description getter for the skinning palette, 12 floats per matrix
+     * @return palette
+     */
+    public float[] getPalette() {
+        return this.palette;
+    }
+
+    /**
+     * @description getter for the number of palette floats that can be in use, for uploading
+     * @return float count
+     */
+    public int getPaletteLength() {
+        return this.highWater * this.maxJoints * Affine.FLOATS;
+    }
+
+    /**
+     * @description getter for the first palette matrix of an instance, passed to the skinning shader
+     * @param instance instance index
+     * @return matrix offset
+     */
+    public int getPaletteOffset(int instance) {
+        return instance * this.maxJoints;
+    }
+
+    public float getTime(int instance) {
+        return this.primaryTimes[instance];
+    }
+
+    public int getMaxInstances() {
+        return this.maxInstances;
+    }
+
+    public int getMaxJoints() {
+        return this.maxJoints;
+    }
+
+    private void updateRange(int start, int end) {
+        for (int instance = start; instance < end; instance++) {
+            Skeleton skeleton = this.skeletons[instance];
+            if (skeleton == null) {
+                continue;
+            }
+            float dt = this.step * this.speeds[instance];
+            int base = instance * this.maxJoints;
+            int joints = skeleton.getJointCount();
+
+            AnimationClip clip = this.primaryClips[instance];
+            if (clip != null) {
+                this.primaryTimes[instance] = advance(this.primaryTimes[instance], dt, clip, this.primaryLoops[instance]);
+                clip.sample(skeleton, this.primaryTimes[instance], this.primary, base);
+            } else {
+                float[] bind = skeleton.getBindPose();
+                for (int joint = 0; joint < joints; joint++) {
+                    AnimationClip.setBindPose(bind, joint, this.primary, base + joint);
+                }
+            }
+
+            AnimationClip blend = this.secondaryClips[instance];
+            float weight = this.weights[instance];
+            if (blend != null) {
+                this.secondaryTimes[instance] = advance(this.secondaryTimes[instance], dt, blend,
+                        this.secondaryLoops[instance]);
+                if (weight > 0) {
+                    blend.sample(skeleton, this.secondaryTimes[instance], this.secondary, base);
+                    this.primary.blend(this.secondary, base, base + joints, Math.min(weight, 1));
+                }
+            }
+
+            this.skin(skeleton, base);
+        }
+    }
+
+    /**
+     * @description concatenates local transforms down the hierarchy and applies the inverse bind matrices
+     */
+    private void skin(Skeleton skeleton, int base) {
+        Pose pose = this.primary;
+        int[] parents = skeleton.getParents();
+        float[] inverseBind = skeleton.getInverseBind();
+        float[] palette = this.palette;
+        float[] model = this.model;
+        for (int joint = 0; joint < parents.length; joint++) {
+            int i = base + joint;
+            int o = i * Affine.FLOATS;
+            int parent = parents[joint];
+            // build the local matrix in the palette slot, it is overwritten below
+            Affine.fromTrs(pose.tx[i], pose.ty[i], pose.tz[i], pose.qx[i], pose.qy[i], pose.qz[i], pose.qw[i],
+                    pose.sx[i], pose.sy[i], pose.sz[i], parent < 0 ? model : palette, o);
+            if (parent >= 0) {
+                Affine.mul(model, (base + parent) * Affine.FLOATS, palette, o, model, o);
+            }
+            Affine.mul(model, o, inverseBind, joint * Affine.FLOATS, palette, o);
+        }
+    }
+
+    private static float advance(float time, float dt, AnimationClip clip, boolean loop) {
+        time += dt;
+        float duration = clip.getDuration();
+        if (loop && duration > 0) {
+            time %= duration;
+            if (time < 0) {
+                time += duration;
+            }
+        }
+        return time;
+    }
+}
@@ -0,0 +1,289 @@
+/**
+ * @description a compressed skeletal animation
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.animation;
+
+/**
+ * Every track is resampled at SAMPLE_RATE when the clip is built, so finding the keys around a time is a
+ * multiply instead of a search. Tracks are then compressed:
+ *  - a joint channel (translation, rotation or scale) that never changes keeps one key, or none at all if the
+ *    clip doesn't animate it, in which case the skeleton's bind pose is used
+ *  - translation and scale components are quantized to 16 bits within each track's own range
+ *  - rotation components are quantized to 16 bits in [-1, 1], kept in one hemisphere so neighbouring keys
+ *    interpolate along the short arc
+ * which stores an animated joint in at most 20 bytes per key instead of 40.
+ */
+public class AnimationClip {
+
+    public static final float SAMPLE_RATE = 30;
+
+    private static final int TRANSLATION = 0;
+    private static final int ROTATION = 1;
+    private static final int SCALE = 2;
+    private static final float CONSTANT_TOLERANCE = 1e-5f;
+
+    private final String name;
+    private final float duration;
+    private final int frameCount;
+    private final int jointCount;
+
+    // per joint and channel: first key in keys and the key count, 0, 1 or frameCount
+    private final int[] offsets;
+    private final int[] counts;
+    // per joint and channel, per component: dequantization minimum and step
+    private final float[] minimums;
+    private final float[] steps;
+    private final short[] keys;
+
+    /**
+     * @description constructor, compresses tracks that were sampled at SAMPLE_RATE
+     * @param name clip name
+     * @param duration length in seconds
+     * @param translations per joint, frameCount * 3 floats, or null if the clip doesn't move the joint
+     * @param rotations per joint, frameCount * 4 floats (x, y, z, w), or null
+     * @param scales per joint, frameCount * 3 floats, or null
+     */
+    public AnimationClip(String name, float duration, float[][] translations, float[][] rotations, float[][] scales) {
+        this.name = name;
+        this.duration = duration;
+        this.frameCount = getFrameCount(duration);
+        this.jointCount = translations.length;
+        this.offsets = new int[this.jointCount * 3];
+        this.counts = new int[this.jointCount * 3];
+        this.minimums = new float[this.jointCount * 3 * 4];
+        this.steps = new float[this.jointCount * 3 * 4];
+
+        int size = 0;
+        for (int joint = 0; joint < this.jointCount; joint++) {
+            float[][] channels = {translations[joint], rotations[joint], scales[joint]};
+            for (int channel = 0; channel < 3; channel++) {
+                int track = joint * 3 + channel;
+                int width = channel == ROTATION ? 4 : 3;
+                float[] values = channels[channel];
+                if (values != null && values.length != this.frameCount * width) {
+                    throw new IllegalArgumentException("Track " + track + " of " + name + " has the wrong key count");
+                }
+                this.offsets[track] = size;
+                this.counts[track] = values == null ? 0 : isConstant(values, width) ? 1 : this.frameCount;
+                size += this.counts[track] * width;
+            }
+        }
+
+        this.keys = new short[size];
+        for (int joint = 0; joint < this.jointCount; joint++) {
+            float[][] channels = {translations[joint], rotations[joint], scales[joint]};
+            for (int channel = 0; channel < 3; channel++) {
+                int track = joint * 3 + channel;
+                if (this.counts[track] > 0) {
+                    if (channel == ROTATION) {
+                        this.quantizeRotations(track, channels[channel]);
+                    } else {
+                        this.quantizeVectors(track, channels[channel]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @description getter for the number of keys a track of a clip this long must have
+     * @param duration clip length in seconds
+     * @return key count
+     */
+    public static int getFrameCount(float duration) {
+        return (int) Math.ceil(duration * SAMPLE_RATE) + 1;
+    }
+
+    /**
+     * @description samples every joint of the clip into a pose; joints the clip doesn't animate get the bind pose
+     * @param skeleton the skeleton the clip was built for
+     * @param time time in seconds, clamped to the clip
+     * @param pose the pose columns to write
+     * @param base index of the instance's first joint in the columns
+     */
+    void sample(Skeleton skeleton, float time, Pose pose, int base) {
+        float frame = time * SAMPLE_RATE;
+        int key = (int) frame;
+        float u;
+        if (frame <= 0) {
+            key = 0;
+            u = 0;
+        } else if (key >= this.frameCount - 1) {
+            key = this.frameCount - 1;
+            u = 0;
+        } else {
+            u = frame - key;
+        }
+        int next = Math.min(key + 1, this.frameCount - 1);
+        float[] bind = skeleton.getBindPose();
+        int joints = Math.min(this.jointCount, skeleton.getJointCount());
+
+        for (int joint = 0; joint < joints; joint++) {
+            int i = base + joint;
+            int b = joint * Skeleton.TRS_FLOATS;
+
+            int track = joint * 3 + TRANSLATION;
+            int count = this.counts[track];
+            if (count == 0) {
+                pose.tx[i] = bind[b];
+                pose.ty[i] = bind[b + 1];
+                pose.tz[i] = bind[b + 2];
+            } else {
+                int k0 = this.offsets[track] + (count == 1 ? 0 : key * 3);
+                int k1 = this.offsets[track] + (count == 1 ? 0 : next * 3);
+                int m = track * 4;
+                pose.tx[i] = this.vector(k0, k1, m, u);
+                pose.ty[i] = this.vector(k0 + 1, k1 + 1, m + 1, u);
+                pose.tz[i] = this.vector(k0 + 2, k1 + 2, m + 2, u);
+            }
+
+            track = joint * 3 + ROTATION;
+            count = this.counts[track];
+            if (count == 0) {
+                pose.qx[i] = bind[b + 3];
+                pose.qy[i] = bind[b + 4];
+                pose.qz[i] = bind[b + 5];
+                pose.qw[i] = bind[b + 6];
+            } else {
+                int k0 = this.offsets[track] + (count == 1 ? 0 : key * 4);
+                int k1 = this.offsets[track] + (count == 1 ? 0 : next * 4);
+                // keys are stored in one hemisphere, so nlerp needs no sign check here
+                float x = this.rotation(k0, k1, u);
+                float y = this.rotation(k0 + 1, k1 + 1, u);
+                float z = this.rotation(k0 + 2, k1 + 2, u);
+                float w = this.rotation(k0 + 3, k1 + 3, u);
+                float inverse = 1.0f / (float) Math.sqrt(x * x + y * y + z * z + w * w);
+                pose.qx[i] = x * inverse;
+                pose.qy[i] = y * inverse;
+                pose.qz[i] = z * inverse;
+                pose.qw[i] = w * inverse;
+            }
+
+            track = joint * 3 + SCALE;
+            count = this.counts[track];
+            if (count == 0) {
+                pose.sx[i] = bind[b + 7];
+                pose.sy[i] = bind[b + 8];
+                pose.sz[i] = bind[b + 9];
+            } else {
+                int k0 = this.offsets[track] + (count == 1 ? 0 : key * 3);
+                int k1 = this.offsets[track] + (count == 1 ? 0 : next * 3);
+                int m = track * 4;
+                pose.sx[i] = this.vector(k0, k1, m, u);
+                pose.sy[i] = this.vector(k0 + 1, k1 + 1, m + 1, u);
+                pose.sz[i] = this.vector(k0 + 2, k1 + 2, m + 2, u);
+            }
+        }
+        for (int joint = joints; joint < skeleton.getJointCount(); joint++) {
+            setBindPose(bind, joint, pose, base + joint);
+        }
+    }
+
+    /**
+     * @description writes a skeleton's bind pose for one joint
+     */
+    static void setBindPose(float[] bind, int joint, Pose pose, int i) {
+        int b = joint * Skeleton.TRS_FLOATS;
+        pose.tx[i] = bind[b];
+        pose.ty[i] = bind[b + 1];
+        pose.tz[i] = bind[b + 2];
+        pose.qx[i] = bind[b + 3];
+        pose.qy[i] = bind[b + 4];
+        pose.qz[i] = bind[b + 5];
+        pose.qw[i] = bind[b + 6];
+        pose.sx[i] = bind[b + 7];
+        pose.sy[i] = bind[b + 8];
+        pose.sz[i] = bind[b + 9];
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @description getter for the clip length
+     * @return length in seconds
+     */
+    public float getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * @description getter for the size of the compressed keys
+     * @return size in bytes
+     */
+    public int getCompressedBytes() {
+        return this.keys.length * Short.BYTES;
+    }
+
+    /**
+     * @description getter for the size the keys would take as uncompressed floats
+     * @return size in bytes
+     */
+    public int getUncompressedBytes() {
+        return this.jointCount * this.frameCount * Skeleton.TRS_FLOATS * Float.BYTES;
+    }
+
+    private float vector(int k0, int k1, int m, float u) {
+        float a = this.minimums[m] + (this.keys[k0] & 0xFFFF) * this.steps[m];
+        float b = this.minimums[m] + (this.keys[k1] & 0xFFFF) * this.steps[m];
+        return a + (b - a) * u;
+    }
+
+    private float rotation(int k0, int k1, float u) {
+        float a = this.keys[k0];
+        float b = this.keys[k1];
+        return (a + (b - a) * u) * (1.0f / Short.MAX_VALUE);
+    }
+
+    private void quantizeVectors(int track, float[] values) {
+        int count = this.counts[track];
+        for (int c = 0; c < 3; c++) {
+            float min = Float.MAX_VALUE, max = -Float.MAX_VALUE;
+            for (int k = 0; k < count; k++) {
+                min = Math.min(min, values[k * 3 + c]);
+                max = Math.max(max, values[k * 3 + c]);
+            }
+            float step = max > min ? (max - min) / 0xFFFF : 0;
+            this.minimums[track * 4 + c] = min;
+            this.steps[track * 4 + c] = step;
+            for (int k = 0; k < count; k++) {
+                int q = step > 0 ? Math.round((values[k * 3 + c] - min) / step) : 0;
+                this.keys[this.offsets[track] + k * 3 + c] = (short) q;
+            }
+        }
+    }
+
+    private void quantizeRotations(int track, float[] values) {
+        int count = this.counts[track];
+        float sign = 1;
+        for (int k = 0; k < count; k++) {
+            float x = values[k * 4], y = values[k * 4 + 1], z = values[k * 4 + 2], w = values[k * 4 + 3];
+            float inverse = 1.0f / (float) Math.sqrt(x * x + y * y + z * z + w * w);
+            if (k > 0) {
+                int p = this.offsets[track] + (k - 1) * 4;
+                float dot = this.keys[p] * x + this.keys[p + 1] * y + this.keys[p + 2] * z + this.keys[p + 3] * w;
+                sign = dot < 0 ? -1 : 1;
+            }
+            float scale = inverse * sign * Short.MAX_VALUE;
+            int o = this.offsets[track] + k * 4;
+            this.keys[o] = (short) Math.round(x * scale);
+            this.keys[o + 1] = (short) Math.round(y * scale);
+            this.keys[o + 2] = (short) Math.round(z * scale);
+            this.keys[o + 3] = (short) Math.round(w * scale);
+        }
+    }
+
+    private static boolean isConstant(float[] values, int width) {
+        for (int i = width; i < values.length; i++) {
+            if (Math.abs(values[i] - values[i % width]) > CONSTANT_TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * @description imports skeletons and animation clips with Assimp
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.animation;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.assimp.*;
+import org.lwjgl.system.MemoryStack;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.lwjgl.assimp.Assimp.*;
+
+/**
+ * Every node of the scene becomes a joint, in depth first order so parents come before children. Joints that
+ * are mesh bones get the bone's offset matrix as their inverse bind matrix; other nodes get the identity. A
+ * mesh's bone weights should therefore be remapped to skeleton joint indices by bone name.
+ *
+ * Keys are resampled at AnimationClip.SAMPLE_RATE, interpolating linearly (nlerp for rotations) between the
+ * source keys, and then compressed by the clip.
+ */
+public class AnimationLoader {
+
+    private AnimationLoader() {
+    }
+
+    /**
+     * @description imports a model's skeleton and clips
+     * @param file any format Assimp reads, e.g. glTF, FBX, COLLADA
+     * @return the skeleton and clips
+     * @throws IOException if the file cannot be imported
+     */
+    public static AnimationSet load(Path file) throws IOException {
+        AIScene scene = aiImportFile(file.toString(), aiProcess_Triangulate | aiProcess_LimitBoneWeights);
+        if (scene == null || scene.mRootNode() == null) {
+            throw new IOException("Failed to import " + file + ": " + aiGetErrorString());
+        }
+        try {
+            Map<String, float[]> offsets = new HashMap<>();
+            PointerBuffer meshes = scene.mMeshes();
+            for (int m = 0; m < scene.mNumMeshes(); m++) {
+                AIMesh mesh = AIMesh.create(meshes.get(m));
+                PointerBuffer bones = mesh.mBones();
+                for (int b = 0; b < mesh.mNumBones(); b++) {
+                    AIBone bone = AIBone.create(bones.get(b));
+                    offsets.put(bone.mName().dataString(), toAffine(bone.mOffsetMatrix()));
+                }
+            }
+
+            List<String> names = new ArrayList<>();
+            List<Integer> parents = new ArrayList<>();
+            List<float[]> bindPoses = new ArrayList<>();
+            addNode(scene.mRootNode(), -1, names, parents, bindPoses);
+
+            int joints = names.size();
+            int[] parentArray = new int[joints];
+            float[] bindPose = new float[joints * Skeleton.TRS_FLOATS];
+            float[] inverseBind = new float[joints * Affine.FLOATS];
+            for (int j = 0; j < joints; j++) {
+                parentArray[j] = parents.get(j);
+                System.arraycopy(bindPoses.get(j), 0, bindPose, j * Skeleton.TRS_FLOATS, Skeleton.TRS_FLOATS);
+                float[] offset = offsets.get(names.get(j));
+                if (offset != null) {
+                    System.arraycopy(offset, 0, inverseBind, j * Affine.FLOATS, Affine.FLOATS);
+                } else {
+                    Affine.setIdentity(inverseBind, j * Affine.FLOATS);
+                }
+            }
+            Skeleton skeleton = new Skeleton(names.toArray(new String[0]), parentArray, bindPose, inverseBind);
+
+            AnimationClip[] clips = new AnimationClip[scene.mNumAnimations()];
+            PointerBuffer animations = scene.mAnimations();
+            for (int a = 0; a < clips.length; a++) {
+                clips[a] = loadClip(AIAnimation.create(animations.get(a)), skeleton, a);
+            }
+            return new AnimationSet(skeleton, clips);
+        } finally {
+            aiReleaseImport(scene);
+        }
+    }
+
+    private static void addNode(AINode node, int parent, List<String> names, List<Integer> parents,
+                                List<float[]> bindPoses) {
+        int index = names.size();
+        names.add(node.mName().dataString());
+        parents.add(parent);
+        float[] trs = new float[Skeleton.TRS_FLOATS];
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            AIVector3D scaling = AIVector3D.mallocStack(stack);
+            AIQuaternion rotation = AIQuaternion.mallocStack(stack);
+            AIVector3D position = AIVector3D.mallocStack(stack);
+            aiDecomposeMatrix(node.mTransformation(), scaling, rotation, position);
+            trs[0] = position.x();
+            trs[1] = position.y();
+            trs[2] = position.z();
+            trs[3] = rotation.x();
+            trs[4] = rotation.y();
+            trs[5] = rotation.z();
+            trs[6] = rotation.w();
+            trs[7] = scaling.x();
+            trs[8] = scaling.y();
+            trs[9] = scaling.z();
+        }
+        bindPoses.add(trs);
+        PointerBuffer children = node.mChildren();
+        for (int c = 0; c < node.mNumChildren(); c++) {
+            addNode(AINode.create(children.get(c)), index, names, parents, bindPoses);
+        }
+    }
+
+    private static AnimationClip loadClip(AIAnimation animation, Skeleton skeleton, int index) {
+        double ticksPerSecond = animation.mTicksPerSecond() > 0 ? animation.mTicksPerSecond() : 25;
+        float duration = (float) (animation.mDuration() / ticksPerSecond);
+        int frames = AnimationClip.getFrameCount(duration);
+        int joints = skeleton.getJointCount();
+        float[][] translations = new float[joints][];
+        float[][] rotations = new float[joints][];
+        float[][] scales = new float[joints][];
+
+        PointerBuffer channels = animation.mChannels();
+        for (int c = 0; c < animation.mNumChannels(); c++) {
+            AINodeAnim channel = AINodeAnim.create(channels.get(c));
+            int joint = skeleton.findJoint(channel.mNodeName().dataString());
+            if (joint < 0) {
+                continue;
+            }
+            translations[joint] = resampleVectors(channel.mPositionKeys(), channel.mNumPositionKeys(), frames,
+                    ticksPerSecond);
+            rotations[joint] = resampleRotations(channel.mRotationKeys(), channel.mNumRotationKeys(), frames,
+                    ticksPerSecond);
+            scales[joint] = resampleVectors(channel.mScalingKeys(), channel.mNumScalingKeys(), frames, ticksPerSecond);
+        }
+        String name = animation.mName().dataString();
+        return new AnimationClip(name.isEmpty() ? "clip" + index : name, duration, translations, rotations, scales);
+    }
+
+    private static float[] resampleVectors(AIVectorKey.Buffer keys, int count, int frames, double ticksPerSecond) {
+        if (count == 0) {
+            return null;
+        }
+        float[] out = new float[frames * 3];
+        int k = 0;
+        for (int f = 0; f < frames; f++) {
+            double tick = f / AnimationClip.SAMPLE_RATE * ticksPerSecond;
+            while (k < count - 2 && keys.get(k + 1).mTime() <= tick) {
+                k++;
+            }
+            AIVectorKey a = keys.get(k);
+            AIVectorKey b = keys.get(Math.min(k + 1, count - 1));
+            float u = interpolation(a.mTime(), b.mTime(), tick);
+            out[f * 3] = a.mValue().x() + (b.mValue().x() - a.mValue().x()) * u;
+            out[f * 3 + 1] = a.mValue().y() + (b.mValue().y() - a.mValue().y()) * u;
+            out[f * 3 + 2] = a.mValue().z() + (b.mValue().z() - a.mValue().z()) * u;
+        }
+        return out;
+    }
+
+    private static float[] resampleRotations(AIQuatKey.Buffer keys, int count, int frames, double ticksPerSecond) {
+        if (count == 0) {
+            return null;
+        }
+        float[] out = new float[frames * 4];
+        int k = 0;
+        for (int f = 0; f < frames; f++) {
+            double tick = f / AnimationClip.SAMPLE_RATE * ticksPerSecond;
+            while (k < count - 2 && keys.get(k + 1).mTime() <= tick) {
+                k++;
+            }
+            AIQuaternion a = keys.get(k).mValue();
+            AIQuaternion b = keys.get(Math.min(k + 1, count - 1)).mValue();
+            float u = interpolation(keys.get(k).mTime(), keys.get(Math.min(k + 1, count - 1)).mTime(), tick);
+            float sign = a.x() * b.x() + a.y() * b.y() + a.z() * b.z() + a.w() * b.w() < 0 ? -1 : 1;
+            float x = a.x() + (sign * b.x() - a.x()) * u;
+            float y = a.y() + (sign * b.y() - a.y()) * u;
+            float z = a.z() + (sign * b.z() - a.z()) * u;
+            float w = a.w() + (sign * b.w() - a.w()) * u;
+            float inverse = 1.0f / (float) Math.sqrt(x * x + y * y + z * z + w * w);
+            out[f * 4] = x * inverse;
+            out[f * 4 + 1] = y * inverse;
+            out[f * 4 + 2] = z * inverse;
+            out[f * 4 + 3] = w * inverse;
+        }
+        return out;
+    }
+
+    private static float interpolation(double start, double end, double tick) {
+        if (end <= start) {
+            return 0;
+        }
+        double u = (tick - start) / (end - start);
+        return (float) (u < 0 ? 0 : u > 1 ? 1 : u);
+    }
+
+    private static float[] toAffine(AIMatrix4x4 m) {
+        return new float[] {
+                m.a1(), m.a2(), m.a3(), m.a4(),
+                m.b1(), m.b2(), m.b3(), m.b4(),
+                m.c1(), m.c2(), m.c3(), m.c4()
+        };
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * @description a skeleton and the clips imported with it
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.animation;
+
+public class AnimationSet {
+
+    private final Skeleton skeleton;
+    private final AnimationClip[] clips;
+
+    public AnimationSet(Skeleton skeleton, AnimationClip[] clips) {
+        this.skeleton = skeleton;
+        this.clips = clips;
+    }
+
+    public Skeleton getSkeleton() {
+        return this.skeleton;
+    }
+
+    public int getClipCount() {
+        return this.clips.length;
+    }
+
+    public AnimationClip getClip(int i) {
+        return this.clips[i];
+    }
+
+    /**
+     * @description looks a clip up by name
+     * @param name clip name
+     * @return the clip, or null if there is no such clip
+     */
+    public AnimationClip getClip(String name) {
+        for (AnimationClip clip : this.clips) {
+            if (clip.getName().equals(name)) {
+                return clip;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * @description GPU buffer holding the skinning palettes of every animated instance
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.animation;
+
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glDeleteTextures;
+import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL31.GL_TEXTURE_BUFFER;
+import static org.lwjgl.opengl.GL31.glTexBuffer;
+import static org.lwjgl.system.MemoryUtil.NULL;
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
+/**
+ * A texture buffer rather than a uniform buffer, because palettes for many instances quickly pass the 64KB
+ * uniform block limit. Each 3x4 matrix is three RGBA32F texels, one per row. The whole palette is uploaded
+ * with a single write per frame and every skinned draw reads from it, so the only per draw state is the
+ * instance's palette offset.
+ *
+ * Skinning shaders include SKINNING_GLSL and call skinMatrix(joints, weights).
+ */
+public class PaletteBuffer {
+
+    public static final String SKINNING_GLSL =
+            "uniform samplerBuffer uPalette;\n" +
+            "uniform int uPaletteOffset;\n" +
+            "mat4 paletteMatrix(int joint) {\n" +
+            "    int texel = (uPaletteOffset + joint) * 3;\n" +
+            "    return transpose(mat4(texelFetch(uPalette, texel), texelFetch(uPalette, texel + 1),\n" +
+            "                          texelFetch(uPalette, texel + 2), vec4(0.0, 0.0, 0.0, 1.0)));\n" +
+            "}\n" +
+            "mat4 skinMatrix(ivec4 joints, vec4 weights) {\n" +
+            "    return paletteMatrix(joints.x) * weights.x + paletteMatrix(joints.y) * weights.y\n" +
+            "         + paletteMatrix(joints.z) * weights.z + paletteMatrix(joints.w) * weights.w;\n" +
+            "}\n";
+
+    private final long capacityBytes;
+    private int buffer;
+    private int texture;
+
+    /**
+     * @description constructor, sized for a batch; requires a current context
+     * @param batch the batch whose palette is uploaded
+     */
+    public PaletteBuffer(AnimationBatch batch) {
+        this.capacityBytes = (long) batch.getPalette().length * Float.BYTES;
+        this.buffer = glGenBuffers();
+        glBindBuffer(GL_TEXTURE_BUFFER, this.buffer);
+        glBufferData(GL_TEXTURE_BUFFER, this.capacityBytes, GL_STREAM_DRAW);
+        this.texture = glGenTextures();
+        glBindTexture(GL_TEXTURE_BUFFER, this.texture);
+        glTexBuffer(GL_TEXTURE_BUFFER, GL_RGBA32F, this.buffer);
+        glBindTexture(GL_TEXTURE_BUFFER, 0);
+        glBindBuffer(GL_TEXTURE_BUFFER, 0);
+    }
+
+    /**
+     * @description uploads the part of the batch's palette that is in use
+     * @param batch the batch, after update()
+     */
+    public void upload(AnimationBatch batch) {
+        int length = batch.getPaletteLength();
+        if (length == 0) {
+            return;
+        }
+        float[] palette = batch.getPalette();
+        glBindBuffer(GL_TEXTURE_BUFFER, this.buffer);
+        // invalidate so the write doesn't wait for last frame's draws still reading the buffer
+        long address = nglMapBufferRange(GL_TEXTURE_BUFFER, 0, (long) length * Float.BYTES,
+                GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_BUFFER_BIT);
+        if (address != NULL) {
+            for (int i = 0; i < length; i++) {
+                memPutFloat(address + (long) i * Float.BYTES, palette[i]);
+            }
+            glUnmapBuffer(GL_TEXTURE_BUFFER);
+        }
+        glBindBuffer(GL_TEXTURE_BUFFER, 0);
+    }
+
+    /**
+     * @description binds the palette for skinning shaders
+     * @param unit texture unit the shader's uPalette sampler uses
+     */
+    public void bind(int unit) {
+        glActiveTexture(GL_TEXTURE0 + unit);
+        glBindTexture(GL_TEXTURE_BUFFER, this.texture);
+    }
+
+    /**
+     * @description frees the buffer and texture
+     */
+    public void destroy() {
+        if (this.buffer != 0) {
+            glDeleteTextures(this.texture);
+            glDeleteBuffers(this.buffer);
+            this.buffer = 0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * @description local joint transforms for a batch of skeletons, stored as columns
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.animation;
+
+/**
+ * Joint j of instance i is at index i * maxJoints + j in every column, so blending walks each column linearly.
+ */
+final class Pose {
+
+    final float[] tx, ty, tz;
+    final float[] qx, qy, qz, qw;
+    final float[] sx, sy, sz;
+
+    Pose(int size) {
+        this.tx = new float[size];
+        this.ty = new float[size];
+        this.tz = new float[size];
+        this.qx = new float[size];
+        this.qy = new float[size];
+        this.qz = new float[size];
+        this.qw = new float[size];
+        this.sx = new float[size];
+        this.sy = new float[size];
+        this.sz = new float[size];
+    }
+
+    /**
+     * @description blends another pose into this one; rotations are nlerped along the shortest arc
+     * @param other the pose to blend towards
+     * @param start first index
+     * @param end index after the last
+     * @param weight 0 keeps this pose, 1 takes the other
+     */
+    void blend(Pose other, int start, int end, float weight) {
+        float keep = 1 - weight;
+        for (int i = start; i < end; i++) {
+            this.tx[i] = keep * this.tx[i] + weight * other.tx[i];
+            this.ty[i] = keep * this.ty[i] + weight * other.ty[i];
+            this.tz[i] = keep * this.tz[i] + weight * other.tz[i];
+            this.sx[i] = keep * this.sx[i] + weight * other.sx[i];
+            this.sy[i] = keep * this.sy[i] + weight * other.sy[i];
+            this.sz[i] = keep * this.sz[i] + weight * other.sz[i];
+        }
+        for (int i = start; i < end; i++) {
+            float dot = this.qx[i] * other.qx[i] + this.qy[i] * other.qy[i] + this.qz[i] * other.qz[i]
+                    + this.qw[i] * other.qw[i];
+            float w = dot < 0 ? -weight : weight;
+            float x = keep * this.qx[i] + w * other.qx[i];
+            float y = keep * this.qy[i] + w * other.qy[i];
+            float z = keep * this.qz[i] + w * other.qz[i];
+            float q = keep * this.qw[i] + w * other.qw[i];
+            float inverse = 1.0f / (float) Math.sqrt(x * x + y * y + z * z + q * q);
+            this.qx[i] = x * inverse;
+            this.qy[i] = y * inverse;
+            this.qz[i] = z * inverse;
+            this.qw[i] = q * inverse;
+        }
+    }
+}
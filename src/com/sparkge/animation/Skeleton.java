@@ -0,0 +1,85 @@
+/**
+ * @description joint hierarchy, bind pose and inverse bind matrices shared by every instance of a model
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.animation;
+
+/**
+ * Joints are ordered so that every parent comes before its children, which lets model space transforms be
+ * computed in a single pass. The bind pose is stored as local translation, rotation and scale, 10 floats per
+ * joint, and is used for joints a clip doesn't animate.
+ */
+public class Skeleton {
+
+    static final int TRS_FLOATS = 10;
+
+    private final String[] names;
+    private final int[] parents;
+    private final float[] bindPose;
+    private final float[] inverseBind;
+
+    /**
+     * @description constructor
+     * @param names joint names
+     * @param parents parent index of each joint, -1 for roots; parents must come before children
+     * @param bindPose local tx, ty, tz, qx, qy, qz, qw, sx, sy, sz of each joint
+     * @param inverseBind 3x4 row-major inverse bind matrix of each joint, 12 floats per joint
+     */
+    public Skeleton(String[] names, int[] parents, float[] bindPose, float[] inverseBind) {
+        for (int i = 0; i < parents.length; i++) {
+            if (parents[i] >= i) {
+                throw new IllegalArgumentException("Joint " + names[i] + " comes before its parent");
+            }
+        }
+        this.names = names;
+        this.parents = parents;
+        this.bindPose = bindPose;
+        this.inverseBind = inverseBind;
+    }
+
+    public int getJointCount() {
+        return this.parents.length;
+    }
+
+    /**
+     * @description getter for a joint's parent
+     * @param joint joint index
+     * @return parent index, or -1 for a root
+     */
+    public int getParent(int joint) {
+        return this.parents[joint];
+    }
+
+    public String getJointName(int joint) {
+        return this.names[joint];
+    }
+
+    /**
+     * @description looks a joint up by name
+     * @param name joint name
+     * @return joint index, or -1 if there is no such joint
+     */
+    public int findJoint(String name) {
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    float[] getBindPose() {
+        return this.bindPose;
+    }
+
+    float[] getInverseBind() {
+        return this.inverseBind;
+    }
+
+    int[] getParents() {
+        return this.parents;
+    }
+}
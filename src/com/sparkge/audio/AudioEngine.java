@@ -0,0 +1,266 @@
+/**
+ * @description OpenAL device, pooled voices for sound effects and the music streaming thread
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.audio;
+
+import com.sparkge.core.Log;
+import org.lwjgl.openal.AL;
+import org.lwjgl.openal.ALC;
+import org.lwjgl.openal.ALCCapabilities;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.lwjgl.openal.AL10.*;
+import static org.lwjgl.openal.ALC10.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+/**
+ * Sound effects play on a fixed pool of OpenAL sources created at init. play() never allocates or blocks: it
+ * takes an idle source, or steals the lowest priority (then oldest) playing voice if its priority is no higher
+ * than the new sound's, or rejects the sound. Voices are addressed by generational handles, so a handle to a
+ * voice that has since been stolen is simply ignored.
+ *
+ * Music streams are refilled by a background thread every few milliseconds.
+ *
+ * To run without audio hardware (e.g. on a build machine) use OpenAL Soft's null backend with
+ * ALSOFT_DRIVERS=null, or its wave writer with ALSOFT_DRIVERS=wave and a [wave] file= entry in alsoft.conf.
+ */
+public class AudioEngine {
+
+    public static final int NULL_VOICE = 0;
+
+    private static final int INDEX_BITS = 8;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final long STREAM_INTERVAL_MILLIS = 10;
+
+    private final String deviceName;
+    private long device;
+    private long context;
+
+    private final int[] sources;
+    private final int[] priorities;
+    private final int[] generations;
+    private final long[] startTimes;
+    private long playCounter;
+
+    private final CopyOnWriteArrayList<MusicStream> streams = new CopyOnWriteArrayList<>();
+    private Thread streamer;
+    private volatile boolean running;
+
+    /**
+     * @description constructor
+     * @param deviceName OpenAL device specifier, or null for the default device
+     * @param voiceCount number of pooled sources for sound effects, at most 255
+     */
+    public AudioEngine(String deviceName, int voiceCount) {
+        if (voiceCount <= 0 || voiceCount > INDEX_MASK) {
+            throw new IllegalArgumentException("Voice count must be between 1 and " + INDEX_MASK);
+        }
+        this.deviceName = deviceName;
+        this.sources = new int[voiceCount];
+        this.priorities = new int[voiceCount];
+        this.generations = new int[voiceCount];
+        this.startTimes = new long[voiceCount];
+    }
+
+    /**
+     * @description constructor for the default device with 32 voices
+     */
+    public AudioEngine() {
+        this(null, 32);
+    }
+
+    /**
+     * @description opens the device, creates the voice pool and starts the streaming thread
+     */
+    public void init() {
+        this.device = alcOpenDevice(this.deviceName);
+        if (this.device == NULL) {
+            throw new IllegalStateException("Failed to open the OpenAL device");
+        }
+        ALCCapabilities deviceCaps = ALC.createCapabilities(this.device);
+        this.context = alcCreateContext(this.device, (int[]) null);
+        if (this.context == NULL || !alcMakeContextCurrent(this.context)) {
+            alcCloseDevice(this.device);
+            throw new IllegalStateException("Failed to create the OpenAL context");
+        }
+        AL.createCapabilities(deviceCaps);
+
+        for (int i = 0; i < this.sources.length; i++) {
+            this.sources[i] = alGenSources();
+            this.generations[i] = 1;
+        }
+        if (alGetError() != AL_NO_ERROR) {
+            Log.warn("OpenAL could not create {} voices", this.sources.length);
+        }
+
+        this.running = true;
+        this.streamer = new Thread(this::streamLoop, "sparkge-audio");
+        this.streamer.setDaemon(true);
+        this.streamer.start();
+    }
+
+    /**
+     * @description plays a sound effect on a pooled voice
+     * @param sound the sound to play
+     * @param priority higher priority voices are stolen last
+     * @param gain linear gain, 1 is unchanged
+     * @param pitch pitch multiplier, 1 is unchanged
+     * @return voice handle, or NULL_VOICE if every voice is busy with a higher priority sound
+     */
+    public int play(Sound sound, int priority, float gain, float pitch) {
+        int voice = -1;
+        int victim = -1;
+        for (int i = 0; i < this.sources.length; i++) {
+            if (alGetSourcei(this.sources[i], AL_SOURCE_STATE) != AL_PLAYING) {
+                voice = i;
+                break;
+            }
+            if (this.priorities[i] <= priority && (victim < 0 || this.priorities[i] < this.priorities[victim]
+                    || (this.priorities[i] == this.priorities[victim] && this.startTimes[i] < this.startTimes[victim]))) {
+                victim = i;
+            }
+        }
+        if (voice < 0) {
+            if (victim < 0) {
+                return NULL_VOICE;
+            }
+            voice = victim;
+        }
+
+        int source = this.sources[voice];
+        alSourceStop(source);
+        alSourcei(source, AL_BUFFER, sound.getBufferId());
+        alSourcef(source, AL_GAIN, gain);
+        alSourcef(source, AL_PITCH, pitch);
+        alSourcei(source, AL_SOURCE_RELATIVE, AL_TRUE);
+        alSource3f(source, AL_POSITION, 0, 0, 0);
+        alSourcePlay(source);
+
+        this.priorities[voice] = priority;
+        this.startTimes[voice] = ++this.playCounter;
+        // a new generation invalidates handles to whatever the voice was playing before
+        this.generations[voice] = (this.generations[voice] + 1) & (Integer.MAX_VALUE >>> INDEX_BITS);
+        if (this.generations[voice] == 0) {
+            this.generations[voice] = 1;
+        }
+        return (this.generations[voice] << INDEX_BITS) | voice;
+    }
+
+    /**
+     * @description plays a sound effect at normal gain and pitch
+     * @param sound the sound to play
+     * @param priority higher priority voices are stolen last
+     * @return voice handle, or NULL_VOICE if the sound was rejected
+     */
+    public int play(Sound sound, int priority) {
+        return this.play(sound, priority, 1, 1);
+    }
+
+    /**
+     * @description positions a voice in world space; voices play listener relative until positioned
+     * @param voice voice handle
+     * @return false if the voice has been stolen or was never valid
+     */
+    public boolean setPosition(int voice, float x, float y, float z) {
+        int source = this.resolve(voice);
+        if (source == 0) {
+            return false;
+        }
+        alSourcei(source, AL_SOURCE_RELATIVE, AL_FALSE);
+        alSource3f(source, AL_POSITION, x, y, z);
+        return true;
+    }
+
+    /**
+     * @description stops a voice
+     * @param voice voice handle
+     * @return false if the voice has been stolen or was never valid
+     */
+    public boolean stop(int voice) {
+        int source = this.resolve(voice);
+        if (source == 0) {
+            return false;
+        }
+        alSourceStop(source);
+        return true;
+    }
+
+    /**
+     * @description sets the listener position, usually from the camera each frame
+     */
+    public void setListenerPosition(float x, float y, float z) {
+        alListener3f(AL_POSITION, x, y, z);
+    }
+
+    /**
+     * @description registers a stream with the streaming thread
+     * @param stream the stream to service
+     */
+    public void addStream(MusicStream stream) {
+        this.streams.addIfAbsent(stream);
+    }
+
+    /**
+     * @description unregisters a stream, it stops being refilled
+     * @param stream the stream to remove
+     */
+    public void removeStream(MusicStream stream) {
+        this.streams.remove(stream);
+    }
+
+    /**
+     * @description stops the streaming thread and frees the voices, context and device
+     */
+    public void destroy() {
+        this.running = false;
+        if (this.streamer != null) {
+            this.streamer.interrupt();
+            try {
+                this.streamer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (int source : this.sources) {
+            alSourceStop(source);
+        }
+        alDeleteSources(this.sources);
+        alcMakeContextCurrent(NULL);
+        alcDestroyContext(this.context);
+        alcCloseDevice(this.device);
+    }
+
+    public int getVoiceCount() {
+        return this.sources.length;
+    }
+
+    /**
+     * @description resolves a voice handle to its source if it is still current
+     * @return OpenAL source, or 0 for a stale handle
+     */
+    private int resolve(int voice) {
+        int index = voice & INDEX_MASK;
+        if (voice == NULL_VOICE || index >= this.sources.length || this.generations[index] != voice >>> INDEX_BITS) {
+            return 0;
+        }
+        return this.sources[index];
+    }
+
+    private void streamLoop() {
+        while (this.running) {
+            for (MusicStream stream : this.streams) {
+                stream.refill();
+            }
+            try {
+                Thread.sleep(STREAM_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
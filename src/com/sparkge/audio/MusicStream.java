@@ -0,0 +1,175 @@
+/**
+ * @description streams Ogg Vorbis music or long effects through a small ring of OpenAL buffers
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.audio;
+
+import org.lwjgl.stb.STBVorbisInfo;
+import org.lwjgl.system.MemoryStack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.lwjgl.openal.AL10.*;
+import static org.lwjgl.stb.STBVorbis.*;
+import static org.lwjgl.system.MemoryUtil.*;
+
+/**
+ * Only the encoded file is held in memory. The AudioEngine's streaming thread calls refill() to decode the next
+ * chunk into each buffer the source has finished with and queue it again, so the game thread never decodes.
+ */
+public class MusicStream {
+
+    private static final int BUFFER_COUNT = 4;
+    // samples per channel decoded into each buffer, roughly 90ms at 44.1kHz
+    private static final int BUFFER_SAMPLES = 4096;
+
+    private final ByteBuffer encoded;
+    private final long decoder;
+    private final int channels;
+    private final int sampleRate;
+    private final int format;
+    private final ShortBuffer pcm;
+
+    private final int source;
+    private final int[] buffers = new int[BUFFER_COUNT];
+
+    private volatile boolean playing;
+    private volatile boolean looping;
+    private boolean finished;
+
+    /**
+     * @description constructor, opens the file for streaming; requires an AudioEngine
+     * @param file Ogg Vorbis file
+     * @throws IOException if the file cannot be read or decoded
+     */
+    public MusicStream(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        this.encoded = memAlloc(bytes.length);
+        this.encoded.put(bytes).flip();
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer error = stack.mallocInt(1);
+            this.decoder = stb_vorbis_open_memory(this.encoded, error, null);
+            if (this.decoder == NULL) {
+                memFree(this.encoded);
+                throw new IOException("Failed to open " + file + " for streaming, stb_vorbis error " + error.get(0));
+            }
+            STBVorbisInfo info = STBVorbisInfo.mallocStack(stack);
+            stb_vorbis_get_info(this.decoder, info);
+            this.channels = info.channels();
+            this.sampleRate = info.sample_rate();
+        }
+        this.format = this.channels == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16;
+        this.pcm = memAllocShort(BUFFER_SAMPLES * this.channels);
+
+        this.source = alGenSources();
+        alSourcei(this.source, AL_SOURCE_RELATIVE, AL_TRUE);
+        for (int i = 0; i < BUFFER_COUNT; i++) {
+            this.buffers[i] = alGenBuffers();
+        }
+    }
+
+    /**
+     * @description starts playback from the beginning
+     * @param looping restart from the beginning when the end is reached
+     */
+    public synchronized void play(boolean looping) {
+        this.stop();
+        this.looping = looping;
+        this.finished = false;
+        stb_vorbis_seek_start(this.decoder);
+        for (int i = 0; i < BUFFER_COUNT; i++) {
+            if (!this.decodeInto(this.buffers[i])) {
+                break;
+            }
+            alSourceQueueBuffers(this.source, this.buffers[i]);
+        }
+        alSourcePlay(this.source);
+        this.playing = true;
+    }
+
+    /**
+     * @description stops playback and releases the queued buffers
+     */
+    public synchronized void stop() {
+        this.playing = false;
+        alSourceStop(this.source);
+        // unqueue everything so the buffers can be refilled on the next play
+        alSourcei(this.source, AL_BUFFER, 0);
+    }
+
+    /**
+     * @description sets the stream volume
+     * @param gain linear gain, 1 is unchanged
+     */
+    public void setGain(float gain) {
+        alSourcef(this.source, AL_GAIN, gain);
+    }
+
+    public boolean isPlaying() {
+        return this.playing;
+    }
+
+    /**
+     * @description refills every processed buffer; called from the AudioEngine streaming thread
+     */
+    synchronized void refill() {
+        if (!this.playing) {
+            return;
+        }
+        int processed = alGetSourcei(this.source, AL_BUFFERS_PROCESSED);
+        while (processed-- > 0) {
+            int buffer = alSourceUnqueueBuffers(this.source);
+            if (!this.finished && this.decodeInto(buffer)) {
+                alSourceQueueBuffers(this.source, buffer);
+            }
+        }
+        int queued = alGetSourcei(this.source, AL_BUFFERS_QUEUED);
+        if (queued == 0) {
+            this.playing = false;
+        } else if (alGetSourcei(this.source, AL_SOURCE_STATE) != AL_PLAYING) {
+            // the source ran dry before we refilled it, resume rather than going silent
+            alSourcePlay(this.source);
+        }
+    }
+
+    /**
+     * @description frees the decoder, source and buffers; the stream must be unregistered first
+     */
+    public synchronized void destroy() {
+        this.stop();
+        alDeleteSources(this.source);
+        alDeleteBuffers(this.buffers);
+        stb_vorbis_close(this.decoder);
+        memFree(this.pcm);
+        memFree(this.encoded);
+    }
+
+    /**
+     * @description decodes the next chunk into an OpenAL buffer
+     * @return false once the end of a non-looping stream is reached
+     */
+    private boolean decodeInto(int buffer) {
+        this.pcm.clear();
+        int samples = stb_vorbis_get_samples_short_interleaved(this.decoder, this.channels, this.pcm);
+        if (samples == 0 && this.looping) {
+            stb_vorbis_seek_start(this.decoder);
+            samples = stb_vorbis_get_samples_short_interleaved(this.decoder, this.channels, this.pcm);
+        }
+        if (samples == 0) {
+            this.finished = true;
+            return false;
+        }
+        this.pcm.limit(samples * this.channels);
+        alBufferData(buffer, this.format, this.pcm, this.sampleRate);
+        return true;
+    }
+}
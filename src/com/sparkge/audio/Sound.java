@@ -0,0 +1,74 @@
+/**
+ * @description a short sound effect fully decoded into an OpenAL buffer
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.audio;
+
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import static org.lwjgl.openal.AL10.*;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_decode_memory;
+import static org.lwjgl.system.libc.LibCStdlib.free;
+
+public class Sound {
+
+    private final String name;
+    private int bufferId;
+    private final float duration;
+
+    /**
+     * @description constructor, decodes Ogg Vorbis data into a new OpenAL buffer; requires an AudioEngine
+     * @param name name used in error messages and by the SoundCache
+     * @param vorbis encoded Ogg Vorbis data
+     */
+    public Sound(String name, ByteBuffer vorbis) {
+        this.name = name;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer channels = stack.mallocInt(1);
+            IntBuffer sampleRate = stack.mallocInt(1);
+            ShortBuffer pcm = stb_vorbis_decode_memory(vorbis, channels, sampleRate);
+            if (pcm == null) {
+                throw new RuntimeException("Failed to decode sound " + name);
+            }
+            try {
+                this.bufferId = alGenBuffers();
+                alBufferData(this.bufferId, channels.get(0) == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16, pcm,
+                        sampleRate.get(0));
+                this.duration = pcm.remaining() / (float) (channels.get(0) * sampleRate.get(0));
+            } finally {
+                free(pcm);
+            }
+        }
+    }
+
+    /**
+     * @description deletes the OpenAL buffer; no voice may be playing it
+     */
+    public void destroy() {
+        alDeleteBuffers(this.bufferId);
+        this.bufferId = 0;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getBufferId() {
+        return this.bufferId;
+    }
+
+    /**
+     * @description getter for the sound length
+     * @return duration in seconds
+     */
+    public float getDuration() {
+        return this.duration;
+    }
+}
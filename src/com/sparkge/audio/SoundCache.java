@@ -0,0 +1,69 @@
+/**
+ * @description shared cache of decoded sound effects
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+/**
+ * Short effects are decoded once when loaded and shared by every voice that plays them. Load effects up front
+ * (during level load); get() is a plain map lookup that is cheap enough for the game thread.
+ */
+public class SoundCache {
+
+    private final HashMap<String, Sound> sounds = new HashMap<>();
+
+    /**
+     * @description loads and decodes an Ogg Vorbis file, or returns the already cached sound
+     * @param name cache key
+     * @param file Ogg Vorbis file
+     * @return the decoded sound
+     * @throws IOException if the file cannot be read
+     */
+    public Sound load(String name, Path file) throws IOException {
+        Sound sound = this.sounds.get(name);
+        if (sound != null) {
+            return sound;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer vorbis = memAlloc(bytes.length);
+        try {
+            vorbis.put(bytes).flip();
+            sound = new Sound(name, vorbis);
+        } finally {
+            memFree(vorbis);
+        }
+        this.sounds.put(name, sound);
+        return sound;
+    }
+
+    /**
+     * @description returns a previously loaded sound
+     * @param name cache key
+     * @return the sound, or null if it was never loaded
+     */
+    public Sound get(String name) {
+        return this.sounds.get(name);
+    }
+
+    /**
+     * @description deletes every cached sound
+     */
+    public void destroy() {
+        for (Sound sound : this.sounds.values()) {
+            sound.destroy();
+        }
+        this.sounds.clear();
+    }
+}
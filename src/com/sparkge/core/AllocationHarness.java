@@ -0,0 +1,105 @@
+/**
+ * @description runs a game headless for a number of frames and fails if steady state frames allocate
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.core;
+
+import com.sparkge.game.IGame;
+import com.sparkge.game.StarFoxLite;
+
+/**
+ * Usage: AllocationHarness [game class] [warm up frames] [measured frames]
+ *
+ * Warm up frames give the JIT time to compile (and escape analyze) the frame path and let the game fill its
+ * pools; every measured frame after that must allocate 0 bytes on the game loop thread. The process exits
+ * with status 1 when a measured frame allocates, so it can gate a build.
+ */
+public class AllocationHarness {
+
+    private final IGame game;
+    private final int warmupFrames;
+    private final int frames;
+
+    private int allocatingFrames;
+    private long worstFrameBytes;
+    private String worstFrame;
+
+    /**
+     * @description constructor
+     * @param game the game to run headless
+     * @param warmupFrames frames run before measuring
+     * @param frames frames measured
+     */
+    public AllocationHarness(IGame game, int warmupFrames, int frames) {
+        this.game = game;
+        this.warmupFrames = warmupFrames;
+        this.frames = frames;
+    }
+
+    /**
+     * @description runs the game and records any allocating steady state frames
+     * @return true if no measured frame allocated
+     */
+    public boolean run() {
+        CoreEngine engine = new CoreEngine(this.game);
+        FrameProfiler profiler = engine.getProfiler();
+        // the harness does its own checking, so don't let the engine warn during warm up
+        profiler.setAllocationBudget(-1);
+
+        engine.init();
+        for (int i = 0; i < this.warmupFrames; i++) {
+            engine.runFrame();
+        }
+        profiler.resetCounters();
+        for (int i = 0; i < this.frames; i++) {
+            engine.runFrame();
+            long bytes = profiler.getFrameAllocatedBytes();
+            if (bytes > 0) {
+                this.allocatingFrames++;
+                if (bytes > this.worstFrameBytes) {
+                    this.worstFrameBytes = bytes;
+                    this.worstFrame = profiler.describeLastFrame();
+                }
+            }
+        }
+        engine.cleanup();
+        return this.allocatingFrames == 0;
+    }
+
+    public int getAllocatingFrames() {
+        return this.allocatingFrames;
+    }
+
+    public long getWorstFrameBytes() {
+        return this.worstFrameBytes;
+    }
+
+    /**
+     * @description getter for the per-phase breakdown of the worst measured frame
+     * @return description of the worst frame, or null if no frame allocated
+     */
+    public String getWorstFrame() {
+        return this.worstFrame;
+    }
+
+    public static void main(String[] args) throws ReflectiveOperationException {
+        IGame game = args.length > 0
+                ? (IGame) Class.forName(args[0]).getDeclaredConstructor().newInstance()
+                : new StarFoxLite();
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int frames = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        AllocationHarness harness = new AllocationHarness(game, warmup, frames);
+        if (harness.run()) {
+            System.out.println("PASS: " + frames + " steady state frames of " + game.getClass().getSimpleName()
+                    + " allocated nothing");
+        } else {
+            System.out.println("FAIL: " + harness.getAllocatingFrames() + " of " + frames + " frames allocated, worst "
+                    + harness.getWorstFrame());
+            System.exit(1);
+        }
+    }
+}
@@ -3,24 +3,54 @@
  * @author Jeffrey Underdown | junderdown@radialspark.com
  * @history
  *  2018-05-26 | junderdown | Created
+ *  2026-10-19 | Thomas Wilkins | split frames into profiled phases, added headless mode
+ *  2026-10-19 | Thomas Wilkins | fixed step updates, input recording and replay
+ *  2026-10-19 | Thomas Wilkins | GPU timing of the render phase
+ *  2026-10-19 | Thomas Wilkins | startup runs as a task graph
+ *  2026-10-19 | Thomas Wilkins | event dispatch after the input and update phases
+ *  2026-10-19 | Thomas Wilkins | feeds frame timings to dynamic resolution
+ *  2026-10-19 | Thomas Wilkins | late latched input and input to present latency
+ *  2026-10-19 | Thomas Wilkins | frame limit, headless run() stops on it or at the end of a replay
+ *  2026-10-19 | Thomas Wilkins | opens the audio device during startup
  */
 
 package com.sparkge.core;
 
+import com.sparkge.audio.AudioEngine;
+import com.sparkge.rendering.DynamicResolution;
+import com.sparkge.rendering.GpuProfiler;
 import com.sparkge.rendering.Window;
 
 import java.lang.Runnable;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.sparkge.game.IGame;
 
 public class CoreEngine implements Runnable {
 
+    public static final float FIXED_STEP_SECONDS = 1.0f / 60.0f;
+
+    private static final long FIXED_STEP_NANOS = (long) (FIXED_STEP_SECONDS * 1_000_000_000L);
+    // after a long stall drop the backlog rather than spiral trying to catch up
+    private static final int MAX_TICKS_PER_FRAME = 5;
+
     // TODO: uncomment member variable references once implemented
 
     // private Settings settings;
     private Window window;
     private IGame game;
     private Input input;
+    private FrameProfiler profiler;
+    private EventBus events;
+    private InputRecorder recorder;
+    private InputReplay replay;
+    private AudioEngine audio;
+    private long lastFrameNanos;
+    private long accumulatedNanos;
+    private long ticks;
+    private long frames;
+    private long frameLimit;
 
     /**
      * @description constructor
@@ -33,42 +63,252 @@ public class CoreEngine implements Runnable {
         // this.settings = settings;
         this.game = game;
         this.input = input;
+        this.profiler = new FrameProfiler();
+    }
+
+    /**
+     * @description headless constructor; frames run the input and update phases only, with no window or GL,
+     *  and every frame runs exactly one fixed step update
+     * @param game the game to be played!
+     */
+    public CoreEngine(IGame game) {
+        this(null, game, new Input(new Keyboard(), new Mouse(), null));
     }
 
     /**
      * description initializes engine and starts the game loop
      */
     public void start() {
-        this.init();
+        this.checkCanStop();
+        this.startup(new StartupGraph());
         this.run();
     }
 
     /**
-     * @description runs the game loop
+     * @description adds the engine's init tasks to a startup graph and runs it; the window, input and game
+     *  init on the calling thread, which must be the main thread, while the job system spins up and the audio
+     *  device opens on workers alongside them and anything else the caller added
+     * @param startup graph holding any tasks of the caller's
+     */
+    public void startup(StartupGraph startup) {
+        StartupGraph.Task jobs = startup.add("jobs", JobSystem::getDefault);
+        // the event bus sizes itself to the job system, and the game subscribes during init
+        StartupGraph.Task events = startup.add("events", () -> this.events = EventBus.getDefault(), jobs);
+        List<StartupGraph.Task> beforeGame = new ArrayList<>();
+        beforeGame.add(events);
+        if (this.audio != null) {
+            // the OpenAL context is current process wide, so opening it off the main thread is fine
+            beforeGame.add(startup.add("audio", this.audio::init));
+        }
+        if (this.window != null) {
+            StartupGraph.Task window = startup.addMain("window", this.window::init);
+            beforeGame.add(startup.addMain("input", this.input::init, window));
+        }
+        // the game loads its sounds during init
+        startup.addMain("game", this.game::init, beforeGame.toArray(new StartupGraph.Task[0]));
+        startup.run();
+    }
+
+    /**
+     * @description runs the game loop until the window is closed, the replay ends or the frame limit is reached;
+     *  a headless engine has no window to close, so it needs a replay or a frame limit
+     * @throws IllegalStateException if headless with neither a replay nor a frame limit
      */
     public void run() {
+        this.checkCanStop();
         // Run the rendering loop until the user has attempted to close
         // the window or has pressed the ESCAPE key.
-        while ( !this.window.shouldClose() ) {
-            this.window.update();
+        while ( (this.window == null || !this.window.shouldClose())
+                && (this.replay == null || !this.replay.isFinished())
+                && (this.frameLimit <= 0 || this.frames < this.frameLimit) ) {
+            this.runFrame();
         }
 
         this.cleanup();
     }
 
+    /**
+     * @description stops run() after a number of frames
+     * @param frameLimit frames to run in total, 0 for no limit
+     */
+    public void setFrameLimit(long frameLimit) {
+        this.frameLimit = frameLimit;
+    }
+
+    /**
+     * @description runs one frame, profiling each phase
+     *
+     * The game updates in fixed steps, as many as the elapsed wall clock time calls for. When replaying, the
+     * recorded events and step count are used instead, so a deterministic game repeats the recorded run exactly.
+     * Events published on the EventBus are dispatched at the end of the input and update phases.
+     *
+     * In the window's low latency mode the frame starts after the frame pacer's delay, and input is polled
+     * again just before rendering so the game can late latch it, e.g. into Camera.setLateRotation().
+     */
+    public void runFrame() {
+        this.frames++;
+        if (this.window != null) {
+            this.window.beginFrame();
+        }
+        this.profiler.beginFrame();
+
+        this.profiler.beginPhase(FramePhase.INPUT);
+        int frameTicks;
+        if (this.replay != null) {
+            frameTicks = Math.max(0, this.replay.nextFrame(this.input));
+        } else {
+            frameTicks = this.elapsedTicks();
+        }
+        this.input.update();
+        if (this.recorder != null) {
+            this.recorder.recordFrame(frameTicks, this.input);
+        }
+        this.game.input(this.input);
+        this.events.dispatch();
+        this.profiler.endPhase(FramePhase.INPUT);
+
+        this.profiler.beginPhase(FramePhase.UPDATE);
+        for (int i = 0; i < frameTicks; i++) {
+            this.game.update();
+        }
+        this.ticks += frameTicks;
+        this.events.dispatch();
+        this.profiler.endPhase(FramePhase.UPDATE);
+
+        if (this.window != null) {
+            GpuProfiler gpu = this.window.getGpuProfiler();
+            this.profiler.beginPhase(FramePhase.RENDER);
+            gpu.beginFrame();
+            this.window.clear();
+            if (this.window.isLowLatency()) {
+                this.window.pollEvents();
+                this.input.latchLate();
+            }
+            this.game.render();
+            gpu.endFrame();
+            this.profiler.endPhase(FramePhase.RENDER);
+
+            this.profiler.beginPhase(FramePhase.PRESENT);
+            this.window.update();
+            this.input.presented(this.window.getLastPresentNanos());
+            this.profiler.endPhase(FramePhase.PRESENT);
+        }
+
+        if (this.profiler.endFrame()) {
+            Log.warn("frame allocated {} bytes, over the budget of {}",
+                    this.profiler.getFrameAllocatedBytes(), this.profiler.getAllocationBudget());
+        }
+
+        DynamicResolution resolution = this.window != null ? this.window.getDynamicResolution() : null;
+        if (resolution != null) {
+            // present is left out of the CPU time, it's mostly waiting on the GPU or the display
+            long cpuNanos = this.profiler.getPhaseNanos(FramePhase.INPUT)
+                    + this.profiler.getPhaseNanos(FramePhase.UPDATE)
+                    + this.profiler.getPhaseNanos(FramePhase.RENDER);
+            resolution.update(cpuNanos, this.window.getGpuProfiler().getFrameNanos());
+        }
+    }
+
     /**
      * @description initializes game engine
      */
-    private void init() {
+    void init() {
         // this.settings = settings;
-        this.window.init();
-        this.input.init();
+        this.startup(new StartupGraph());
+    }
+
+    /**
+     * @description records every frame's input events and step count until cleanup
+     * @param recorder the recorder, or null to stop recording
+     */
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * @description sets the audio engine to open during startup and destroy on cleanup
+     * @param audio the audio engine, or null for none
+     */
+    public void setAudio(AudioEngine audio) {
+        this.audio = audio;
+    }
+
+    /**
+     * @description drives the engine from a recorded log instead of the window; run() stops when it ends
+     * @param replay the replay, or null to return to live input
+     */
+    public void setReplay(InputReplay replay) {
+        if (replay != null && replay.getFixedStepSeconds() != FIXED_STEP_SECONDS) {
+            Log.warn("replay was recorded with a fixed step of {}s, the engine steps {}s",
+                    replay.getFixedStepSeconds(), FIXED_STEP_SECONDS);
+        }
+        this.replay = replay;
+        this.input.setLive(replay == null);
+    }
+
+    /**
+     * @description getter for the number of fixed step updates run so far
+     * @return tick count
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * @description getter for the frame profiler
+     * @return frame profiler
+     */
+    public FrameProfiler getProfiler() {
+        return this.profiler;
     }
 
     /**
      * description destroys game engine and frees memory
      */
-    private void cleanup() {
-        this.window.destroy();
+    void cleanup() {
+        LatencyStats latency = this.input.getLatency();
+        if (latency.getSampleCount() > 0) {
+            Log.info("input to present latency ms: p50 {} p95 {} p99 {}", latency.getPercentile(50) / 1e6,
+                    latency.getPercentile(95) / 1e6, latency.getPercentile(99) / 1e6);
+        }
+        if (this.recorder != null) {
+            this.recorder.close();
+            this.recorder = null;
+        }
+        if (this.audio != null) {
+            this.audio.destroy();
+        }
+        if (this.window != null) {
+            this.window.destroy();
+        }
+    }
+
+    private void checkCanStop() {
+        if (this.window == null && this.replay == null && this.frameLimit <= 0) {
+            throw new IllegalStateException("A headless run needs a replay or a frame limit to stop");
+        }
+    }
+
+    /**
+     * @description advances the fixed step accumulator by the wall clock time since the last frame
+     * @return fixed steps to run this frame
+     */
+    private int elapsedTicks() {
+        if (this.window == null) {
+            return 1;
+        }
+        long now = System.nanoTime();
+        if (this.lastFrameNanos == 0) {
+            this.lastFrameNanos = now - FIXED_STEP_NANOS;
+        }
+        this.accumulatedNanos += now - this.lastFrameNanos;
+        this.lastFrameNanos = now;
+        long due = this.accumulatedNanos / FIXED_STEP_NANOS;
+        if (due > MAX_TICKS_PER_FRAME) {
+            this.accumulatedNanos = 0;
+            return MAX_TICKS_PER_FRAME;
+        }
+        this.accumulatedNanos -= due * FIXED_STEP_NANOS;
+        return (int) due;
     }
 }
@@ -0,0 +1,468 @@
+/**
+ * @description decoupled engine and game events, published lock free from any thread and dispatched in batches
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Reusable producer rings and a shared overflow ring
+ */
+
+package com.sparkge.core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Events are fixed size records typed by an int id: two ints, usually entity ids, a position and a value, which
+ * covers the likes of collision (entity, other, contact point, impulse), sound cue (source, sound, position,
+ * volume) and score (entity, points). Game code gives its event types ids in [0, maxTypes).
+ *
+ * Each thread that publishes gets its own single producer ring of preallocated records the first time it
+ * publishes, so publishing is a few array stores and a release write, with no locks, no contention between job
+ * threads and no allocation. A full ring drops the event, counted in getDroppedCount().
+ *
+ * A thread that is about to end calls releaseProducer() (the engine's worker, startup, streaming and save threads
+ * do), and its ring goes to the next new publisher once the dispatcher has emptied it. Threads that publish
+ * while every ring is taken share one extra overflow ring under a lock, which is slower but never fails.
+ *
+ * dispatch() runs on the game loop thread at the frame phases the engine defines. It drains every ring, groups
+ * the events by type with a counting sort, and hands each subscriber one Events batch of its type to iterate.
+ * Events from one thread keep their order. Events published while dispatching, such as a sound cue published by
+ * a collision subscriber, are delivered by the next dispatch.
+ */
+public class EventBus {
+
+    /**
+     * @description receives every event of a type once per dispatch
+     */
+    public interface Subscriber {
+        void onEvents(Events events);
+    }
+
+    /**
+     * @description the events of one type in a dispatch, only valid during the onEvents() call
+     */
+    public static final class Events {
+        private final EventBus bus;
+        private int type, start, count;
+
+        private Events(EventBus bus) {
+            this.bus = bus;
+        }
+
+        public int getType() {
+            return this.type;
+        }
+
+        public int getCount() {
+            return this.count;
+        }
+
+        public int getEntity(int i) {
+            return this.bus.entity[this.start + i];
+        }
+
+        public int getOther(int i) {
+            return this.bus.other[this.start + i];
+        }
+
+        public float getX(int i) {
+            return this.bus.x[this.start + i];
+        }
+
+        public float getY(int i) {
+            return this.bus.y[this.start + i];
+        }
+
+        public float getZ(int i) {
+            return this.bus.z[this.start + i];
+        }
+
+        public float getValue(int i) {
+            return this.bus.value[this.start + i];
+        }
+    }
+
+    /**
+     * @description one publishing thread's ring, or the shared overflow ring; only the owning thread (or the
+     *  holder of the overflow ring's lock) writes records and tail, only the dispatching thread moves head
+     */
+    private static final class Producer {
+        private final int mask;
+        private final int[] type, entity, other;
+        private final float[] x, y, z, value;
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+        // the producer's last read of head, so a ring with room doesn't read the consumer's cache line
+        private long cachedHead;
+        // the tail a drain counted up to, only used by the dispatching thread
+        private long drainTail;
+        // set when the owning thread gave the ring up, cleared by the thread that takes it over
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Producer(int capacity) {
+            this.mask = capacity - 1;
+            this.type = new int[capacity];
+            this.entity = new int[capacity];
+            this.other = new int[capacity];
+            this.x = new float[capacity];
+            this.y = new float[capacity];
+            this.z = new float[capacity];
+            this.value = new float[capacity];
+        }
+    }
+
+    public static final int DEFAULT_MAX_TYPES = 256;
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private static volatile EventBus defaultInstance;
+
+    private final int maxTypes;
+    private final int queueCapacity;
+    private final AtomicReferenceArray<Producer> producers;
+    private final AtomicInteger producerCount = new AtomicInteger();
+    private final ThreadLocal<Producer> producer = new ThreadLocal<>();
+    // shared by the threads that publish once every ring is taken, they hold its lock to write
+    private final Producer overflow;
+    private final AtomicLong dropped = new AtomicLong();
+
+    // subscribers by type
+    private final Subscriber[][] subscribers;
+    private final int[] subscriberCount;
+
+    // a dispatch's events, sorted by type
+    private final int[] entity, other;
+    private final float[] x, y, z, value;
+    private final int[] typeStart;
+    private final int[] typeCursor;
+    private final Events events = new Events(this);
+    private int drainedEvents;
+    private int dispatchedEvents;
+    private long reportedDrops;
+    private boolean dispatching;
+
+    /**
+     * @description constructor
+     * @param maxTypes event type ids are in [0, maxTypes)
+     * @param queueCapacity events each publishing thread can have waiting, rounded up to a power of two
+     * @param maxProducers most threads that may publish at once without sharing the overflow ring
+     */
+    public EventBus(int maxTypes, int queueCapacity, int maxProducers) {
+        if (maxTypes <= 0 || queueCapacity <= 0 || maxProducers <= 0) {
+            throw new IllegalArgumentException("Event bus sizes must be positive");
+        }
+        this.maxTypes = maxTypes;
+        int capacity = 1;
+        while (capacity < queueCapacity) {
+            capacity <<= 1;
+        }
+        this.queueCapacity = capacity;
+        this.producers = new AtomicReferenceArray<>(maxProducers);
+        this.overflow = new Producer(this.queueCapacity);
+        this.subscribers = new Subscriber[maxTypes][];
+        this.subscriberCount = new int[maxTypes];
+        for (int type = 0; type < maxTypes; type++) {
+            this.subscribers[type] = new Subscriber[4];
+        }
+        int batchCapacity = this.queueCapacity * (maxProducers + 1);
+        this.entity = new int[batchCapacity];
+        this.other = new int[batchCapacity];
+        this.x = new float[batchCapacity];
+        this.y = new float[batchCapacity];
+        this.z = new float[batchCapacity];
+        this.value = new float[batchCapacity];
+        this.typeStart = new int[maxTypes + 1];
+        this.typeCursor = new int[maxTypes];
+    }
+
+    /**
+     * @description constructor with room for the default job system's threads, the game loop and a few more
+     * @param maxTypes event type ids are in [0, maxTypes)
+     */
+    public EventBus(int maxTypes) {
+        this(maxTypes, DEFAULT_QUEUE_CAPACITY, JobSystem.getDefault().getThreadCount() + 4);
+    }
+
+    /**
+     * @description returns the shared event bus, which CoreEngine dispatches after the input and update phases
+     * @return shared event bus
+     */
+    public static synchronized EventBus getDefault() {
+        if (defaultInstance == null) {
+            defaultInstance = new EventBus(DEFAULT_MAX_TYPES);
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * @description gives up the calling thread's ring on the default bus, if it has one; call as a thread ends
+     */
+    public static void releaseDefaultProducer() {
+        EventBus bus = defaultInstance;
+        if (bus != null) {
+            bus.releaseProducer();
+        }
+    }
+
+    /**
+     * @description gives up the calling thread's ring so another thread can take it over once it's drained; its
+     *  waiting events are still dispatched, and the thread gets a ring again if it publishes later
+     */
+    public void releaseProducer() {
+        Producer p = this.producer.get();
+        if (p != null) {
+            this.producer.remove();
+            if (p != this.overflow) {
+                p.released.set(true);
+            }
+        }
+    }
+
+    /**
+     * @description adds a subscriber for a type; call outside dispatch(), usually during init
+     * @param type event type id
+     * @param subscriber called with the type's events every dispatch that has some
+     */
+    public void subscribe(int type, Subscriber subscriber) {
+        this.checkType(type);
+        if (this.dispatching) {
+            throw new IllegalStateException("Cannot subscribe while dispatching");
+        }
+        Subscriber[] list = this.subscribers[type];
+        if (this.subscriberCount[type] == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            this.subscribers[type] = list;
+        }
+        list[this.subscriberCount[type]++] = subscriber;
+    }
+
+    /**
+     * @description removes a subscriber; call outside dispatch()
+     * @param type event type id
+     * @param subscriber a subscriber added for the type
+     */
+    public void unsubscribe(int type, Subscriber subscriber) {
+        this.checkType(type);
+        if (this.dispatching) {
+            throw new IllegalStateException("Cannot unsubscribe while dispatching");
+        }
+        Subscriber[] list = this.subscribers[type];
+        int count = this.subscriberCount[type];
+        for (int i = 0; i < count; i++) {
+            if (list[i] == subscriber) {
+                System.arraycopy(list, i + 1, list, i, count - i - 1);
+                list[--this.subscriberCount[type]] = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @description queues an event for the next dispatch; safe from any thread
+     * @param type event type id
+     * @return false if the thread's queue was full and the event was dropped
+     */
+    public boolean publish(int type, int entity, int other, float x, float y, float z, float value) {
+        this.checkType(type);
+        Producer p = this.producer.get();
+        if (p == null) {
+            p = this.register();
+            this.producer.set(p);
+        }
+        if (p == this.overflow) {
+            synchronized (p) {
+                return this.offer(p, type, entity, other, x, y, z, value);
+            }
+        }
+        return this.offer(p, type, entity, other, x, y, z, value);
+    }
+
+    /**
+     * @description queues an event with a value and no position
+     * @param type event type id
+     * @return false if the event was dropped
+     */
+    public boolean publish(int type, int entity, int other, float value) {
+        return this.publish(type, entity, other, 0, 0, 0, value);
+    }
+
+    /**
+     * @description queues an event carrying only an entity
+     * @param type event type id
+     * @return false if the event was dropped
+     */
+    public boolean publish(int type, int entity) {
+        return this.publish(type, entity, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * @description writes an event into a ring; only its owner, or for the overflow ring the holder of its lock
+     * @return false if the ring was full and the event was dropped
+     */
+    private boolean offer(Producer p, int type, int entity, int other, float x, float y, float z, float value) {
+        long tail = p.tail.get();
+        if (tail - p.cachedHead > p.mask) {
+            p.cachedHead = p.head.get();
+            if (tail - p.cachedHead > p.mask) {
+                this.dropped.incrementAndGet();
+                return false;
+            }
+        }
+        int i = (int) tail & p.mask;
+        p.type[i] = type;
+        p.entity[i] = entity;
+        p.other[i] = other;
+        p.x[i] = x;
+        p.y[i] = y;
+        p.z[i] = z;
+        p.value[i] = value;
+        // release: the record is visible before the dispatcher can see the new tail
+        p.tail.lazySet(tail + 1);
+        return true;
+    }
+
+    /**
+     * @description drains every thread's queue and delivers the events to the subscribers of their type; call
+     *  from the game loop thread
+     */
+    public void dispatch() {
+        if (this.dispatching) {
+            throw new IllegalStateException("Events are already being dispatched");
+        }
+        this.drain();
+        long drops = this.dropped.get();
+        if (drops != this.reportedDrops) {
+            Log.warn("event queues full, dropped {} events", drops - this.reportedDrops);
+            this.reportedDrops = drops;
+        }
+        this.dispatchedEvents = this.drainedEvents;
+        if (this.drainedEvents == 0) {
+            return;
+        }
+
+        this.dispatching = true;
+        try {
+            for (int type = 0; type < this.maxTypes; type++) {
+                int count = this.typeStart[type + 1] - this.typeStart[type];
+                int subscriberCount = this.subscriberCount[type];
+                if (count == 0 || subscriberCount == 0) {
+                    continue;
+                }
+                this.events.type = type;
+                this.events.start = this.typeStart[type];
+                this.events.count = count;
+                Subscriber[] list = this.subscribers[type];
+                for (int s = 0; s < subscriberCount; s++) {
+                    list[s].onEvents(this.events);
+                }
+            }
+        } finally {
+            this.events.count = 0;
+            this.dispatching = false;
+        }
+    }
+
+    /**
+     * @description getter for the number of events the last dispatch delivered or had no subscriber for
+     * @return event count
+     */
+    public int getDispatchedCount() {
+        return this.dispatchedEvents;
+    }
+
+    /**
+     * @description getter for the events dropped because a thread's queue was full
+     * @return total dropped events
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * @description getter for the number of per thread rings created, released ones included
+     * @return producer count, not counting the overflow ring
+     */
+    public int getProducerCount() {
+        return Math.min(this.producerCount.get(), this.producers.length());
+    }
+
+    /**
+     * @description copies waiting events out of the rings, grouped by type
+     */
+    private void drain() {
+        int[] start = this.typeStart;
+        Arrays.fill(start, 0);
+        int producers = this.getProducerCount();
+
+        // count by type straight from the rings, remembering each ring's tail so both passes see the same events
+        int total = 0;
+        for (int n = 0; n <= producers; n++) {
+            Producer p = n < producers ? this.producers.get(n) : this.overflow;
+            if (p == null) {
+                continue; // registered but not yet stored
+            }
+            long head = p.head.get();
+            long tail = p.tail.get();
+            p.drainTail = tail;
+            for (long e = head; e < tail; e++) {
+                start[p.type[(int) e & p.mask] + 1]++;
+            }
+            total += (int) (tail - head);
+        }
+        for (int type = 0; type < this.maxTypes; type++) {
+            start[type + 1] += start[type];
+            this.typeCursor[type] = start[type];
+        }
+
+        for (int n = 0; n <= producers; n++) {
+            Producer p = n < producers ? this.producers.get(n) : this.overflow;
+            if (p == null) {
+                continue;
+            }
+            long tail = p.drainTail;
+            for (long e = p.head.get(); e < tail; e++) {
+                int i = (int) e & p.mask;
+                int out = this.typeCursor[p.type[i]]++;
+                this.entity[out] = p.entity[i];
+                this.other[out] = p.other[i];
+                this.x[out] = p.x[i];
+                this.y[out] = p.y[i];
+                this.z[out] = p.z[i];
+                this.value[out] = p.value[i];
+            }
+            // release: the slots are copied before the producer can reuse them
+            p.head.lazySet(tail);
+        }
+        this.drainedEvents = total;
+    }
+
+    private Producer register() {
+        // take over a released ring once the dispatcher has emptied it, so its events stay in order
+        int count = this.getProducerCount();
+        for (int n = 0; n < count; n++) {
+            Producer p = this.producers.get(n);
+            if (p != null && p.released.get() && p.head.get() == p.tail.get()
+                    && p.released.compareAndSet(true, false)) {
+                return p;
+            }
+        }
+        int n = this.producerCount.getAndIncrement();
+        if (n >= this.producers.length()) {
+            if (n == this.producers.length()) {
+                Log.warn("event bus rings are all taken, further publishing threads share a locked ring");
+            }
+            return this.overflow;
+        }
+        Producer p = new Producer(this.queueCapacity);
+        this.producers.set(n, p);
+        return p;
+    }
+
+    private void checkType(int type) {
+        if (type < 0 || type >= this.maxTypes) {
+            throw new IllegalArgumentException("Event type " + type + " is outside [0, " + this.maxTypes + ")");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.sparkge.core;
+
+/**
+ * @description the phases of a CoreEngine frame, in the order they run
+ */
+public enum FramePhase {
+    INPUT,
+    UPDATE,
+    RENDER,
+    PRESENT;
+
+    // cached because values() returns a new array on every call
+    static final FramePhase[] ALL = values();
+}
@@ -0,0 +1,177 @@
+/**
+ * @description records per-phase CPU time and heap allocation for each engine frame
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.core;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocation is read from the JVM's per-thread allocated byte counter, so it covers the thread that runs the
+ * frame (the game loop thread) and not work handed to other threads. The profiler itself does not allocate.
+ *
+ * The per-frame allocation budget defaults to the sparkge.allocationBudget system property (bytes).
+ */
+public class FrameProfiler {
+
+    private static final int PHASE_COUNT = FramePhase.ALL.length;
+
+    private final com.sun.management.ThreadMXBean threads;
+    private long threadId = -1;
+    private long allocationBudget;
+
+    private final long[] phaseStartNanos = new long[PHASE_COUNT];
+    private final long[] phaseStartBytes = new long[PHASE_COUNT];
+    private final long[] phaseNanos = new long[PHASE_COUNT];
+    private final long[] phaseBytes = new long[PHASE_COUNT];
+    private long frameStartNanos;
+    private long frameStartBytes;
+    private long frameNanos;
+    private long frameBytes;
+
+    private long frameCount;
+    private long overBudgetFrameCount;
+    private boolean overBudget;
+
+    /**
+     * @description constructor
+     * @param allocationBudget bytes a frame may allocate before it is flagged, negative to disable
+     */
+    public FrameProfiler(long allocationBudget) {
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (this.threads.isThreadAllocatedMemorySupported()) {
+            this.threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.allocationBudget = allocationBudget;
+    }
+
+    /**
+     * @description constructor using the sparkge.allocationBudget system property, default 16 KB
+     */
+    public FrameProfiler() {
+        this(Long.getLong("sparkge.allocationBudget", 16 * 1024));
+    }
+
+    /**
+     * @description starts a frame, must be called on the game loop thread
+     */
+    public void beginFrame() {
+        this.threadId = Thread.currentThread().getId();
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            this.phaseNanos[i] = 0;
+            this.phaseBytes[i] = 0;
+        }
+        this.frameStartNanos = System.nanoTime();
+        this.frameStartBytes = this.allocatedBytes();
+    }
+
+    /**
+     * @description starts timing a phase
+     * @param phase the phase starting
+     */
+    public void beginPhase(FramePhase phase) {
+        int i = phase.ordinal();
+        this.phaseStartNanos[i] = System.nanoTime();
+        this.phaseStartBytes[i] = this.allocatedBytes();
+    }
+
+    /**
+     * @description stops timing a phase; a phase may run more than once per frame and accumulates
+     * @param phase the phase ending
+     */
+    public void endPhase(FramePhase phase) {
+        int i = phase.ordinal();
+        this.phaseBytes[i] += this.allocatedBytes() - this.phaseStartBytes[i];
+        this.phaseNanos[i] += System.nanoTime() - this.phaseStartNanos[i];
+    }
+
+    /**
+     * @description ends the frame and checks it against the allocation budget
+     * @return true if the frame went over the allocation budget
+     */
+    public boolean endFrame() {
+        this.frameBytes = this.allocatedBytes() - this.frameStartBytes;
+        this.frameNanos = System.nanoTime() - this.frameStartNanos;
+        this.frameCount++;
+        this.overBudget = this.allocationBudget >= 0 && this.frameBytes > this.allocationBudget;
+        if (this.overBudget) {
+            this.overBudgetFrameCount++;
+        }
+        return this.overBudget;
+    }
+
+    /**
+     * @description resets the frame counters, e.g. once warm up is over
+     */
+    public void resetCounters() {
+        this.frameCount = 0;
+        this.overBudgetFrameCount = 0;
+    }
+
+    public void setAllocationBudget(long allocationBudget) {
+        this.allocationBudget = allocationBudget;
+    }
+
+    public long getAllocationBudget() {
+        return this.allocationBudget;
+    }
+
+    /**
+     * @description getter for the CPU time of a phase in the last completed frame
+     * @param phase the phase
+     * @return phase time in nanoseconds
+     */
+    public long getPhaseNanos(FramePhase phase) {
+        return this.phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @description getter for the bytes allocated by a phase in the last completed frame
+     * @param phase the phase
+     * @return allocated bytes
+     */
+    public long getPhaseAllocatedBytes(FramePhase phase) {
+        return this.phaseBytes[phase.ordinal()];
+    }
+
+    public long getFrameNanos() {
+        return this.frameNanos;
+    }
+
+    public long getFrameAllocatedBytes() {
+        return this.frameBytes;
+    }
+
+    public long getFrameCount() {
+        return this.frameCount;
+    }
+
+    public long getOverBudgetFrameCount() {
+        return this.overBudgetFrameCount;
+    }
+
+    public boolean isOverBudget() {
+        return this.overBudget;
+    }
+
+    /**
+     * @description describes the last frame's allocation by phase, for budget warnings
+     * @return report
+     */
+    public String describeLastFrame() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("frame ").append(this.frameCount).append(" allocated ").append(this.frameBytes)
+                .append(" bytes (budget ").append(this.allocationBudget).append(")");
+        for (FramePhase phase : FramePhase.ALL) {
+            sb.append(' ').append(phase.name().toLowerCase()).append('=').append(this.phaseBytes[phase.ordinal()]);
+        }
+        return sb.toString();
+    }
+
+    private long allocatedBytes() {
+        return this.threads.getThreadAllocatedBytes(this.threadId);
+    }
+}
@@ -4,11 +4,52 @@ import com.sparkge.rendering.Window;
 
 import static org.lwjgl.glfw.GLFW.*;
 
+/**
+ * @description collects raw input events and applies them to the keyboard and mouse once per frame
+ *
+ * GLFW callbacks (or an InputReplay) only queue events; update() applies the queue at the start of the
+ * frame's input phase, so state never changes in the middle of a frame and the exact per-frame event stream
+ * can be recorded and replayed.
+ *
+ * Every event is timestamped when it's queued. For low latency rendering the window polls again just before
+ * the render phase and latchLate() reads the cursor events that arrived since update(), so the renderer can
+ * turn the camera by getLateCursorDeltaX/Y() this frame; the events themselves still apply at the next
+ * update(), keeping recordings exact. presented() then records how long each event took to reach a buffer swap
+ * in getLatency().
+ */
 public class Input {
+
+    public static final int EVENT_KEY = 0;
+    public static final int EVENT_MOUSE_BUTTON = 1;
+    public static final int EVENT_CURSOR = 2;
+
+    private static final int MAX_EVENTS = 256;
+    private static final int LATENCY_SAMPLES = 1024;
+
     private Keyboard keyboard;
     private Mouse mouse;
     private Window window;
 
+    // the events queued for the next frame, then the events applied this frame
+    private final int[] types = new int[MAX_EVENTS];
+    private final int[] codes = new int[MAX_EVENTS];
+    private final int[] actions = new int[MAX_EVENTS];
+    private final int[] mods = new int[MAX_EVENTS];
+    private final double[] xs = new double[MAX_EVENTS];
+    private final double[] ys = new double[MAX_EVENTS];
+    private final long[] times = new long[MAX_EVENTS];
+    private int queued;
+    // queued events whose cursor position latchLate() has already used
+    private int latched;
+    private double lateX, lateY;
+    // queue times of the events first shown by the frame being rendered, live input only
+    private final long[] shownTimes = new long[2 * MAX_EVENTS];
+    private int shownCount;
+    private final LatencyStats latency = new LatencyStats(LATENCY_SAMPLES);
+    private int frameEvents;
+    private boolean live = true;
+    private long frame;
+
     public Input(Keyboard keyboard, Mouse mouse, Window window) {
         this.keyboard = keyboard;
         this.mouse = mouse;
@@ -27,17 +68,192 @@ public class Input {
      * @description sets window callbacks for key and mouse button inputs
      */
     public void init() {
+        if (this.window == null) {
+            return; // headless, events only come from a replay
+        }
         // Setup a key callback. It will be called every time a key is pressed, repeated or released.
         glfwSetKeyCallback(this.window.getContextHandle(), (window, key, scancode, action, mods) -> {
             if ( key == GLFW_KEY_ESCAPE && action == GLFW_RELEASE ) {
                 glfwSetWindowShouldClose(window, true); // We will detect this in the rendering loop
-            } else {
-                System.out.println(key);
+            } else if (this.live) {
+                Log.debug("key {} action {}", key, action);
+                this.queueEvent(EVENT_KEY, key, action, mods, 0, 0);
             }
         });
         glfwSetMouseButtonCallback(this.window.getContextHandle(), (window, button, action, mods) -> {
-           System.out.println(button);
+            if (this.live) {
+                Log.debug("mouse button {} action {}", button, action);
+                this.queueEvent(EVENT_MOUSE_BUTTON, button, action, mods, 0, 0);
+            }
+        });
+        glfwSetCursorPosCallback(this.window.getContextHandle(), (window, x, y) -> {
+            if (this.live) {
+                this.queueEvent(EVENT_CURSOR, 0, 0, 0, x, y);
+            }
         });
+    }
+
+    /**
+     * @description queues an event for the next frame
+     * @param type EVENT_KEY, EVENT_MOUSE_BUTTON or EVENT_CURSOR
+     * @param code GLFW key or button
+     * @param action GLFW_PRESS, GLFW_RELEASE or GLFW_REPEAT
+     * @param mods GLFW modifier bits
+     * @param x cursor x for cursor events
+     * @param y cursor y for cursor events
+     */
+    public void queueEvent(int type, int code, int action, int mods, double x, double y) {
+        if (this.queued == MAX_EVENTS) {
+            Log.warn("input event queue full, dropped event type {}", type);
+            return;
+        }
+        int i = this.queued++;
+        this.types[i] = type;
+        this.codes[i] = code;
+        this.actions[i] = action;
+        this.mods[i] = mods;
+        this.xs[i] = x;
+        this.ys[i] = y;
+        this.times[i] = System.nanoTime();
+    }
+
+    /**
+     * @description applies the queued events to the keyboard and mouse; called once at the start of a frame
+     */
+    public void update() {
+        this.frame++;
+        this.keyboard.beginFrame(this.frame);
+        this.mouse.beginFrame(this.frame);
+        for (int i = 0; i < this.queued; i++) {
+            switch (this.types[i]) {
+                case EVENT_KEY:
+                    if (this.actions[i] != GLFW_REPEAT) {
+                        this.keyboard.setKey(this.codes[i], this.actions[i] == GLFW_PRESS);
+                    }
+                    break;
+                case EVENT_MOUSE_BUTTON:
+                    this.mouse.setButton(this.codes[i], this.actions[i] == GLFW_PRESS);
+                    break;
+                case EVENT_CURSOR:
+                    this.mouse.setPosition(this.xs[i], this.ys[i]);
+                    break;
+                default:
+                    break;
+            }
+            // a cursor event latched last frame was already shown then
+            if (!(this.types[i] == EVENT_CURSOR && i < this.latched)) {
+                this.show(i);
+            }
+        }
+        this.frameEvents = this.queued;
+        this.queued = 0;
+        this.latched = 0;
+        this.lateX = this.mouse.getX();
+        this.lateY = this.mouse.getY();
+    }
+
+    /**
+     * @description reads the cursor events queued since update(), after the window has polled again late in
+     *  the frame; they apply to the mouse at the next update() as usual
+     */
+    public void latchLate() {
+        for (int i = this.latched; i < this.queued; i++) {
+            if (this.types[i] == EVENT_CURSOR) {
+                this.lateX = this.xs[i];
+                this.lateY = this.ys[i];
+                this.show(i);
+            }
+        }
+        this.latched = this.queued;
+    }
+
+    /**
+     * @description getter for how far the cursor has moved since update() applied this frame's events
+     * @return x distance in screen coordinates, 0 unless latchLate() found newer cursor events
+     */
+    public double getLateCursorDeltaX() {
+        return this.lateX - this.mouse.getX();
+    }
+
+    /**
+     * @description getter for how far the cursor has moved since update() applied this frame's events
+     * @return y distance in screen coordinates, 0 unless latchLate() found newer cursor events
+     */
+    public double getLateCursorDeltaY() {
+        return this.lateY - this.mouse.getY();
+    }
+
+    /**
+     * @description records the latency of every event the frame showed, from being queued to the swap
+     * @param presentNanos System.nanoTime() when the frame's buffer swap returned
+     */
+    public void presented(long presentNanos) {
+        for (int i = 0; i < this.shownCount; i++) {
+            this.latency.record(presentNanos - this.shownTimes[i]);
+        }
+        this.shownCount = 0;
+    }
+
+    /**
+     * @description getter for the input to present latency of recent live events
+     * @return latency samples
+     */
+    public LatencyStats getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * @description ignores events from the window, e.g. while a replay is feeding events
+     * @param live true to accept window events
+     */
+    public void setLive(boolean live) {
+        this.live = live;
+    }
+
+    /**
+     * @description getter for the number of events applied this frame
+     * @return event count
+     */
+    public int getFrameEventCount() {
+        return this.frameEvents;
+    }
+
+    public int getEventType(int i) {
+        return this.types[i];
+    }
+
+    public int getEventCode(int i) {
+        return this.codes[i];
+    }
+
+    public int getEventAction(int i) {
+        return this.actions[i];
+    }
+
+    public int getEventMods(int i) {
+        return this.mods[i];
+    }
+
+    public double getEventX(int i) {
+        return this.xs[i];
+    }
+
+    public double getEventY(int i) {
+        return this.ys[i];
+    }
+
+    /**
+     * @description getter for when an event applied this frame was queued
+     * @param i event index
+     * @return System.nanoTime() at queueing
+     */
+    public long getEventTime(int i) {
+        return this.times[i];
+    }
 
+    private void show(int i) {
+        if (this.live && this.shownCount < this.shownTimes.length) {
+            this.shownTimes[this.shownCount++] = this.times[i];
+        }
     }
 }
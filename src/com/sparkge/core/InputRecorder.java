@@ -0,0 +1,111 @@
+/**
+ * @description records the per-frame input event stream and fixed step tick counts to a compact binary log
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Log format, all big endian:
+ *  header: int magic 'SGIR', short version, float fixed step seconds
+ *  frame:  varint tick count, varint event count, then per event a type byte followed by
+ *          key/button events: zigzag varint code, byte action, byte mods
+ *          cursor events: double x, double y
+ */
+public class InputRecorder implements AutoCloseable {
+
+    static final int MAGIC = 0x53474952;
+    static final short VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // enough for a frame with a full input queue of cursor events
+    private static final int MAX_FRAME_BYTES = 10 + 256 * 17;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long frames;
+
+    /**
+     * @description constructor, creates or truncates the log
+     * @param file log file
+     * @param fixedStepSeconds the engine's fixed update step, stored so replays can check it
+     * @throws IOException if the file cannot be created
+     */
+    public InputRecorder(Path file, float fixedStepSeconds) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer.putInt(MAGIC).putShort(VERSION).putFloat(fixedStepSeconds);
+    }
+
+    /**
+     * @description appends a frame: its tick count and the events the input phase applied
+     * @param ticks fixed step updates run this frame
+     * @param input input after update() has applied the frame's events
+     */
+    public void recordFrame(int ticks, Input input) {
+        if (this.buffer.remaining() < MAX_FRAME_BYTES) {
+            this.flush();
+        }
+        putVarint(this.buffer, ticks);
+        int count = input.getFrameEventCount();
+        putVarint(this.buffer, count);
+        for (int i = 0; i < count; i++) {
+            int type = input.getEventType(i);
+            this.buffer.put((byte) type);
+            if (type == Input.EVENT_CURSOR) {
+                this.buffer.putDouble(input.getEventX(i)).putDouble(input.getEventY(i));
+            } else {
+                int code = input.getEventCode(i);
+                putVarint(this.buffer, (code << 1) ^ (code >> 31));
+                this.buffer.put((byte) input.getEventAction(i)).put((byte) input.getEventMods(i));
+            }
+        }
+        this.frames++;
+    }
+
+    public long getFrameCount() {
+        return this.frames;
+    }
+
+    /**
+     * @description writes buffered frames and closes the log
+     */
+    @Override
+    public void close() {
+        this.flush();
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush() {
+        this.buffer.flip();
+        try {
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.buffer.clear();
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * @description feeds a recorded input log back into the engine frame by frame
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | truncated logs are rejected with an IOException
+ */
+
+package com.sparkge.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Each frame queues exactly the events that were applied in the recorded frame and returns the recorded tick
+ * count, so a deterministic game runs the identical simulation regardless of how fast frames are rendered.
+ */
+public class InputReplay {
+
+    private final ByteBuffer log;
+    private final float fixedStepSeconds;
+    private final long frameCount;
+    private long frame;
+
+    /**
+     * @description constructor, loads the whole log into memory
+     * @param file log written by InputRecorder
+     * @throws IOException if the file cannot be read, is not an input log or is truncated
+     */
+    public InputReplay(Path file) throws IOException {
+        this.log = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (this.log.remaining() < 10 || this.log.getInt() != InputRecorder.MAGIC) {
+            throw new IOException(file + " is not an input log");
+        }
+        short version = this.log.getShort();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("Unsupported input log version " + version);
+        }
+        this.fixedStepSeconds = this.log.getFloat();
+
+        // count the frames up front so drivers can size their statistics, and check every frame is complete so
+        // nextFrame() never runs off the end
+        int start = this.log.position();
+        long frames = 0;
+        while (this.log.hasRemaining()) {
+            checkVarint(this.log, file);
+            int events = checkVarint(this.log, file);
+            for (int i = 0; i < events; i++) {
+                skip(this.log, 1, file);
+                if (this.log.get(this.log.position() - 1) == Input.EVENT_CURSOR) {
+                    skip(this.log, 16, file);
+                } else {
+                    checkVarint(this.log, file);
+                    skip(this.log, 2, file);
+                }
+            }
+            frames++;
+        }
+        this.log.position(start);
+        this.frameCount = frames;
+    }
+
+    /**
+     * @description queues the next recorded frame's events
+     * @param input the input to queue events on
+     * @return the recorded tick count, or -1 once the log is exhausted
+     */
+    public int nextFrame(Input input) {
+        if (!this.log.hasRemaining()) {
+            return -1;
+        }
+        int ticks = getVarint(this.log);
+        int events = getVarint(this.log);
+        for (int i = 0; i < events; i++) {
+            int type = this.log.get();
+            if (type == Input.EVENT_CURSOR) {
+                double x = this.log.getDouble();
+                double y = this.log.getDouble();
+                input.queueEvent(type, 0, 0, 0, x, y);
+            } else {
+                int zigzag = getVarint(this.log);
+                int code = (zigzag >>> 1) ^ -(zigzag & 1);
+                int action = this.log.get();
+                int mods = this.log.get();
+                input.queueEvent(type, code, action, mods, 0, 0);
+            }
+        }
+        this.frame++;
+        return ticks;
+    }
+
+    public boolean isFinished() {
+        return !this.log.hasRemaining();
+    }
+
+    public float getFixedStepSeconds() {
+        return this.fixedStepSeconds;
+    }
+
+    public long getFrameCount() {
+        return this.frameCount;
+    }
+
+    /**
+     * @description getter for the number of frames replayed so far
+     * @return replayed frame count
+     */
+    public long getFrame() {
+        return this.frame;
+    }
+
+    private static void skip(ByteBuffer buffer, int bytes, Path file) throws IOException {
+        if (buffer.remaining() < bytes) {
+            throw new IOException(file + " is truncated");
+        }
+        buffer.position(buffer.position() + bytes);
+    }
+
+    private static int checkVarint(ByteBuffer buffer, Path file) throws IOException {
+        int end = buffer.position();
+        while (end < buffer.limit() && (buffer.get(end) & 0x80) != 0) {
+            end++;
+        }
+        if (end == buffer.limit()) {
+            throw new IOException(file + " is truncated");
+        }
+        return getVarint(buffer);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * @description worker thread pool for splitting data parallel loops across cores
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | nested calls on the calling thread run inline, first failure wins
+ *  2026-10-19 | Thomas Wilkins | workers release their event ring on shutdown
+ */
+
+package com.sparkge.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * parallelFor() does not allocate: the job is published through fields, workers claim fixed size batches from
+ * an atomic counter and the calling thread works alongside them. Every worker acknowledges every job before
+ * parallelFor() returns, so the fields are never rewritten while a worker may still be reading them.
+ */
+public class JobSystem {
+
+    /**
+     * @description a unit of work over the index range [start, end)
+     */
+    public interface RangeTask {
+        void run(int start, int end);
+    }
+
+    private static JobSystem defaultInstance;
+
+    private final Thread[] workers;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // current job, written before generation is bumped
+    private RangeTask task;
+    private int count;
+    private int batchSize;
+    private int batchCount;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile long generation;
+    private volatile boolean shutdown;
+    private final AtomicInteger nextBatch = new AtomicInteger();
+    private final AtomicInteger acknowledged = new AtomicInteger();
+
+    /**
+     * @description constructor
+     * @param workerCount number of background workers, the calling thread always participates as well
+     */
+    public JobSystem(int workerCount) {
+        this.workers = new Thread[Math.max(0, workerCount)];
+        for (int i = 0; i < this.workers.length; i++) {
+            this.workers[i] = new Thread(this::workerLoop, "sparkge-worker-" + i);
+            this.workers[i].setDaemon(true);
+            this.workers[i].start();
+        }
+    }
+
+    /**
+     * @description returns the shared job system, sized to leave one core for the calling thread
+     * @return shared job system
+     */
+    public static synchronized JobSystem getDefault() {
+        if (defaultInstance == null) {
+            defaultInstance = new JobSystem(Runtime.getRuntime().availableProcessors() - 1);
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * @description runs the task over [0, count) split into batches of at least minBatchSize, and returns once
+     * every batch has completed. Calls made while another parallelFor is running (including nested calls from
+     * inside a task) run inline on the calling thread.
+     * @param count number of items
+     * @param minBatchSize smallest batch worth handing to another thread
+     * @param task the work to run for each batch
+     */
+    public void parallelFor(int count, int minBatchSize, RangeTask task) {
+        if (count <= 0) {
+            return;
+        }
+        // the lock is reentrant, so a nested call from a task on the calling thread must be caught explicitly
+        if (this.workers.length == 0 || count <= minBatchSize || this.lock.isHeldByCurrentThread()
+                || !this.lock.tryLock()) {
+            task.run(0, count);
+            return;
+        }
+        try {
+            int threads = this.workers.length + 1;
+            // several batches per thread so uneven batches balance out
+            int size = Math.max(Math.max(1, minBatchSize), (count + threads * 4 - 1) / (threads * 4));
+            this.task = task;
+            this.count = count;
+            this.batchSize = size;
+            this.batchCount = (count + size - 1) / size;
+            this.failure.set(null);
+            this.nextBatch.set(0);
+            this.acknowledged.set(0);
+            this.generation++;
+            for (Thread worker : this.workers) {
+                LockSupport.unpark(worker);
+            }
+
+            this.work();
+            while (this.acknowledged.get() < this.workers.length) {
+                Thread.onSpinWait();
+            }
+            this.task = null;
+
+            Throwable t = this.failure.get();
+            if (t != null) {
+                if (t instanceof RuntimeException) {
+                    throw (RuntimeException) t;
+                }
+                if (t instanceof Error) {
+                    throw (Error) t;
+                }
+                throw new RuntimeException(t);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @description getter for the number of threads that run a job, including the caller
+     * @return thread count
+     */
+    public int getThreadCount() {
+        return this.workers.length + 1;
+    }
+
+    /**
+     * @description stops the worker threads
+     */
+    public void shutdown() {
+        this.shutdown = true;
+        for (Thread worker : this.workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * @description claims and runs batches of the current job until none are left
+     */
+    private void work() {
+        RangeTask task = this.task;
+        int batch;
+        while ((batch = this.nextBatch.getAndIncrement()) < this.batchCount) {
+            int start = batch * this.batchSize;
+            int end = Math.min(start + this.batchSize, this.count);
+            try {
+                task.run(start, end);
+            } catch (Throwable t) {
+                this.failure.compareAndSet(null, t);
+            }
+        }
+    }
+
+    private void workerLoop() {
+        long seen = 0;
+        while (!this.shutdown) {
+            long current = this.generation;
+            if (current == seen) {
+                LockSupport.park(this);
+                continue;
+            }
+            seen = current;
+            this.work();
+            this.acknowledged.incrementAndGet();
+        }
+        EventBus.releaseDefaultProducer();
+    }
+}
@@ -1,6 +1,52 @@
 package com.sparkge.core;
 
+import java.util.Arrays;
 
+import static org.lwjgl.glfw.GLFW.GLFW_KEY_LAST;
+
+/**
+ * @description keyboard state as of the current frame's input phase
+ */
 public class Keyboard {
 
+    private final boolean[] down = new boolean[GLFW_KEY_LAST + 1];
+    private final long[] pressedFrame = new long[GLFW_KEY_LAST + 1];
+    private long frame;
+
+    public Keyboard() {
+        // the frame counter is 0 until the first update, so "never pressed" must not match it
+        Arrays.fill(this.pressedFrame, -1);
+    }
+
+    /**
+     * @description determines whether a key is held
+     * @param key GLFW key code
+     * @return true if the key is down
+     */
+    public boolean isKeyDown(int key) {
+        return key >= 0 && key < this.down.length && this.down[key];
+    }
+
+    /**
+     * @description determines whether a key went down this frame
+     * @param key GLFW key code
+     * @return true if the key was pressed this frame
+     */
+    public boolean wasKeyPressed(int key) {
+        return key >= 0 && key < this.down.length && this.pressedFrame[key] == this.frame;
+    }
+
+    void beginFrame(long frame) {
+        this.frame = frame;
+    }
+
+    void setKey(int key, boolean down) {
+        if (key < 0 || key >= this.down.length) {
+            return;
+        }
+        if (down && !this.down[key]) {
+            this.pressedFrame[key] = this.frame;
+        }
+        this.down[key] = down;
+    }
 }
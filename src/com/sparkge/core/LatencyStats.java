@@ -0,0 +1,92 @@
+/**
+ * @description keeps the most recent latency samples and reports percentiles of them
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.core;
+
+import java.util.Arrays;
+
+/**
+ * Samples go into a fixed ring, so recording never allocates and percentiles describe recent behavior rather
+ * than the whole run. getPercentile() sorts a copy of the ring into a preallocated array once per batch of new
+ * samples, so read several percentiles together and not every frame.
+ */
+public class LatencyStats {
+
+    private final long[] samples;
+    private final long[] sorted;
+    private int next;
+    private int size;
+    private long total;
+    private boolean sortStale;
+
+    /**
+     * @description constructor
+     * @param capacity number of most recent samples kept
+     */
+    public LatencyStats(int capacity) {
+        this.samples = new long[capacity];
+        this.sorted = new long[capacity];
+    }
+
+    /**
+     * @description adds a sample, replacing the oldest once full
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        this.samples[this.next] = nanos;
+        this.next = (this.next + 1) % this.samples.length;
+        if (this.size < this.samples.length) {
+            this.size++;
+        }
+        this.total++;
+        this.sortStale = true;
+    }
+
+    /**
+     * @description getter for a percentile of the kept samples
+     * @param percentile from 0 to 100
+     * @return latency in nanoseconds, 0 with no samples
+     */
+    public long getPercentile(double percentile) {
+        if (this.size == 0) {
+            return 0;
+        }
+        if (this.sortStale) {
+            System.arraycopy(this.samples, 0, this.sorted, 0, this.size);
+            Arrays.sort(this.sorted, 0, this.size);
+            this.sortStale = false;
+        }
+        // nearest rank
+        int rank = (int) Math.ceil(percentile / 100 * this.size);
+        return this.sorted[Math.max(0, Math.min(this.size - 1, rank - 1))];
+    }
+
+    /**
+     * @description getter for the number of samples kept
+     * @return sample count, at most the capacity
+     */
+    public int getSampleCount() {
+        return this.size;
+    }
+
+    /**
+     * @description getter for the number of samples ever recorded
+     * @return sample count
+     */
+    public long getTotalCount() {
+        return this.total;
+    }
+
+    /**
+     * @description discards every sample
+     */
+    public void clear() {
+        this.next = 0;
+        this.size = 0;
+        this.sortStale = false;
+    }
+}
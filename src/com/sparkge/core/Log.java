@@ -0,0 +1,311 @@
+/**
+ * @description asynchronous engine logger that keeps formatting and I/O off the calling thread
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Two argument double and object overloads, bounded flush
+ */
+
+package com.sparkge.core;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Messages are a format string with {} placeholders plus up to three primitive (or immutable object) arguments.
+ * A Throwable argument is printed with its stack trace after the message.
+ * Callers check the level first, then copy the format reference and raw argument bits into a preallocated
+ * ring buffer slot - no strings are built and nothing is allocated on the calling thread. A background
+ * daemon thread formats and prints the messages.
+ *
+ * When the ring is full new messages are dropped rather than blocking the caller; the number of dropped
+ * messages is counted and reported in the output.
+ *
+ * The level defaults to the sparkge.logLevel system property (DEBUG, INFO, WARN, ERROR) and the ring size to
+ * sparkge.logCapacity, rounded up to a power of two.
+ */
+public final class Log {
+
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR
+    }
+
+    public static final long FLUSH_TIMEOUT_NANOS = 2_000_000_000L;
+
+    private static final int MAX_ARGS = 3;
+    private static final byte ARG_LONG = 0;
+    private static final byte ARG_DOUBLE = 1;
+    private static final byte ARG_OBJECT = 2;
+
+    private static final Level[] LEVELS = Level.values();
+
+    private static final int capacity;
+    private static final int mask;
+
+    // ring slots, struct of arrays indexed by sequence & mask
+    private static final AtomicLongArray published;
+    private static final int[] slotLevels;
+    private static final String[] slotFormats;
+    private static final String[] slotThreads;
+    private static final long[] slotNanos;
+    private static final int[] slotArgCounts;
+    private static final byte[] slotArgTypes;
+    private static final long[] slotArgs;
+    private static final Object[] slotObjects;
+
+    private static final AtomicLong head = new AtomicLong();
+    private static volatile long tail;
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final long startNanos = System.nanoTime();
+
+    private static volatile int threshold;
+    private static volatile PrintStream out = System.out;
+
+    static {
+        int requested = Integer.getInteger("sparkge.logCapacity", 8192);
+        capacity = Integer.highestOneBit(Math.max(2, requested - 1)) << 1;
+        mask = capacity - 1;
+        published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            // nothing published yet
+            published.set(i, -1);
+        }
+        slotLevels = new int[capacity];
+        slotFormats = new String[capacity];
+        slotThreads = new String[capacity];
+        slotNanos = new long[capacity];
+        slotArgCounts = new int[capacity];
+        slotArgTypes = new byte[capacity * MAX_ARGS];
+        slotArgs = new long[capacity * MAX_ARGS];
+        slotObjects = new Object[capacity * MAX_ARGS];
+
+        threshold = Level.valueOf(System.getProperty("sparkge.logLevel", "INFO").toUpperCase()).ordinal();
+
+        Thread writer = new Thread(Log::writerLoop, "sparkge-log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "sparkge-log-flush"));
+    }
+
+    private Log() {
+    }
+
+    /**
+     * @description sets the minimum level that is logged
+     * @param level minimum level
+     */
+    public static void setLevel(Level level) {
+        threshold = level.ordinal();
+    }
+
+    /**
+     * @description determines whether messages at a level would be logged; use it to guard expensive arguments
+     * @param level the level to check
+     * @return true if enabled
+     */
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold;
+    }
+
+    /**
+     * @description sets where formatted messages are written
+     * @param stream output stream
+     */
+    public static void setOutput(PrintStream stream) {
+        out = stream;
+    }
+
+    /**
+     * @description getter for the number of messages dropped because the ring buffer was full
+     * @return dropped message count
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @description getter for the number of messages waiting to be written
+     * @return pending message count
+     */
+    public static long getPendingCount() {
+        return head.get() - tail;
+    }
+
+    /**
+     * @description blocks until every message logged so far has been written, or FLUSH_TIMEOUT_NANOS has passed;
+     *  a thread that died between claiming a slot and publishing it would otherwise stall the flush forever
+     * @return true if everything was written, false on timeout
+     */
+    public static boolean flush() {
+        long target = head.get();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (tail < target) {
+            if (System.nanoTime() - deadline >= 0) {
+                out.flush();
+                return false;
+            }
+            LockSupport.parkNanos(100_000);
+        }
+        out.flush();
+        return true;
+    }
+
+    public static void debug(String format) { log(Level.DEBUG, format, 0, ARG_LONG, 0, ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void debug(String format, long a) { log(Level.DEBUG, format, 1, ARG_LONG, a, ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void debug(String format, long a, long b) { log(Level.DEBUG, format, 2, ARG_LONG, a, ARG_LONG, b, ARG_LONG, 0, null, null); }
+    public static void debug(String format, double a) { log(Level.DEBUG, format, 1, ARG_DOUBLE, bits(a), ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void debug(String format, double a, double b) { log(Level.DEBUG, format, 2, ARG_DOUBLE, bits(a), ARG_DOUBLE, bits(b), ARG_LONG, 0, null, null); }
+    public static void debug(String format, double a, double b, double c) { log(Level.DEBUG, format, 3, ARG_DOUBLE, bits(a), ARG_DOUBLE, bits(b), ARG_DOUBLE, bits(c), null, null); }
+    public static void debug(String format, Object a) { log(Level.DEBUG, format, 1, ARG_OBJECT, 0, ARG_LONG, 0, ARG_LONG, 0, a, null); }
+    public static void debug(String format, Object a, Object b) { log(Level.DEBUG, format, 2, ARG_OBJECT, 0, ARG_OBJECT, 0, ARG_LONG, 0, a, b); }
+
+    public static void info(String format) { log(Level.INFO, format, 0, ARG_LONG, 0, ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void info(String format, long a) { log(Level.INFO, format, 1, ARG_LONG, a, ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void info(String format, long a, long b) { log(Level.INFO, format, 2, ARG_LONG, a, ARG_LONG, b, ARG_LONG, 0, null, null); }
+    public static void info(String format, double a) { log(Level.INFO, format, 1, ARG_DOUBLE, bits(a), ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void info(String format, double a, double b) { log(Level.INFO, format, 2, ARG_DOUBLE, bits(a), ARG_DOUBLE, bits(b), ARG_LONG, 0, null, null); }
+    public static void info(String format, double a, double b, double c) { log(Level.INFO, format, 3, ARG_DOUBLE, bits(a), ARG_DOUBLE, bits(b), ARG_DOUBLE, bits(c), null, null); }
+    public static void info(String format, Object a) { log(Level.INFO, format, 1, ARG_OBJECT, 0, ARG_LONG, 0, ARG_LONG, 0, a, null); }
+    public static void info(String format, Object a, Object b) { log(Level.INFO, format, 2, ARG_OBJECT, 0, ARG_OBJECT, 0, ARG_LONG, 0, a, b); }
+
+    public static void warn(String format) { log(Level.WARN, format, 0, ARG_LONG, 0, ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void warn(String format, long a) { log(Level.WARN, format, 1, ARG_LONG, a, ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void warn(String format, long a, long b) { log(Level.WARN, format, 2, ARG_LONG, a, ARG_LONG, b, ARG_LONG, 0, null, null); }
+    public static void warn(String format, double a) { log(Level.WARN, format, 1, ARG_DOUBLE, bits(a), ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void warn(String format, double a, double b) { log(Level.WARN, format, 2, ARG_DOUBLE, bits(a), ARG_DOUBLE, bits(b), ARG_LONG, 0, null, null); }
+    public static void warn(String format, double a, double b, double c) { log(Level.WARN, format, 3, ARG_DOUBLE, bits(a), ARG_DOUBLE, bits(b), ARG_DOUBLE, bits(c), null, null); }
+    public static void warn(String format, Object a) { log(Level.WARN, format, 1, ARG_OBJECT, 0, ARG_LONG, 0, ARG_LONG, 0, a, null); }
+    public static void warn(String format, Object a, Object b) { log(Level.WARN, format, 2, ARG_OBJECT, 0, ARG_OBJECT, 0, ARG_LONG, 0, a, b); }
+
+    public static void error(String format) { log(Level.ERROR, format, 0, ARG_LONG, 0, ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void error(String format, long a) { log(Level.ERROR, format, 1, ARG_LONG, a, ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void error(String format, long a, long b) { log(Level.ERROR, format, 2, ARG_LONG, a, ARG_LONG, b, ARG_LONG, 0, null, null); }
+    public static void error(String format, double a) { log(Level.ERROR, format, 1, ARG_DOUBLE, bits(a), ARG_LONG, 0, ARG_LONG, 0, null, null); }
+    public static void error(String format, double a, double b) { log(Level.ERROR, format, 2, ARG_DOUBLE, bits(a), ARG_DOUBLE, bits(b), ARG_LONG, 0, null, null); }
+    public static void error(String format, double a, double b, double c) { log(Level.ERROR, format, 3, ARG_DOUBLE, bits(a), ARG_DOUBLE, bits(b), ARG_DOUBLE, bits(c), null, null); }
+    public static void error(String format, Object a) { log(Level.ERROR, format, 1, ARG_OBJECT, 0, ARG_LONG, 0, ARG_LONG, 0, a, null); }
+    public static void error(String format, Object a, Object b) { log(Level.ERROR, format, 2, ARG_OBJECT, 0, ARG_OBJECT, 0, ARG_LONG, 0, a, b); }
+
+    private static long bits(double value) {
+        return Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     * @description claims a ring slot, copies the message into it and publishes it
+     * @param o0 the first argument if it is an object
+     * @param o1 the second argument if it is an object; a Throwable in either also prints its stack trace,
+     *  and objects must not be mutated after logging
+     */
+    private static void log(Level level, String format, int argCount,
+                            byte t0, long a0, byte t1, long a1, byte t2, long a2, Object o0, Object o1) {
+        if (level.ordinal() < threshold) {
+            return;
+        }
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail >= capacity) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & mask);
+        int arg = slot * MAX_ARGS;
+        slotLevels[slot] = level.ordinal();
+        slotFormats[slot] = format;
+        slotThreads[slot] = Thread.currentThread().getName();
+        slotNanos[slot] = System.nanoTime();
+        slotArgCounts[slot] = argCount;
+        slotArgTypes[arg] = t0;
+        slotArgTypes[arg + 1] = t1;
+        slotArgTypes[arg + 2] = t2;
+        slotArgs[arg] = a0;
+        slotArgs[arg + 1] = a1;
+        slotArgs[arg + 2] = a2;
+        slotObjects[arg] = o0;
+        slotObjects[arg + 1] = o1;
+        published.lazySet(slot, sequence);
+    }
+
+    private static void writerLoop() {
+        StringBuilder line = new StringBuilder(256);
+        long reportedDrops = 0;
+        while (true) {
+            long sequence = tail;
+            int slot = (int) (sequence & mask);
+            if (published.get(slot) != sequence) {
+                long drops = dropped.get();
+                if (drops != reportedDrops) {
+                    out.println("[sparkge-log] dropped " + (drops - reportedDrops) + " messages, log buffer full");
+                    reportedDrops = drops;
+                }
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+
+            line.setLength(0);
+            format(slot, line);
+            Object first = slotObjects[slot * MAX_ARGS];
+            Object second = slotObjects[slot * MAX_ARGS + 1];
+            slotObjects[slot * MAX_ARGS] = null;
+            slotObjects[slot * MAX_ARGS + 1] = null;
+            slotFormats[slot] = null;
+            // release the slot before the (slow) write so producers can reuse it
+            tail = sequence + 1;
+
+            PrintStream stream = out;
+            stream.println(line);
+            if (first instanceof Throwable) {
+                ((Throwable) first).printStackTrace(stream);
+            }
+            if (second instanceof Throwable) {
+                ((Throwable) second).printStackTrace(stream);
+            }
+        }
+    }
+
+    private static void format(int slot, StringBuilder line) {
+        long elapsedMicros = (slotNanos[slot] - startNanos) / 1000;
+        line.append('[').append(elapsedMicros / 1_000_000).append('.');
+        long millis = (elapsedMicros / 1000) % 1000;
+        if (millis < 100) line.append('0');
+        if (millis < 10) line.append('0');
+        line.append(millis).append("] ");
+        line.append(LEVELS[slotLevels[slot]].name()).append(" [").append(slotThreads[slot]).append("] ");
+
+        String format = slotFormats[slot];
+        int argCount = slotArgCounts[slot];
+        int next = 0;
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i);
+            if (c == '{' && i + 1 < format.length() && format.charAt(i + 1) == '}' && next < argCount) {
+                appendArg(slot * MAX_ARGS + next++, line);
+                i += 2;
+            } else {
+                line.append(c);
+                i++;
+            }
+        }
+    }
+
+    private static void appendArg(int arg, StringBuilder line) {
+        switch (slotArgTypes[arg]) {
+            case ARG_DOUBLE:
+                line.append(Double.longBitsToDouble(slotArgs[arg]));
+                break;
+            case ARG_OBJECT:
+                line.append(slotObjects[arg]);
+                break;
+            default:
+                line.append(slotArgs[arg]);
+                break;
+        }
+    }
+}
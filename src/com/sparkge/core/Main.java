@@ -1,26 +1,90 @@
 package com.sparkge.core;
 
+import com.sparkge.audio.AudioEngine;
+import com.sparkge.rendering.DynamicResolution;
 import com.sparkge.rendering.Window;
 import org.lwjgl.*;
 import com.sparkge.game.StarFoxLite;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
 public class Main {
 
+    // the window retargets dynamic resolution to the monitor's refresh rate, this is only the fallback
+    private static final int FALLBACK_REFRESH_RATE = 60;
+
     private CoreEngine engine;
 
+    private int width = 1920, height = 1080;
+    private String recordFile;
+    private String startupTraceFile;
+    private float minScale, maxScale;
+    private boolean lowLatency;
+
     public void run() {
-        System.out.println("Hello LWJGL " + Version.getVersion() + "!");
+        Log.info("Hello LWJGL {}!", Version.getVersion());
         this.init();
     }
 
+    /**
+     * @description reads command line options: --size WIDTHxHEIGHT, --record FILE, --startup-trace FILE,
+     *  --dynamic-resolution MIN:MAX (scene resolution scale bounds, e.g. 0.5:1), --low-latency
+     * @param args command line arguments
+     */
+    private void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--low-latency")) {
+                this.lowLatency = true;
+            } else if (i == args.length - 1) {
+                break; // the remaining options all take a value
+            } else if (args[i].equals("--size")) {
+                String[] size = args[i + 1].toLowerCase().split("x");
+                this.width = Integer.parseInt(size[0]);
+                this.height = Integer.parseInt(size[1]);
+            } else if (args[i].equals("--record")) {
+                this.recordFile = args[i + 1];
+            } else if (args[i].equals("--startup-trace")) {
+                this.startupTraceFile = args[i + 1];
+            } else if (args[i].equals("--dynamic-resolution")) {
+                String[] scale = args[i + 1].split(":");
+                this.minScale = Float.parseFloat(scale[0]);
+                this.maxScale = Float.parseFloat(scale[1]);
+            }
+        }
+    }
+
     private void init() {
-        Window window = new Window("Game", 1920, 1080);
+        Window window = new Window("Game", this.width, this.height);
+        window.setLowLatency(this.lowLatency);
+        if (this.maxScale > 0) {
+            window.setDynamicResolution(new DynamicResolution(this.minScale, this.maxScale,
+                    DynamicResolution.refreshNanos(FALLBACK_REFRESH_RATE)));
+        }
         engine = new CoreEngine(window, new StarFoxLite(), new Input(new Keyboard(), new Mouse(), window));
-        engine.start();
+        // opened by a startup worker while the window is created
+        engine.setAudio(new AudioEngine());
+        StartupGraph startup = new StartupGraph();
+        if (this.recordFile != null) {
+            startup.add("recorder", () -> engine.setRecorder(
+                    new InputRecorder(Paths.get(this.recordFile), CoreEngine.FIXED_STEP_SECONDS)));
+        }
+        engine.startup(startup);
+        if (this.startupTraceFile != null) {
+            try {
+                startup.writeChromeTrace(Paths.get(this.startupTraceFile));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        engine.run();
     }
 
     public static void main(String[] args) {
-        new Main().run();
+        Main main = new Main();
+        main.parseArgs(args);
+        main.run();
     }
 
 }
\ No newline at end of file
@@ -1,4 +1,74 @@
 package com.sparkge.core;
 
+import java.util.Arrays;
+
+import static org.lwjgl.glfw.GLFW.GLFW_MOUSE_BUTTON_LAST;
+
+/**
+ * @description mouse state as of the current frame's input phase
+ */
 public class Mouse {
+
+    private final boolean[] down = new boolean[GLFW_MOUSE_BUTTON_LAST + 1];
+    private final long[] pressedFrame = new long[GLFW_MOUSE_BUTTON_LAST + 1];
+    private long frame;
+    private double x, y;
+
+    public Mouse() {
+        // the frame counter is 0 until the first update, so "never pressed" must not match it
+        Arrays.fill(this.pressedFrame, -1);
+    }
+
+    /**
+     * @description determines whether a button is held
+     * @param button GLFW mouse button
+     * @return true if the button is down
+     */
+    public boolean isButtonDown(int button) {
+        return button >= 0 && button < this.down.length && this.down[button];
+    }
+
+    /**
+     * @description determines whether a button went down this frame
+     * @param button GLFW mouse button
+     * @return true if the button was pressed this frame
+     */
+    public boolean wasButtonPressed(int button) {
+        return button >= 0 && button < this.down.length && this.pressedFrame[button] == this.frame;
+    }
+
+    /**
+     * @description getter for the cursor x position
+     * @return x in screen coordinates from the left of the window
+     */
+    public double getX() {
+        return this.x;
+    }
+
+    /**
+     * @description getter for the cursor y position
+     * @return y in screen coordinates from the top of the window
+     */
+    public double getY() {
+        return this.y;
+    }
+
+    void beginFrame(long frame) {
+        this.frame = frame;
+    }
+
+    void setButton(int button, boolean down) {
+        if (button < 0 || button >= this.down.length) {
+            return;
+        }
+        if (down && !this.down[button]) {
+            this.pressedFrame[button] = this.frame;
+        }
+        this.down[button] = down;
+    }
+
+    void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
 }
@@ -0,0 +1,196 @@
+/**
+ * @description fixed capacity object pool addressed by generational int handles
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.core;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Every instance is created up front by the factory, so acquiring and releasing objects never allocates.
+ * Handles pack the slot index into the low bits and the slot generation into the high bits; releasing a
+ * slot bumps its generation, so any handle still pointing at the old occupant becomes stale.
+ *
+ * Run with -Dsparkge.debug=true to have get() throw a StaleHandleException when a stale handle is used.
+ */
+public class ObjectPool<T> {
+
+    public static final int NULL_HANDLE = 0;
+
+    private static final boolean DEBUG = Boolean.getBoolean("sparkge.debug");
+
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - INDEX_BITS)) - 1;
+
+    public static final int MAX_CAPACITY = INDEX_MASK + 1;
+
+    private final T[] objects;
+    private final Consumer<T> reset;
+    private final int[] generations;
+    // free slot indices, used as a stack
+    private final int[] freeList;
+    private int freeCount;
+    // densely packed active slot indices for iteration, plus each slot's position in that array
+    private final int[] active;
+    private final int[] activePosition;
+    private int activeCount;
+
+    /**
+     * @description constructor
+     * @param capacity maximum number of live objects
+     * @param factory creates each pooled instance once, at construction
+     * @param reset applied to an instance when it is released, may be null
+     */
+    @SuppressWarnings("unchecked")
+    public ObjectPool(int capacity, Supplier<T> factory, Consumer<T> reset) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Pool capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        this.objects = (T[]) new Object[capacity];
+        this.reset = reset;
+        this.generations = new int[capacity];
+        this.freeList = new int[capacity];
+        this.active = new int[capacity];
+        this.activePosition = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            this.objects[i] = factory.get();
+            this.generations[i] = 1;
+            // hand out low indices first
+            this.freeList[i] = capacity - 1 - i;
+        }
+        this.freeCount = capacity;
+    }
+
+    /**
+     * @description constructor for pools that do not need a reset callback
+     * @param capacity maximum number of live objects
+     * @param factory creates each pooled instance once, at construction
+     */
+    public ObjectPool(int capacity, Supplier<T> factory) {
+        this(capacity, factory, null);
+    }
+
+    /**
+     * @description takes a free object from the pool
+     * @return handle to the object, or NULL_HANDLE if the pool is exhausted
+     */
+    public int acquire() {
+        if (this.freeCount == 0) {
+            return NULL_HANDLE;
+        }
+        int index = this.freeList[--this.freeCount];
+        this.activePosition[index] = this.activeCount;
+        this.active[this.activeCount++] = index;
+        return (this.generations[index] << INDEX_BITS) | index;
+    }
+
+    /**
+     * @description returns an object to the pool and invalidates every handle to it
+     * @param handle handle returned by acquire
+     * @return false if the handle was already stale
+     */
+    public boolean release(int handle) {
+        if (!this.isValid(handle)) {
+            if (DEBUG) {
+                throw new StaleHandleException("Release of stale pool handle " + Integer.toHexString(handle));
+            }
+            return false;
+        }
+        int index = handle & INDEX_MASK;
+        if (this.reset != null) {
+            this.reset.accept(this.objects[index]);
+        }
+        // skip generation 0 on wrap so a live handle can never equal NULL_HANDLE
+        int generation = (this.generations[index] + 1) & GENERATION_MASK;
+        this.generations[index] = generation == 0 ? 1 : generation;
+
+        // swap-remove from the active array
+        int position = this.activePosition[index];
+        int last = this.active[--this.activeCount];
+        this.active[position] = last;
+        this.activePosition[last] = position;
+
+        this.freeList[this.freeCount++] = index;
+        return true;
+    }
+
+    /**
+     * @description releases every live object
+     */
+    public void clear() {
+        while (this.activeCount > 0) {
+            int index = this.active[this.activeCount - 1];
+            this.release((this.generations[index] << INDEX_BITS) | index);
+        }
+    }
+
+    /**
+     * @description determines whether the handle still refers to a live object
+     * @param handle handle to check
+     * @return true if the handle is live
+     */
+    public boolean isValid(int handle) {
+        int index = handle & INDEX_MASK;
+        return handle != NULL_HANDLE
+                && index < this.objects.length
+                && this.generations[index] == (handle >>> INDEX_BITS)
+                && this.activePosition[index] < this.activeCount
+                && this.active[this.activePosition[index]] == index;
+    }
+
+    /**
+     * @description resolves a handle to its object
+     * @param handle handle returned by acquire
+     * @return the pooled object, or null for a stale handle outside of debug mode
+     */
+    public T get(int handle) {
+        if (!this.isValid(handle)) {
+            if (DEBUG) {
+                throw new StaleHandleException("Use of stale pool handle " + Integer.toHexString(handle));
+            }
+            return null;
+        }
+        return this.objects[handle & INDEX_MASK];
+    }
+
+    /**
+     * @description getter for the number of live objects
+     * @return live object count
+     */
+    public int getActiveCount() {
+        return this.activeCount;
+    }
+
+    /**
+     * @description returns the live object at the given position for allocation free iteration; positions
+     * change when objects are released
+     * @param i position between 0 and getActiveCount() - 1
+     * @return the live object
+     */
+    public T getActive(int i) {
+        return this.objects[this.active[i]];
+    }
+
+    /**
+     * @description returns the handle of the live object at the given position
+     * @param i position between 0 and getActiveCount() - 1
+     * @return handle of the live object
+     */
+    public int getActiveHandle(int i) {
+        int index = this.active[i];
+        return (this.generations[index] << INDEX_BITS) | index;
+    }
+
+    /**
+     * @description getter for capacity
+     * @return maximum number of live objects
+     */
+    public int getCapacity() {
+        return this.objects.length;
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * @description renders a game into an offscreen window for a number of frames and reports frame timings
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | report GPU frame time
+ */
+
+package com.sparkge.core;
+
+import com.sparkge.game.IGame;
+import com.sparkge.game.StarFoxLite;
+import com.sparkge.rendering.Window;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Usage: RenderBenchmark [width] [height] [frames] [game class] [screenshot.png]
+ *
+ * The render phase is the CPU cost of submitting the frame; in offscreen mode the present phase waits for
+ * the GPU to finish it, so the two are reported separately. Runs on GPU-less Linux machines with Mesa's
+ * software rasterizer, e.g. LIBGL_ALWAYS_SOFTWARE=1 xvfb-run java ... com.sparkge.core.RenderBenchmark
+ */
+public class RenderBenchmark {
+
+    public static void main(String[] args) throws ReflectiveOperationException {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 1920;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 1080;
+        int frames = args.length > 2 ? Integer.parseInt(args[2]) : 600;
+        IGame game = args.length > 3
+                ? (IGame) Class.forName(args[3]).getDeclaredConstructor().newInstance()
+                : new StarFoxLite();
+        String screenshot = args.length > 4 ? args[4] : null;
+        int warmup = Math.max(1, frames / 10);
+
+        Window window = new Window("Benchmark", width, height, true);
+        CoreEngine engine = new CoreEngine(window, game, new Input(new Keyboard(), new Mouse(), window));
+        FrameProfiler profiler = engine.getProfiler();
+        profiler.setAllocationBudget(-1);
+
+        engine.init();
+        for (int i = 0; i < warmup; i++) {
+            engine.runFrame();
+        }
+
+        long[] frameNanos = new long[frames];
+        long renderNanos = 0, presentNanos = 0, gpuNanos = 0;
+        for (int i = 0; i < frames; i++) {
+            if (screenshot != null && i == frames - 1) {
+                window.getFrameCapture().screenshot(Paths.get(screenshot));
+            }
+            engine.runFrame();
+            frameNanos[i] = profiler.getFrameNanos();
+            renderNanos += profiler.getPhaseNanos(FramePhase.RENDER);
+            presentNanos += profiler.getPhaseNanos(FramePhase.PRESENT);
+            gpuNanos += window.getGpuProfiler().getFrameNanos();
+        }
+        long gpuDropped = window.getGpuProfiler().getDroppedFrames();
+        // flushes the screenshot, if any
+        engine.cleanup();
+
+        long total = 0;
+        for (long nanos : frameNanos) {
+            total += nanos;
+        }
+        Arrays.sort(frameNanos);
+        System.out.printf("%s %dx%d, %d frames%n", game.getClass().getSimpleName(), width, height, frames);
+        System.out.printf("  fps        %10.1f%n", frames / (total / 1e9));
+        System.out.printf("  frame avg  %10.3f ms%n", total / 1e6 / frames);
+        System.out.printf("  frame p50  %10.3f ms%n", frameNanos[frames / 2] / 1e6);
+        System.out.printf("  frame p99  %10.3f ms%n", frameNanos[Math.min(frames - 1, frames * 99 / 100)] / 1e6);
+        System.out.printf("  render avg %10.3f ms (CPU submission)%n", renderNanos / 1e6 / frames);
+        System.out.printf("  present avg%10.3f ms (GPU completion)%n", presentNanos / 1e6 / frames);
+        System.out.printf("  gpu avg    %10.3f ms (timer queries, %d frames unread)%n", gpuNanos / 1e6 / frames,
+                gpuDropped);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * @description replays a recorded input log through a game and reports a per-phase frame time profile
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.core;
+
+import com.sparkge.game.IGame;
+import com.sparkge.game.StarFoxLite;
+import com.sparkge.rendering.Window;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Usage: ReplayDriver log [--headless] [--size WIDTHxHEIGHT] [--game class]
+ *
+ * Record a log by running the game with --record log. Replaying runs the same fixed step updates with the same
+ * input on every run, so timings from two builds can be compared directly. Headless replays skip the render
+ * and present phases; windowed replays render offscreen.
+ */
+public class ReplayDriver {
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        if (args.length == 0) {
+            System.out.println("Usage: ReplayDriver log [--headless] [--size WIDTHxHEIGHT] [--game class]");
+            return;
+        }
+        boolean headless = false;
+        int width = 1920, height = 1080;
+        IGame game = new StarFoxLite();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--headless")) {
+                headless = true;
+            } else if (args[i].equals("--size") && i + 1 < args.length) {
+                String[] size = args[++i].toLowerCase().split("x");
+                width = Integer.parseInt(size[0]);
+                height = Integer.parseInt(size[1]);
+            } else if (args[i].equals("--game") && i + 1 < args.length) {
+                game = (IGame) Class.forName(args[++i]).getDeclaredConstructor().newInstance();
+            }
+        }
+
+        InputReplay replay = new InputReplay(Paths.get(args[0]));
+        CoreEngine engine;
+        if (headless) {
+            engine = new CoreEngine(game);
+        } else {
+            Window window = new Window("Replay", width, height, true);
+            engine = new CoreEngine(window, game, new Input(new Keyboard(), new Mouse(), window));
+        }
+        engine.setReplay(replay);
+        FrameProfiler profiler = engine.getProfiler();
+        profiler.setAllocationBudget(-1);
+
+        int frames = (int) replay.getFrameCount();
+        long[] frameNanos = new long[frames];
+        long[][] phaseNanos = new long[FramePhase.ALL.length][frames];
+
+        engine.init();
+        for (int i = 0; i < frames; i++) {
+            engine.runFrame();
+            frameNanos[i] = profiler.getFrameNanos();
+            for (FramePhase phase : FramePhase.ALL) {
+                phaseNanos[phase.ordinal()][i] = profiler.getPhaseNanos(phase);
+            }
+        }
+        engine.cleanup();
+
+        System.out.printf("%s replay of %s: %d frames, %d ticks%n", game.getClass().getSimpleName(), args[0],
+                frames, engine.getTicks());
+        if (frames == 0) {
+            return;
+        }
+        System.out.println("             avg ms     p50 ms     p99 ms");
+        print("frame", frameNanos);
+        for (FramePhase phase : FramePhase.ALL) {
+            if (!headless || phase == FramePhase.INPUT || phase == FramePhase.UPDATE) {
+                print(phase.name().toLowerCase(), phaseNanos[phase.ordinal()]);
+            }
+        }
+    }
+
+    private static void print(String name, long[] nanos) {
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("  %-8s %10.3f %10.3f %10.3f%n", name, total / 1e6 / nanos.length,
+                sorted[nanos.length / 2] / 1e6, sorted[Math.min(nanos.length - 1, nanos.length * 99 / 100)] / 1e6);
+    }
+}
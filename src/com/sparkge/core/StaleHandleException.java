@@ -0,0 +1,10 @@
+package com.sparkge.core;
+
+public class StaleHandleException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StaleHandleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,317 @@
+/**
+ * @description runs engine startup as a dependency graph of tasks and records a timeline of it
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Workers release their event ring as they end
+ */
+
+package com.sparkge.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Each task runs once all the tasks it was added after have finished. Tasks added with addMain() run on the
+ * thread that calls run(), which must be the main thread for anything touching GLFW or the GL context; every
+ * other task runs on a pool of startup workers, so file loading, decoding, device opening and the like overlap
+ * with context creation and with each other.
+ *
+ *     StartupGraph startup = new StartupGraph();
+ *     StartupGraph.Task config = startup.add("config", this::loadConfig);
+ *     StartupGraph.Task window = startup.addMain("window", window::init, config);
+ *     startup.add("audio", audio::init);
+ *     startup.addMain("game", game::init, window);
+ *     startup.run();
+ *
+ * Every task's thread and start and end time are recorded; writeChromeTrace() saves them in the Chrome trace
+ * event format, which chrome://tracing and ui.perfetto.dev open as a timeline.
+ */
+public class StartupGraph {
+
+    /**
+     * @description the work of a startup task
+     */
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * @description a task in the graph, passed to later tasks to depend on it
+     */
+    public static final class Task {
+        private final String name;
+        private final Action action;
+        private final boolean mainThread;
+        private final List<Task> dependents = new ArrayList<>();
+        private final AtomicInteger remaining = new AtomicInteger();
+        private volatile long startNanos, endNanos;
+        private volatile String threadName;
+        private volatile long threadId;
+
+        private Task(String name, Action action, boolean mainThread) {
+            this.name = name;
+            this.action = action;
+            this.mainThread = mainThread;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * @description getter for how long the task ran
+         * @return nanoseconds, 0 until it has run
+         */
+        public long getNanos() {
+            return this.endNanos - this.startNanos;
+        }
+    }
+
+    // queued to the main thread once every task has finished or one has failed
+    private static final Task DONE = new Task("done", null, true);
+
+    private final int workerCount;
+    private final List<Task> tasks = new ArrayList<>();
+    private final BlockingQueue<Task> mainQueue = new LinkedBlockingQueue<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private volatile Throwable failure;
+    private volatile Task failedTask;
+    private ExecutorService workers;
+    private long startNanos;
+    private long totalNanos;
+    private boolean ran;
+
+    /**
+     * @description constructor
+     * @param workerCount number of startup worker threads
+     */
+    public StartupGraph(int workerCount) {
+        this.workerCount = Math.max(1, workerCount);
+    }
+
+    /**
+     * @description constructor with a worker per core, less one for the main thread
+     */
+    public StartupGraph() {
+        this(Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * @description adds a task that runs on a startup worker
+     * @param name name shown in the timeline
+     * @param action the work
+     * @param after tasks that must finish first
+     * @return the task
+     */
+    public Task add(String name, Action action, Task... after) {
+        return this.addTask(new Task(name, action, false), after);
+    }
+
+    /**
+     * @description adds a task that runs on the thread calling run(), e.g. for GLFW and GL work
+     * @param name name shown in the timeline
+     * @param action the work
+     * @param after tasks that must finish first
+     * @return the task
+     */
+    public Task addMain(String name, Action action, Task... after) {
+        return this.addTask(new Task(name, action, true), after);
+    }
+
+    /**
+     * @description runs every task and returns once all have finished; call from the main thread
+     * @throws IllegalStateException if a task fails, with the failure as the cause, or the graph has a cycle
+     */
+    public void run() {
+        if (this.ran) {
+            throw new IllegalStateException("Startup graph has already run");
+        }
+        this.ran = true;
+        this.checkAcyclic();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.workerCount, runnable -> {
+            Thread thread = new Thread(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    EventBus.releaseDefaultProducer();
+                }
+            }, "sparkge-startup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.startNanos = System.nanoTime();
+        try {
+            if (this.tasks.isEmpty()) {
+                this.mainQueue.add(DONE);
+            }
+            for (Task task : this.tasks) {
+                if (task.remaining.get() == 0) {
+                    this.schedule(task);
+                }
+            }
+            while (true) {
+                Task task = this.mainQueue.take();
+                if (task == DONE) {
+                    break;
+                }
+                this.execute(task);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during startup", e);
+        } finally {
+            this.workers.shutdownNow();
+            this.totalNanos = System.nanoTime() - this.startNanos;
+        }
+        if (this.failure != null) {
+            throw new IllegalStateException("Startup task " + this.failedTask.name + " failed", this.failure);
+        }
+        Log.info("startup took {} ms", this.totalNanos / 1e6);
+    }
+
+    /**
+     * @description getter for the wall clock time of the whole graph
+     * @return nanoseconds from run() starting the first task to the last one finishing
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    public List<Task> getTasks() {
+        return this.tasks;
+    }
+
+    /**
+     * @description writes the timeline as Chrome trace event JSON
+     * @param file output file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeChromeTrace(Path file) throws IOException {
+        StringBuilder json = new StringBuilder("{\"traceEvents\":[\n");
+        List<Long> namedThreads = new ArrayList<>();
+        for (Task task : this.tasks) {
+            if (task.threadName == null) {
+                continue;
+            }
+            if (!namedThreads.contains(task.threadId)) {
+                namedThreads.add(task.threadId);
+                json.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(task.threadId)
+                        .append(",\"args\":{\"name\":");
+                appendString(json, task.threadName);
+                json.append("}},\n");
+            }
+            json.append("{\"name\":");
+            appendString(json, task.name);
+            json.append(",\"cat\":\"startup\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(task.threadId)
+                    .append(",\"ts\":").append((task.startNanos - this.startNanos) / 1000)
+                    .append(",\"dur\":").append(task.getNanos() / 1000).append("},\n");
+        }
+        // trailing commas aren't valid JSON, so close with an empty metadata event
+        json.append("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":1,\"args\":{\"name\":\"sparkge startup\"}}\n]}\n");
+        Files.write(file, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Task addTask(Task task, Task... after) {
+        if (this.ran) {
+            throw new IllegalStateException("Tasks cannot be added once the startup graph has run");
+        }
+        for (Task dependency : after) {
+            if (!this.tasks.contains(dependency)) {
+                throw new IllegalArgumentException("Task " + task.name + " depends on a task from another graph");
+            }
+            dependency.dependents.add(task);
+        }
+        task.remaining.set(after.length);
+        this.tasks.add(task);
+        return task;
+    }
+
+    private void checkAcyclic() {
+        // tasks can only depend on tasks added before them, so a cycle is impossible; but keep the check honest
+        int[] remaining = new int[this.tasks.size()];
+        List<Task> ready = new ArrayList<>();
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = this.tasks.get(i).remaining.get();
+            if (remaining[i] == 0) {
+                ready.add(this.tasks.get(i));
+            }
+        }
+        for (int i = 0; i < ready.size(); i++) {
+            for (Task dependent : ready.get(i).dependents) {
+                if (--remaining[this.tasks.indexOf(dependent)] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (ready.size() != this.tasks.size()) {
+            throw new IllegalStateException("Startup graph has a dependency cycle");
+        }
+    }
+
+    private void schedule(Task task) {
+        if (task.mainThread) {
+            this.mainQueue.add(task);
+        } else {
+            this.workers.execute(() -> this.execute(task));
+        }
+    }
+
+    private void execute(Task task) {
+        if (this.failure != null) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        task.threadName = thread.getName();
+        task.threadId = thread.getId();
+        task.startNanos = System.nanoTime();
+        try {
+            task.action.run();
+        } catch (Throwable t) {
+            task.endNanos = System.nanoTime();
+            synchronized (this) {
+                if (this.failure == null) {
+                    this.failedTask = task;
+                    this.failure = t;
+                }
+            }
+            this.mainQueue.add(DONE);
+            return;
+        }
+        task.endNanos = System.nanoTime();
+        for (Task dependent : task.dependents) {
+            if (dependent.remaining.decrementAndGet() == 0) {
+                this.schedule(dependent);
+            }
+        }
+        if (this.completed.incrementAndGet() == this.tasks.size()) {
+            this.mainQueue.add(DONE);
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
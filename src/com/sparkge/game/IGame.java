@@ -1,9 +1,11 @@
 package com.sparkge.game;
 
+import com.sparkge.core.Input;
+
 public interface IGame {
 
     public void init();
-    public void input();
+    public void input(Input input);
     public void update();
     public void render();
 
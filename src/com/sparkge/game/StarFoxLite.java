@@ -1,5 +1,7 @@
 package com.sparkge.game;
 
+import com.sparkge.core.Input;
+
 public class StarFoxLite implements IGame {
 
     /**
@@ -12,7 +14,7 @@ public class StarFoxLite implements IGame {
     /**
      * @description
      */
-    public void input() {
+    public void input(Input input) {
 
     };
 
@@ -0,0 +1,275 @@
+package com.sparkge.math;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * @description per-thread stack of reusable math temporaries and off-heap floats
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *
+ * Works like LWJGL's MemoryStack: push a frame with try-with-resources, take what the calculation needs, and
+ * everything taken in the frame is handed back when it closes.
+ *
+ *     try (MathStack stack = MathStack.push()) {
+ *         Vector3f forward = stack.vec3(target).subEq(eye);
+ *         Matrix4f view = stack.mat4();
+ *         ...
+ *         glUniformMatrix4fv(location, true, view.get(stack.floats(16)));
+ *     }
+ *
+ * Every instance is created when the thread first uses its stack, so steady state code allocates nothing.
+ * Taking from the stack resets the instance (zero vectors, identity quaternions and matrices) but float
+ * buffers are not cleared. Nothing taken from a frame may be kept after the frame closes, and one thread's
+ * temporaries must not be handed to another thread.
+ *
+ * Running out of any pool throws a MathStackOverflowException rather than silently allocating, which usually
+ * means a frame is never popped or a loop pushes without popping.
+ */
+public final class MathStack implements AutoCloseable {
+
+    public static final int MAX_FRAMES = 64;
+    public static final int VECTOR2_CAPACITY = 128;
+    public static final int VECTOR3_CAPACITY = 512;
+    public static final int QUATERNION_CAPACITY = 128;
+    public static final int MATRIX_CAPACITY = 64;
+    public static final int FLOAT_CAPACITY = 16384;
+
+    // float buffers are handed out in whole blocks, one view per block is created up front
+    private static final int FLOAT_BLOCK = 16;
+    private static final int BLOCK_COUNT = FLOAT_CAPACITY / FLOAT_BLOCK;
+
+    private static final ThreadLocal<MathStack> STACKS = ThreadLocal.withInitial(MathStack::new);
+
+    private final Vector2f[] vector2s = new Vector2f[VECTOR2_CAPACITY];
+    private final Vector3f[] vector3s = new Vector3f[VECTOR3_CAPACITY];
+    private final Quaternion[] quaternions = new Quaternion[QUATERNION_CAPACITY];
+    private final Matrix4f[] matrices = new Matrix4f[MATRIX_CAPACITY];
+    private final FloatBuffer[] blocks = new FloatBuffer[BLOCK_COUNT];
+
+    // the pool tops at each push, five per frame
+    private final int[] frames = new int[MAX_FRAMES * 5];
+    private int depth;
+    private int vector2Top, vector3Top, quaternionTop, matrixTop, blockTop;
+
+    private MathStack() {
+        for (int i = 0; i < VECTOR2_CAPACITY; i++) {
+            this.vector2s[i] = new Vector2f();
+        }
+        for (int i = 0; i < VECTOR3_CAPACITY; i++) {
+            this.vector3s[i] = new Vector3f();
+        }
+        for (int i = 0; i < QUATERNION_CAPACITY; i++) {
+            this.quaternions[i] = new Quaternion();
+        }
+        for (int i = 0; i < MATRIX_CAPACITY; i++) {
+            this.matrices[i] = new Matrix4f();
+        }
+        // native order, so the buffers can go straight to LWJGL
+        FloatBuffer floats = ByteBuffer.allocateDirect(FLOAT_CAPACITY * Float.BYTES)
+                .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            floats.position(i * FLOAT_BLOCK);
+            this.blocks[i] = floats.slice();
+        }
+    }
+
+    /**
+     * @description getter for the calling thread's stack, creating it on first use
+     * @return the thread's stack
+     */
+    public static MathStack get() {
+        return STACKS.get();
+    }
+
+    /**
+     * @description pushes a frame on the calling thread's stack
+     * @return the thread's stack, close it to pop the frame
+     */
+    public static MathStack push() {
+        return STACKS.get().pushFrame();
+    }
+
+    /**
+     * @description pushes a frame on this stack
+     * @return this
+     */
+    public MathStack pushFrame() {
+        if (this.depth == MAX_FRAMES) {
+            throw new MathStackOverflowException("Math stack is " + MAX_FRAMES + " frames deep, is a frame never popped?");
+        }
+        int frame = this.depth++ * 5;
+        this.frames[frame] = this.vector2Top;
+        this.frames[frame + 1] = this.vector3Top;
+        this.frames[frame + 2] = this.quaternionTop;
+        this.frames[frame + 3] = this.matrixTop;
+        this.frames[frame + 4] = this.blockTop;
+        return this;
+    }
+
+    /**
+     * @description pops the top frame, handing back everything taken since it was pushed
+     */
+    public void pop() {
+        if (this.depth == 0) {
+            throw new IllegalStateException("Math stack popped without a matching push");
+        }
+        int frame = --this.depth * 5;
+        this.vector2Top = this.frames[frame];
+        this.vector3Top = this.frames[frame + 1];
+        this.quaternionTop = this.frames[frame + 2];
+        this.matrixTop = this.frames[frame + 3];
+        this.blockTop = this.frames[frame + 4];
+    }
+
+    /**
+     * @description pops the top frame, for try-with-resources
+     */
+    @Override
+    public void close() {
+        this.pop();
+    }
+
+    /**
+     * @description getter for the number of frames currently pushed
+     * @return frame depth, 0 between frames
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @description takes a vector from the current frame
+     * @return zero vector
+     */
+    public Vector2f vec2() {
+        return this.vec2(0, 0);
+    }
+
+    /**
+     * @description takes a vector from the current frame
+     * @return vector set to x, y
+     */
+    public Vector2f vec2(float x, float y) {
+        this.checkFrame();
+        if (this.vector2Top == VECTOR2_CAPACITY) {
+            throw new MathStackOverflowException("Math stack out of Vector2f, " + VECTOR2_CAPACITY + " in use");
+        }
+        return this.vector2s[this.vector2Top++].set(x, y);
+    }
+
+    /**
+     * @description takes a vector from the current frame
+     * @return zero vector
+     */
+    public Vector3f vec3() {
+        return this.vec3(0, 0, 0);
+    }
+
+    /**
+     * @description takes a vector from the current frame
+     * @param v vector to copy
+     * @return copy of v
+     */
+    public Vector3f vec3(Vector3f v) {
+        return this.vec3(v.getX(), v.getY(), v.getZ());
+    }
+
+    /**
+     * @description takes a vector from the current frame
+     * @return vector set to x, y, z
+     */
+    public Vector3f vec3(float x, float y, float z) {
+        this.checkFrame();
+        if (this.vector3Top == VECTOR3_CAPACITY) {
+            throw new MathStackOverflowException("Math stack out of Vector3f, " + VECTOR3_CAPACITY + " in use");
+        }
+        return this.vector3s[this.vector3Top++].set(x, y, z);
+    }
+
+    /**
+     * @description takes a quaternion from the current frame
+     * @return identity quaternion
+     */
+    public Quaternion quat() {
+        return this.quat(0, 0, 0, 1);
+    }
+
+    /**
+     * @description takes a quaternion from the current frame
+     * @param q quaternion to copy
+     * @return copy of q
+     */
+    public Quaternion quat(Quaternion q) {
+        return this.quat(q.getX(), q.getY(), q.getZ(), q.getW());
+    }
+
+    /**
+     * @description takes a quaternion from the current frame
+     * @return quaternion set to x, y, z, w
+     */
+    public Quaternion quat(float x, float y, float z, float w) {
+        this.checkFrame();
+        if (this.quaternionTop == QUATERNION_CAPACITY) {
+            throw new MathStackOverflowException("Math stack out of Quaternion, " + QUATERNION_CAPACITY + " in use");
+        }
+        return this.quaternions[this.quaternionTop++].set(x, y, z, w);
+    }
+
+    /**
+     * @description takes a matrix from the current frame
+     * @return identity matrix
+     */
+    public Matrix4f mat4() {
+        return this.takeMatrix().setIdentity();
+    }
+
+    /**
+     * @description takes a matrix from the current frame
+     * @param m matrix to copy
+     * @return copy of m
+     */
+    public Matrix4f mat4(Matrix4f m) {
+        return this.takeMatrix().set(m);
+    }
+
+    /**
+     * @description takes off-heap floats from the current frame, e.g. for a GL call. The buffer's position is 0
+     *  and its limit is count, so it can be filled and flipped as usual, but clear() must not be used because
+     *  the space past the limit belongs to later allocations.
+     * @param count number of floats
+     * @return native order direct buffer, contents undefined
+     */
+    public FloatBuffer floats(int count) {
+        this.checkFrame();
+        if (count < 0) {
+            throw new IllegalArgumentException("Float count must not be negative");
+        }
+        int blockCount = Math.max(1, (count + FLOAT_BLOCK - 1) / FLOAT_BLOCK);
+        if (blockCount > BLOCK_COUNT - this.blockTop) {
+            throw new MathStackOverflowException("Math stack out of floats, " + count + " requested with "
+                    + (BLOCK_COUNT - this.blockTop) * FLOAT_BLOCK + " free");
+        }
+        FloatBuffer buffer = this.blocks[this.blockTop];
+        this.blockTop += blockCount;
+        buffer.clear().limit(count);
+        return buffer;
+    }
+
+    private Matrix4f takeMatrix() {
+        this.checkFrame();
+        if (this.matrixTop == MATRIX_CAPACITY) {
+            throw new MathStackOverflowException("Math stack out of Matrix4f, " + MATRIX_CAPACITY + " in use");
+        }
+        return this.matrices[this.matrixTop++];
+    }
+
+    private void checkFrame() {
+        // anything taken outside a frame would never be handed back
+        if (this.depth == 0) {
+            throw new IllegalStateException("Math stack used without a pushed frame");
+        }
+    }
+}
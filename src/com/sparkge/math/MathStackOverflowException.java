@@ -0,0 +1,17 @@
+package com.sparkge.math;
+
+/**
+ * @description thrown when a MathStack runs out of instances, frames or float space
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | serialVersionUID
+ */
+public class MathStackOverflowException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public MathStackOverflowException(String message) {
+        super(message);
+    }
+}
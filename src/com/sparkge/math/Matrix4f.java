@@ -4,10 +4,13 @@
  * @history
  *  2018-05-26 | czint | Created
  *  2018-06-01 | Thomas Wilkins | updated retrieval of matrices
+ *  2026-10-19 | Thomas Wilkins | fixed the copying operations and mulEq, added storing into a FloatBuffer
  */
 
 package com.sparkge.math;
 
+import java.nio.FloatBuffer;
+
 public class Matrix4f {
 
     private float[][] m;
@@ -72,7 +75,7 @@ public class Matrix4f {
      * @return sum as a new instance
      */
     public Matrix4f add(Matrix4f m2) {
-        float[][] m3 = new float[][]{};
+        float[][] m3 = new float[4][4];
         float[][] otherM = m2.getM();
         for (int i = 0; i < 4; i++) {
             for (int j = 0; j < 4; j++) {
@@ -103,7 +106,7 @@ public class Matrix4f {
      * @return difference as a new instance
      */
     public Matrix4f sub(Matrix4f m2) {
-        float[][] m3 = new float[][]{};
+        float[][] m3 = new float[4][4];
         float[][] otherM = m2.getM();
         for (int i = 0; i < 4; i++) {
             for (int j = 0; j < 4; j++) {
@@ -134,7 +137,7 @@ public class Matrix4f {
      * @return product as a new instance
      */
     public Matrix4f mul(Matrix4f m2) {
-        float[][] m3 = new float[][]{};
+        float[][] m3 = new float[4][4];
         float[][] otherM = m2.getM();
         for (int i = 0; i < 4; i++) {
             for (int j = 0; j < 4; j++) {
@@ -149,17 +152,19 @@ public class Matrix4f {
 
     /**
      * @description get the product of this instance's matrix and another matrix
-     * @param m2 matrix to multiply by
+     * @param m2 matrix to multiply by, not this instance
      * @return this
      */
     public Matrix4f mulEq(Matrix4f m2) {
+        if (m2 == this) {
+            throw new InvalidMatrixException("Cannot multiply a matrix by itself in place");
+        }
         float[][] otherM = m2.getM();
         for (int i = 0; i < 4; i++) {
+            // the row is overwritten as it is computed, so read it up front
+            float a0 = this.m[i][0], a1 = this.m[i][1], a2 = this.m[i][2], a3 = this.m[i][3];
             for (int j = 0; j < 4; j++) {
-                this.m[i][j] = this.m[i][0] * otherM[0][j] +
-                        this.m[i][1] * otherM[1][j] +
-                        this.m[i][2] * otherM[2][j] +
-                        this.m[i][3] * otherM[3][j];
+                this.m[i][j] = a0 * otherM[0][j] + a1 * otherM[1][j] + a2 * otherM[2][j] + a3 * otherM[3][j];
             }
         }
         return this;
@@ -171,7 +176,7 @@ public class Matrix4f {
      * @return scaled matrix as a new instance
      */
     public Matrix4f scale(float val) {
-        float[][] m3 = new float[][]{};
+        float[][] m3 = new float[4][4];
         for(int i = 0; i < 4; i++) {
             for(int j = 0; j < 4; j++) {
                 m3[i][j] = this.m[i][j] * val;
@@ -194,6 +199,59 @@ public class Matrix4f {
         return this;
     }
 
+    /**
+     * @description copies another matrix's values into this instance without replacing the backing array
+     * @param m2 matrix to copy
+     * @return this
+     */
+    public Matrix4f set(Matrix4f m2) {
+        float[][] otherM = m2.getM();
+        for (int i = 0; i < 4; i++) {
+            System.arraycopy(otherM[i], 0, this.m[i], 0, 4);
+        }
+        return this;
+    }
+
+    /**
+     * @description sets every value to 0
+     * @return this
+     */
+    public Matrix4f setZero() {
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                this.m[i][j] = 0;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @description sets this instance to the identity matrix
+     * @return this
+     */
+    public Matrix4f setIdentity() {
+        this.setZero();
+        for (int i = 0; i < 4; i++) {
+            this.m[i][i] = 1;
+        }
+        return this;
+    }
+
+    /**
+     * @description writes the values in row-major order at the buffer's position, without moving the position
+     * @param buffer buffer with at least 16 floats remaining
+     * @return the buffer
+     */
+    public FloatBuffer get(FloatBuffer buffer) {
+        int position = buffer.position();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                buffer.put(position + i * 4 + j, this.m[i][j]);
+            }
+        }
+        return buffer;
+    }
+
     public float get(int row, int col) {
         return m[row][col];
     }
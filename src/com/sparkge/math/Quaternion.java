@@ -5,6 +5,8 @@ package com.sparkge.math;
  * @author Thomas Wilkins | twilkins@radialspark.com
  * @history
  *  2018-06-02 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | added normalize, nlerp, slerp and construction from a basis
+ *  2026-10-19 | Thomas Wilkins | axis angle construction at a chosen trig precision
  */
 
 
@@ -17,8 +19,19 @@ public class Quaternion {
         this.w = w;
     }
     public Quaternion(Vector3f axis, float angle) {
-        float sinHalfAngle = (float)Math.sin(angle / 2);
-        float cosHalfAngle = (float)Math.cos(angle / 2);
+        this(axis, angle, Trig.Precision.EXACT);
+    }
+
+    /**
+     * @description rotation around a unit axis
+     * @param axis unit rotation axis
+     * @param angle angle in radians
+     * @param precision speed and accuracy of the sine and cosine
+     */
+    public Quaternion(Vector3f axis, float angle, Trig.Precision precision) {
+        float half = angle / 2;
+        float sinHalfAngle = Trig.sin(half, precision);
+        float cosHalfAngle = Trig.cos(half, precision);
         this.x = axis.getX() * sinHalfAngle;
         this.y = axis.getY() * sinHalfAngle;
         this.z = axis.getZ() * sinHalfAngle;
@@ -145,6 +158,138 @@ public class Quaternion {
         return this;
     }
 
+    /**
+     * @description in place normalization
+     * @return the calling quaternion
+     */
+    public Quaternion normalizeEq() {
+        float magnitude = this.getMagnitude();
+        if (magnitude > 0) {
+            float inverse = 1.0f / magnitude;
+            this.x *= inverse;
+            this.y *= inverse;
+            this.z *= inverse;
+            this.w *= inverse;
+        }
+        return this;
+    }
+
+    /**
+     * @description in place normalized linear interpolation along the shortest arc; cheaper than slerp and
+     *  nearly identical for close rotations, but not constant angular speed
+     * @param q the rotation to interpolate towards
+     * @param t interpolation factor, 0 is this rotation and 1 is q
+     * @return the calling quaternion
+     */
+    public Quaternion nlerpEq(Quaternion q, float t) {
+        float sign = this.dot(q) < 0 ? -1 : 1;
+        float s = 1 - t;
+        float u = t * sign;
+        return this.set(
+                s * this.x + u * q.getX(),
+                s * this.y + u * q.getY(),
+                s * this.z + u * q.getZ(),
+                s * this.w + u * q.getW()
+        ).normalizeEq();
+    }
+
+    /**
+     * @description spherical linear interpolation along the shortest arc
+     * @param q the rotation to interpolate towards
+     * @param t interpolation factor, 0 is this rotation and 1 is q
+     * @return a new quaternion resulting from the interpolation
+     */
+    public Quaternion slerp(Quaternion q, float t) {
+        return new Quaternion(this.x, this.y, this.z, this.w).slerpEq(q, t);
+    }
+
+    /**
+     * @description in place spherical linear interpolation along the shortest arc; both quaternions must be unit
+     * @param q the rotation to interpolate towards
+     * @param t interpolation factor, 0 is this rotation and 1 is q
+     * @return the calling quaternion
+     */
+    public Quaternion slerpEq(Quaternion q, float t) {
+        float cos = this.dot(q);
+        float sign = 1;
+        if (cos < 0) {
+            cos = -cos;
+            sign = -1;
+        }
+        if (cos > 0.9995f) {
+            // the sine below is too small to divide by, and linear is accurate this close
+            return this.nlerpEq(q, t);
+        }
+        float angle = (float) Math.acos(cos);
+        float inverseSin = 1.0f / (float) Math.sin(angle);
+        float s = (float) Math.sin((1 - t) * angle) * inverseSin;
+        float u = (float) Math.sin(t * angle) * inverseSin * sign;
+        return this.set(
+                s * this.x + u * q.getX(),
+                s * this.y + u * q.getY(),
+                s * this.z + u * q.getZ(),
+                s * this.w + u * q.getW()
+        );
+    }
+
+    /**
+     * @description sets the rotation that maps the x, y and z axes onto an orthonormal basis
+     * @param right where the x axis is rotated to
+     * @param up where the y axis is rotated to
+     * @param forward where the z axis is rotated to
+     * @return the calling quaternion
+     */
+    public Quaternion setFromAxes(Vector3f right, Vector3f up, Vector3f forward) {
+        // the basis vectors are the columns of the rotation matrix
+        float m00 = right.getX(), m01 = up.getX(), m02 = forward.getX();
+        float m10 = right.getY(), m11 = up.getY(), m12 = forward.getY();
+        float m20 = right.getZ(), m21 = up.getZ(), m22 = forward.getZ();
+        float trace = m00 + m11 + m22;
+        if (trace > 0) {
+            float s = 0.5f / (float) Math.sqrt(trace + 1);
+            this.set((m21 - m12) * s, (m02 - m20) * s, (m10 - m01) * s, 0.25f / s);
+        } else if (m00 > m11 && m00 > m22) {
+            float s = 2 * (float) Math.sqrt(1 + m00 - m11 - m22);
+            this.set(0.25f * s, (m01 + m10) / s, (m02 + m20) / s, (m21 - m12) / s);
+        } else if (m11 > m22) {
+            float s = 2 * (float) Math.sqrt(1 + m11 - m00 - m22);
+            this.set((m01 + m10) / s, 0.25f * s, (m12 + m21) / s, (m02 - m20) / s);
+        } else {
+            float s = 2 * (float) Math.sqrt(1 + m22 - m00 - m11);
+            this.set((m02 + m20) / s, (m12 + m21) / s, 0.25f * s, (m10 - m01) / s);
+        }
+        return this.normalizeEq();
+    }
+
+    /**
+     * @description sets all components in place
+     * @return the calling quaternion
+     */
+    public Quaternion set(float x, float y, float z, float w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    /**
+     * @description copies another quaternion's components into this quaternion
+     * @param q the quaternion to copy
+     * @return the calling quaternion
+     */
+    public Quaternion set(Quaternion q) {
+        return this.set(q.getX(), q.getY(), q.getZ(), q.getW());
+    }
+
+    /**
+     * @description resets to the identity rotation
+     * @return the calling quaternion
+     */
+    public Quaternion setIdentity() {
+        return this.set(0, 0, 0, 1);
+    }
+
     public float getX() {
         return x;
     }
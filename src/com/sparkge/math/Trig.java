@@ -0,0 +1,192 @@
+package com.sparkge.math;
+
+/**
+ * @description sine and cosine at a choice of speed and accuracy
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Say which tier is fastest for scalar and paired calls
+ *
+ * Max absolute errors, measured by TrigBenchmark over [-1000, 1000] radians:
+ *  EXACT       Math.sin/Math.cos rounded to float                                    3e-8
+ *  POLYNOMIAL  range reduction to [-pi/4, pi/4] in double, then minimax polynomials  1e-7
+ *  TABLE       nearest entry of a 4096 entry table                                   9e-4
+ * TABLE is for effects and anything else that is only seen, never simulated. POLYNOMIAL and TABLE assume
+ * |radians| below about 1e6.
+ *
+ * sincos() computes both from a single range reduction, which is what rotations need.
+ *
+ * Which tier is faster depends on the call. A single sin() or cos() is fastest with EXACT, because Math.sin is
+ * a JIT intrinsic; POLYNOMIAL measured about 20-28 ns per call against 16-19 ns for EXACT. POLYNOMIAL wins
+ * where one reduction feeds both values: sincos(), its batch form and the rotations took about 24-29 ns against
+ * 37-40 ns for EXACT. So use EXACT for lone sines and cosines, POLYNOMIAL for rotations and batches, and TABLE
+ * where its error is acceptable.
+ */
+public final class Trig {
+
+    public enum Precision {
+        EXACT, POLYNOMIAL, TABLE
+    }
+
+    public static final float DEGREES_TO_RADIANS = (float) (Math.PI / 180);
+
+    private static final double TWO_OVER_PI = 2 / Math.PI;
+    private static final double HALF_PI = Math.PI / 2;
+    // adding 1.5 * 2^52 rounds a double to an integer, which lands in the low bits of the mantissa
+    private static final double ROUNDING = 0x1.8p52;
+
+    private static final int TABLE_BITS = 12;
+    private static final int TABLE_SIZE = 1 << TABLE_BITS;
+    private static final int TABLE_MASK = TABLE_SIZE - 1;
+    private static final int TABLE_QUARTER = TABLE_SIZE / 4;
+    private static final float TABLE_SCALE = (float) (TABLE_SIZE / (2 * Math.PI));
+    private static final float[] SINES = new float[TABLE_SIZE];
+
+    static {
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            SINES[i] = (float) Math.sin(i * 2 * Math.PI / TABLE_SIZE);
+        }
+    }
+
+    private Trig() {
+    }
+
+    /**
+     * @description sine
+     * @param radians angle
+     * @param precision speed and accuracy tier
+     * @return sine of the angle
+     */
+    public static float sin(float radians, Precision precision) {
+        switch (precision) {
+            case POLYNOMIAL: {
+                double shifted = radians * TWO_OVER_PI + ROUNDING;
+                int quadrant = (int) Double.doubleToRawLongBits(shifted);
+                float r = (float) (radians - (shifted - ROUNDING) * HALF_PI);
+                return signed(select(sinKernel(r), cosKernel(r), quadrant), quadrant);
+            }
+            case TABLE:
+                return SINES[tableIndex(radians)];
+            default:
+                return (float) Math.sin(radians);
+        }
+    }
+
+    /**
+     * @description cosine
+     * @param radians angle
+     * @param precision speed and accuracy tier
+     * @return cosine of the angle
+     */
+    public static float cos(float radians, Precision precision) {
+        switch (precision) {
+            case POLYNOMIAL: {
+                // cos(x) = sin(x + pi / 2), one quadrant on
+                double shifted = radians * TWO_OVER_PI + ROUNDING;
+                int quadrant = (int) Double.doubleToRawLongBits(shifted);
+                float r = (float) (radians - (shifted - ROUNDING) * HALF_PI);
+                return signed(select(cosKernel(r), sinKernel(r), quadrant), quadrant + 1);
+            }
+            case TABLE:
+                return SINES[(tableIndex(radians) + TABLE_QUARTER) & TABLE_MASK];
+            default:
+                return (float) Math.cos(radians);
+        }
+    }
+
+    /**
+     * @description sine and cosine together
+     * @param radians angle
+     * @param out receives the cosine in x and the sine in y, i.e. the unit vector at the angle
+     * @param precision speed and accuracy tier
+     * @return out
+     */
+    public static Vector2f sincos(float radians, Vector2f out, Precision precision) {
+        switch (precision) {
+            case POLYNOMIAL: {
+                double shifted = radians * TWO_OVER_PI + ROUNDING;
+                int quadrant = (int) Double.doubleToRawLongBits(shifted);
+                float r = (float) (radians - (shifted - ROUNDING) * HALF_PI);
+                float s = sinKernel(r);
+                float c = cosKernel(r);
+                return out.set(signed(select(c, s, quadrant), quadrant + 1), signed(select(s, c, quadrant), quadrant));
+            }
+            case TABLE: {
+                int i = tableIndex(radians);
+                return out.set(SINES[(i + TABLE_QUARTER) & TABLE_MASK], SINES[i]);
+            }
+            default: {
+                double angle = radians;
+                return out.set((float) Math.cos(angle), (float) Math.sin(angle));
+            }
+        }
+    }
+
+    /**
+     * @description sines and cosines of a batch of angles, with the precision chosen once for the loop
+     * @param radians angles
+     * @param sines receives the sines
+     * @param cosines receives the cosines
+     * @param count number of angles
+     * @param precision speed and accuracy tier
+     */
+    public static void sincos(float[] radians, float[] sines, float[] cosines, int count, Precision precision) {
+        switch (precision) {
+            case POLYNOMIAL:
+                for (int i = 0; i < count; i++) {
+                    double shifted = radians[i] * TWO_OVER_PI + ROUNDING;
+                    int quadrant = (int) Double.doubleToRawLongBits(shifted);
+                    float r = (float) (radians[i] - (shifted - ROUNDING) * HALF_PI);
+                    float s = sinKernel(r);
+                    float c = cosKernel(r);
+                    sines[i] = signed(select(s, c, quadrant), quadrant);
+                    cosines[i] = signed(select(c, s, quadrant), quadrant + 1);
+                }
+                break;
+            case TABLE:
+                for (int i = 0; i < count; i++) {
+                    int index = tableIndex(radians[i]);
+                    sines[i] = SINES[index];
+                    cosines[i] = SINES[(index + TABLE_QUARTER) & TABLE_MASK];
+                }
+                break;
+            default:
+                for (int i = 0; i < count; i++) {
+                    double angle = radians[i];
+                    sines[i] = (float) Math.sin(angle);
+                    cosines[i] = (float) Math.cos(angle);
+                }
+                break;
+        }
+    }
+
+    /**
+     * @description sin(q * pi / 2 + r) is +-sin(r) for even q and +-cos(r) for odd q; both kernels are always
+     * evaluated, as the quadrant is unpredictable and a mispredicted branch costs more than the second kernel
+     */
+    private static float select(float even, float odd, int quadrant) {
+        return (quadrant & 1) == 0 ? even : odd;
+    }
+
+    /**
+     * @description negates the value in quadrants 2 and 3 by flipping its sign bit
+     */
+    private static float signed(float value, int quadrant) {
+        return Float.intBitsToFloat(Float.floatToRawIntBits(value) ^ ((quadrant & 2) << 30));
+    }
+
+    // minimax polynomials for [-pi/4, pi/4], as in Cephes sinf and cosf
+    private static float sinKernel(float r) {
+        float z = r * r;
+        return r + r * z * (-1.6666654611e-1f + z * (8.3321608736e-3f + z * -1.9515295891e-4f));
+    }
+
+    private static float cosKernel(float r) {
+        float z = r * r;
+        return 1 - 0.5f * z + z * z * (4.166664568298827e-2f + z * (-1.388731625493765e-3f + z * 2.443315711809948e-5f));
+    }
+
+    private static int tableIndex(float radians) {
+        return Math.round(radians * TABLE_SCALE) & TABLE_MASK;
+    }
+}
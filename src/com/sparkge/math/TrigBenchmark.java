@@ -0,0 +1,91 @@
+package com.sparkge.math;
+
+import java.util.Random;
+
+/**
+ * @description measures the error and speed of each Trig precision tier
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Fail when a tier's error is over its bound
+ *
+ * Usage: TrigBenchmark [angles] [rounds]
+ *
+ * Errors are the max absolute difference from double precision Math.sin/Math.cos over a dense sweep of
+ * [-1000, 1000] radians plus random angles. Timings are the best of several rounds after warming up, over
+ * random angles in the same range, for the scalar calls, the batch sincos and Vector2f.rotateEq.
+ *
+ * Exits with status 1 if a tier's error is over its bound: 1e-7 for EXACT and POLYNOMIAL, 1e-3 for TABLE.
+ */
+public class TrigBenchmark {
+
+    private static final double PRECISE_MAX_ERROR = 1e-7;
+    private static final double TABLE_MAX_ERROR = 1e-3;
+
+    private static float sink;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        float[] angles = new float[count];
+        Random random = new Random(1);
+        for (int i = 0; i < count; i++) {
+            angles[i] = (random.nextFloat() * 2 - 1) * 1000;
+        }
+        float[] sines = new float[count];
+        float[] cosines = new float[count];
+        Vector2f unit = new Vector2f(0, 0);
+
+        System.out.printf("%-11s %10s %10s %11s %11s %11s%n",
+                "precision", "sin err", "cos err", "sin ns", "sincos ns", "rotate ns");
+        boolean failed = false;
+        for (Trig.Precision precision : Trig.Precision.values()) {
+            double sinError = 0, cosError = 0;
+            for (int i = -2_000_000; i <= 2_000_000; i++) {
+                float angle = i * 0.0005f;
+                sinError = Math.max(sinError, Math.abs(Trig.sin(angle, precision) - Math.sin(angle)));
+                cosError = Math.max(cosError, Math.abs(Trig.cos(angle, precision) - Math.cos(angle)));
+            }
+            for (float angle : angles) {
+                Trig.sincos(angle, unit, precision);
+                sinError = Math.max(sinError, Math.abs(unit.getY() - Math.sin(angle)));
+                cosError = Math.max(cosError, Math.abs(unit.getX() - Math.cos(angle)));
+            }
+
+            long scalar = Long.MAX_VALUE, batch = Long.MAX_VALUE, rotate = Long.MAX_VALUE;
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                float sum = 0;
+                for (int i = 0; i < count; i++) {
+                    sum += Trig.sin(angles[i], precision);
+                }
+                scalar = Math.min(scalar, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                Trig.sincos(angles, sines, cosines, count, precision);
+                batch = Math.min(batch, System.nanoTime() - start);
+
+                Vector2f v = new Vector2f(1, 0);
+                start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    v.rotateEq(angles[i], precision);
+                }
+                rotate = Math.min(rotate, System.nanoTime() - start);
+                sink += sum + sines[round] + cosines[round] + v.getX();
+            }
+            System.out.printf("%-11s %10.2e %10.2e %11.2f %11.2f %11.2f%n", precision, sinError, cosError,
+                    scalar / (double) count, batch / (double) count, rotate / (double) count);
+            double bound = precision == Trig.Precision.TABLE ? TABLE_MAX_ERROR : PRECISE_MAX_ERROR;
+            if (sinError > bound || cosError > bound) {
+                System.out.println("FAIL: " + precision + " error over " + bound);
+                failed = true;
+            }
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+}
@@ -4,6 +4,7 @@ package com.sparkge.math;
  * @author Thomas Wilkins | twilkins@radialspark.com
  * @history
  *  2018-05-26 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | rotation precision overloads, fixed rotateEq using the updated x for y
  */
 
 public class Vector2f {
@@ -225,13 +226,17 @@ public class Vector2f {
      * @return new vector rotated around the angle
      */
     public Vector2f rotate(float angle) {
-        double radians = Math.toRadians(angle);
-        double cosine = Math.cos(radians);
-        double sine = Math.sin(radians);
-        return new Vector2f(
-            (float)(this.x * cosine - this.y * sine),
-            (float)(this.x * sine + this.y * cosine)
-        );
+        return this.rotate(angle, Trig.Precision.EXACT);
+    }
+
+    /**
+     * @description rotates the vector around provided angle
+     * @param angle angle in degrees
+     * @param precision speed and accuracy of the sine and cosine
+     * @return new vector rotated around the angle
+     */
+    public Vector2f rotate(float angle, Trig.Precision precision) {
+        return new Vector2f(this.x, this.y).rotateEq(angle, precision);
     }
 
     /**
@@ -240,14 +245,46 @@ public class Vector2f {
      * @return the calling vector
      */
     public Vector2f rotateEq(float angle) {
-        double radians = Math.toRadians(angle);
-        double cosine = Math.cos(radians);
-        double sine = Math.sin(radians);
-        this.x = (float)(this.x * cosine - this.y *sine);
-        this.y = (float)(this.x * sine - this.y * cosine);
+        return this.rotateEq(angle, Trig.Precision.EXACT);
+    }
+
+    /**
+     * @description In place rotation of a vector
+     * @param angle angle in degrees
+     * @param precision speed and accuracy of the sine and cosine
+     * @return the calling vector
+     */
+    public Vector2f rotateEq(float angle, Trig.Precision precision) {
+        float x = this.x, y = this.y;
+        // this briefly holds (cos, sin), so one range reduction serves both
+        Trig.sincos(angle * Trig.DEGREES_TO_RADIANS, this, precision);
+        float cosine = this.x, sine = this.y;
+        this.x = x * cosine - y * sine;
+        this.y = x * sine + y * cosine;
         return this;
     }
 
+    /**
+     * @description sets all components in place
+     * @param x the x component of the vector
+     * @param y the y component of the vector
+     * @return the calling vector
+     */
+    public Vector2f set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * @description copies another vector's components into this vector
+     * @param v the vector to copy
+     * @return the calling vector
+     */
+    public Vector2f set(Vector2f v) {
+        return this.set(v.getX(), v.getY());
+    }
+
     public float getX() {
         return this.x;
     }
@@ -5,6 +5,7 @@ package com.sparkge.math;
  * @author Thomas Wilkins | twilkins@radialspark.com
  * @history
  *  2018-06-02 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | axis rotation with Rodrigues' formula and a choice of trig precision
  */
 
 public class Vector3f {
@@ -268,30 +269,81 @@ public class Vector3f {
 
     /**
      * @description rotates the vector around provided angle
-     * @param v vector (axis) to rotate around
-     * @param angle the angle to rotate around the axis
+     * @param v unit vector (axis) to rotate around
+     * @param angle the angle to rotate around the axis, in degrees
      * @return new rotated vector
      */
     public Vector3f rotate(Vector3f v, float angle) {
-        Quaternion q = new Quaternion(v.getX(), v.getY(), v.getZ(), angle);
-        Quaternion result = q.mul(new Quaternion(this.x, this.y, this.z, 0)).mul(q.getConjugate());
-        return new Vector3f(result.getX(), result.getY(), result.getZ());
+        return this.rotate(v, angle, Trig.Precision.EXACT);
+    }
+
+    /**
+     * @description rotates the vector around provided angle
+     * @param v unit vector (axis) to rotate around
+     * @param angle the angle to rotate around the axis, in degrees
+     * @param precision speed and accuracy of the sine and cosine
+     * @return new rotated vector
+     */
+    public Vector3f rotate(Vector3f v, float angle, Trig.Precision precision) {
+        return new Vector3f(this.x, this.y, this.z).rotateEq(v, angle, precision);
     }
 
     /**
      * @description In place rotation of a vector
+     * @param v unit vector (axis) to rotate around
      * @param angle angle in degrees
      * @return the calling vector
      */
     public Vector3f rotateEq(Vector3f v, float angle) {
-        Quaternion q = new Quaternion(v.getX(), v.getY(), v.getZ(), angle);
-        Quaternion result = q.mul(new Quaternion(this.x, this.y, this.z, 0)).mul(q.getConjugate());
-        this.x = result.getX();
-        this.y = result.getY();
-        this.z = result.getZ();
+        return this.rotateEq(v, angle, Trig.Precision.EXACT);
+    }
+
+    /**
+     * @description In place rotation of a vector, using Rodrigues' rotation formula
+     * @param v unit vector (axis) to rotate around
+     * @param angle angle in degrees
+     * @param precision speed and accuracy of the sine and cosine
+     * @return the calling vector
+     */
+    public Vector3f rotateEq(Vector3f v, float angle, Trig.Precision precision) {
+        float radians = angle * Trig.DEGREES_TO_RADIANS;
+        float sine = Trig.sin(radians, precision);
+        float cosine = Trig.cos(radians, precision);
+        float kx = v.getX(), ky = v.getY(), kz = v.getZ();
+        // v cos + (k x v) sin + k (k . v) (1 - cos)
+        float along = (kx * this.x + ky * this.y + kz * this.z) * (1 - cosine);
+        float x = this.x * cosine + (ky * this.z - kz * this.y) * sine + kx * along;
+        float y = this.y * cosine + (kz * this.x - kx * this.z) * sine + ky * along;
+        float z = this.z * cosine + (kx * this.y - ky * this.x) * sine + kz * along;
+        this.x = x;
+        this.y = y;
+        this.z = z;
         return this;
     }
 
+    /**
+     * @description sets all components in place
+     * @param x the x component of the vector
+     * @param y the y component of the vector
+     * @param z the z component of the vector
+     * @return the calling vector
+     */
+    public Vector3f set(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * @description copies another vector's components into this vector
+     * @param v the vector to copy
+     * @return the calling vector
+     */
+    public Vector3f set(Vector3f v) {
+        return this.set(v.getX(), v.getY(), v.getZ());
+    }
+
     public float getX() {
         return this.x;
     }
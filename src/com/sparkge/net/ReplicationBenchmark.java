@@ -0,0 +1,155 @@
+/**
+ * @description replicates a moving scene from a server to a client over loopback and reports the cost
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Fail on reconstruction errors or deltas no smaller than a full snapshot
+ */
+
+package com.sparkge.net;
+
+import com.sparkge.math.Quaternion;
+import com.sparkge.math.Vector3f;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * Usage: ReplicationBenchmark [entities] [ticks] [moving percent]
+ *
+ * A share of the entities circle and spin every tick, the rest stand still, and every second one entity is
+ * destroyed and another spawned. Reports the size of the first (full) snapshot, average bytes per tick once
+ * deltas kick in, encode and decode times, and the largest error between the server's state and what the
+ * client reconstructed.
+ *
+ * Exits with status 1 if the client received nothing, a position is off by more than a quantization step, an
+ * orientation by more than MAX_ROTATION_ERROR_DEGREES, or the deltas average as large as the full snapshot.
+ */
+public class ReplicationBenchmark {
+
+    private static final float MAX_ROTATION_ERROR_DEGREES = 0.5f;
+
+    public static void main(String[] args) throws IOException {
+        int entities = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        int movingPercent = args.length > 2 ? Integer.parseInt(args[2]) : 25;
+        int capacity = entities * 2;
+
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        try (ReplicationServer server = new ReplicationServer(loopback, capacity, 4);
+             ReplicationClient client = new ReplicationClient(server.getLocalAddress(), capacity)) {
+            while (server.getClientCount() == 0) {
+                server.poll();
+            }
+
+            int[] ids = new int[entities];
+            for (int i = 0; i < entities; i++) {
+                ids[i] = i;
+            }
+            int nextId = entities;
+            Snapshot snapshot = new Snapshot(capacity);
+            Snapshot previous = new Snapshot(capacity);
+            ByteBuffer scratch = ByteBuffer.allocateDirect(SnapshotCodec.maxEncodedSize(capacity, capacity));
+            Vector3f position = new Vector3f();
+            Vector3f axis = new Vector3f(0, 1, 0);
+            Quaternion orientation = new Quaternion();
+            Quaternion decoded = new Quaternion();
+
+            long encodeNanos = 0, pollNanos = 0, deltaBytes = 0;
+            int fullBytes = 0, received = 0;
+            float positionError = 0, rotationError = 0;
+            for (int tick = 0; tick < ticks; tick++) {
+                if (tick > 0 && tick % 60 == 0) {
+                    // despawn the oldest entity and spawn a new one, ids stay ascending
+                    System.arraycopy(ids, 1, ids, 0, entities - 1);
+                    ids[entities - 1] = nextId++;
+                }
+                snapshot.clear();
+                for (int i = 0; i < entities; i++) {
+                    int id = ids[i];
+                    float angle = id % 100 < movingPercent ? tick * 0.02f + id : id;
+                    position.set((id % 40) * 5 + (float) Math.cos(angle), 2, (id / 40) * 5 + (float) Math.sin(angle));
+                    orientation.set(new Quaternion(axis, angle));
+                    snapshot.add(id, position, orientation, id % 3);
+                }
+
+                // encoding alone, against the previous tick as a client that acks every packet would see it
+                scratch.clear();
+                long start = System.nanoTime();
+                SnapshotCodec.encode(snapshot, tick > 0 ? previous : null, scratch);
+                encodeNanos += System.nanoTime() - start;
+                previous.set(snapshot);
+
+                server.poll();
+                server.send(snapshot);
+                if (tick == 0) {
+                    fullBytes = server.getLastPacketBytes();
+                } else {
+                    deltaBytes += server.getLastPacketBytes();
+                }
+
+                start = System.nanoTime();
+                boolean got = false;
+                for (int spin = 0; spin < 100000 && !got; spin++) {
+                    got = client.poll();
+                }
+                pollNanos += System.nanoTime() - start;
+                if (!got) {
+                    continue;
+                }
+                received++;
+
+                Snapshot latest = client.getLatest();
+                if (latest.getCount() != snapshot.getCount()) {
+                    throw new IllegalStateException("Client has " + latest.getCount() + " entities, expected "
+                            + snapshot.getCount());
+                }
+                for (int i = 0; i < latest.getCount(); i++) {
+                    int id = latest.getId(i);
+                    float angle = id % 100 < movingPercent ? tick * 0.02f + id : id;
+                    latest.getPosition(i, position);
+                    float dx = position.getX() - ((id % 40) * 5 + (float) Math.cos(angle));
+                    float dz = position.getZ() - ((id / 40) * 5 + (float) Math.sin(angle));
+                    positionError = Math.max(positionError, Math.max(Math.abs(dx), Math.abs(dz)));
+                    orientation.set(new Quaternion(axis, angle));
+                    latest.getOrientation(i, decoded);
+                    float dot = Math.min(1, Math.abs(orientation.dot(decoded)));
+                    rotationError = Math.max(rotationError, (float) Math.toDegrees(2 * Math.acos(dot)));
+                }
+            }
+
+            System.out.printf("%d entities, %d%% moving, %d ticks, %d received, %d dropped%n",
+                    entities, movingPercent, ticks, received, client.getDroppedSnapshots());
+            System.out.printf("  full snapshot   %8d bytes%n", fullBytes);
+            System.out.printf("  delta per tick  %8.0f bytes%n", deltaBytes / (double) (ticks - 1));
+            System.out.printf("  at 60Hz         %8.1f KB/s%n", deltaBytes / (double) (ticks - 1) * 60 / 1024);
+            System.out.printf("  encode avg      %8.1f us%n", encodeNanos / 1e3 / ticks);
+            System.out.printf("  receive avg     %8.1f us (read, decode, ack)%n", pollNanos / 1e3 / ticks);
+            System.out.printf("  position error  %8.5f%n", positionError);
+            System.out.printf("  rotation error  %8.3f degrees%n", rotationError);
+
+            boolean failed = false;
+            if (received == 0) {
+                System.out.println("FAIL: the client received no snapshots");
+                failed = true;
+            }
+            if (positionError > Snapshot.POSITION_RESOLUTION) {
+                System.out.println("FAIL: position error over the quantization step " + Snapshot.POSITION_RESOLUTION);
+                failed = true;
+            }
+            if (rotationError > MAX_ROTATION_ERROR_DEGREES) {
+                System.out.println("FAIL: rotation error over " + MAX_ROTATION_ERROR_DEGREES + " degrees");
+                failed = true;
+            }
+            if (ticks > 1 && deltaBytes / (double) (ticks - 1) >= fullBytes) {
+                System.out.println("FAIL: deltas are no smaller than the full snapshot");
+                failed = true;
+            }
+            if (failed) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * @description receives delta compressed snapshots from a ReplicationServer
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.net;
+
+import com.sparkge.core.Log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * poll() drains every datagram that has arrived, decodes the snapshots that are newer than the latest one,
+ * and acknowledges the newest so the server can diff against it. Decoded snapshots are kept as baselines for
+ * as long as the server may still refer to them; a snapshot whose baseline is no longer here is dropped, and
+ * the server falls back to an older acknowledgement or a full snapshot. Stale and duplicate packets are
+ * ignored. The channel is connected, so receiving allocates nothing.
+ */
+public class ReplicationClient implements AutoCloseable {
+
+    private final DatagramChannel channel;
+    private final Snapshot[] history = new Snapshot[ReplicationServer.HISTORY];
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(ReplicationServer.MAX_PACKET);
+    private final ByteBuffer ackBuffer = ByteBuffer.allocateDirect(5);
+    private Snapshot latest;
+
+    private long bytesReceived;
+    private long droppedSnapshots;
+
+    /**
+     * @description constructor, connects to the server and asks to join
+     * @param server the server's address
+     * @param capacity maximum entities per snapshot, as on the server
+     * @throws IOException if the socket cannot be opened
+     */
+    public ReplicationClient(InetSocketAddress server, int capacity) throws IOException {
+        this.channel = DatagramChannel.open();
+        this.channel.configureBlocking(false);
+        this.channel.setOption(StandardSocketOptions.SO_RCVBUF, 1 << 20);
+        this.channel.connect(server);
+        for (int i = 0; i < this.history.length; i++) {
+            this.history[i] = new Snapshot(capacity);
+        }
+        this.sendAck(-1);
+    }
+
+    /**
+     * @description handles every pending datagram
+     * @return true if a newer snapshot was received
+     */
+    public boolean poll() {
+        boolean received = false;
+        try {
+            while (this.channel.read(this.receiveBuffer) > 0) {
+                this.receiveBuffer.flip();
+                this.bytesReceived += this.receiveBuffer.remaining();
+                if (this.receiveBuffer.get() == ReplicationServer.PACKET_SNAPSHOT && this.receive()) {
+                    received = true;
+                }
+                this.receiveBuffer.clear();
+            }
+            if (received) {
+                this.sendAck(this.latest.sequence);
+            } else if (this.latest == null) {
+                // keep asking to join until the first snapshot arrives
+                this.sendAck(-1);
+            }
+        } catch (PortUnreachableException e) {
+            // the server isn't up yet
+            this.receiveBuffer.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return received;
+    }
+
+    /**
+     * @description getter for the newest snapshot received
+     * @return the snapshot, or null before the first one arrives; it is replaced, not updated, by later polls
+     */
+    public Snapshot getLatest() {
+        return this.latest;
+    }
+
+    public long getBytesReceived() {
+        return this.bytesReceived;
+    }
+
+    /**
+     * @description getter for snapshots that could not be decoded because their baseline was gone
+     * @return dropped snapshot count
+     */
+    public long getDroppedSnapshots() {
+        return this.droppedSnapshots;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean receive() {
+        int sequence = this.receiveBuffer.getInt(this.receiveBuffer.position());
+        if (this.latest != null && sequence - this.latest.sequence <= 0) {
+            return false;
+        }
+        int baselineSequence = SnapshotCodec.peekBaseline(this.receiveBuffer);
+        Snapshot baseline = null;
+        if (baselineSequence >= 0) {
+            baseline = this.history[Math.floorMod(baselineSequence, this.history.length)];
+            if (baseline.sequence != baselineSequence) {
+                this.droppedSnapshots++;
+                return false;
+            }
+        }
+        Snapshot target = this.history[Math.floorMod(sequence, this.history.length)];
+        if (target == baseline) {
+            // can't happen with the server's history, but never decode over the baseline
+            this.droppedSnapshots++;
+            return false;
+        }
+        try {
+            SnapshotCodec.decode(this.receiveBuffer, baseline, target);
+        } catch (IllegalArgumentException e) {
+            Log.warn("dropped malformed snapshot: {}", e.getMessage());
+            target.sequence = -1;
+            if (target == this.latest) {
+                this.latest = null;
+            }
+            this.droppedSnapshots++;
+            return false;
+        }
+        this.latest = target;
+        return true;
+    }
+
+    private void sendAck(int sequence) throws IOException {
+        this.ackBuffer.clear();
+        this.ackBuffer.put(ReplicationServer.PACKET_ACK).putInt(sequence).flip();
+        this.channel.write(this.ackBuffer);
+    }
+}
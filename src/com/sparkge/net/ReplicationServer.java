@@ -0,0 +1,198 @@
+/**
+ * @description sends delta compressed snapshots of the authoritative simulation to clients over UDP
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.net;
+
+import com.sparkge.core.Log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Every tick the game fills a Snapshot and calls send(). The server keeps the last HISTORY snapshots, and
+ * encodes each client's packet against the newest snapshot that client has acknowledged, so a lost packet
+ * costs nothing but a slightly larger next packet. A client whose last acknowledgement has fallen out of the
+ * history gets a full snapshot.
+ *
+ * Clients join by sending an acknowledgement; they are identified by address. Snapshots go out in a single
+ * datagram each, relying on IP fragmentation above the path MTU, which is fine on a LAN or loopback. The
+ * channel is non-blocking and the packet buffers are direct and reused, so neither send() nor poll() blocks
+ * the game thread or allocates, apart from the address NIO creates for each datagram received.
+ */
+public class ReplicationServer implements AutoCloseable {
+
+    static final byte PACKET_SNAPSHOT = 1;
+    static final byte PACKET_ACK = 2;
+    static final int HISTORY = 32;
+    static final int MAX_PACKET = 65507;
+
+    private final DatagramChannel channel;
+    private final Snapshot[] history = new Snapshot[HISTORY];
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(MAX_PACKET);
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(64);
+    private final SocketAddress[] clients;
+    private final int[] acked;
+    private int clientCount;
+    private int sequence;
+
+    private long bytesSent;
+    private int lastPacketBytes;
+    private long droppedPackets;
+
+    /**
+     * @description constructor, binds the socket
+     * @param address local address to listen on, port 0 picks a free port
+     * @param capacity maximum entities per snapshot
+     * @param maxClients maximum connected clients
+     * @throws IOException if the socket cannot be bound
+     */
+    public ReplicationServer(InetSocketAddress address, int capacity, int maxClients) throws IOException {
+        if (SnapshotCodec.maxEncodedSize(capacity, 0) > MAX_PACKET - 1) {
+            throw new IllegalArgumentException("Snapshots of " + capacity + " entities may not fit in a datagram");
+        }
+        this.channel = DatagramChannel.open();
+        this.channel.configureBlocking(false);
+        this.channel.setOption(StandardSocketOptions.SO_SNDBUF, 1 << 20);
+        this.channel.bind(address);
+        for (int i = 0; i < HISTORY; i++) {
+            this.history[i] = new Snapshot(capacity);
+        }
+        this.clients = new SocketAddress[maxClients];
+        this.acked = new int[maxClients];
+    }
+
+    /**
+     * @description handles every pending acknowledgement; call once per tick before send()
+     */
+    public void poll() {
+        try {
+            SocketAddress from;
+            while ((from = this.channel.receive(this.receiveBuffer)) != null) {
+                this.receiveBuffer.flip();
+                if (this.receiveBuffer.remaining() == 5 && this.receiveBuffer.get() == PACKET_ACK) {
+                    this.acknowledge(from, this.receiveBuffer.getInt());
+                }
+                this.receiveBuffer.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @description assigns the snapshot the next sequence number, keeps it as a baseline and sends it to
+     * every client
+     * @param snapshot this tick's state
+     */
+    public void send(Snapshot snapshot) {
+        snapshot.sequence = this.sequence++;
+        Snapshot stored = this.history[Math.floorMod(snapshot.sequence, HISTORY)];
+        stored.set(snapshot);
+
+        this.lastPacketBytes = 0;
+        for (int c = 0; c < this.clientCount; c++) {
+            this.sendBuffer.clear();
+            this.sendBuffer.put(PACKET_SNAPSHOT);
+            Snapshot baseline = this.getBaseline(this.acked[c]);
+            if (baseline != null && SnapshotCodec.maxEncodedSize(stored.count, baseline.count) > MAX_PACKET - 1) {
+                // a delta with many removals could overflow, a full snapshot always fits
+                baseline = null;
+            }
+            SnapshotCodec.encode(stored, baseline, this.sendBuffer);
+            this.sendBuffer.flip();
+            int bytes = this.sendBuffer.remaining();
+            try {
+                if (this.channel.send(this.sendBuffer, this.clients[c]) == 0) {
+                    // the socket buffer is full, the client will get the next one instead
+                    this.droppedPackets++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.bytesSent += bytes;
+            this.lastPacketBytes = Math.max(this.lastPacketBytes, bytes);
+        }
+    }
+
+    public int getClientCount() {
+        return this.clientCount;
+    }
+
+    /**
+     * @description getter for the largest packet sent by the last send()
+     * @return bytes including the packet type
+     */
+    public int getLastPacketBytes() {
+        return this.lastPacketBytes;
+    }
+
+    public long getBytesSent() {
+        return this.bytesSent;
+    }
+
+    /**
+     * @description getter for packets the socket had no buffer space for
+     * @return dropped packet count
+     */
+    public long getDroppedPackets() {
+        return this.droppedPackets;
+    }
+
+    public InetSocketAddress getLocalAddress() {
+        try {
+            return (InetSocketAddress) this.channel.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void acknowledge(SocketAddress from, int sequence) {
+        for (int c = 0; c < this.clientCount; c++) {
+            if (this.clients[c].equals(from)) {
+                // acknowledgements can arrive out of order
+                if (sequence - this.acked[c] > 0) {
+                    this.acked[c] = sequence;
+                }
+                return;
+            }
+        }
+        if (this.clientCount == this.clients.length) {
+            Log.warn("replication server is full, ignored {}", from);
+            return;
+        }
+        Log.info("replication client {} joined", from);
+        this.clients[this.clientCount] = from;
+        this.acked[this.clientCount] = sequence;
+        this.clientCount++;
+    }
+
+    /**
+     * @description finds the snapshot a client acknowledged, if it is still in the history
+     * @return the baseline, or null to send a full snapshot
+     */
+    private Snapshot getBaseline(int ackedSequence) {
+        if (ackedSequence < 0) {
+            return null;
+        }
+        Snapshot baseline = this.history[Math.floorMod(ackedSequence, HISTORY)];
+        return baseline.sequence == ackedSequence ? baseline : null;
+    }
+}
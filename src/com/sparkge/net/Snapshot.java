@@ -0,0 +1,240 @@
+/**
+ * @description quantized state of every replicated entity at one simulation tick
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.net;
+
+import com.sparkge.math.Quaternion;
+import com.sparkge.math.Vector3f;
+
+/**
+ * Entities are stored as columns, sorted by id, which lets the codec diff two snapshots with a single merge
+ * walk. Values are quantized when they are added, so the server diffs exactly what the client reconstructs:
+ * positions to POSITION_RESOLUTION and orientations to a 32 bit smallest three encoding. The state column is
+ * free for the game, e.g. an entity type, animation or health.
+ */
+public class Snapshot {
+
+    public static final float POSITION_RESOLUTION = 1.0f / 512;
+
+    // each of the three smaller components is in [-1/sqrt(2), 1/sqrt(2)], stored in 10 bits
+    private static final int COMPONENT_BITS = 10;
+    private static final int COMPONENT_MAX = (1 << COMPONENT_BITS) - 1;
+    private static final float COMPONENT_RANGE = (float) Math.sqrt(0.5);
+
+    int sequence = -1;
+    int count;
+    final int[] ids;
+    final int[] x, y, z;
+    final int[] rotation;
+    final int[] state;
+
+    /**
+     * @description constructor
+     * @param capacity maximum entities per snapshot, at most 65535
+     */
+    public Snapshot(int capacity) {
+        if (capacity <= 0 || capacity > 0xffff) {
+            throw new IllegalArgumentException("Snapshot capacity must be between 1 and 65535");
+        }
+        this.ids = new int[capacity];
+        this.x = new int[capacity];
+        this.y = new int[capacity];
+        this.z = new int[capacity];
+        this.rotation = new int[capacity];
+        this.state = new int[capacity];
+    }
+
+    /**
+     * @description removes every entity, ready to be filled for the next tick
+     */
+    public void clear() {
+        this.count = 0;
+    }
+
+    /**
+     * @description adds an entity; entities must be added in ascending id order
+     * @param id non-negative entity id
+     * @param position world position
+     * @param orientation unit quaternion
+     * @param state game defined value
+     * @return the entity's index
+     */
+    public int add(int id, Vector3f position, Quaternion orientation, int state) {
+        if (this.count == this.ids.length) {
+            throw new IllegalStateException("Snapshot is full at " + this.ids.length + " entities");
+        }
+        if (id < 0 || (this.count > 0 && id <= this.ids[this.count - 1])) {
+            throw new IllegalArgumentException("Entity ids must be non-negative and ascending, got " + id);
+        }
+        int i = this.count++;
+        this.ids[i] = id;
+        this.x[i] = Math.round(position.getX() / POSITION_RESOLUTION);
+        this.y[i] = Math.round(position.getY() / POSITION_RESOLUTION);
+        this.z[i] = Math.round(position.getZ() / POSITION_RESOLUTION);
+        this.rotation[i] = packRotation(orientation);
+        this.state[i] = state;
+        return i;
+    }
+
+    /**
+     * @description copies another snapshot
+     * @param other snapshot to copy, with no more entities than this capacity
+     */
+    public void set(Snapshot other) {
+        int n = other.count;
+        System.arraycopy(other.ids, 0, this.ids, 0, n);
+        System.arraycopy(other.x, 0, this.x, 0, n);
+        System.arraycopy(other.y, 0, this.y, 0, n);
+        System.arraycopy(other.z, 0, this.z, 0, n);
+        System.arraycopy(other.rotation, 0, this.rotation, 0, n);
+        System.arraycopy(other.state, 0, this.state, 0, n);
+        this.count = n;
+        this.sequence = other.sequence;
+    }
+
+    /**
+     * @description finds an entity by id
+     * @param id entity id
+     * @return the entity's index, or -1 if it is not in the snapshot
+     */
+    public int indexOf(int id) {
+        int low = 0, high = this.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (this.ids[mid] < id) {
+                low = mid + 1;
+            } else if (this.ids[mid] > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @description getter for the tick sequence number assigned when the snapshot was sent
+     * @return sequence number, or -1 if never sent or received
+     */
+    public int getSequence() {
+        return this.sequence;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public int getCapacity() {
+        return this.ids.length;
+    }
+
+    public int getId(int index) {
+        return this.ids[index];
+    }
+
+    public Vector3f getPosition(int index, Vector3f out) {
+        return out.set(this.x[index] * POSITION_RESOLUTION, this.y[index] * POSITION_RESOLUTION,
+                this.z[index] * POSITION_RESOLUTION);
+    }
+
+    public Quaternion getOrientation(int index, Quaternion out) {
+        return unpackRotation(this.rotation[index], out);
+    }
+
+    public int getState(int index) {
+        return this.state[index];
+    }
+
+    /**
+     * @description packs a unit quaternion into 32 bits: the index of the largest component in the top two
+     * bits, then the other three components in 10 bits each. The largest component is rebuilt from the unit
+     * length, and q and -q are the same rotation, so it is always made positive.
+     * @param q unit quaternion
+     * @return packed rotation
+     */
+    static int packRotation(Quaternion q) {
+        float qx = q.getX(), qy = q.getY(), qz = q.getZ(), qw = q.getW();
+        int largest = 0;
+        float max = Math.abs(qx);
+        if (Math.abs(qy) > max) {
+            largest = 1;
+            max = Math.abs(qy);
+        }
+        if (Math.abs(qz) > max) {
+            largest = 2;
+            max = Math.abs(qz);
+        }
+        if (Math.abs(qw) > max) {
+            largest = 3;
+        }
+        float a, b, c, sign;
+        switch (largest) {
+            case 0:
+                a = qy;
+                b = qz;
+                c = qw;
+                sign = qx;
+                break;
+            case 1:
+                a = qx;
+                b = qz;
+                c = qw;
+                sign = qy;
+                break;
+            case 2:
+                a = qx;
+                b = qy;
+                c = qw;
+                sign = qz;
+                break;
+            default:
+                a = qx;
+                b = qy;
+                c = qz;
+                sign = qw;
+                break;
+        }
+        if (sign < 0) {
+            a = -a;
+            b = -b;
+            c = -c;
+        }
+        return largest << 30 | quantize(a) << 20 | quantize(b) << 10 | quantize(c);
+    }
+
+    /**
+     * @description unpacks a rotation packed by packRotation
+     * @param packed packed rotation
+     * @param out receives the unit quaternion
+     * @return out
+     */
+    static Quaternion unpackRotation(int packed, Quaternion out) {
+        float a = dequantize(packed >>> 20);
+        float b = dequantize(packed >>> 10);
+        float c = dequantize(packed);
+        float largest = (float) Math.sqrt(Math.max(0, 1 - a * a - b * b - c * c));
+        switch (packed >>> 30) {
+            case 0:
+                return out.set(largest, a, b, c);
+            case 1:
+                return out.set(a, largest, b, c);
+            case 2:
+                return out.set(a, b, largest, c);
+            default:
+                return out.set(a, b, c, largest);
+        }
+    }
+
+    private static int quantize(float component) {
+        float normalized = (component + COMPONENT_RANGE) / (2 * COMPONENT_RANGE);
+        return Math.max(0, Math.min(COMPONENT_MAX, Math.round(normalized * COMPONENT_MAX)));
+    }
+
+    private static float dequantize(int bits) {
+        return (bits & COMPONENT_MAX) / (float) COMPONENT_MAX * 2 * COMPONENT_RANGE - COMPONENT_RANGE;
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * @description delta encodes snapshots against a baseline both ends already have
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.net;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encoding, all big endian:
+ *  int sequence, int baseline sequence (-1 for none), int record count, then per record
+ *  varint id delta from the previous record (the first from -1), byte change mask, then
+ *  position: three zigzag varint deltas of the quantized coordinates, if MASK_POSITION
+ *  rotation: int packed rotation, if MASK_ROTATION
+ *  state: zigzag varint delta, if MASK_STATE
+ *
+ * Only entities that changed since the baseline get a record; MASK_REMOVED marks an entity that is in the
+ * baseline but no longer exists. An entity missing from the baseline is diffed against zero, so a snapshot
+ * encoded without a baseline is simply a full snapshot.
+ */
+public final class SnapshotCodec {
+
+    static final int MASK_POSITION = 1;
+    static final int MASK_ROTATION = 2;
+    static final int MASK_STATE = 4;
+    static final int MASK_REMOVED = 0x80;
+
+    /**
+     * @description upper bound on the encoded size of a snapshot
+     * @param entities entities in the snapshot
+     * @param baselineEntities entities in the baseline, 0 for a full snapshot
+     * @return bytes
+     */
+    public static int maxEncodedSize(int entities, int baselineEntities) {
+        // a record is at most a 5 byte id delta, the mask, three 5 byte varints, the rotation and the state;
+        // a removal is only the id delta and the mask
+        return 12 + entities * (5 + 1 + 15 + 4 + 5) + baselineEntities * (5 + 1);
+    }
+
+    /**
+     * @description encodes a snapshot
+     * @param current snapshot to send, its sequence must be set
+     * @param baseline snapshot the receiver already has, or null to encode everything
+     * @param out receives the encoding; must have maxEncodedSize() bytes remaining
+     */
+    public static void encode(Snapshot current, Snapshot baseline, ByteBuffer out) {
+        out.putInt(current.sequence);
+        out.putInt(baseline != null ? baseline.sequence : -1);
+        int countPosition = out.position();
+        out.putInt(0);
+
+        int records = 0;
+        int previousId = -1;
+        int i = 0, j = 0;
+        int baselineCount = baseline != null ? baseline.count : 0;
+        while (i < current.count || j < baselineCount) {
+            int id = i < current.count ? current.ids[i] : Integer.MAX_VALUE;
+            int baseId = j < baselineCount ? baseline.ids[j] : Integer.MAX_VALUE;
+            if (baseId < id) {
+                // removed since the baseline
+                putVarint(out, baseId - previousId);
+                out.put((byte) MASK_REMOVED);
+                previousId = baseId;
+                records++;
+                j++;
+                continue;
+            }
+            boolean known = baseId == id;
+            int bx = known ? baseline.x[j] : 0;
+            int by = known ? baseline.y[j] : 0;
+            int bz = known ? baseline.z[j] : 0;
+            int brotation = known ? baseline.rotation[j] : 0;
+            int bstate = known ? baseline.state[j] : 0;
+            int mask = 0;
+            if (current.x[i] != bx || current.y[i] != by || current.z[i] != bz) {
+                mask |= MASK_POSITION;
+            }
+            if (current.rotation[i] != brotation) {
+                mask |= MASK_ROTATION;
+            }
+            if (current.state[i] != bstate) {
+                mask |= MASK_STATE;
+            }
+            // new entities always get a record, even when everything matches the zero defaults
+            if (mask != 0 || !known) {
+                putVarint(out, id - previousId);
+                out.put((byte) mask);
+                if ((mask & MASK_POSITION) != 0) {
+                    putZigzag(out, current.x[i] - bx);
+                    putZigzag(out, current.y[i] - by);
+                    putZigzag(out, current.z[i] - bz);
+                }
+                if ((mask & MASK_ROTATION) != 0) {
+                    out.putInt(current.rotation[i]);
+                }
+                if ((mask & MASK_STATE) != 0) {
+                    putZigzag(out, current.state[i] - bstate);
+                }
+                previousId = id;
+                records++;
+            }
+            i++;
+            if (known) {
+                j++;
+            }
+        }
+        out.putInt(countPosition, records);
+    }
+
+    /**
+     * @description reads the baseline sequence an encoding was made against, without consuming anything
+     * @param in buffer positioned at the start of an encoding
+     * @return baseline sequence, or -1 for a full snapshot
+     */
+    public static int peekBaseline(ByteBuffer in) {
+        return in.getInt(in.position() + 4);
+    }
+
+    /**
+     * @description decodes a snapshot
+     * @param in buffer positioned at the start of an encoding
+     * @param baseline the snapshot named by the encoding's baseline sequence, or null for a full snapshot
+     * @param out receives the snapshot
+     * @throws IllegalArgumentException if the encoding is malformed or the baseline doesn't match
+     */
+    public static void decode(ByteBuffer in, Snapshot baseline, Snapshot out) {
+        try {
+            int sequence = in.getInt();
+            int baselineSequence = in.getInt();
+            if (baselineSequence != (baseline != null ? baseline.sequence : -1)) {
+                throw new IllegalArgumentException("Snapshot " + sequence + " needs baseline " + baselineSequence);
+            }
+            int records = in.getInt();
+            int baselineCount = baseline != null ? baseline.count : 0;
+            int j = 0;
+            int n = 0;
+            int id = -1;
+            for (int r = 0; r < records; r++) {
+                id += getVarint(in);
+                int mask = in.get() & 0xff;
+                // entities before this record are unchanged
+                while (j < baselineCount && baseline.ids[j] < id) {
+                    n = copy(baseline, j++, out, n);
+                }
+                boolean known = j < baselineCount && baseline.ids[j] == id;
+                if ((mask & MASK_REMOVED) != 0) {
+                    if (!known) {
+                        throw new IllegalArgumentException("Snapshot " + sequence + " removes unknown entity " + id);
+                    }
+                    j++;
+                    continue;
+                }
+                if (n == out.ids.length) {
+                    throw new IllegalArgumentException("Snapshot " + sequence + " has more than "
+                            + out.ids.length + " entities");
+                }
+                out.ids[n] = id;
+                out.x[n] = known ? baseline.x[j] : 0;
+                out.y[n] = known ? baseline.y[j] : 0;
+                out.z[n] = known ? baseline.z[j] : 0;
+                out.rotation[n] = known ? baseline.rotation[j] : 0;
+                out.state[n] = known ? baseline.state[j] : 0;
+                if ((mask & MASK_POSITION) != 0) {
+                    out.x[n] += getZigzag(in);
+                    out.y[n] += getZigzag(in);
+                    out.z[n] += getZigzag(in);
+                }
+                if ((mask & MASK_ROTATION) != 0) {
+                    out.rotation[n] = in.getInt();
+                }
+                if ((mask & MASK_STATE) != 0) {
+                    out.state[n] += getZigzag(in);
+                }
+                n++;
+                if (known) {
+                    j++;
+                }
+            }
+            while (j < baselineCount) {
+                n = copy(baseline, j++, out, n);
+            }
+            out.count = n;
+            out.sequence = sequence;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated snapshot", e);
+        }
+    }
+
+    private static int copy(Snapshot from, int j, Snapshot to, int n) {
+        if (n == to.ids.length) {
+            throw new IllegalArgumentException("Snapshot has more than " + to.ids.length + " entities");
+        }
+        to.ids[n] = from.ids[j];
+        to.x[n] = from.x[j];
+        to.y[n] = from.y[j];
+        to.z[n] = from.z[j];
+        to.rotation[n] = from.rotation[j];
+        to.state[n] = from.state[j];
+        return n + 1;
+    }
+
+    private static void putZigzag(ByteBuffer buffer, int value) {
+        putVarint(buffer, (value << 1) ^ (value >> 31));
+    }
+
+    private static int getZigzag(ByteBuffer buffer) {
+        int value = getVarint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private SnapshotCodec() {
+    }
+}
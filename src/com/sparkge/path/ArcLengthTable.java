@@ -0,0 +1,128 @@
+/**
+ * @description maps distance along a spline to the spline parameter
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.path;
+
+/**
+ * A spline's parameter does not advance at a constant speed, so moving t at a constant rate makes objects speed
+ * up and slow down. The table samples the curve at fixed parameter steps and stores the arc length up to each
+ * sample, integrated once with Gauss-Legendre quadrature. At run time a distance is turned back into a
+ * parameter with one binary search and a linear interpolation.
+ */
+public class ArcLengthTable {
+
+    // 5 point Gauss-Legendre nodes and weights on [-1, 1]
+    private static final float[] NODES = {0.0f, -0.5384693f, 0.5384693f, -0.9061798f, 0.9061798f};
+    private static final float[] WEIGHTS = {0.5688889f, 0.4786287f, 0.4786287f, 0.2369269f, 0.2369269f};
+
+    private final float[] parameters;
+    private final float[] lengths;
+
+    /**
+     * @description constructor, integrates the spline's length
+     * @param spline the spline
+     * @param samplesPerSegment table entries per spline segment; more gives a more even speed
+     */
+    public ArcLengthTable(CubicSpline spline, int samplesPerSegment) {
+        int count = spline.getSegmentCount() * samplesPerSegment + 1;
+        this.parameters = new float[count];
+        this.lengths = new float[count];
+        float step = 1.0f / samplesPerSegment;
+        double length = 0;
+        for (int i = 1; i < count; i++) {
+            float t0 = (i - 1) * step;
+            float t1 = i * step;
+            float half = 0.5f * (t1 - t0);
+            float mid = 0.5f * (t0 + t1);
+            double sum = 0;
+            for (int k = 0; k < NODES.length; k++) {
+                sum += WEIGHTS[k] * spline.getSpeed(mid + half * NODES[k]);
+            }
+            length += sum * half;
+            this.parameters[i] = t1;
+            this.lengths[i] = (float) length;
+        }
+        // keep the last entry exactly on the end of the curve despite float rounding
+        this.parameters[count - 1] = spline.getSegmentCount();
+    }
+
+    /**
+     * @description getter for the total length of the spline
+     * @return length
+     */
+    public float getLength() {
+        return this.lengths[this.lengths.length - 1];
+    }
+
+    public int getSampleCount() {
+        return this.lengths.length;
+    }
+
+    /**
+     * @description finds the table interval containing a distance
+     * @param distance distance along the spline, clamped to [0, getLength()]
+     * @return index i such that sample i <= distance <= sample i + 1
+     */
+    public int findSample(float distance) {
+        int low = 0;
+        int high = this.lengths.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (this.lengths[mid] <= distance) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @description getter for how far a distance lies between sample i and sample i + 1
+     * @param sample index from findSample()
+     * @param distance distance along the spline
+     * @return fraction in [0, 1]
+     */
+    public float getFraction(int sample, float distance) {
+        float start = this.lengths[sample];
+        float span = this.lengths[sample + 1] - start;
+        if (span <= 0) {
+            return 0;
+        }
+        float fraction = (distance - start) / span;
+        return fraction < 0 ? 0 : fraction > 1 ? 1 : fraction;
+    }
+
+    /**
+     * @description converts a distance along the spline to the spline parameter
+     * @param distance distance along the spline, clamped to [0, getLength()]
+     * @return spline parameter
+     */
+    public float getParameter(float distance) {
+        int sample = this.findSample(distance);
+        float fraction = this.getFraction(sample, distance);
+        return this.parameters[sample] + fraction * (this.parameters[sample + 1] - this.parameters[sample]);
+    }
+
+    /**
+     * @description getter for the spline parameter of a table entry
+     * @param sample table index
+     * @return spline parameter
+     */
+    public float getSampleParameter(int sample) {
+        return this.parameters[sample];
+    }
+
+    /**
+     * @description getter for the distance along the spline of a table entry
+     * @param sample table index
+     * @return distance
+     */
+    public float getSampleLength(int sample) {
+        return this.lengths[sample];
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * @description piecewise cubic 3D curve built from Catmull-Rom or Bezier control points
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.path;
+
+import com.sparkge.math.Vector3f;
+
+/**
+ * Both kinds of spline are converted to polynomial coefficients per segment when they are built, so evaluating
+ * either is the same few multiply-adds. The parameter t runs from 0 at the first control point to
+ * getSegmentCount() at the last, with segment i covering [i, i + 1].
+ */
+public class CubicSpline {
+
+    // per segment, per axis c0 + c1 t + c2 t^2 + c3 t^3: x0..x3, y0..y3, z0..z3
+    private static final int SEGMENT_FLOATS = 12;
+
+    private final float[] coefficients;
+    private final int segmentCount;
+    private final boolean closed;
+
+    private CubicSpline(float[] coefficients, boolean closed) {
+        this.coefficients = coefficients;
+        this.segmentCount = coefficients.length / SEGMENT_FLOATS;
+        this.closed = closed;
+    }
+
+    /**
+     * @description builds a uniform Catmull-Rom spline, which passes through every point
+     * @param points at least two control points
+     * @param closed join the last point back to the first
+     * @return the spline
+     */
+    public static CubicSpline catmullRom(Vector3f[] points, boolean closed) {
+        int n = points.length;
+        if (n < 2) {
+            throw new IllegalArgumentException("A Catmull-Rom spline needs at least two points");
+        }
+        int segments = closed ? n : n - 1;
+        float[] c = new float[segments * SEGMENT_FLOATS];
+        float[] p = new float[4];
+        for (int s = 0; s < segments; s++) {
+            for (int axis = 0; axis < 3; axis++) {
+                for (int k = 0; k < 4; k++) {
+                    p[k] = catmullRomPoint(points, s - 1 + k, closed, axis);
+                }
+                int o = s * SEGMENT_FLOATS + axis * 4;
+                c[o] = p[1];
+                c[o + 1] = 0.5f * (p[2] - p[0]);
+                c[o + 2] = 0.5f * (2 * p[0] - 5 * p[1] + 4 * p[2] - p[3]);
+                c[o + 3] = 0.5f * (-p[0] + 3 * p[1] - 3 * p[2] + p[3]);
+            }
+        }
+        return new CubicSpline(c, closed);
+    }
+
+    /**
+     * @description builds a spline from joined cubic Bezier segments; each segment's last point is the next
+     *  segment's first, so 3n + 1 points make n segments
+     * @param points control points
+     * @return the spline
+     */
+    public static CubicSpline bezier(Vector3f[] points) {
+        if (points.length < 4 || (points.length - 1) % 3 != 0) {
+            throw new IllegalArgumentException("A Bezier spline needs 3n + 1 points");
+        }
+        int segments = (points.length - 1) / 3;
+        float[] c = new float[segments * SEGMENT_FLOATS];
+        for (int s = 0; s < segments; s++) {
+            for (int axis = 0; axis < 3; axis++) {
+                float p0 = component(points[3 * s], axis);
+                float p1 = component(points[3 * s + 1], axis);
+                float p2 = component(points[3 * s + 2], axis);
+                float p3 = component(points[3 * s + 3], axis);
+                int o = s * SEGMENT_FLOATS + axis * 4;
+                c[o] = p0;
+                c[o + 1] = 3 * (p1 - p0);
+                c[o + 2] = 3 * (p0 - 2 * p1 + p2);
+                c[o + 3] = -p0 + 3 * p1 - 3 * p2 + p3;
+            }
+        }
+        boolean closed = points[0].equals(points[points.length - 1]);
+        return new CubicSpline(c, closed);
+    }
+
+    /**
+     * @description evaluates the curve
+     * @param t curve parameter, clamped to [0, getSegmentCount()]
+     * @param out receives the position
+     * @return out
+     */
+    public Vector3f getPosition(float t, Vector3f out) {
+        int o = this.segmentOffset(t);
+        float u = this.localParameter(t);
+        float[] c = this.coefficients;
+        return out.set(
+                c[o] + u * (c[o + 1] + u * (c[o + 2] + u * c[o + 3])),
+                c[o + 4] + u * (c[o + 5] + u * (c[o + 6] + u * c[o + 7])),
+                c[o + 8] + u * (c[o + 9] + u * (c[o + 10] + u * c[o + 11]))
+        );
+    }
+
+    /**
+     * @description evaluates the first derivative of the curve, not normalized
+     * @param t curve parameter, clamped to [0, getSegmentCount()]
+     * @param out receives the derivative
+     * @return out
+     */
+    public Vector3f getDerivative(float t, Vector3f out) {
+        int o = this.segmentOffset(t);
+        float u = this.localParameter(t);
+        float[] c = this.coefficients;
+        return out.set(
+                c[o + 1] + u * (2 * c[o + 2] + u * 3 * c[o + 3]),
+                c[o + 5] + u * (2 * c[o + 6] + u * 3 * c[o + 7]),
+                c[o + 9] + u * (2 * c[o + 10] + u * 3 * c[o + 11])
+        );
+    }
+
+    /**
+     * @description getter for the speed of the curve with respect to t, the length of the derivative
+     * @param t curve parameter
+     * @return speed
+     */
+    public float getSpeed(float t) {
+        int o = this.segmentOffset(t);
+        float u = this.localParameter(t);
+        float[] c = this.coefficients;
+        float dx = c[o + 1] + u * (2 * c[o + 2] + u * 3 * c[o + 3]);
+        float dy = c[o + 5] + u * (2 * c[o + 6] + u * 3 * c[o + 7]);
+        float dz = c[o + 9] + u * (2 * c[o + 10] + u * 3 * c[o + 11]);
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    public int getSegmentCount() {
+        return this.segmentCount;
+    }
+
+    /**
+     * @description whether the curve ends where it starts
+     * @return true for closed curves
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    private int segmentOffset(float t) {
+        int segment = (int) t;
+        if (segment < 0) {
+            segment = 0;
+        } else if (segment >= this.segmentCount) {
+            segment = this.segmentCount - 1;
+        }
+        return segment * SEGMENT_FLOATS;
+    }
+
+    private float localParameter(float t) {
+        if (t <= 0) {
+            return 0;
+        }
+        if (t >= this.segmentCount) {
+            return 1;
+        }
+        return t - (int) t;
+    }
+
+    private static float catmullRomPoint(Vector3f[] points, int i, boolean closed, int axis) {
+        int n = points.length;
+        if (closed) {
+            return component(points[(i % n + n) % n], axis);
+        }
+        // reflect the neighbouring point to make phantom end points
+        if (i < 0) {
+            return 2 * component(points[0], axis) - component(points[1], axis);
+        }
+        if (i >= n) {
+            return 2 * component(points[n - 1], axis) - component(points[n - 2], axis);
+        }
+        return component(points[i], axis);
+    }
+
+    private static float component(Vector3f v, int axis) {
+        return axis == 0 ? v.getX() : axis == 1 ? v.getY() : v.getZ();
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * @description moves many objects along rail paths at once, e.g. enemy flight paths
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.path;
+
+import com.sparkge.core.JobSystem;
+import com.sparkge.math.Quaternion;
+import com.sparkge.math.Vector3f;
+
+/**
+ * Followers are stored in parallel arrays and advanced and sampled together in update(), split across the
+ * JobSystem once there are enough of them. Poses are written into preallocated vectors and quaternions, so
+ * updating allocates nothing. Removing a follower moves the last follower into its index.
+ */
+public class PathFollowers {
+
+    private static final int MIN_BATCH = 64;
+
+    private final RailPath[] paths;
+    private final float[] distances;
+    private final float[] speeds;
+    private final Vector3f[] positions;
+    private final Quaternion[] rotations;
+    private int count;
+    private float step;
+
+    private final JobSystem.RangeTask updateTask = this::updateRange;
+
+    /**
+     * @description constructor
+     * @param capacity maximum number of followers
+     */
+    public PathFollowers(int capacity) {
+        this.paths = new RailPath[capacity];
+        this.distances = new float[capacity];
+        this.speeds = new float[capacity];
+        this.positions = new Vector3f[capacity];
+        this.rotations = new Quaternion[capacity];
+        for (int i = 0; i < capacity; i++) {
+            this.positions[i] = new Vector3f();
+            this.rotations[i] = new Quaternion().setIdentity();
+        }
+    }
+
+    /**
+     * @description adds a follower
+     * @param path the path to follow, may be shared by any number of followers
+     * @param distance starting distance along the path
+     * @param speed distance per second, negative to travel backwards
+     * @return the follower's index, or -1 if full
+     */
+    public int add(RailPath path, float distance, float speed) {
+        if (this.count == this.paths.length) {
+            return -1;
+        }
+        int i = this.count++;
+        this.paths[i] = path;
+        this.distances[i] = distance;
+        this.speeds[i] = speed;
+        path.sample(distance, this.positions[i], this.rotations[i]);
+        return i;
+    }
+
+    /**
+     * @description removes a follower by moving the last follower into its index
+     * @param i follower index
+     */
+    public void remove(int i) {
+        int last = --this.count;
+        this.paths[i] = this.paths[last];
+        this.distances[i] = this.distances[last];
+        this.speeds[i] = this.speeds[last];
+        this.positions[i].set(this.positions[last]);
+        this.rotations[i].set(this.rotations[last]);
+        this.paths[last] = null;
+    }
+
+    /**
+     * @description advances every follower and samples its new pose
+     * @param deltaSeconds elapsed time
+     */
+    public void update(float deltaSeconds) {
+        this.step = deltaSeconds;
+        JobSystem.getDefault().parallelFor(this.count, MIN_BATCH, this.updateTask);
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public Vector3f getPosition(int i) {
+        return this.positions[i];
+    }
+
+    public Quaternion getRotation(int i) {
+        return this.rotations[i];
+    }
+
+    public float getDistance(int i) {
+        return this.distances[i];
+    }
+
+    public void setSpeed(int i, float speed) {
+        this.speeds[i] = speed;
+    }
+
+    /**
+     * @description whether a follower has reached the end of an open path
+     * @param i follower index
+     * @return true if there is no further to go
+     */
+    public boolean isFinished(int i) {
+        RailPath path = this.paths[i];
+        return !path.isLoop() && (this.speeds[i] >= 0 ? this.distances[i] >= path.getLength() : this.distances[i] <= 0);
+    }
+
+    private void updateRange(int start, int end) {
+        float dt = this.step;
+        for (int i = start; i < end; i++) {
+            RailPath path = this.paths[i];
+            float distance = this.distances[i] + this.speeds[i] * dt;
+            if (path.isLoop()) {
+                // keep loop distances small so they don't lose float precision over a long level
+                float length = path.getLength();
+                distance %= length;
+                if (distance < 0) {
+                    distance += length;
+                }
+            }
+            this.distances[i] = distance;
+            path.sample(distance, this.positions[i], this.rotations[i]);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * @description a spline path with constant speed sampling and twist free orientation frames
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.path;
+
+import com.sparkge.math.Quaternion;
+import com.sparkge.math.Vector3f;
+
+/**
+ * Used for the rail the player's ship and camera follow and for enemy flight paths. Everything expensive is
+ * done once at construction: the arc length table, and an orientation frame at every table entry computed by
+ * parallel transport, which carries the up vector along the curve with the least possible rotation so the
+ * path never flips or twists unexpectedly the way Frenet frames do at inflection points. Sampling is one
+ * binary search, one spline evaluation and one slerp between neighbouring frames, and allocates nothing.
+ *
+ * Frames look down the path: local +z is the direction of travel and +y is up. On a closed path the frames
+ * may not line up exactly where the path joins itself if the loop has overall twist.
+ */
+public class RailPath {
+
+    private final CubicSpline spline;
+    private final ArcLengthTable table;
+    private final Quaternion[] frames;
+    private final boolean loop;
+
+    /**
+     * @description constructor, builds the arc length table and orientation frames
+     * @param spline the curve
+     * @param samplesPerSegment table entries per spline segment, 32 is plenty for typical paths
+     * @param up the initial up direction, must not be parallel to the start of the curve
+     */
+    public RailPath(CubicSpline spline, int samplesPerSegment, Vector3f up) {
+        this.spline = spline;
+        this.table = new ArcLengthTable(spline, samplesPerSegment);
+        this.loop = spline.isClosed();
+        this.frames = new Quaternion[this.table.getSampleCount()];
+
+        Vector3f tangent = this.tangentAt(0, new Vector3f());
+        Vector3f normal = new Vector3f().set(up);
+        normal.subEq(tangent.scale(normal.dot(tangent)));
+        if (normal.getMagnitudeSquared() < 1e-8f) {
+            throw new IllegalArgumentException("Up must not be parallel to the start of the path");
+        }
+        normal.set(normal.getNormalizedVector());
+        Vector3f previous = new Vector3f();
+        Vector3f axis = new Vector3f();
+        Vector3f right = new Vector3f();
+        for (int i = 0; i < this.frames.length; i++) {
+            if (i > 0) {
+                previous.set(tangent);
+                this.tangentAt(this.table.getSampleParameter(i), tangent);
+                // rotate the normal by the smallest rotation taking the previous tangent onto this one
+                axis.set(previous).crossEq(tangent);
+                float cos = previous.dot(tangent);
+                if (cos > -0.9999f) {
+                    float k = axis.dot(normal) / (1 + cos);
+                    Vector3f twist = axis.cross(normal);
+                    normal.scaleEq(cos).addEq(twist).addEq(axis.scale(k));
+                }
+                // remove accumulated drift
+                normal.subEq(tangent.scale(normal.dot(tangent)));
+                normal.set(normal.getNormalizedVector());
+            }
+            right.set(normal).crossEq(tangent);
+            this.frames[i] = new Quaternion().setFromAxes(right, normal, tangent);
+        }
+    }
+
+    /**
+     * @description constructor with 32 table entries per segment and +y up
+     * @param spline the curve
+     */
+    public RailPath(CubicSpline spline) {
+        this(spline, 32, new Vector3f(0, 1, 0));
+    }
+
+    /**
+     * @description samples the path at a distance along it
+     * @param distance distance from the start; wrapped on closed paths, clamped on open ones
+     * @param position receives the position
+     * @param rotation receives the orientation frame
+     */
+    public void sample(float distance, Vector3f position, Quaternion rotation) {
+        float d = this.wrap(distance);
+        int sample = this.table.findSample(d);
+        float fraction = this.table.getFraction(sample, d);
+        float t0 = this.table.getSampleParameter(sample);
+        float t1 = this.table.getSampleParameter(sample + 1);
+        this.spline.getPosition(t0 + fraction * (t1 - t0), position);
+        rotation.set(this.frames[sample]).slerpEq(this.frames[sample + 1], fraction);
+    }
+
+    /**
+     * @description samples just the position at a distance along the path
+     * @param distance distance from the start; wrapped on closed paths, clamped on open ones
+     * @param position receives the position
+     * @return position
+     */
+    public Vector3f getPosition(float distance, Vector3f position) {
+        return this.spline.getPosition(this.table.getParameter(this.wrap(distance)), position);
+    }
+
+    /**
+     * @description getter for the length of the path
+     * @return length
+     */
+    public float getLength() {
+        return this.table.getLength();
+    }
+
+    /**
+     * @description whether distances wrap around, true for closed splines
+     * @return true if the path loops
+     */
+    public boolean isLoop() {
+        return this.loop;
+    }
+
+    public CubicSpline getSpline() {
+        return this.spline;
+    }
+
+    public ArcLengthTable getArcLengthTable() {
+        return this.table;
+    }
+
+    private float wrap(float distance) {
+        float length = this.table.getLength();
+        if (this.loop) {
+            distance %= length;
+            return distance < 0 ? distance + length : distance;
+        }
+        return distance < 0 ? 0 : distance > length ? length : distance;
+    }
+
+    private Vector3f tangentAt(float t, Vector3f out) {
+        this.spline.getDerivative(t, out);
+        if (out.getMagnitudeSquared() < 1e-12f) {
+            // a cusp where control points coincide, step slightly off it
+            this.spline.getDerivative(t + 1e-3f, out);
+        }
+        return out.set(out.getNormalizedVector());
+    }
+}
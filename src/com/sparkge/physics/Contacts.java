@@ -0,0 +1,372 @@
+/**
+ * @description contact storage and the sequential impulse solver
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | sleeping bodies are solved as static
+ */
+
+package com.sparkge.physics;
+
+import java.util.Arrays;
+
+/**
+ * Contact i pushes body a along -normal and body b along +normal; b is -1 for the ground plane. A negative
+ * depth is a gap, for pairs that are close but not yet touching. The solver
+ * applies clamped normal impulses with Baumgarte position correction and restitution, Coulomb friction
+ * impulses along the direction of sliding, and a rolling resistance impulse against the relative spin so
+ * rolling spheres come to rest and can sleep.
+ *
+ * Contacts are rebuilt every step, so the normal impulse each pair ended the last step with is kept in a small
+ * hash table keyed by the pair and used as the starting guess (warm starting). Resting piles then converge in
+ * a few iterations instead of jittering, which is what lets them fall asleep.
+ *
+ * Only awake dynamic bodies are written. Static and sleeping bodies are solved with zero inverse mass and
+ * inertia, so a speculative contact from an awake body can't build up velocity in a sleeping one that isn't
+ * part of any island, and bodies shared between islands are safe to read from several solver threads.
+ */
+final class Contacts {
+
+    private static final int ITERATIONS = 8;
+    private static final float BAUMGARTE = 0.2f;
+    private static final float SLOP = 0.005f;
+    private static final float RESTITUTION_THRESHOLD = 1.0f;
+    private static final long EMPTY = -1L;
+
+    int count;
+    int[] a = new int[1024];
+    int[] b = new int[1024];
+    float[] nx = new float[1024], ny = new float[1024], nz = new float[1024];
+    float[] depth = new float[1024];
+
+    // solver state
+    private float[] tx = new float[1024], ty = new float[1024], tz = new float[1024];
+    private float[] armA = new float[1024], armB = new float[1024];
+    private float[] normalMass = new float[1024], tangentMass = new float[1024];
+    private float[] bias = new float[1024];
+    private float[] frictionCoefficient = new float[1024];
+    private float[] rollingLimit = new float[1024];
+    private float[] rollingX = new float[1024], rollingY = new float[1024], rollingZ = new float[1024];
+    private float[] normalImpulse = new float[1024], tangentImpulse = new float[1024];
+
+    // last step's normal impulses by pair, open addressing with linear probing
+    private long[] cacheKeys = new long[2048];
+    private float[] cacheImpulses = new float[2048];
+
+    Contacts() {
+        Arrays.fill(this.cacheKeys, EMPTY);
+    }
+
+    void clear() {
+        this.count = 0;
+    }
+
+    void add(int bodyA, int bodyB, float normalX, float normalY, float normalZ, float penetration) {
+        if (this.count == this.a.length) {
+            this.grow();
+        }
+        int i = this.count++;
+        this.a[i] = bodyA;
+        this.b[i] = bodyB;
+        this.nx[i] = normalX;
+        this.ny[i] = normalY;
+        this.nz[i] = normalZ;
+        this.depth[i] = penetration;
+    }
+
+    int capacity() {
+        return this.a.length;
+    }
+
+    /**
+     * @description solves one island's contacts
+     */
+    void solve(PhysicsWorld w, Islands islands, int island, float dt) {
+        int start = islands.getContactStart(island);
+        int end = islands.getContactEnd(island);
+        int[] order = islands.getContactOrder();
+        if (start == end) {
+            return;
+        }
+        for (int k = start; k < end; k++) {
+            this.prepare(w, order[k], dt);
+        }
+        for (int k = start; k < end; k++) {
+            this.warmStart(w, order[k]);
+        }
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            for (int k = start; k < end; k++) {
+                this.solveContact(w, order[k]);
+            }
+        }
+    }
+
+    /**
+     * @description remembers every contact's normal impulse for the next step; called once all islands are solved
+     */
+    void cacheImpulses() {
+        int size = this.cacheKeys.length;
+        if (size < this.count * 2) {
+            size = Integer.highestOneBit(this.count * 2 - 1) << 1;
+            this.cacheKeys = new long[size];
+            this.cacheImpulses = new float[size];
+        }
+        Arrays.fill(this.cacheKeys, EMPTY);
+        int mask = size - 1;
+        for (int c = 0; c < this.count; c++) {
+            long key = key(this.a[c], this.b[c]);
+            int slot = hash(key) & mask;
+            while (this.cacheKeys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            this.cacheKeys[slot] = key;
+            this.cacheImpulses[slot] = this.normalImpulse[c];
+        }
+    }
+
+    private float cachedImpulse(int bodyA, int bodyB) {
+        long key = key(bodyA, bodyB);
+        int mask = this.cacheKeys.length - 1;
+        for (int slot = hash(key) & mask; this.cacheKeys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (this.cacheKeys[slot] == key) {
+                return this.cacheImpulses[slot];
+            }
+        }
+        return 0;
+    }
+
+    private static long key(int bodyA, int bodyB) {
+        // the sweep can report a pair either way round
+        int low = bodyB >= 0 ? Math.min(bodyA, bodyB) : bodyA;
+        int high = bodyB >= 0 ? Math.max(bodyA, bodyB) : -1;
+        return ((long) low << 32) | (high & 0xffffffffL);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32);
+    }
+
+    private void warmStart(PhysicsWorld w, int c) {
+        int ia = this.a[c];
+        int ib = this.b[c];
+        float impulse = this.cachedImpulse(ia, ib);
+        this.normalImpulse[c] = impulse;
+        if (impulse == 0) {
+            return;
+        }
+        float invMassA = inverseMass(w, ia), invMassB = inverseMass(w, ib);
+        if (invMassA > 0) {
+            w.vx[ia] -= this.nx[c] * impulse * invMassA;
+            w.vy[ia] -= this.ny[c] * impulse * invMassA;
+            w.vz[ia] -= this.nz[c] * impulse * invMassA;
+        }
+        if (invMassB > 0) {
+            w.vx[ib] += this.nx[c] * impulse * invMassB;
+            w.vy[ib] += this.ny[c] * impulse * invMassB;
+            w.vz[ib] += this.nz[c] * impulse * invMassB;
+        }
+    }
+
+    private void prepare(PhysicsWorld w, int c, float dt) {
+        int ia = this.a[c];
+        int ib = this.b[c];
+        float n0 = this.nx[c], n1 = this.ny[c], n2 = this.nz[c];
+        // contact point is midway through the overlap; arms are along the normal for spheres
+        this.armA[c] = w.radius[ia] - 0.5f * this.depth[c];
+        this.armB[c] = ib >= 0 ? w.radius[ib] - 0.5f * this.depth[c] : 0;
+
+        float invMassA = inverseMass(w, ia), invMassB = inverseMass(w, ib);
+        float invInertiaA = inverseInertia(w, ia), invInertiaB = inverseInertia(w, ib);
+        this.normalMass[c] = 1 / (invMassA + invMassB);
+        this.tangentMass[c] = 1 / (invMassA + invMassB + invInertiaA * this.armA[c] * this.armA[c]
+                + invInertiaB * this.armB[c] * this.armB[c]);
+
+        float rvx = this.relativeX(w, c), rvy = this.relativeY(w, c), rvz = this.relativeZ(w, c);
+        float vn = rvx * n0 + rvy * n1 + rvz * n2;
+        // a speculative contact lets the bodies close the gap this step but no further
+        float bias = this.depth[c] < 0 ? this.depth[c] / dt : BAUMGARTE / dt * Math.max(0, this.depth[c] - SLOP);
+        if (vn < -RESTITUTION_THRESHOLD && this.depth[c] >= 0) {
+            float e = Math.max(w.restitution[ia], ib >= 0 ? w.restitution[ib] : 0);
+            bias = Math.max(bias, -e * vn);
+        }
+        this.bias[c] = bias;
+        this.frictionCoefficient[c] = ib >= 0 ? (float) Math.sqrt(w.friction[ia] * w.friction[ib]) : w.friction[ia];
+        // resisting torque is coefficient * normal force * lever arm
+        this.rollingLimit[c] = Math.max(w.rollingResistance[ia], ib >= 0 ? w.rollingResistance[ib] : 0)
+                * Math.max(this.armA[c], this.armB[c]);
+
+        // friction acts against the sliding direction, or any direction along the surface if not sliding
+        float sx = rvx - vn * n0, sy = rvy - vn * n1, sz = rvz - vn * n2;
+        float slide = (float) Math.sqrt(sx * sx + sy * sy + sz * sz);
+        if (slide > 1e-6f) {
+            sx /= slide;
+            sy /= slide;
+            sz /= slide;
+        } else if (Math.abs(n0) < 0.9f) {
+            // normal x (1, 0, 0)
+            float length = (float) Math.sqrt(n2 * n2 + n1 * n1);
+            sx = 0;
+            sy = n2 / length;
+            sz = -n1 / length;
+        } else {
+            // normal x (0, 1, 0)
+            float length = (float) Math.sqrt(n2 * n2 + n0 * n0);
+            sx = -n2 / length;
+            sy = 0;
+            sz = n0 / length;
+        }
+        this.tx[c] = sx;
+        this.ty[c] = sy;
+        this.tz[c] = sz;
+        this.normalImpulse[c] = 0;
+        this.tangentImpulse[c] = 0;
+        this.rollingX[c] = this.rollingY[c] = this.rollingZ[c] = 0;
+    }
+
+    private void solveContact(PhysicsWorld w, int c) {
+        int ia = this.a[c];
+        int ib = this.b[c];
+        float n0 = this.nx[c], n1 = this.ny[c], n2 = this.nz[c];
+        float invMassA = inverseMass(w, ia), invMassB = inverseMass(w, ib);
+
+        // normal
+        float vn = this.relativeX(w, c) * n0 + this.relativeY(w, c) * n1 + this.relativeZ(w, c) * n2;
+        float lambda = (this.bias[c] - vn) * this.normalMass[c];
+        float previous = this.normalImpulse[c];
+        this.normalImpulse[c] = Math.max(previous + lambda, 0);
+        lambda = this.normalImpulse[c] - previous;
+        if (invMassA > 0) {
+            w.vx[ia] -= n0 * lambda * invMassA;
+            w.vy[ia] -= n1 * lambda * invMassA;
+            w.vz[ia] -= n2 * lambda * invMassA;
+        }
+        if (invMassB > 0) {
+            w.vx[ib] += n0 * lambda * invMassB;
+            w.vy[ib] += n1 * lambda * invMassB;
+            w.vz[ib] += n2 * lambda * invMassB;
+        }
+
+        // friction
+        float t0 = this.tx[c], t1 = this.ty[c], t2 = this.tz[c];
+        float vt = this.relativeX(w, c) * t0 + this.relativeY(w, c) * t1 + this.relativeZ(w, c) * t2;
+        lambda = -vt * this.tangentMass[c];
+        float limit = this.frictionCoefficient[c] * this.normalImpulse[c];
+        previous = this.tangentImpulse[c];
+        this.tangentImpulse[c] = Math.max(-limit, Math.min(previous + lambda, limit));
+        lambda = this.tangentImpulse[c] - previous;
+        // torque = arm x impulse, with arm a = n * armA and arm b = -n * armB
+        float cx = n1 * t2 - n2 * t1, cy = n2 * t0 - n0 * t2, cz = n0 * t1 - n1 * t0;
+        if (invMassA > 0) {
+            float angular = -lambda * this.armA[c] * inverseInertia(w, ia);
+            w.vx[ia] -= t0 * lambda * invMassA;
+            w.vy[ia] -= t1 * lambda * invMassA;
+            w.vz[ia] -= t2 * lambda * invMassA;
+            w.wx[ia] += cx * angular;
+            w.wy[ia] += cy * angular;
+            w.wz[ia] += cz * angular;
+        }
+        if (invMassB > 0) {
+            float angular = -lambda * this.armB[c] * inverseInertia(w, ib);
+            w.vx[ib] += t0 * lambda * invMassB;
+            w.vy[ib] += t1 * lambda * invMassB;
+            w.vz[ib] += t2 * lambda * invMassB;
+            w.wx[ib] += cx * angular;
+            w.wy[ib] += cy * angular;
+            w.wz[ib] += cz * angular;
+        }
+
+        // rolling resistance
+        float invInertiaA = inverseInertia(w, ia), invInertiaB = inverseInertia(w, ib);
+        float inverseSum = invInertiaA + invInertiaB;
+        if (inverseSum == 0 || this.rollingLimit[c] == 0) {
+            return;
+        }
+        float sx = ib >= 0 ? w.wx[ib] - w.wx[ia] : -w.wx[ia];
+        float sy = ib >= 0 ? w.wy[ib] - w.wy[ia] : -w.wy[ia];
+        float sz = ib >= 0 ? w.wz[ib] - w.wz[ia] : -w.wz[ia];
+        float oldX = this.rollingX[c], oldY = this.rollingY[c], oldZ = this.rollingZ[c];
+        float newX = oldX - sx / inverseSum, newY = oldY - sy / inverseSum, newZ = oldZ - sz / inverseSum;
+        limit = this.rollingLimit[c] * this.normalImpulse[c];
+        float magnitude = (float) Math.sqrt(newX * newX + newY * newY + newZ * newZ);
+        if (magnitude > limit) {
+            float scale = limit / magnitude;
+            newX *= scale;
+            newY *= scale;
+            newZ *= scale;
+        }
+        this.rollingX[c] = newX;
+        this.rollingY[c] = newY;
+        this.rollingZ[c] = newZ;
+        float dx = newX - oldX, dy = newY - oldY, dz = newZ - oldZ;
+        if (invInertiaA > 0) {
+            w.wx[ia] -= dx * invInertiaA;
+            w.wy[ia] -= dy * invInertiaA;
+            w.wz[ia] -= dz * invInertiaA;
+        }
+        if (invInertiaB > 0) {
+            w.wx[ib] += dx * invInertiaB;
+            w.wy[ib] += dy * invInertiaB;
+            w.wz[ib] += dz * invInertiaB;
+        }
+    }
+
+    // a sleeping body is held still like a static one until a hit wakes it
+    private static float inverseMass(PhysicsWorld w, int body) {
+        return body >= 0 && w.awake[body] ? w.inverseMass[body] : 0;
+    }
+
+    private static float inverseInertia(PhysicsWorld w, int body) {
+        return body >= 0 && w.awake[body] ? w.inverseInertia[body] : 0;
+    }
+
+    // relative velocity of b's contact point with respect to a's: (vb + wb x rb) - (va + wa x ra)
+    private float relativeX(PhysicsWorld w, int c) {
+        int ia = this.a[c], ib = this.b[c];
+        float ra = this.armA[c], rb = -this.armB[c];
+        float velocityA = w.vx[ia] + (w.wy[ia] * this.nz[c] - w.wz[ia] * this.ny[c]) * ra;
+        float velocityB = ib >= 0 ? w.vx[ib] + (w.wy[ib] * this.nz[c] - w.wz[ib] * this.ny[c]) * rb : 0;
+        return velocityB - velocityA;
+    }
+
+    private float relativeY(PhysicsWorld w, int c) {
+        int ia = this.a[c], ib = this.b[c];
+        float ra = this.armA[c], rb = -this.armB[c];
+        float velocityA = w.vy[ia] + (w.wz[ia] * this.nx[c] - w.wx[ia] * this.nz[c]) * ra;
+        float velocityB = ib >= 0 ? w.vy[ib] + (w.wz[ib] * this.nx[c] - w.wx[ib] * this.nz[c]) * rb : 0;
+        return velocityB - velocityA;
+    }
+
+    private float relativeZ(PhysicsWorld w, int c) {
+        int ia = this.a[c], ib = this.b[c];
+        float ra = this.armA[c], rb = -this.armB[c];
+        float velocityA = w.vz[ia] + (w.wx[ia] * this.ny[c] - w.wy[ia] * this.nx[c]) * ra;
+        float velocityB = ib >= 0 ? w.vz[ib] + (w.wx[ib] * this.ny[c] - w.wy[ib] * this.nx[c]) * rb : 0;
+        return velocityB - velocityA;
+    }
+
+    private void grow() {
+        int size = this.a.length * 2;
+        this.a = Arrays.copyOf(this.a, size);
+        this.b = Arrays.copyOf(this.b, size);
+        this.nx = Arrays.copyOf(this.nx, size);
+        this.ny = Arrays.copyOf(this.ny, size);
+        this.nz = Arrays.copyOf(this.nz, size);
+        this.depth = Arrays.copyOf(this.depth, size);
+        this.tx = new float[size];
+        this.ty = new float[size];
+        this.tz = new float[size];
+        this.armA = new float[size];
+        this.armB = new float[size];
+        this.normalMass = new float[size];
+        this.tangentMass = new float[size];
+        this.bias = new float[size];
+        this.frictionCoefficient = new float[size];
+        this.rollingLimit = new float[size];
+        this.rollingX = new float[size];
+        this.rollingY = new float[size];
+        this.rollingZ = new float[size];
+        this.normalImpulse = new float[size];
+        this.tangentImpulse = new float[size];
+    }
+}
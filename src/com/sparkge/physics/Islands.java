@@ -0,0 +1,179 @@
+/**
+ * @description groups touching bodies into independently solvable islands
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | sleeping bodies don't join islands
+ */
+
+package com.sparkge.physics;
+
+/**
+ * Awake dynamic bodies joined by contacts are merged with union-find. Static bodies, sleeping bodies and the
+ * ground never join islands, because the solver never moves them, so two stacks resting on the same floor are still solved
+ * separately. Bodies and contacts are then bucketed by island with a counting sort, so each island's members
+ * are a contiguous range.
+ */
+final class Islands {
+
+    private final int[] parent;
+    private final int[] rootIsland;
+    private final int[] bodyIsland;
+    private final int[] bodyStart;
+    private final int[] bodies;
+    private int[] contactStart;
+    private int[] contactOrder = new int[1024];
+    private int count;
+
+    Islands(int capacity) {
+        this.parent = new int[capacity];
+        this.rootIsland = new int[capacity];
+        this.bodyIsland = new int[capacity];
+        this.bodyStart = new int[capacity + 1];
+        this.bodies = new int[capacity];
+        this.contactStart = new int[capacity + 1];
+    }
+
+    void build(PhysicsWorld w) {
+        Contacts contacts = w.contacts;
+        int bodyCount = w.highWater;
+        for (int i = 0; i < bodyCount; i++) {
+            this.parent[i] = i;
+            this.rootIsland[i] = -1;
+        }
+        for (int c = 0; c < contacts.count; c++) {
+            int a = contacts.a[c];
+            int b = contacts.b[c];
+            if (b >= 0 && w.awake[a] && w.awake[b]) {
+                this.union(a, b);
+            }
+        }
+
+        // number the islands and count their bodies
+        this.count = 0;
+        for (int i = 0; i < bodyCount; i++) {
+            if (!w.awake[i]) {
+                this.bodyIsland[i] = -1;
+                continue;
+            }
+            int root = this.find(i);
+            if (this.rootIsland[root] < 0) {
+                this.rootIsland[root] = this.count;
+                this.bodyStart[this.count] = 0;
+                this.contactStart[this.count] = 0;
+                this.count++;
+            }
+            int island = this.rootIsland[root];
+            this.bodyIsland[i] = island;
+            this.bodyStart[island]++;
+        }
+        prefixSum(this.bodyStart, this.count);
+        for (int i = 0; i < bodyCount; i++) {
+            int island = this.bodyIsland[i];
+            if (island >= 0) {
+                this.bodies[--this.bodyStart[island]] = i;
+            }
+        }
+
+        // bucket the contacts by the island of their dynamic body
+        if (this.contactOrder.length < contacts.capacity()) {
+            this.contactOrder = new int[contacts.capacity()];
+        }
+        for (int c = 0; c < contacts.count; c++) {
+            int island = this.contactIsland(w, contacts, c);
+            if (island >= 0) {
+                this.contactStart[island]++;
+            }
+        }
+        prefixSum(this.contactStart, this.count);
+        for (int c = 0; c < contacts.count; c++) {
+            int island = this.contactIsland(w, contacts, c);
+            if (island >= 0) {
+                this.contactOrder[--this.contactStart[island]] = c;
+            }
+        }
+    }
+
+    int getCount() {
+        return this.count;
+    }
+
+    int getContactStart(int island) {
+        return this.contactStart[island];
+    }
+
+    int getContactEnd(int island) {
+        return this.contactStart[island + 1];
+    }
+
+    int[] getContactOrder() {
+        return this.contactOrder;
+    }
+
+    /**
+     * @description puts an island to sleep once every body in it has been slow for long enough
+     */
+    void updateSleep(PhysicsWorld w, int island, float dt) {
+        int start = this.bodyStart[island];
+        int end = this.bodyStart[island + 1];
+        float linear = PhysicsWorld.SLEEP_LINEAR_SPEED * PhysicsWorld.SLEEP_LINEAR_SPEED;
+        float angular = PhysicsWorld.SLEEP_ANGULAR_SPEED * PhysicsWorld.SLEEP_ANGULAR_SPEED;
+        float shortest = Float.MAX_VALUE;
+        for (int k = start; k < end; k++) {
+            int i = this.bodies[k];
+            float speed = w.vx[i] * w.vx[i] + w.vy[i] * w.vy[i] + w.vz[i] * w.vz[i];
+            float spin = w.wx[i] * w.wx[i] + w.wy[i] * w.wy[i] + w.wz[i] * w.wz[i];
+            w.sleepTimer[i] = speed < linear && spin < angular ? w.sleepTimer[i] + dt : 0;
+            shortest = Math.min(shortest, w.sleepTimer[i]);
+        }
+        if (shortest < PhysicsWorld.SLEEP_SECONDS) {
+            return;
+        }
+        for (int k = start; k < end; k++) {
+            int i = this.bodies[k];
+            w.awake[i] = false;
+            w.vx[i] = w.vy[i] = w.vz[i] = 0;
+            w.wx[i] = w.wy[i] = w.wz[i] = 0;
+        }
+    }
+
+    private int contactIsland(PhysicsWorld w, Contacts contacts, int c) {
+        int a = contacts.a[c];
+        int island = w.inverseMass[a] > 0 ? this.bodyIsland[a] : -1;
+        int b = contacts.b[c];
+        if (island < 0 && b >= 0 && w.inverseMass[b] > 0) {
+            island = this.bodyIsland[b];
+        }
+        return island;
+    }
+
+    private int find(int i) {
+        while (this.parent[i] != i) {
+            // path halving
+            this.parent[i] = this.parent[this.parent[i]];
+            i = this.parent[i];
+        }
+        return i;
+    }
+
+    private void union(int a, int b) {
+        int rootA = this.find(a);
+        int rootB = this.find(b);
+        if (rootA != rootB) {
+            this.parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    /**
+     * @description turns per island counts into end offsets, and the total after the last island; filling
+     * then decrements each island's offset down to its start
+     */
+    private static void prefixSum(int[] counts, int islands) {
+        int sum = 0;
+        for (int i = 0; i < islands; i++) {
+            sum += counts[i];
+            counts[i] = sum;
+        }
+        counts[islands] = sum;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * @description drops piles of spheres onto the ground and reports step timings
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | runs until the piles sleep and fails if any body is still awake
+ */
+
+package com.sparkge.physics;
+
+import com.sparkge.core.CoreEngine;
+import com.sparkge.core.JobSystem;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Usage: PhysicsBenchmark [bodies] [steps] [piles]
+ *
+ * The bodies are dropped from random heights onto separate areas so there are several large islands to
+ * solve in parallel, each around a static pillar. Reports step time percentiles, how many bodies are still awake
+ * at the end and the deepest remaining overlap, which should stay around the solver's slop once the piles have
+ * settled. The default run is long enough for every pile to settle and sleep (about 1100 steps), and the process
+ * exits with status 1 if any body is still awake at the end.
+ */
+public class PhysicsBenchmark {
+
+    public static void main(String[] args) {
+        int bodies = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 1500;
+        int piles = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        float dt = CoreEngine.FIXED_STEP_SECONDS;
+
+        PhysicsWorld world = new PhysicsWorld(bodies + piles);
+        world.setGroundPlane(0);
+        // each pile is dropped over an area that holds about one layer once settled, a deeper heap of spheres
+        // keeps spreading for a long time
+        int perPile = (bodies + piles - 1) / piles;
+        float width = (float) Math.sqrt(perPile) * 1.1f;
+        float spacing = width + 4;
+        Random random = new Random(1);
+        for (int i = 0; i < bodies; i++) {
+            int pile = i / perPile;
+            float x = pile * spacing + random.nextFloat() * width;
+            float z = random.nextFloat() * width;
+            float y = 0.5f + random.nextFloat() * 10;
+            world.addBody(x, y, z, 0.5f, 1);
+        }
+        for (int pile = 0; pile < piles; pile++) {
+            world.addBody(pile * spacing + width / 2, 1, width / 2, 1, 0);
+        }
+
+        long[] stepNanos = new long[steps];
+        int maxContacts = 0, maxIslands = 0;
+        for (int i = 0; i < steps; i++) {
+            long start = System.nanoTime();
+            world.step(dt);
+            stepNanos[i] = System.nanoTime() - start;
+            maxContacts = Math.max(maxContacts, world.getContactCount());
+            maxIslands = Math.max(maxIslands, world.getIslandCount());
+        }
+
+        float deepest = 0;
+        for (int i = 0; i < world.highWater; i++) {
+            deepest = Math.max(deepest, world.groundHeight - (world.py[i] - world.radius[i]));
+        }
+        Contacts contacts = world.contacts;
+        for (int c = 0; c < contacts.count; c++) {
+            deepest = Math.max(deepest, contacts.depth[c]);
+        }
+
+        long total = 0;
+        for (long nanos : stepNanos) {
+            total += nanos;
+        }
+        Arrays.sort(stepNanos);
+        System.out.printf("%d bodies in %d piles, %d steps, %d threads%n",
+                bodies, piles, steps, JobSystem.getDefault().getThreadCount());
+        System.out.printf("  step avg     %10.3f ms%n", total / 1e6 / steps);
+        System.out.printf("  step p50     %10.3f ms%n", stepNanos[steps / 2] / 1e6);
+        System.out.printf("  step p99     %10.3f ms%n", stepNanos[Math.min(steps - 1, steps * 99 / 100)] / 1e6);
+        System.out.printf("  max contacts %10d%n", maxContacts);
+        System.out.printf("  max islands  %10d%n", maxIslands);
+        System.out.printf("  awake at end %10d%n", world.getAwakeCount());
+        System.out.printf("  deepest      %10.4f%n", deepest);
+        JobSystem.getDefault().shutdown();
+        if (world.getAwakeCount() > 0) {
+            System.out.println("FAIL: bodies still awake after " + steps + " steps");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+/**
+ * @description rigid sphere dynamics for ships, debris and pickups
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.physics;
+
+import com.sparkge.core.JobSystem;
+import com.sparkge.math.Quaternion;
+import com.sparkge.math.Vector3f;
+
+/**
+ * Bodies are spheres stored as columns (structure of arrays) and addressed by index; an index stays valid
+ * until the body is removed. Bodies with zero mass are static. An optional ground plane is treated as one more
+ * static body.
+ *
+ * step() should be called with a fixed time step, normally once per game update with
+ * CoreEngine.FIXED_STEP_SECONDS. Each step:
+ *  1. integrates velocities of awake bodies (gravity, damping)
+ *  2. finds contacts with a sweep and prune broadphase and sphere tests, waking sleeping bodies that are hit
+ *  3. groups touching bodies into islands and solves each island's contacts with sequential impulses, then
+ *     puts the island to sleep once all its bodies have been nearly still for SLEEP_SECONDS; islands share no
+ *     dynamic bodies, so they are solved in parallel on the JobSystem
+ *  4. integrates positions and orientations with the solved velocities (semi-implicit Euler)
+ * Nothing is allocated while stepping unless the contact buffer has to grow.
+ */
+public class PhysicsWorld {
+
+    static final float SLEEP_SECONDS = 0.5f;
+    static final float SLEEP_LINEAR_SPEED = 0.1f;
+    static final float SLEEP_ANGULAR_SPEED = 0.2f;
+    private static final int MIN_BATCH = 256;
+
+    final int capacity;
+
+    // body columns
+    final float[] px, py, pz;
+    final float[] vx, vy, vz;
+    final float[] qx, qy, qz, qw;
+    final float[] wx, wy, wz;
+    final float[] radius;
+    final float[] inverseMass;
+    final float[] inverseInertia;
+    final float[] restitution;
+    final float[] friction;
+    final float[] rollingResistance;
+    final float[] sleepTimer;
+    final boolean[] awake;
+    final boolean[] active;
+
+    private final int[] freeList;
+    private int freeCount;
+    int highWater;
+    int bodyCount;
+
+    private float gravityX, gravityY = -9.81f, gravityZ;
+    private float linearDamping = 0.01f;
+    private float angularDamping = 0.05f;
+    boolean hasGround;
+    float groundHeight;
+
+    private final SweepAndPrune broadphase;
+    final Contacts contacts = new Contacts();
+    final Islands islands;
+
+    private float step;
+    private final JobSystem.RangeTask velocityTask = this::integrateVelocities;
+    private final JobSystem.RangeTask positionTask = this::integratePositions;
+    private final JobSystem.RangeTask islandTask = this::solveIslands;
+
+    /**
+     * @description constructor
+     * @param capacity maximum number of bodies
+     */
+    public PhysicsWorld(int capacity) {
+        this.capacity = capacity;
+        this.px = new float[capacity];
+        this.py = new float[capacity];
+        this.pz = new float[capacity];
+        this.vx = new float[capacity];
+        this.vy = new float[capacity];
+        this.vz = new float[capacity];
+        this.qx = new float[capacity];
+        this.qy = new float[capacity];
+        this.qz = new float[capacity];
+        this.qw = new float[capacity];
+        this.wx = new float[capacity];
+        this.wy = new float[capacity];
+        this.wz = new float[capacity];
+        this.radius = new float[capacity];
+        this.inverseMass = new float[capacity];
+        this.inverseInertia = new float[capacity];
+        this.restitution = new float[capacity];
+        this.friction = new float[capacity];
+        this.rollingResistance = new float[capacity];
+        this.sleepTimer = new float[capacity];
+        this.awake = new boolean[capacity];
+        this.active = new boolean[capacity];
+        this.freeList = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            this.freeList[i] = capacity - 1 - i;
+        }
+        this.freeCount = capacity;
+        this.broadphase = new SweepAndPrune(this);
+        this.islands = new Islands(capacity);
+    }
+
+    /**
+     * @description adds a sphere at rest
+     * @param x position x
+     * @param y position y
+     * @param z position z
+     * @param radius sphere radius
+     * @param mass mass, 0 for a static body
+     * @return body index, or -1 if the world is full
+     */
+    public int addBody(float x, float y, float z, float radius, float mass) {
+        if (this.freeCount == 0) {
+            return -1;
+        }
+        int i = this.freeList[--this.freeCount];
+        this.px[i] = x;
+        this.py[i] = y;
+        this.pz[i] = z;
+        this.vx[i] = this.vy[i] = this.vz[i] = 0;
+        this.wx[i] = this.wy[i] = this.wz[i] = 0;
+        this.qx[i] = this.qy[i] = this.qz[i] = 0;
+        this.qw[i] = 1;
+        this.radius[i] = radius;
+        this.inverseMass[i] = mass > 0 ? 1 / mass : 0;
+        // solid sphere, I = 2/5 m r^2
+        this.inverseInertia[i] = mass > 0 ? 1 / (0.4f * mass * radius * radius) : 0;
+        this.restitution[i] = 0.2f;
+        this.friction[i] = 0.5f;
+        this.rollingResistance[i] = 0.05f;
+        this.sleepTimer[i] = 0;
+        this.awake[i] = mass > 0;
+        this.active[i] = true;
+        this.highWater = Math.max(this.highWater, i + 1);
+        this.bodyCount++;
+        this.broadphase.add(i);
+        return i;
+    }
+
+    /**
+     * @description removes a body, its index may be reused by the next addBody()
+     * @param body body index
+     */
+    public void removeBody(int body) {
+        if (!this.active[body]) {
+            return;
+        }
+        this.active[body] = false;
+        this.awake[body] = false;
+        this.freeList[this.freeCount++] = body;
+        this.bodyCount--;
+        this.broadphase.remove(body);
+        // anything resting on the body would otherwise sleep in mid air
+        for (int i = 0; i < this.highWater; i++) {
+            if (this.active[i] && !this.awake[i]) {
+                float dx = this.px[i] - this.px[body];
+                float dy = this.py[i] - this.py[body];
+                float dz = this.pz[i] - this.pz[body];
+                float reach = this.radius[i] + this.radius[body] + SweepAndPrune.MARGIN;
+                if (dx * dx + dy * dy + dz * dz < reach * reach) {
+                    this.wake(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * @description advances the simulation
+     * @param deltaSeconds the fixed time step
+     */
+    public void step(float deltaSeconds) {
+        this.step = deltaSeconds;
+        JobSystem jobs = JobSystem.getDefault();
+        jobs.parallelFor(this.highWater, MIN_BATCH, this.velocityTask);
+
+        this.contacts.clear();
+        this.broadphase.findContacts();
+        this.islands.build(this);
+        jobs.parallelFor(this.islands.getCount(), 1, this.islandTask);
+        this.contacts.cacheImpulses();
+
+        jobs.parallelFor(this.highWater, MIN_BATCH, this.positionTask);
+    }
+
+    /**
+     * @description sets the position of a body and wakes it
+     * @param body body index
+     */
+    public void setPosition(int body, float x, float y, float z) {
+        this.px[body] = x;
+        this.py[body] = y;
+        this.pz[body] = z;
+        this.wake(body);
+    }
+
+    /**
+     * @description sets the velocity of a body and wakes it
+     * @param body body index
+     */
+    public void setVelocity(int body, float x, float y, float z) {
+        this.vx[body] = x;
+        this.vy[body] = y;
+        this.vz[body] = z;
+        this.wake(body);
+    }
+
+    /**
+     * @description sets the angular velocity of a body and wakes it
+     * @param body body index
+     * @param x rotation axis scaled by radians per second, x
+     */
+    public void setAngularVelocity(int body, float x, float y, float z) {
+        this.wx[body] = x;
+        this.wy[body] = y;
+        this.wz[body] = z;
+        this.wake(body);
+    }
+
+    /**
+     * @description applies an impulse through the center of a body and wakes it
+     * @param body body index
+     */
+    public void applyImpulse(int body, float x, float y, float z) {
+        float inverseMass = this.inverseMass[body];
+        this.vx[body] += x * inverseMass;
+        this.vy[body] += y * inverseMass;
+        this.vz[body] += z * inverseMass;
+        this.wake(body);
+    }
+
+    /**
+     * @description sets how bouncy a body is; contacts use the larger of the two bodies' values
+     * @param body body index
+     * @param restitution 0 for no bounce, 1 for a perfectly elastic bounce
+     */
+    public void setRestitution(int body, float restitution) {
+        this.restitution[body] = restitution;
+    }
+
+    /**
+     * @description sets a body's friction; contacts use the geometric mean of the two bodies' values
+     * @param body body index
+     * @param friction Coulomb friction coefficient
+     */
+    public void setFriction(int body, float friction) {
+        this.friction[body] = friction;
+    }
+
+    /**
+     * @description sets how quickly a rolling body slows down; contacts use the larger of the two bodies' values
+     * @param body body index
+     * @param resistance rolling resistance coefficient, 0 to roll forever
+     */
+    public void setRollingResistance(int body, float resistance) {
+        this.rollingResistance[body] = resistance;
+    }
+
+    /**
+     * @description wakes a sleeping body
+     * @param body body index
+     */
+    public void wake(int body) {
+        if (this.inverseMass[body] > 0) {
+            this.awake[body] = true;
+            this.sleepTimer[body] = 0;
+        }
+    }
+
+    public boolean isAwake(int body) {
+        return this.awake[body];
+    }
+
+    public Vector3f getPosition(int body, Vector3f out) {
+        return out.set(this.px[body], this.py[body], this.pz[body]);
+    }
+
+    public Vector3f getVelocity(int body, Vector3f out) {
+        return out.set(this.vx[body], this.vy[body], this.vz[body]);
+    }
+
+    public Quaternion getOrientation(int body, Quaternion out) {
+        return out.set(this.qx[body], this.qy[body], this.qz[body], this.qw[body]);
+    }
+
+    public float getPositionX(int body) {
+        return this.px[body];
+    }
+
+    public float getPositionY(int body) {
+        return this.py[body];
+    }
+
+    public float getPositionZ(int body) {
+        return this.pz[body];
+    }
+
+    public void setGravity(float x, float y, float z) {
+        this.gravityX = x;
+        this.gravityY = y;
+        this.gravityZ = z;
+    }
+
+    /**
+     * @description sets the fraction of velocity lost per second
+     * @param linear linear damping
+     * @param angular angular damping
+     */
+    public void setDamping(float linear, float angular) {
+        this.linearDamping = linear;
+        this.angularDamping = angular;
+    }
+
+    /**
+     * @description adds an infinite static floor
+     * @param height floor height on the y axis
+     */
+    public void setGroundPlane(float height) {
+        this.hasGround = true;
+        this.groundHeight = height;
+    }
+
+    /**
+     * @description removes the floor
+     */
+    public void clearGroundPlane() {
+        this.hasGround = false;
+    }
+
+    public int getBodyCount() {
+        return this.bodyCount;
+    }
+
+    /**
+     * @description getter for the number of awake bodies
+     * @return awake body count
+     */
+    public int getAwakeCount() {
+        int count = 0;
+        for (int i = 0; i < this.highWater; i++) {
+            if (this.awake[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @description getter for the number of contacts found in the last step
+     * @return contact count
+     */
+    public int getContactCount() {
+        return this.contacts.count;
+    }
+
+    /**
+     * @description getter for the number of islands solved in the last step
+     * @return island count
+     */
+    public int getIslandCount() {
+        return this.islands.getCount();
+    }
+
+    private void integrateVelocities(int start, int end) {
+        float dt = this.step;
+        float gx = this.gravityX * dt, gy = this.gravityY * dt, gz = this.gravityZ * dt;
+        float linear = Math.max(0, 1 - this.linearDamping * dt);
+        float angular = Math.max(0, 1 - this.angularDamping * dt);
+        for (int i = start; i < end; i++) {
+            if (!this.awake[i]) {
+                continue;
+            }
+            this.vx[i] = (this.vx[i] + gx) * linear;
+            this.vy[i] = (this.vy[i] + gy) * linear;
+            this.vz[i] = (this.vz[i] + gz) * linear;
+            this.wx[i] *= angular;
+            this.wy[i] *= angular;
+            this.wz[i] *= angular;
+        }
+    }
+
+    private void integratePositions(int start, int end) {
+        float dt = this.step;
+        float halfDt = 0.5f * dt;
+        for (int i = start; i < end; i++) {
+            if (!this.awake[i]) {
+                continue;
+            }
+            this.px[i] += this.vx[i] * dt;
+            this.py[i] += this.vy[i] * dt;
+            this.pz[i] += this.vz[i] * dt;
+
+            // q += 0.5 * dt * (w, 0) * q
+            float x0 = this.qx[i], y0 = this.qy[i], z0 = this.qz[i], w0 = this.qw[i];
+            float ax = this.wx[i] * halfDt, ay = this.wy[i] * halfDt, az = this.wz[i] * halfDt;
+            float x = x0 + ax * w0 + ay * z0 - az * y0;
+            float y = y0 + ay * w0 + az * x0 - ax * z0;
+            float z = z0 + az * w0 + ax * y0 - ay * x0;
+            float w = w0 - ax * x0 - ay * y0 - az * z0;
+            float inverse = 1.0f / (float) Math.sqrt(x * x + y * y + z * z + w * w);
+            this.qx[i] = x * inverse;
+            this.qy[i] = y * inverse;
+            this.qz[i] = z * inverse;
+            this.qw[i] = w * inverse;
+        }
+    }
+
+    private void solveIslands(int start, int end) {
+        for (int island = start; island < end; island++) {
+            this.contacts.solve(this, this.islands, island, this.step);
+            this.islands.updateSleep(this, island, this.step);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * @description sweep and prune broadphase along the x axis
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.physics;
+
+/**
+ * Bodies are kept sorted by the left edge of their bounds. Bodies move little between steps, so re-sorting
+ * with insertion sort is close to linear. Sweeping the sorted list only compares bodies whose x extents
+ * overlap, and those candidates go straight to the exact sphere test.
+ */
+final class SweepAndPrune {
+
+    // pairs this close are reported as speculative contacts, so resting contacts don't flicker
+    static final float MARGIN = 0.02f;
+
+    private final PhysicsWorld world;
+    private final int[] order;
+    private final float[] keys;
+    private int count;
+
+    SweepAndPrune(PhysicsWorld world) {
+        this.world = world;
+        this.order = new int[world.capacity];
+        this.keys = new float[world.capacity];
+    }
+
+    void add(int body) {
+        this.order[this.count++] = body;
+    }
+
+    void remove(int body) {
+        for (int k = 0; k < this.count; k++) {
+            if (this.order[k] == body) {
+                System.arraycopy(this.order, k + 1, this.order, k, this.count - k - 1);
+                this.count--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @description finds every touching or nearly touching pair with at least one awake body, and ground contacts
+     */
+    void findContacts() {
+        PhysicsWorld w = this.world;
+        int[] order = this.order;
+        float[] keys = this.keys;
+        for (int k = 0; k < this.count; k++) {
+            int body = order[k];
+            keys[k] = w.px[body] - w.radius[body];
+        }
+        for (int k = 1; k < this.count; k++) {
+            float key = keys[k];
+            int body = order[k];
+            int m = k - 1;
+            while (m >= 0 && keys[m] > key) {
+                keys[m + 1] = keys[m];
+                order[m + 1] = order[m];
+                m--;
+            }
+            keys[m + 1] = key;
+            order[m + 1] = body;
+        }
+
+        for (int k = 0; k < this.count; k++) {
+            int a = order[k];
+            float maxX = w.px[a] + w.radius[a] + MARGIN;
+            for (int m = k + 1; m < this.count && keys[m] <= maxX; m++) {
+                int b = order[m];
+                if (!w.awake[a] && !w.awake[b]) {
+                    continue;
+                }
+                float dx = w.px[b] - w.px[a];
+                float dy = w.py[b] - w.py[a];
+                float dz = w.pz[b] - w.pz[a];
+                float reach = w.radius[a] + w.radius[b];
+                float range = reach + MARGIN;
+                float distanceSquared = dx * dx + dy * dy + dz * dz;
+                if (distanceSquared >= range * range) {
+                    continue;
+                }
+                float distance = (float) Math.sqrt(distanceSquared);
+                if (distance > 1e-6f) {
+                    float inverse = 1 / distance;
+                    w.contacts.add(a, b, dx * inverse, dy * inverse, dz * inverse, reach - distance);
+                } else {
+                    w.contacts.add(a, b, 0, 1, 0, reach);
+                }
+                // a hit wakes the sleeping body; waking an awake body would restart its sleep timer
+                if (distance < reach && w.awake[a] != w.awake[b]) {
+                    w.wake(w.awake[a] ? b : a);
+                }
+            }
+        }
+
+        if (w.hasGround) {
+            for (int k = 0; k < this.count; k++) {
+                int body = order[k];
+                float depth = w.groundHeight - (w.py[body] - w.radius[body]);
+                if (w.awake[body] && depth > -MARGIN) {
+                    w.contacts.add(body, -1, 0, -1, 0, depth);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * @description perspective camera whose view, projection and view-projection matrices are cached
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | late latched rotation
+ *  2026-10-19 | Thomas Wilkins | position and orientation getters copy out
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.math.MathStack;
+import com.sparkge.math.Matrix4f;
+import com.sparkge.math.Quaternion;
+import com.sparkge.math.Vector3f;
+
+/**
+ * The camera looks down its local -z axis with +y up. Setters only mark the matrices stale; they are rebuilt
+ * the next time one is read, so moving the camera several times in a frame costs one rebuild and a camera
+ * that doesn't move costs nothing.
+ *
+ * Shaders read the camera from the std140 block in UNIFORM_BLOCK, bound at UNIFORM_BINDING. Matrices are
+ * row-major like every Matrix4f and are written to the block column-major, so shaders multiply as usual:
+ * viewProjection * vec4(position, 1).
+ *
+ * setLateRotation() turns the view by a yaw and pitch on top of the orientation, for input read just before
+ * rendering (Input.latchLate()) that the game's next update will fold into the orientation itself.
+ */
+public class Camera {
+
+    public static final int UNIFORM_BINDING = 0;
+    // three mat4s and a vec4
+    public static final int UNIFORM_BLOCK_SIZE = 3 * 64 + 16;
+    public static final String UNIFORM_BLOCK =
+            "layout(std140) uniform Camera {\n" +
+            "    mat4 uView;\n" +
+            "    mat4 uProjection;\n" +
+            "    mat4 uViewProjection;\n" +
+            "    vec4 uCameraPosition;\n" +
+            "};\n";
+
+    private final Vector3f position = new Vector3f();
+    private final Quaternion orientation = new Quaternion().setIdentity();
+    private float lateYaw, latePitch;
+    private float fovDegrees, aspect, near, far;
+
+    private final Matrix4f view = new Matrix4f();
+    private final Matrix4f projection = new Matrix4f();
+    private final Matrix4f viewProjection = new Matrix4f();
+    private boolean viewStale = true, projectionStale = true;
+    private long version;
+
+    /**
+     * @description constructor
+     * @param fovDegrees vertical field of view
+     * @param aspect width over height
+     * @param near near plane distance
+     * @param far far plane distance
+     */
+    public Camera(float fovDegrees, float aspect, float near, float far) {
+        this.setPerspective(fovDegrees, aspect, near, far);
+    }
+
+    /**
+     * @description sets the projection
+     * @param fovDegrees vertical field of view
+     * @param aspect width over height
+     * @param near near plane distance
+     * @param far far plane distance
+     * @return this
+     */
+    public Camera setPerspective(float fovDegrees, float aspect, float near, float far) {
+        if (near <= 0 || far <= near) {
+            throw new IllegalArgumentException("Camera planes must satisfy 0 < near < far");
+        }
+        this.fovDegrees = fovDegrees;
+        this.aspect = aspect;
+        this.near = near;
+        this.far = far;
+        this.projectionStale = true;
+        return this;
+    }
+
+    /**
+     * @description sets the aspect ratio, e.g. when the window is resized
+     * @param aspect width over height
+     * @return this
+     */
+    public Camera setAspect(float aspect) {
+        if (aspect != this.aspect) {
+            this.aspect = aspect;
+            this.projectionStale = true;
+        }
+        return this;
+    }
+
+    /**
+     * @description moves the camera
+     * @return this
+     */
+    public Camera setPosition(float x, float y, float z) {
+        this.position.set(x, y, z);
+        this.viewStale = true;
+        return this;
+    }
+
+    /**
+     * @description moves the camera
+     * @param position world position
+     * @return this
+     */
+    public Camera setPosition(Vector3f position) {
+        return this.setPosition(position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * @description rotates the camera
+     * @param orientation rotation from camera space to world space
+     * @return this
+     */
+    public Camera setOrientation(Quaternion orientation) {
+        this.orientation.set(orientation);
+        this.viewStale = true;
+        return this;
+    }
+
+    /**
+     * @description turns the camera to face a point
+     * @param target world position to look at, not the camera position
+     * @param up world up, not parallel to the view direction
+     * @return this
+     */
+    public Camera lookAt(Vector3f target, Vector3f up) {
+        try (MathStack stack = MathStack.push()) {
+            // the camera's local z axis points away from what it looks at
+            Vector3f back = stack.vec3(this.position).subEq(target);
+            back.scaleEq(1 / back.getMagnitude());
+            Vector3f right = stack.vec3(up).crossEq(back);
+            right.scaleEq(1 / right.getMagnitude());
+            Vector3f trueUp = stack.vec3(back).crossEq(right);
+            this.orientation.setFromAxes(right, trueUp, back);
+        }
+        this.viewStale = true;
+        return this;
+    }
+
+    /**
+     * @description turns the view by input that arrived after the frame's update, until set again
+     * @param yaw radians around the camera's up axis, positive turns left
+     * @param pitch radians around the camera's right axis, positive looks up
+     * @return this
+     */
+    public Camera setLateRotation(float yaw, float pitch) {
+        if (yaw != this.lateYaw || pitch != this.latePitch) {
+            this.lateYaw = yaw;
+            this.latePitch = pitch;
+            this.viewStale = true;
+        }
+        return this;
+    }
+
+    /**
+     * @description copies the camera's position, use setPosition() to move it
+     * @param out receives the world position
+     * @return out
+     */
+    public Vector3f getPosition(Vector3f out) {
+        return out.set(this.position);
+    }
+
+    /**
+     * @description copies the camera's orientation, use setOrientation() to rotate it
+     * @param out receives the rotation from camera space to world space
+     * @return out
+     */
+    public Quaternion getOrientation(Quaternion out) {
+        return out.set(this.orientation);
+    }
+
+    /**
+     * @description getter for the world to camera matrix
+     * @return cached matrix, do not modify
+     */
+    public Matrix4f getView() {
+        this.update();
+        return this.view;
+    }
+
+    /**
+     * @description getter for the camera to clip space matrix
+     * @return cached matrix, do not modify
+     */
+    public Matrix4f getProjection() {
+        this.update();
+        return this.projection;
+    }
+
+    /**
+     * @description getter for the world to clip space matrix
+     * @return cached matrix, do not modify
+     */
+    public Matrix4f getViewProjection() {
+        this.update();
+        return this.viewProjection;
+    }
+
+    /**
+     * @description getter for a counter that changes whenever the matrices are rebuilt
+     * @return matrix version
+     */
+    public long getVersion() {
+        this.update();
+        return this.version;
+    }
+
+    /**
+     * @description packs the camera block into this frame's uniform stream
+     * @param stream the frame's uniform stream
+     * @return offset of the block, for UniformStream.bind
+     */
+    public int writeUniforms(UniformStream stream) {
+        this.update();
+        int offset = stream.allocate(UNIFORM_BLOCK_SIZE);
+        stream.putMatrix(offset, this.view);
+        stream.putMatrix(offset + 64, this.projection);
+        stream.putMatrix(offset + 128, this.viewProjection);
+        stream.putVector(offset + 192, this.position.getX(), this.position.getY(), this.position.getZ(), 1);
+        return offset;
+    }
+
+    private void update() {
+        if (!this.viewStale && !this.projectionStale) {
+            return;
+        }
+        if (this.viewStale) {
+            this.buildView();
+            this.viewStale = false;
+        }
+        if (this.projectionStale) {
+            this.buildProjection();
+            this.projectionStale = false;
+        }
+        this.viewProjection.set(this.projection).mulEq(this.view);
+        this.version++;
+    }
+
+    private void buildView() {
+        float x = this.orientation.getX(), y = this.orientation.getY();
+        float z = this.orientation.getZ(), w = this.orientation.getW();
+        if (this.lateYaw != 0 || this.latePitch != 0) {
+            // orientation * yaw around local y * pitch around local x
+            float sy = (float) Math.sin(this.lateYaw / 2), cy = (float) Math.cos(this.lateYaw / 2);
+            float sp = (float) Math.sin(this.latePitch / 2), cp = (float) Math.cos(this.latePitch / 2);
+            float lx = cy * sp, ly = sy * cp, lz = -sy * sp, lw = cy * cp;
+            float nx = w * lx + x * lw + y * lz - z * ly;
+            float ny = w * ly - x * lz + y * lw + z * lx;
+            float nz = w * lz + x * ly - y * lx + z * lw;
+            float nw = w * lw - x * lx - y * ly - z * lz;
+            x = nx;
+            y = ny;
+            z = nz;
+            w = nw;
+        }
+        // camera to world rotation; the view matrix is its transpose followed by the inverse translation
+        float r00 = 1 - 2 * (y * y + z * z), r01 = 2 * (x * y - z * w), r02 = 2 * (x * z + y * w);
+        float r10 = 2 * (x * y + z * w), r11 = 1 - 2 * (x * x + z * z), r12 = 2 * (y * z - x * w);
+        float r20 = 2 * (x * z - y * w), r21 = 2 * (y * z + x * w), r22 = 1 - 2 * (x * x + y * y);
+        float px = this.position.getX(), py = this.position.getY(), pz = this.position.getZ();
+
+        Matrix4f m = this.view.setZero();
+        m.set(0, 0, r00);
+        m.set(0, 1, r10);
+        m.set(0, 2, r20);
+        m.set(0, 3, -(r00 * px + r10 * py + r20 * pz));
+        m.set(1, 0, r01);
+        m.set(1, 1, r11);
+        m.set(1, 2, r21);
+        m.set(1, 3, -(r01 * px + r11 * py + r21 * pz));
+        m.set(2, 0, r02);
+        m.set(2, 1, r12);
+        m.set(2, 2, r22);
+        m.set(2, 3, -(r02 * px + r12 * py + r22 * pz));
+        m.set(3, 3, 1);
+    }
+
+    private void buildProjection() {
+        float f = 1 / (float) Math.tan(Math.toRadians(this.fovDegrees) / 2);
+        Matrix4f m = this.projection.setZero();
+        m.set(0, 0, f / this.aspect);
+        m.set(1, 1, f);
+        m.set(2, 2, (this.far + this.near) / (this.near - this.far));
+        m.set(2, 3, 2 * this.far * this.near / (this.near - this.far));
+        m.set(3, 2, -1);
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * @description scales the 3D scene's render resolution to keep GPU frame time inside the refresh budget
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+/**
+ * The scale applies to both axes, so GPU cost that depends on pixels goes with its square: a frame taking t at
+ * scale s should take about target at s * sqrt(target / t). Each update() smooths the measured times, and when
+ * the GPU is outside the band between LOWER_BAND * budget and the budget, moves halfway to that scale within
+ * [minScale, maxScale]. The budget is the target frame time less a headroom fraction. It then waits for
+ * GpuProfiler.LATENCY frames plus one, because the GPU times it reads are that old, before changing it again.
+ *
+ * Lowering the resolution only helps when the GPU is the slower side. When the CPU takes longer than the GPU,
+ * the scale is never lowered, since it would only cost image quality, but it can still go back up.
+ *
+ * Window.setDynamicResolution() renders the scene at getScale() and upscales it to the window.
+ */
+public class DynamicResolution {
+
+    public static final float DEFAULT_HEADROOM = 0.1f;
+    public static final float LOWER_BAND = 0.8f;
+
+    private static final float SMOOTHING = 0.2f;
+    private static final float DAMPING = 0.5f;
+    // smaller changes aren't worth a visible resolution change
+    private static final float MIN_STEP = 0.02f;
+    private static final int SETTLE_FRAMES = GpuProfiler.LATENCY + 1;
+
+    private final float minScale, maxScale;
+    private long targetFrameNanos;
+    private float headroom = DEFAULT_HEADROOM;
+    private float scale;
+    private double cpuNanos, gpuNanos;
+    private int framesSinceChange;
+    private long changes;
+
+    /**
+     * @description constructor, starts at full scale
+     * @param minScale smallest fraction of the window resolution to render at
+     * @param maxScale largest fraction, above 1 to supersample
+     * @param targetFrameNanos frame time to hold, e.g. refreshNanos(60)
+     */
+    public DynamicResolution(float minScale, float maxScale, long targetFrameNanos) {
+        if (minScale <= 0 || minScale > maxScale) {
+            throw new IllegalArgumentException("Resolution scale bounds must satisfy 0 < min <= max");
+        }
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+        this.targetFrameNanos = targetFrameNanos;
+        this.scale = maxScale;
+    }
+
+    /**
+     * @description converts a refresh rate to a frame time
+     * @param hertz refresh rate
+     * @return nanoseconds per refresh
+     */
+    public static long refreshNanos(int hertz) {
+        return 1_000_000_000L / hertz;
+    }
+
+    /**
+     * @description feeds a frame's timings and adjusts the scale
+     * @param cpuNanos CPU time of the frame, without waiting on the GPU or display
+     * @param gpuNanos GPU time of the frame, 0 while no timings are available yet
+     * @return the scale to render the next frame at
+     */
+    public float update(long cpuNanos, long gpuNanos) {
+        if (gpuNanos <= 0) {
+            return this.scale;
+        }
+        if (this.gpuNanos == 0) {
+            this.cpuNanos = cpuNanos;
+            this.gpuNanos = gpuNanos;
+        } else {
+            this.cpuNanos += (cpuNanos - this.cpuNanos) * SMOOTHING;
+            this.gpuNanos += (gpuNanos - this.gpuNanos) * SMOOTHING;
+        }
+        if (++this.framesSinceChange < SETTLE_FRAMES) {
+            return this.scale;
+        }
+
+        double budget = this.targetFrameNanos * (1 - this.headroom);
+        if (this.gpuNanos <= budget && this.gpuNanos >= budget * LOWER_BAND) {
+            return this.scale;
+        }
+        float ideal = (float) (this.scale * Math.sqrt(budget / this.gpuNanos));
+        float next = this.scale + (ideal - this.scale) * DAMPING;
+        next = Math.max(this.minScale, Math.min(this.maxScale, next));
+        if (next < this.scale && this.cpuNanos > this.gpuNanos) {
+            return this.scale; // CPU bound, a lower resolution wouldn't make the frame any faster
+        }
+        if (Math.abs(next - this.scale) >= MIN_STEP || next == this.minScale || next == this.maxScale) {
+            if (next != this.scale) {
+                this.scale = next;
+                this.framesSinceChange = 0;
+                this.changes++;
+            }
+        }
+        return this.scale;
+    }
+
+    /**
+     * @description getter for the current scale
+     * @return fraction of the window resolution the scene renders at
+     */
+    public float getScale() {
+        return this.scale;
+    }
+
+    public float getMinScale() {
+        return this.minScale;
+    }
+
+    public float getMaxScale() {
+        return this.maxScale;
+    }
+
+    /**
+     * @description sets the frame time to hold, e.g. after moving to a monitor with another refresh rate
+     * @param targetFrameNanos nanoseconds per frame
+     */
+    public void setTargetFrameNanos(long targetFrameNanos) {
+        this.targetFrameNanos = targetFrameNanos;
+    }
+
+    public long getTargetFrameNanos() {
+        return this.targetFrameNanos;
+    }
+
+    /**
+     * @description sets how far under the target the GPU is kept, so spikes don't miss a refresh
+     * @param headroom fraction of the target frame time
+     */
+    public void setHeadroom(float headroom) {
+        this.headroom = headroom;
+    }
+
+    /**
+     * @description getter for the number of times the scale changed
+     * @return change count
+     */
+    public long getChangeCount() {
+        return this.changes;
+    }
+}
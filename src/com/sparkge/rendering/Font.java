@@ -0,0 +1,266 @@
+/**
+ * @description TrueType font whose glyphs are baked into a texture atlas on demand
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import org.lwjgl.stb.STBTTFontinfo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL30.GL_R8;
+import static org.lwjgl.stb.STBTruetype.*;
+import static org.lwjgl.system.MemoryUtil.*;
+
+/**
+ * The atlas is a grid of equally sized cells, one glyph per cell, so any glyph fits any cell. A glyph is
+ * rasterized with stb_truetype the first time it is drawn; when the atlas is full the least recently used
+ * glyph that has not been drawn this frame is evicted. Only the Basic Multilingual Plane is supported.
+ */
+public class Font {
+
+    private static final int ATLAS_SIZE = 1024;
+    private static final int PADDING = 1;
+    private static final short NO_SLOT = -1;
+
+    private final ByteBuffer ttf;
+    private final STBTTFontinfo info;
+    private final float scale;
+    private final float ascent;
+    private final float lineHeight;
+
+    private final int cellSize;
+    private final int cellsPerRow;
+    private final int slotCount;
+    private final short[] codepointSlots = new short[0x10000];
+    private final int[] slotCodepoints;
+    private final long[] slotLastUsed;
+    private final float[] slotOffsetX, slotOffsetY, slotWidth, slotHeight;
+    private int bakedSlots;
+
+    private final ByteBuffer scratch;
+    private final int[] box0 = new int[1], box1 = new int[1], box2 = new int[1], box3 = new int[1];
+    private int texture;
+    private long frame = 1;
+    private long evictions;
+
+    /**
+     * @description constructor, loads the font and creates its atlas; requires a current context
+     * @param file TrueType font file
+     * @param pixelHeight glyph height in pixels
+     * @throws IOException if the file cannot be read or is not a TrueType font
+     */
+    public Font(Path file, float pixelHeight) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        // stb_truetype reads from the font data for the lifetime of the font
+        this.ttf = memAlloc(bytes.length);
+        this.ttf.put(bytes).flip();
+        this.info = STBTTFontinfo.malloc();
+        if (!stbtt_InitFont(this.info, this.ttf)) {
+            this.info.free();
+            memFree(this.ttf);
+            throw new IOException("Failed to load font " + file);
+        }
+        this.scale = stbtt_ScaleForPixelHeight(this.info, pixelHeight);
+        stbtt_GetFontVMetrics(this.info, this.box0, this.box1, this.box2);
+        this.ascent = this.box0[0] * this.scale;
+        this.lineHeight = (this.box0[0] - this.box1[0] + this.box2[0]) * this.scale;
+
+        this.cellSize = (int) Math.ceil(pixelHeight) + 2 * PADDING;
+        this.cellsPerRow = ATLAS_SIZE / this.cellSize;
+        this.slotCount = Math.min(Short.MAX_VALUE, this.cellsPerRow * this.cellsPerRow);
+        this.slotCodepoints = new int[this.slotCount];
+        this.slotLastUsed = new long[this.slotCount];
+        this.slotOffsetX = new float[this.slotCount];
+        this.slotOffsetY = new float[this.slotCount];
+        this.slotWidth = new float[this.slotCount];
+        this.slotHeight = new float[this.slotCount];
+        Arrays.fill(this.codepointSlots, NO_SLOT);
+        this.scratch = memAlloc(this.cellSize * this.cellSize);
+
+        this.texture = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, this.texture);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_R8, ATLAS_SIZE, ATLAS_SIZE, 0, GL_RED, GL_UNSIGNED_BYTE, 0L);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        glBindTexture(GL_TEXTURE_2D, 0);
+    }
+
+    /**
+     * @description returns the atlas slot holding a glyph, baking it first if needed
+     * @param codepoint character to look up
+     * @return atlas slot, or -1 if the atlas is full of glyphs drawn this frame
+     */
+    public int getGlyphSlot(int codepoint) {
+        if (codepoint < 0 || codepoint >= this.codepointSlots.length) {
+            codepoint = '?';
+        }
+        int slot = this.codepointSlots[codepoint];
+        if (slot == NO_SLOT) {
+            slot = this.bake(codepoint);
+            if (slot < 0) {
+                return -1;
+            }
+        }
+        this.slotLastUsed[slot] = this.frame;
+        return slot;
+    }
+
+    /**
+     * @description getter for a codepoint's horizontal advance
+     * @param codepoint the character
+     * @return advance in pixels
+     */
+    public float getAdvance(int codepoint) {
+        stbtt_GetCodepointHMetrics(this.info, codepoint, this.box0, this.box1);
+        return this.box0[0] * this.scale;
+    }
+
+    /**
+     * @description getter for the kerning adjustment between two characters
+     * @return adjustment in pixels
+     */
+    public float getKerning(int previous, int codepoint) {
+        return stbtt_GetCodepointKernAdvance(this.info, previous, codepoint) * this.scale;
+    }
+
+    /**
+     * @description marks the start of a frame for least recently used eviction
+     */
+    public void nextFrame() {
+        this.frame++;
+    }
+
+    public float getSlotOffsetX(int slot) {
+        return this.slotOffsetX[slot];
+    }
+
+    public float getSlotOffsetY(int slot) {
+        return this.slotOffsetY[slot];
+    }
+
+    public float getSlotWidth(int slot) {
+        return this.slotWidth[slot];
+    }
+
+    public float getSlotHeight(int slot) {
+        return this.slotHeight[slot];
+    }
+
+    /**
+     * @description getter for the left texture coordinate of a slot's glyph
+     * @param slot atlas slot
+     * @return u coordinate
+     */
+    public float getSlotU(int slot) {
+        return ((slot % this.cellsPerRow) * this.cellSize + PADDING) / (float) ATLAS_SIZE;
+    }
+
+    /**
+     * @description getter for the top texture coordinate of a slot's glyph
+     * @param slot atlas slot
+     * @return v coordinate
+     */
+    public float getSlotV(int slot) {
+        return ((slot / this.cellsPerRow) * this.cellSize + PADDING) / (float) ATLAS_SIZE;
+    }
+
+    public int getAtlasSize() {
+        return ATLAS_SIZE;
+    }
+
+    /**
+     * @description getter for the distance from the top of a line to its baseline
+     * @return ascent in pixels
+     */
+    public float getAscent() {
+        return this.ascent;
+    }
+
+    public float getLineHeight() {
+        return this.lineHeight;
+    }
+
+    public int getTexture() {
+        return this.texture;
+    }
+
+    /**
+     * @description getter for the number of glyphs evicted from the atlas so far
+     * @return eviction count
+     */
+    public long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * @description frees the font data and atlas
+     */
+    public void destroy() {
+        glDeleteTextures(this.texture);
+        this.texture = 0;
+        this.info.free();
+        memFree(this.ttf);
+        memFree(this.scratch);
+    }
+
+    private int bake(int codepoint) {
+        int slot;
+        if (this.bakedSlots < this.slotCount) {
+            slot = this.bakedSlots++;
+        } else {
+            slot = -1;
+            long oldest = this.frame;
+            for (int i = 0; i < this.slotCount; i++) {
+                if (this.slotLastUsed[i] < oldest) {
+                    oldest = this.slotLastUsed[i];
+                    slot = i;
+                }
+            }
+            if (slot < 0) {
+                return -1;
+            }
+            this.codepointSlots[this.slotCodepoints[slot]] = NO_SLOT;
+            this.evictions++;
+        }
+
+        stbtt_GetCodepointBitmapBox(this.info, codepoint, this.scale, this.scale,
+                this.box0, this.box1, this.box2, this.box3);
+        int inner = this.cellSize - 2 * PADDING;
+        int width = Math.min(inner, this.box2[0] - this.box0[0]);
+        int height = Math.min(inner, this.box3[0] - this.box1[0]);
+
+        memSet(this.scratch, 0);
+        if (width > 0 && height > 0) {
+            this.scratch.limit(height * inner);
+            stbtt_MakeCodepointBitmap(this.info, this.scratch, width, height, inner, this.scale, this.scale, codepoint);
+            this.scratch.clear();
+        }
+        glBindTexture(GL_TEXTURE_2D, this.texture);
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        glTexSubImage2D(GL_TEXTURE_2D, 0,
+                (slot % this.cellsPerRow) * this.cellSize + PADDING,
+                (slot / this.cellsPerRow) * this.cellSize + PADDING,
+                inner, inner, GL_RED, GL_UNSIGNED_BYTE, this.scratch);
+        glBindTexture(GL_TEXTURE_2D, 0);
+
+        this.slotCodepoints[slot] = codepoint;
+        this.slotOffsetX[slot] = this.box0[0];
+        this.slotOffsetY[slot] = this.box1[0];
+        this.slotWidth[slot] = width;
+        this.slotHeight[slot] = height;
+        this.codepointSlots[codepoint] = (short) slot;
+        return slot;
+    }
+}
@@ -0,0 +1,345 @@
+/**
+ * @description asynchronous framebuffer readback for screenshots and video capture
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | per recording close records, screenshots while recording, failed fence waits
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.core.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL21.GL_PIXEL_PACK_BUFFER;
+import static org.lwjgl.opengl.GL30.GL_MAP_READ_BIT;
+import static org.lwjgl.opengl.GL30.nglMapBufferRange;
+import static org.lwjgl.opengl.GL32.*;
+import static org.lwjgl.stb.STBImageWrite.stbi_flip_vertically_on_write;
+import static org.lwjgl.stb.STBImageWrite.stbi_write_png;
+import static org.lwjgl.system.MemoryUtil.*;
+
+/**
+ * Each captured frame is read into the next pixel buffer object of a small ring with glReadPixels, which
+ * returns immediately, and a fence is inserted behind it. Later frames poll the fences without waiting; once
+ * a readback has landed the PBO is mapped, copied into a pooled buffer and handed to a background encoder
+ * thread, which writes PNG files (stb_image_write) or appends raw RGBA frames to a file.
+ *
+ * The game thread only ever waits if the GPU falls a whole ring behind. If the encoder falls behind and no
+ * pooled buffer is free the frame is dropped and counted rather than stalling the game.
+ *
+ * Raw captures are bottom-up RGBA, e.g.
+ * ffmpeg -f rawvideo -pix_fmt rgba -s WIDTHxHEIGHT -r 60 -i capture.raw -vf vflip capture.mp4
+ */
+public class FrameCapture {
+
+    public enum Format {
+        PNG,
+        RAW
+    }
+
+    private static final int RING_SIZE = 3;
+    private static final int POOL_SIZE = RING_SIZE + 2;
+
+    /**
+     * @description a pooled frame handed to the encoder
+     */
+    private static class Frame {
+        final ByteBuffer pixels;
+        long number;
+        Path file;
+        Path directory;
+        FileChannel channel;
+        // a record that closes channel once the frames queued before it are written, not a pooled frame
+        boolean close;
+
+        Frame(ByteBuffer pixels) {
+            this.pixels = pixels;
+        }
+    }
+
+    private final int width, height, frameBytes;
+
+    private final int[] pbos = new int[RING_SIZE];
+    private final long[] fences = new long[RING_SIZE];
+    private final long[] slotNumbers = new long[RING_SIZE];
+    private final Path[] slotFiles = new Path[RING_SIZE];
+    private final boolean[] slotRecorded = new boolean[RING_SIZE];
+    private int writeSlot;
+    private int pendingCount;
+
+    private final Frame[] frames = new Frame[POOL_SIZE];
+    private final ArrayBlockingQueue<Frame> freeFrames = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final ArrayBlockingQueue<Frame> encodeQueue = new ArrayBlockingQueue<>(POOL_SIZE + 2);
+    // queued to stop the encoder
+    private final Frame stopMarker = new Frame(null);
+    private Thread encoder;
+
+    private boolean recording;
+    private Path directory;
+    private FileChannel channel;
+    private Path screenshotFile;
+
+    private long frameNumber;
+    private volatile long encodedFrames;
+    private long droppedFrames;
+
+    /**
+     * @description constructor
+     * @param width width of the framebuffer region to capture in pixels
+     * @param height height of the framebuffer region to capture in pixels
+     */
+    public FrameCapture(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.frameBytes = width * height * 4;
+    }
+
+    /**
+     * @description creates the pixel buffer objects and encoder thread, requires a current context
+     */
+    public void init() {
+        for (int i = 0; i < RING_SIZE; i++) {
+            this.pbos[i] = glGenBuffers();
+            glBindBuffer(GL_PIXEL_PACK_BUFFER, this.pbos[i]);
+            glBufferData(GL_PIXEL_PACK_BUFFER, this.frameBytes, GL_STREAM_READ);
+        }
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, 0);
+
+        for (int i = 0; i < POOL_SIZE; i++) {
+            this.frames[i] = new Frame(memAlloc(this.frameBytes));
+            this.freeFrames.add(this.frames[i]);
+        }
+
+        this.encoder = new Thread(this::encoderLoop, "sparkge-capture");
+        this.encoder.setDaemon(true);
+        this.encoder.start();
+    }
+
+    /**
+     * @description starts recording every frame
+     * @param output directory for PNG frames, or the file raw frames are appended to
+     * @param format output format
+     * @throws IOException if the output cannot be created
+     */
+    public void startRecording(Path output, Format format) throws IOException {
+        this.stopRecording();
+        if (format == Format.PNG) {
+            this.directory = Files.createDirectories(output);
+        } else {
+            this.channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        this.frameNumber = 0;
+        this.recording = true;
+    }
+
+    /**
+     * @description stops recording; frames still in flight are collected and written
+     */
+    public void stopRecording() {
+        if (!this.recording) {
+            return;
+        }
+        this.recording = false;
+        this.collect(true);
+        if (this.channel != null) {
+            // each recording gets its own close record, so a quick restart can't replace a pending close
+            Frame close = new Frame(null);
+            close.channel = this.channel;
+            close.close = true;
+            this.channel = null;
+            try {
+                this.encodeQueue.put(close);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while stopping frame capture", e);
+            }
+        }
+        this.directory = null;
+    }
+
+    /**
+     * @description captures the next presented frame to a PNG file, also while recording
+     * @param file PNG file to write
+     */
+    public void screenshot(Path file) {
+        this.screenshotFile = file;
+    }
+
+    /**
+     * @description reads back the current frame if capturing and collects completed readbacks; call after
+     * rendering and before the buffers are swapped
+     */
+    public void capture() {
+        if (this.recording || this.screenshotFile != null) {
+            if (this.pendingCount == RING_SIZE) {
+                // the GPU is a whole ring behind, wait for the oldest readback to make room
+                this.collectOldest(true);
+            }
+            int slot = this.writeSlot;
+            glBindBuffer(GL_PIXEL_PACK_BUFFER, this.pbos[slot]);
+            glReadPixels(0, 0, this.width, this.height, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+            glBindBuffer(GL_PIXEL_PACK_BUFFER, 0);
+            this.fences[slot] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+            this.slotFiles[slot] = this.screenshotFile;
+            this.slotRecorded[slot] = this.recording;
+            this.slotNumbers[slot] = this.frameNumber++;
+            this.screenshotFile = null;
+            this.writeSlot = (slot + 1) % RING_SIZE;
+            this.pendingCount++;
+        }
+        this.collect(false);
+    }
+
+    /**
+     * @description getter for the number of frames written by the encoder
+     * @return encoded frame count
+     */
+    public long getEncodedFrames() {
+        return this.encodedFrames;
+    }
+
+    /**
+     * @description getter for the number of frames dropped because the encoder fell behind
+     * @return dropped frame count
+     */
+    public long getDroppedFrames() {
+        return this.droppedFrames;
+    }
+
+    public boolean isRecording() {
+        return this.recording;
+    }
+
+    /**
+     * @description stops recording, waits for the encoder to finish and frees all resources
+     */
+    public void destroy() {
+        this.stopRecording();
+        this.collect(true);
+        if (this.encoder != null) {
+            // the encoder finishes every queued frame before it reaches the stop marker
+            this.encodeQueue.add(this.stopMarker);
+            try {
+                this.encoder.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (Frame frame : this.frames) {
+                memFree(frame.pixels);
+            }
+            this.encoder = null;
+        }
+        for (int i = 0; i < RING_SIZE; i++) {
+            glDeleteBuffers(this.pbos[i]);
+        }
+    }
+
+    /**
+     * @description hands every landed readback to the encoder
+     * @param block wait for readbacks that have not landed yet
+     */
+    private void collect(boolean block) {
+        while (this.pendingCount > 0 && this.collectOldest(block)) {
+            // keep collecting
+        }
+    }
+
+    private boolean collectOldest(boolean block) {
+        int slot = (this.writeSlot - this.pendingCount + RING_SIZE) % RING_SIZE;
+        int status = glClientWaitSync(this.fences[slot], block ? GL_SYNC_FLUSH_COMMANDS_BIT : 0,
+                block ? Long.MAX_VALUE : 0);
+        if (status == GL_TIMEOUT_EXPIRED) {
+            return false;
+        }
+        glDeleteSync(this.fences[slot]);
+        this.fences[slot] = 0;
+        this.pendingCount--;
+        if (status == GL_WAIT_FAILED) {
+            this.slotFiles[slot] = null;
+            throw new IllegalStateException("Frame capture fence wait failed: 0x"
+                    + Integer.toHexString(glGetError()));
+        }
+
+        Frame frame = this.freeFrames.poll();
+        if (frame == null) {
+            this.droppedFrames++;
+            return true;
+        }
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, this.pbos[slot]);
+        long mapped = nglMapBufferRange(GL_PIXEL_PACK_BUFFER, 0, this.frameBytes, GL_MAP_READ_BIT);
+        if (mapped != 0) {
+            memCopy(mapped, memAddress(frame.pixels), this.frameBytes);
+            glUnmapBuffer(GL_PIXEL_PACK_BUFFER);
+        }
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, 0);
+
+        frame.number = this.slotNumbers[slot];
+        frame.file = this.slotFiles[slot];
+        if (this.slotRecorded[slot]) {
+            frame.directory = this.directory;
+            frame.channel = this.channel;
+        }
+        this.slotFiles[slot] = null;
+        this.encodeQueue.add(frame);
+        return true;
+    }
+
+    private void writePng(Frame frame, Path file) {
+        if (!stbi_write_png(file.toString(), this.width, this.height, 4, frame.pixels, this.width * 4)) {
+            Log.error("Failed to write frame capture {}", file.toString());
+        }
+    }
+
+    private void encoderLoop() {
+        stbi_flip_vertically_on_write(true);
+        while (true) {
+            Frame frame;
+            try {
+                frame = this.encodeQueue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (frame == this.stopMarker) {
+                return;
+            }
+            try {
+                if (frame.close) {
+                    frame.channel.close();
+                    continue;
+                }
+                if (frame.file != null) {
+                    this.writePng(frame, frame.file); // a screenshot
+                }
+                if (frame.directory != null) {
+                    this.writePng(frame, frame.directory.resolve(String.format("frame_%06d.png", frame.number)));
+                } else if (frame.channel != null) {
+                    frame.pixels.clear();
+                    while (frame.pixels.hasRemaining()) {
+                        frame.channel.write(frame.pixels);
+                    }
+                }
+                this.encodedFrames++;
+            } catch (IOException e) {
+                Log.error("Failed to write frame capture", e);
+            } finally {
+                if (!frame.close) {
+                    frame.file = null;
+                    frame.directory = null;
+                    frame.channel = null;
+                    this.freeFrames.add(frame);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * @description delays the start of each vsynced frame and picks the swap interval to keep input latency low
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * With vsync a frame that starts as soon as the last swap returns reads its input almost a whole refresh before
+ * the display needs the image, then sits finished waiting. The pacer tracks the slowest recent frame's work,
+ * the longer of its CPU time and GPU time, and starts each frame late enough to finish that work plus a safety
+ * margin just before the next refresh.
+ *
+ * When frames keep taking longer than a refresh, vsync would halve the frame rate, so the pacer drops to
+ * adaptive vsync where the driver supports tearing late frames (swap interval -1), or to no vsync otherwise.
+ * Once frames fit comfortably again it goes back to 1. Frame start is only delayed at interval 1.
+ */
+public class FramePacer {
+
+    public static final long SAFETY_NANOS = 1_500_000L;
+
+    private static final int WORK_SAMPLES = 32;
+    private static final int MISSED_FRAMES_TO_DROP = 8;
+    private static final int FITTING_FRAMES_TO_RESTORE = 120;
+    private static final float FITTING_FRACTION = 0.8f;
+    // parking can oversleep by a scheduler tick, spin the last stretch
+    private static final long SPIN_NANOS = 500_000L;
+
+    private final long refreshNanos;
+    private final boolean tearSupported;
+    private final long[] work = new long[WORK_SAMPLES];
+    private int nextWork;
+    private long delayNanos;
+    private int swapInterval = 1;
+    private int missed, fitting;
+    private long lastPresentNanos;
+    private long frameStartNanos;
+
+    /**
+     * @description constructor
+     * @param refreshNanos the display's refresh period
+     * @param tearSupported true if the driver supports swap interval -1
+     */
+    public FramePacer(long refreshNanos, boolean tearSupported) {
+        this.refreshNanos = refreshNanos;
+        this.tearSupported = tearSupported;
+    }
+
+    /**
+     * @description waits out the frame start delay after the last present
+     */
+    public void waitForFrameStart() {
+        if (this.swapInterval == 1 && this.lastPresentNanos != 0) {
+            long start = this.lastPresentNanos + this.delayNanos;
+            long remaining;
+            while ((remaining = start - System.nanoTime()) > 0) {
+                if (remaining > SPIN_NANOS) {
+                    LockSupport.parkNanos(remaining - SPIN_NANOS);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+        this.frameStartNanos = System.nanoTime();
+    }
+
+    /**
+     * @description records the frame's work just before it's presented and updates the delay and swap interval
+     * @param gpuNanos GPU time of a recent frame, 0 if unknown
+     */
+    public void endWork(long gpuNanos) {
+        long frameWork = Math.max(System.nanoTime() - this.frameStartNanos, gpuNanos);
+        this.work[this.nextWork] = frameWork;
+        this.nextWork = (this.nextWork + 1) % WORK_SAMPLES;
+        long slowest = 0;
+        for (long w : this.work) {
+            slowest = Math.max(slowest, w);
+        }
+        this.delayNanos = Math.max(0, this.refreshNanos - slowest - SAFETY_NANOS);
+
+        if (frameWork > this.refreshNanos) {
+            this.missed++;
+            this.fitting = 0;
+        } else {
+            this.missed = 0;
+            if (frameWork < this.refreshNanos * FITTING_FRACTION) {
+                this.fitting++;
+            }
+        }
+        if (this.swapInterval == 1 && this.missed >= MISSED_FRAMES_TO_DROP) {
+            this.swapInterval = this.tearSupported ? -1 : 0;
+            this.fitting = 0;
+        } else if (this.swapInterval != 1 && this.fitting >= FITTING_FRAMES_TO_RESTORE) {
+            this.swapInterval = 1;
+            this.missed = 0;
+        }
+    }
+
+    /**
+     * @description records when the swap returned
+     * @param presentNanos System.nanoTime() after the swap
+     */
+    public void presented(long presentNanos) {
+        this.lastPresentNanos = presentNanos;
+    }
+
+    /**
+     * @description getter for the swap interval the window should use
+     * @return 1 for vsync, -1 for adaptive vsync, 0 for none
+     */
+    public int getSwapInterval() {
+        return this.swapInterval;
+    }
+
+    /**
+     * @description getter for how long after a present the next frame starts
+     * @return nanoseconds
+     */
+    public long getDelayNanos() {
+        return this.delayNanos;
+    }
+
+    public long getRefreshNanos() {
+        return this.refreshNanos;
+    }
+}
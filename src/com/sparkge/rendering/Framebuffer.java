@@ -0,0 +1,109 @@
+/**
+ * @description framebuffer object with a sampleable color texture and a depth/stencil attachment
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL30.*;
+
+public class Framebuffer {
+
+    private int width, height;
+    private int framebufferId;
+    private int colorTexture;
+    private int depthRenderbuffer;
+
+    /**
+     * @description constructor, creates the GL objects; requires a current context
+     * @param width width in pixels
+     * @param height height in pixels
+     */
+    public Framebuffer(int width, int height) {
+        this.framebufferId = glGenFramebuffers();
+        this.colorTexture = glGenTextures();
+        this.depthRenderbuffer = glGenRenderbuffers();
+        this.resize(width, height);
+    }
+
+    /**
+     * @description reallocates the attachments at a new size; contents are undefined afterwards
+     * @param width width in pixels
+     * @param height height in pixels
+     */
+    public void resize(int width, int height) {
+        this.width = width;
+        this.height = height;
+
+        glBindTexture(GL_TEXTURE_2D, this.colorTexture);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        glBindTexture(GL_TEXTURE_2D, 0);
+
+        glBindRenderbuffer(GL_RENDERBUFFER, this.depthRenderbuffer);
+        glRenderbufferStorage(GL_RENDERBUFFER, GL_DEPTH24_STENCIL8, width, height);
+        glBindRenderbuffer(GL_RENDERBUFFER, 0);
+
+        glBindFramebuffer(GL_FRAMEBUFFER, this.framebufferId);
+        glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, this.colorTexture, 0);
+        glFramebufferRenderbuffer(GL_FRAMEBUFFER, GL_DEPTH_STENCIL_ATTACHMENT, GL_RENDERBUFFER,
+                this.depthRenderbuffer);
+        int status = glCheckFramebufferStatus(GL_FRAMEBUFFER);
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
+        if (status != GL_FRAMEBUFFER_COMPLETE) {
+            throw new RuntimeException("Framebuffer incomplete: 0x" + Integer.toHexString(status));
+        }
+    }
+
+    /**
+     * @description binds the framebuffer for drawing and reading and sets the viewport to cover it
+     */
+    public void bind() {
+        glBindFramebuffer(GL_FRAMEBUFFER, this.framebufferId);
+        glViewport(0, 0, this.width, this.height);
+    }
+
+    /**
+     * @description binds the default framebuffer; the caller restores the viewport
+     */
+    public void unbind() {
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
+    }
+
+    /**
+     * @description deletes the GL objects
+     */
+    public void destroy() {
+        glDeleteFramebuffers(this.framebufferId);
+        glDeleteTextures(this.colorTexture);
+        glDeleteRenderbuffers(this.depthRenderbuffer);
+        this.framebufferId = 0;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getFramebufferId() {
+        return this.framebufferId;
+    }
+
+    /**
+     * @description getter for the color attachment, for sampling the rendered image
+     * @return GL texture id
+     */
+    public int getColorTexture() {
+        return this.colorTexture;
+    }
+}
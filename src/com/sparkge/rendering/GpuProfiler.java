@@ -0,0 +1,213 @@
+/**
+ * @description measures GPU time per render pass with timestamp queries that are read back frames later
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Ignore pass ends without a begin in the same frame
+ */
+
+package com.sparkge.rendering;
+
+import static org.lwjgl.opengl.GL11.GL_FALSE;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL33.*;
+
+/**
+ * Passes are registered once with addPass() and wrapped in beginPass()/endPass() each frame. Each boundary is
+ * a glQueryCounter timestamp rather than a GL_TIME_ELAPSED query, because elapsed queries can't nest or
+ * overlap and timestamps can, so a pass can sit inside the frame's own measurement.
+ *
+ * Queries come from a pool created at init, one set per frame in flight. beginFrame() reads back the set
+ * issued LATENCY frames ago, by which point the GPU has normally finished it, so reading never stalls the
+ * pipeline; if it hasn't finished the frame's results are dropped and counted instead of waited for. The
+ * reported times are therefore LATENCY frames old.
+ */
+public class GpuProfiler {
+
+    public static final int LATENCY = 4;
+
+    private final int maxPasses;
+    private final String[] names;
+    private int passCount;
+
+    // per frame slot: frame start, frame end, then a begin and end per pass
+    private final int[][] queries;
+    private final boolean[][] issued;
+    // per frame slot, passes whose begin timestamp was issued in that frame
+    private final boolean[][] begun;
+    private final long[] frameNumbers = new long[LATENCY];
+    private int slot = -1;
+    private long frame;
+    private boolean inFrame;
+
+    private final long[] passNanos;
+    private long frameNanos;
+    private long resolvedFrame = -1;
+    private long droppedFrames;
+
+    /**
+     * @description constructor
+     * @param maxPasses maximum number of passes that can be registered
+     */
+    public GpuProfiler(int maxPasses) {
+        this.maxPasses = maxPasses;
+        this.names = new String[maxPasses];
+        this.queries = new int[LATENCY][2 + 2 * maxPasses];
+        this.issued = new boolean[LATENCY][1 + maxPasses];
+        this.begun = new boolean[LATENCY][maxPasses];
+        this.passNanos = new long[maxPasses];
+    }
+
+    /**
+     * @description creates the query pool, requires a current context
+     */
+    public void init() {
+        for (int i = 0; i < LATENCY; i++) {
+            glGenQueries(this.queries[i]);
+        }
+    }
+
+    /**
+     * @description registers a pass; do this once at load time
+     * @param name name shown by the overlay
+     * @return pass id for beginPass and endPass
+     */
+    public int addPass(String name) {
+        if (this.passCount == this.maxPasses) {
+            throw new IllegalStateException("GPU profiler is limited to " + this.maxPasses + " passes");
+        }
+        this.names[this.passCount] = name;
+        return this.passCount++;
+    }
+
+    /**
+     * @description reads back the oldest frame in flight and starts timing a new one
+     */
+    public void beginFrame() {
+        this.slot = (this.slot + 1) % LATENCY;
+        this.resolve(this.slot);
+        boolean[] issued = this.issued[this.slot];
+        for (int i = 0; i < issued.length; i++) {
+            issued[i] = false;
+        }
+        boolean[] begun = this.begun[this.slot];
+        for (int i = 0; i < begun.length; i++) {
+            begun[i] = false;
+        }
+        this.frameNumbers[this.slot] = this.frame++;
+        glQueryCounter(this.queries[this.slot][0], GL_TIMESTAMP);
+        this.inFrame = true;
+    }
+
+    /**
+     * @description stops timing the frame
+     */
+    public void endFrame() {
+        if (!this.inFrame) {
+            return;
+        }
+        glQueryCounter(this.queries[this.slot][1], GL_TIMESTAMP);
+        this.issued[this.slot][0] = true;
+        this.inFrame = false;
+    }
+
+    /**
+     * @description marks the start of a pass on the GPU timeline
+     * @param pass id from addPass
+     */
+    public void beginPass(int pass) {
+        if (this.inFrame) {
+            glQueryCounter(this.queries[this.slot][2 + 2 * pass], GL_TIMESTAMP);
+            this.begun[this.slot][pass] = true;
+        }
+    }
+
+    /**
+     * @description marks the end of a pass; a pass is timed once per frame, the last begin and end win, and an
+     *  end without a begin in the same frame is ignored
+     * @param pass id from addPass
+     */
+    public void endPass(int pass) {
+        if (this.inFrame && this.begun[this.slot][pass]) {
+            glQueryCounter(this.queries[this.slot][3 + 2 * pass], GL_TIMESTAMP);
+            this.issued[this.slot][1 + pass] = true;
+        }
+    }
+
+    /**
+     * @description getter for a pass's GPU time in the last resolved frame
+     * @param pass id from addPass
+     * @return GPU nanoseconds, 0 if the pass didn't run in that frame
+     */
+    public long getPassNanos(int pass) {
+        return this.passNanos[pass];
+    }
+
+    /**
+     * @description getter for the GPU time between beginFrame and endFrame in the last resolved frame
+     * @return GPU nanoseconds
+     */
+    public long getFrameNanos() {
+        return this.frameNanos;
+    }
+
+    public String getPassName(int pass) {
+        return this.names[pass];
+    }
+
+    public int getPassCount() {
+        return this.passCount;
+    }
+
+    /**
+     * @description getter for the number of the frame the current results were measured in
+     * @return frame number counted from 0, or -1 before any frame resolves
+     */
+    public long getResolvedFrame() {
+        return this.resolvedFrame;
+    }
+
+    /**
+     * @description getter for frames whose queries weren't ready after LATENCY frames and were dropped
+     * @return dropped frame count
+     */
+    public long getDroppedFrames() {
+        return this.droppedFrames;
+    }
+
+    /**
+     * @description frees the query pool
+     */
+    public void destroy() {
+        for (int i = 0; i < LATENCY; i++) {
+            if (this.queries[i][0] != 0) {
+                glDeleteQueries(this.queries[i]);
+                this.queries[i][0] = 0;
+            }
+        }
+    }
+
+    private void resolve(int slot) {
+        boolean[] issued = this.issued[slot];
+        if (!issued[0]) {
+            return;
+        }
+        int[] queries = this.queries[slot];
+        // the frame end is the last query issued, once it has landed everything before it has too
+        if (glGetQueryObjecti(queries[1], GL_QUERY_RESULT_AVAILABLE) == GL_FALSE) {
+            this.droppedFrames++;
+            return;
+        }
+        long start = glGetQueryObjecti64(queries[0], GL_QUERY_RESULT);
+        this.frameNanos = glGetQueryObjecti64(queries[1], GL_QUERY_RESULT) - start;
+        for (int pass = 0; pass < this.passCount; pass++) {
+            if (issued[1 + pass]) {
+                this.passNanos[pass] = glGetQueryObjecti64(queries[3 + 2 * pass], GL_QUERY_RESULT)
+                        - glGetQueryObjecti64(queries[2 + 2 * pass], GL_QUERY_RESULT);
+            } else {
+                this.passNanos[pass] = 0;
+            }
+        }
+        this.resolvedFrame = this.frameNumbers[slot];
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * @description compares captured frames against golden images for automated renderer checks
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.lwjgl.stb.STBImage.*;
+
+public class ImageComparison {
+
+    private ImageComparison() {
+    }
+
+    /**
+     * @description counts the pixels whose channels differ by more than the tolerance
+     * @param expected golden PNG
+     * @param actual captured PNG
+     * @param tolerance largest per channel difference (0-255) still considered a match
+     * @return number of mismatched pixels
+     * @throws IllegalArgumentException if either image cannot be loaded or their sizes differ
+     */
+    public static int countMismatchedPixels(Path expected, Path actual, int tolerance) {
+        int[] expectedWidth = new int[1], expectedHeight = new int[1];
+        int[] actualWidth = new int[1], actualHeight = new int[1];
+        int[] channels = new int[1];
+        ByteBuffer expectedPixels = stbi_load(expected.toString(), expectedWidth, expectedHeight, channels, 4);
+        if (expectedPixels == null) {
+            throw new IllegalArgumentException("Failed to load " + expected + ": " + stbi_failure_reason());
+        }
+        ByteBuffer actualPixels = stbi_load(actual.toString(), actualWidth, actualHeight, channels, 4);
+        if (actualPixels == null) {
+            stbi_image_free(expectedPixels);
+            throw new IllegalArgumentException("Failed to load " + actual + ": " + stbi_failure_reason());
+        }
+        try {
+            if (expectedWidth[0] != actualWidth[0] || expectedHeight[0] != actualHeight[0]) {
+                throw new IllegalArgumentException("Image sizes differ: " + expectedWidth[0] + "x" + expectedHeight[0]
+                        + " vs " + actualWidth[0] + "x" + actualHeight[0]);
+            }
+            int mismatched = 0;
+            int pixels = expectedWidth[0] * expectedHeight[0];
+            for (int p = 0; p < pixels; p++) {
+                for (int c = 0; c < 4; c++) {
+                    int a = expectedPixels.get(p * 4 + c) & 0xFF;
+                    int b = actualPixels.get(p * 4 + c) & 0xFF;
+                    if (Math.abs(a - b) > tolerance) {
+                        mismatched++;
+                        break;
+                    }
+                }
+            }
+            return mismatched;
+        } finally {
+            stbi_image_free(expectedPixels);
+            stbi_image_free(actualPixels);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * @description decoded RGBA8 image in off heap memory
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import org.lwjgl.system.MemoryStack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+
+import static org.lwjgl.stb.STBImage.*;
+
+/**
+ * Decoding does not touch GL, so images can be loaded on background threads and uploaded later.
+ */
+public class ImageData {
+
+    private final int width;
+    private final int height;
+    private ByteBuffer pixels;
+
+    private ImageData(int width, int height, ByteBuffer pixels) {
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+    }
+
+    /**
+     * @description decodes an image file (PNG, JPEG, TGA, ...) to RGBA8
+     * @param file the image
+     * @return the decoded image, free() it once uploaded
+     * @throws IOException if the file cannot be read or decoded
+     */
+    public static ImageData load(Path file) throws IOException {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer w = stack.mallocInt(1);
+            IntBuffer h = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+            ByteBuffer pixels = stbi_load(file.toString(), w, h, channels, 4);
+            if (pixels == null) {
+                throw new IOException("Failed to decode " + file + ": " + stbi_failure_reason());
+            }
+            return new ImageData(w.get(0), h.get(0), pixels);
+        }
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public ByteBuffer getPixels() {
+        return this.pixels;
+    }
+
+    /**
+     * @description frees the pixels
+     */
+    public void free() {
+        if (this.pixels != null) {
+            stbi_image_free(this.pixels);
+            this.pixels = null;
+        }
+    }
+}
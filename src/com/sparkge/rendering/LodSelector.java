@@ -0,0 +1,345 @@
+/**
+ * @description picks a mesh level of detail per instance from its projected screen size
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.core.JobSystem;
+import com.sparkge.math.Matrix4f;
+
+/**
+ * Instances are bounding spheres kept in structure of arrays form, each belonging to a group that describes
+ * one mesh: its triangle count per level and the smallest screen size each level is used at. update() works out
+ * every instance's screen size from the view-projection matrix in batches across the JobSystem and moves it
+ * to the right level.
+ *
+ * Screen size is the fraction of the screen height the sphere's diameter covers, radius * P11 / w, where w is
+ * the clip space w of the center and P11 the projection's vertical scale. P11 is the length of the first three
+ * entries of the view-projection matrix's second row, which holds for any perspective projection combined with
+ * a rigid view matrix.
+ *
+ * To stop an instance near a threshold from popping back and forth, it only moves to a coarser level once it
+ * is a hysteresis fraction below the threshold, and to a finer one once it is that fraction above. With a fade
+ * time set, an instance that changes level keeps its previous level for that long; the renderer draws both,
+ * blending by getFade() (e.g. dithered), then only the new one.
+ */
+public class LodSelector {
+
+    public static final float DEFAULT_HYSTERESIS = 0.15f;
+
+    private static final int MIN_BATCH = 1024;
+
+    private final int capacity;
+    private final JobSystem jobs;
+    private float hysteresis = DEFAULT_HYSTERESIS;
+    private float fadeSeconds;
+
+    // groups
+    private final float[][] groupMinSizes;
+    private final int[][] groupTriangles;
+    private int groupCount;
+
+    // instances
+    private final float[] centerX, centerY, centerZ, radius;
+    private final int[] group;
+    private final int[] level;
+    private final int[] previousLevel;
+    private final float[] fade;
+    private final float[] screenSize;
+    private final long[] changedFrame;
+    private int count;
+
+    // the current update's inputs, read by the batches
+    private float w0, w1, w2, w3, projectionScale, fadeStep;
+    private long frame;
+    private final JobSystem.RangeTask selectTask = this::select;
+
+    private long fullTriangles, drawnTriangles;
+    private int levelChanges;
+
+    /**
+     * @description constructor
+     * @param capacity maximum number of instances
+     * @param maxGroups maximum number of groups
+     * @param jobs job system the selection is spread across
+     */
+    public LodSelector(int capacity, int maxGroups, JobSystem jobs) {
+        this.capacity = capacity;
+        this.jobs = jobs;
+        this.groupMinSizes = new float[maxGroups][];
+        this.groupTriangles = new int[maxGroups][];
+        this.centerX = new float[capacity];
+        this.centerY = new float[capacity];
+        this.centerZ = new float[capacity];
+        this.radius = new float[capacity];
+        this.group = new int[capacity];
+        this.level = new int[capacity];
+        this.previousLevel = new int[capacity];
+        this.fade = new float[capacity];
+        this.screenSize = new float[capacity];
+        this.changedFrame = new long[capacity];
+    }
+
+    /**
+     * @description constructor using the default job system
+     * @param capacity maximum number of instances
+     * @param maxGroups maximum number of groups
+     */
+    public LodSelector(int capacity, int maxGroups) {
+        this(capacity, maxGroups, JobSystem.getDefault());
+    }
+
+    /**
+     * @description registers a mesh's levels
+     * @param levelTriangles triangle count of each level, most detailed first
+     * @param minScreenSizes smallest screen size (fraction of screen height) each level is used at, decreasing;
+     *  the last level is used at any size below the one before it
+     * @return group id
+     */
+    public int addGroup(int[] levelTriangles, float[] minScreenSizes) {
+        if (levelTriangles.length == 0 || levelTriangles.length != minScreenSizes.length) {
+            throw new IllegalArgumentException("Every level needs a triangle count and a screen size");
+        }
+        for (int i = 1; i < minScreenSizes.length; i++) {
+            if (minScreenSizes[i] > minScreenSizes[i - 1]) {
+                throw new IllegalArgumentException("Level screen sizes must decrease with level");
+            }
+        }
+        if (this.groupCount == this.groupMinSizes.length) {
+            throw new IllegalStateException("LOD selector is limited to " + this.groupMinSizes.length + " groups");
+        }
+        this.groupTriangles[this.groupCount] = levelTriangles.clone();
+        this.groupMinSizes[this.groupCount] = minScreenSizes.clone();
+        return this.groupCount++;
+    }
+
+    /**
+     * @description registers a mesh's levels
+     * @param mesh mesh with one or more levels
+     * @param minScreenSizes smallest screen size each of the mesh's levels is used at, decreasing
+     * @return group id
+     */
+    public int addGroup(Mesh mesh, float[] minScreenSizes) {
+        int[] triangles = new int[mesh.getLevelCount()];
+        for (int level = 0; level < triangles.length; level++) {
+            triangles[level] = mesh.getLevelTriangleCount(level);
+        }
+        return this.addGroup(triangles, minScreenSizes);
+    }
+
+    /**
+     * @description adds an instance, at its group's most detailed level until the next update selects one
+     * @param group group id
+     * @return instance index
+     */
+    public int add(int group, float x, float y, float z, float radius) {
+        if (this.count == this.capacity) {
+            throw new IllegalStateException("LOD selector is full at " + this.capacity + " instances");
+        }
+        int i = this.count++;
+        this.group[i] = group;
+        this.level[i] = 0;
+        this.previousLevel[i] = -1;
+        this.fade[i] = 1;
+        this.changedFrame[i] = -1;
+        this.setBounds(i, x, y, z, radius);
+        return i;
+    }
+
+    /**
+     * @description moves an instance's bounding sphere
+     * @param i instance index
+     */
+    public void setBounds(int i, float x, float y, float z, float radius) {
+        this.centerX[i] = x;
+        this.centerY[i] = y;
+        this.centerZ[i] = z;
+        this.radius[i] = radius;
+    }
+
+    /**
+     * @description removes an instance; the last instance moves into its index
+     * @param i instance index
+     */
+    public void remove(int i) {
+        int last = --this.count;
+        this.centerX[i] = this.centerX[last];
+        this.centerY[i] = this.centerY[last];
+        this.centerZ[i] = this.centerZ[last];
+        this.radius[i] = this.radius[last];
+        this.group[i] = this.group[last];
+        this.level[i] = this.level[last];
+        this.previousLevel[i] = this.previousLevel[last];
+        this.fade[i] = this.fade[last];
+        this.screenSize[i] = this.screenSize[last];
+        this.changedFrame[i] = this.changedFrame[last];
+    }
+
+    /**
+     * @description sets how far past a threshold an instance must be before it changes level
+     * @param hysteresis fraction of the threshold, 0 to switch exactly at it
+     */
+    public void setHysteresis(float hysteresis) {
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * @description sets the cross-fade time between levels
+     * @param fadeSeconds seconds both levels are drawn for, 0 to switch instantly
+     */
+    public void setFadeSeconds(float fadeSeconds) {
+        this.fadeSeconds = fadeSeconds;
+    }
+
+    /**
+     * @description selects every instance's level for this frame and updates the triangle metrics
+     * @param viewProjection the camera's view-projection matrix
+     * @param dt seconds since the last update, advances cross-fades
+     */
+    public void update(Matrix4f viewProjection, float dt) {
+        this.w0 = viewProjection.get(3, 0);
+        this.w1 = viewProjection.get(3, 1);
+        this.w2 = viewProjection.get(3, 2);
+        this.w3 = viewProjection.get(3, 3);
+        float p0 = viewProjection.get(1, 0), p1 = viewProjection.get(1, 1), p2 = viewProjection.get(1, 2);
+        this.projectionScale = (float) Math.sqrt(p0 * p0 + p1 * p1 + p2 * p2);
+        this.fadeStep = this.fadeSeconds > 0 ? dt / this.fadeSeconds : 1;
+        this.frame++;
+        this.jobs.parallelFor(this.count, MIN_BATCH, this.selectTask);
+
+        long full = 0, drawn = 0;
+        int changes = 0;
+        for (int i = 0; i < this.count; i++) {
+            int[] triangles = this.groupTriangles[this.group[i]];
+            full += triangles[0];
+            drawn += triangles[this.level[i]];
+            if (this.previousLevel[i] >= 0) {
+                drawn += triangles[this.previousLevel[i]];
+            }
+            if (this.changedFrame[i] == this.frame) {
+                changes++;
+            }
+        }
+        this.fullTriangles = full;
+        this.drawnTriangles = drawn;
+        this.levelChanges = changes;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * @description getter for an instance's level this frame
+     * @param i instance index
+     * @return level of detail, 0 is the most detailed
+     */
+    public int getLevel(int i) {
+        return this.level[i];
+    }
+
+    /**
+     * @description getter for the level an instance is fading out from
+     * @param i instance index
+     * @return previous level, or -1 when not fading
+     */
+    public int getPreviousLevel(int i) {
+        return this.previousLevel[i];
+    }
+
+    /**
+     * @description getter for how far a cross-fade has progressed
+     * @param i instance index
+     * @return weight of the current level from 0 to 1, the previous level gets the rest
+     */
+    public float getFade(int i) {
+        return this.fade[i];
+    }
+
+    /**
+     * @description getter for an instance's screen size this frame
+     * @param i instance index
+     * @return fraction of the screen height the bounds cover
+     */
+    public float getScreenSize(int i) {
+        return this.screenSize[i];
+    }
+
+    /**
+     * @description getter for the triangles every instance would draw at its most detailed level
+     * @return triangle count
+     */
+    public long getFullTriangles() {
+        return this.fullTriangles;
+    }
+
+    /**
+     * @description getter for the triangles drawn at the selected levels, counting both levels while fading
+     * @return triangle count
+     */
+    public long getDrawnTriangles() {
+        return this.drawnTriangles;
+    }
+
+    /**
+     * @description getter for the triangles saved by level of detail this frame
+     * @return triangle count
+     */
+    public long getSavedTriangles() {
+        return this.fullTriangles - this.drawnTriangles;
+    }
+
+    /**
+     * @description getter for the number of instances that changed level this frame
+     * @return change count
+     */
+    public int getLevelChanges() {
+        return this.levelChanges;
+    }
+
+    private void select(int start, int end) {
+        float keep = 1 - this.hysteresis, pass = 1 + this.hysteresis;
+        for (int i = start; i < end; i++) {
+            float r = this.radius[i];
+            float w = this.w0 * this.centerX[i] + this.w1 * this.centerY[i] + this.w2 * this.centerZ[i] + this.w3;
+            // from inside the bounds, or with them behind the camera, the size is unbounded
+            float size = w > r ? r * this.projectionScale / w : Float.POSITIVE_INFINITY;
+            this.screenSize[i] = size;
+
+            float[] minSizes = this.groupMinSizes[this.group[i]];
+            int current = this.level[i];
+            int target = current;
+            // a new instance goes straight to its level, without hysteresis or a fade
+            boolean first = this.changedFrame[i] < 0;
+            boolean coarser = current < minSizes.length - 1 && size < minSizes[current] * keep;
+            boolean finer = current > 0 && size > minSizes[current - 1] * pass;
+            if (first || coarser || finer) {
+                target = 0;
+                while (target < minSizes.length - 1 && size < minSizes[target]) {
+                    target++;
+                }
+            }
+
+            if (first) {
+                this.level[i] = target;
+                this.changedFrame[i] = 0;
+            } else if (target != current) {
+                this.level[i] = target;
+                this.changedFrame[i] = this.frame;
+                if (this.fadeStep < 1) {
+                    this.previousLevel[i] = current;
+                    this.fade[i] = 0;
+                }
+            } else if (this.previousLevel[i] >= 0) {
+                this.fade[i] += this.fadeStep;
+                if (this.fade[i] >= 1) {
+                    this.fade[i] = 1;
+                    this.previousLevel[i] = -1;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * @description indexed triangle mesh in GL buffers
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | drawing a level of detail
+ */
+
+package com.sparkge.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+
+/**
+ * Attribute locations: 0 position, 1 normal, 2 texcoord.
+ */
+public class Mesh {
+
+    private final int indexCount;
+    private final int[] levelFirstIndex;
+    private final int[] levelIndexCount;
+    private final long sizeBytes;
+    private int vao, vbo, ebo;
+
+    /**
+     * @description constructor, uploads the data; requires a current context. The data can be freed afterwards
+     * @param data vertices and indices
+     */
+    public Mesh(MeshData data) {
+        this.indexCount = data.getIndexCount();
+        this.sizeBytes = data.getSizeBytes();
+        this.levelFirstIndex = new int[data.getLevelCount()];
+        this.levelIndexCount = new int[data.getLevelCount()];
+        for (int level = 0; level < this.levelFirstIndex.length; level++) {
+            this.levelFirstIndex[level] = data.getLevelFirstIndex(level);
+            this.levelIndexCount[level] = data.getLevelIndexCount(level);
+        }
+        int stride = MeshData.VERTEX_FLOATS * Float.BYTES;
+
+        this.vao = glGenVertexArrays();
+        this.vbo = glGenBuffers();
+        this.ebo = glGenBuffers();
+        glBindVertexArray(this.vao);
+        glBindBuffer(GL_ARRAY_BUFFER, this.vbo);
+        glBufferData(GL_ARRAY_BUFFER, data.getVertices(), GL_STATIC_DRAW);
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, this.ebo);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, data.getIndices(), GL_STATIC_DRAW);
+        glEnableVertexAttribArray(0);
+        glVertexAttribPointer(0, 3, GL_FLOAT, false, stride, 0);
+        glEnableVertexAttribArray(1);
+        glVertexAttribPointer(1, 3, GL_FLOAT, false, stride, 3 * Float.BYTES);
+        glEnableVertexAttribArray(2);
+        glVertexAttribPointer(2, 2, GL_FLOAT, false, stride, 6 * Float.BYTES);
+        // the element buffer binding is VAO state, so unbind the VAO first
+        glBindVertexArray(0);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
+    }
+
+    /**
+     * @description draws the mesh, at its most detailed level, with the currently bound shader
+     */
+    public void draw() {
+        this.draw(0);
+    }
+
+    /**
+     * @description draws one level of detail with the currently bound shader
+     * @param level level from 0, the most detailed, to getLevelCount() - 1
+     */
+    public void draw(int level) {
+        glBindVertexArray(this.vao);
+        glDrawElements(GL_TRIANGLES, this.levelIndexCount[level], GL_UNSIGNED_INT,
+                (long) this.levelFirstIndex[level] * Integer.BYTES);
+        glBindVertexArray(0);
+    }
+
+    public int getIndexCount() {
+        return this.indexCount;
+    }
+
+    public int getLevelCount() {
+        return this.levelIndexCount.length;
+    }
+
+    /**
+     * @description getter for the triangles drawn at a level of detail
+     * @param level level of detail
+     * @return triangle count
+     */
+    public int getLevelTriangleCount(int level) {
+        return this.levelIndexCount[level] / 3;
+    }
+
+    /**
+     * @description getter for the GPU memory used by the mesh's buffers
+     * @return size in bytes
+     */
+    public long getSizeBytes() {
+        return this.sizeBytes;
+    }
+
+    /**
+     * @description frees the GL buffers
+     */
+    public void destroy() {
+        if (this.vao != 0) {
+            glDeleteBuffers(this.vbo);
+            glDeleteBuffers(this.ebo);
+            glDeleteVertexArrays(this.vao);
+            this.vao = 0;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * @description CPU side mesh data, off heap so it can be built on any thread and uploaded without copying
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | level of detail index ranges
+ */
+
+package com.sparkge.rendering;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import static org.lwjgl.system.MemoryUtil.*;
+
+/**
+ * Vertices are interleaved position.xyz, normal.xyz, texcoord.uv; triangles are indexed.
+ *
+ * Levels of detail share the vertices and each use their own range of the index buffer, level 0 being the
+ * most detailed. By default there is one level covering every index.
+ */
+public class MeshData {
+
+    public static final int VERTEX_FLOATS = 8;
+    public static final int MAX_LEVELS = 4;
+
+    private FloatBuffer vertices;
+    private IntBuffer indices;
+    private final int[] levelFirstIndex = new int[MAX_LEVELS];
+    private final int[] levelIndexCount = new int[MAX_LEVELS];
+    private int levelCount = 1;
+
+    /**
+     * @description constructor, allocates uninitialized storage to be filled by the caller
+     * @param vertexCount number of vertices
+     * @param indexCount number of indices
+     */
+    public MeshData(int vertexCount, int indexCount) {
+        this.vertices = memAllocFloat(vertexCount * VERTEX_FLOATS);
+        this.indices = memAllocInt(indexCount);
+        this.levelIndexCount[0] = indexCount;
+    }
+
+    /**
+     * @description sets the index range of a level of detail; levels must be set in order from 0
+     * @param level level to set, at most the current level count
+     * @param firstIndex first index of the level's triangles
+     * @param indexCount number of indices, a multiple of 3
+     */
+    public void setLevel(int level, int firstIndex, int indexCount) {
+        if (level < 0 || level >= MAX_LEVELS || level > this.levelCount) {
+            throw new IllegalArgumentException("Level " + level + " must be set after the levels before it, below "
+                    + MAX_LEVELS);
+        }
+        if (firstIndex < 0 || indexCount < 0 || firstIndex + indexCount > this.indices.capacity()) {
+            throw new IllegalArgumentException("Level " + level + " range is outside the index buffer");
+        }
+        this.levelFirstIndex[level] = firstIndex;
+        this.levelIndexCount[level] = indexCount;
+        this.levelCount = Math.max(this.levelCount, level + 1);
+    }
+
+    public int getLevelCount() {
+        return this.levelCount;
+    }
+
+    public int getLevelFirstIndex(int level) {
+        return this.levelFirstIndex[level];
+    }
+
+    public int getLevelIndexCount(int level) {
+        return this.levelIndexCount[level];
+    }
+
+    public FloatBuffer getVertices() {
+        return this.vertices;
+    }
+
+    public IntBuffer getIndices() {
+        return this.indices;
+    }
+
+    public int getVertexCount() {
+        return this.vertices.capacity() / VERTEX_FLOATS;
+    }
+
+    public int getIndexCount() {
+        return this.indices.capacity();
+    }
+
+    /**
+     * @description getter for the size of the data once uploaded
+     * @return size in bytes
+     */
+    public long getSizeBytes() {
+        return (long) this.vertices.capacity() * Float.BYTES + (long) this.indices.capacity() * Integer.BYTES;
+    }
+
+    /**
+     * @description frees the storage, usually right after the mesh has been uploaded
+     */
+    public void free() {
+        if (this.vertices != null) {
+            memFree(this.vertices);
+            memFree(this.indices);
+            this.vertices = null;
+            this.indices = null;
+        }
+    }
+}
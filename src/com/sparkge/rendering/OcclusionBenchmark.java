@@ -0,0 +1,127 @@
+/**
+ * @description headless benchmark and sanity check of the software occlusion culler on a canyon scene
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Import Matrix4f
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.math.Matrix4f;
+
+import java.util.Random;
+
+/**
+ * Usage: OcclusionBenchmark [boxes] [frames]
+ *
+ * The camera flies down a canyon 40 units wide with a bulkhead across it 300 units ahead. Boxes are scattered
+ * over a much wider area, so most sit behind the canyon walls or the bulkhead. Boxes in the open part of the
+ * canyon can always be seen, and any of them reported hidden fails the run.
+ */
+public class OcclusionBenchmark {
+
+    private static final float CANYON_HALF_WIDTH = 20;
+    private static final float BULKHEAD_Z = -300;
+
+    public static void main(String[] args) {
+        int boxes = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+        OcclusionCuller culler = new OcclusionCuller(64, 64);
+        // walls on both sides of the canyon and the bulkhead across it
+        addQuad(culler, -CANYON_HALF_WIDTH, -60, 10, -CANYON_HALF_WIDTH, 60, -2000);
+        addQuad(culler, CANYON_HALF_WIDTH, -60, 10, CANYON_HALF_WIDTH, 60, -2000);
+        addQuad(culler, -CANYON_HALF_WIDTH, -60, BULKHEAD_Z, CANYON_HALF_WIDTH, 60, BULKHEAD_Z);
+
+        Random random = new Random(7);
+        float[] minX = new float[boxes], minY = new float[boxes], minZ = new float[boxes];
+        float[] maxX = new float[boxes], maxY = new float[boxes], maxZ = new float[boxes];
+        boolean[] open = new boolean[boxes];
+        for (int i = 0; i < boxes; i++) {
+            float x = (random.nextFloat() - 0.5f) * 600;
+            float y = (random.nextFloat() - 0.5f) * 80;
+            float z = -20 - random.nextFloat() * 1500;
+            float half = 0.5f + random.nextFloat() * 2;
+            minX[i] = x - half;
+            minY[i] = y - half;
+            minZ[i] = z - half;
+            maxX[i] = x + half;
+            maxY[i] = y + half;
+            maxZ[i] = z + half;
+            open[i] = maxX[i] < CANYON_HALF_WIDTH - 1 && minX[i] > -CANYON_HALF_WIDTH + 1 && minZ[i] > BULKHEAD_Z + 1;
+        }
+        boolean[] visible = new boolean[boxes];
+
+        Camera camera = new Camera(70, 16 / 9f, 0.5f, 2000);
+        camera.setPosition(0, 0, 0);
+        long renderNanos = 0, cullNanos = 0, occluded = 0;
+        int wronglyHidden = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            // sway along the canyon floor so every frame rasterizes a slightly different view
+            camera.setPosition((float) Math.sin(frame * 0.05) * 10, (float) Math.cos(frame * 0.03) * 5, 0);
+            long start = System.nanoTime();
+            culler.render(camera.getViewProjection());
+            long rendered = System.nanoTime();
+            culler.cull(minX, minY, minZ, maxX, maxY, maxZ, boxes, visible);
+            long culled = System.nanoTime();
+            if (frame >= frames / 10) {
+                renderNanos += rendered - start;
+                cullNanos += culled - rendered;
+                occluded += culler.getOccludedCount();
+            }
+            for (int i = 0; i < boxes; i++) {
+                if (open[i] && !visible[i] && inView(camera, minX[i], minY[i], minZ[i], maxX[i], maxY[i], maxZ[i])) {
+                    wronglyHidden++;
+                }
+            }
+        }
+
+        int measured = frames - frames / 10;
+        System.out.printf("%d boxes, %dx%d depth buffer, %d frames%n", boxes, culler.getWidth(), culler.getHeight(), frames);
+        System.out.printf("  render avg %8.3f ms (%d binned triangles)%n", renderNanos / 1e6 / measured,
+                culler.getRasterizedTriangles());
+        System.out.printf("  cull avg   %8.3f ms%n", cullNanos / 1e6 / measured);
+        System.out.printf("  hidden     %8.1f %%%n", 100.0 * occluded / measured / boxes);
+        System.out.printf("  wrongly hidden boxes: %d%n", wronglyHidden);
+        if (wronglyHidden > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @description adds a vertical rectangle from (x0, y0, z0) to (x1, y1, z1) as two triangles
+     */
+    private static void addQuad(OcclusionCuller culler, float x0, float y0, float z0, float x1, float y1, float z1) {
+        culler.addOccluder(new float[] {
+                x0, y0, z0,
+                x1, y0, z1,
+                x1, y1, z1,
+                x0, y1, z0
+        }, new int[] {0, 1, 2, 0, 2, 3});
+    }
+
+    /**
+     * @description whether a box is at least partly inside the view frustum, which the culler may reject
+     */
+    private static boolean inView(Camera camera, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        Matrix4f m = camera.getViewProjection();
+        boolean left = true, right = true, bottom = true, top = true, near = true, far = true;
+        for (int corner = 0; corner < 8; corner++) {
+            float x = (corner & 1) == 0 ? minX : maxX;
+            float y = (corner & 2) == 0 ? minY : maxY;
+            float z = (corner & 4) == 0 ? minZ : maxZ;
+            float cx = m.get(0, 0) * x + m.get(0, 1) * y + m.get(0, 2) * z + m.get(0, 3);
+            float cy = m.get(1, 0) * x + m.get(1, 1) * y + m.get(1, 2) * z + m.get(1, 3);
+            float cz = m.get(2, 0) * x + m.get(2, 1) * y + m.get(2, 2) * z + m.get(2, 3);
+            float cw = m.get(3, 0) * x + m.get(3, 1) * y + m.get(3, 2) * z + m.get(3, 3);
+            left &= cx < -cw;
+            right &= cx > cw;
+            bottom &= cy < -cw;
+            top &= cy > cw;
+            near &= cz < -cw;
+            far &= cz > cw;
+        }
+        return !(left || right || bottom || top || near || far);
+    }
+}
@@ -0,0 +1,529 @@
+/**
+ * @description software occlusion culling against occluder meshes rasterized into a small CPU depth buffer
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Hide boxes entirely behind the near plane
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.core.JobSystem;
+import com.sparkge.math.Matrix4f;
+
+import java.util.Arrays;
+
+/**
+ * Occluders are a few large, static, world space triangle meshes: canyon walls, station bulkheads. Each frame
+ * render() rasterizes them into a low resolution depth buffer entirely on the CPU, so it runs headless:
+ *
+ *  1. occluder vertices are transformed to screen space, and triangles set up, in JobSystem batches
+ *  2. each triangle is binned into the screen tiles its bounds touch (a counting sort)
+ *  3. tiles are rasterized in parallel, one worker per tile, so no two threads ever write the same pixel
+ *  4. a depth pyramid is built where each texel holds the farthest depth of the four below it
+ *
+ * cull() then tests bounding boxes against the pyramid, at the level where the box's screen rectangle covers
+ * about 2x2 texels. A box is hidden if its nearest point is farther than the farthest occluder depth everywhere
+ * it covers. Boxes outside the view are reported hidden as well, so the caller can skip the draw call entirely.
+ *
+ * Depth is stored from 0 at the near plane to 1 at the far plane. Occluder triangles are clipped against the
+ * near plane, so walls running past the camera still occlude, while boxes crossing it are always visible.
+ */
+public class OcclusionCuller {
+
+    public static final int TILE_SIZE = 32;
+
+    private static final int VERTEX_BATCH = 512;
+    private static final int TRIANGLE_BATCH = 256;
+    private static final int CULL_BATCH = 256;
+
+    private final int width, height;
+    private final int tilesX, tilesY;
+    private final JobSystem jobs;
+
+    // occluders, world space
+    private final float[] positions;
+    private final int[] indices;
+    private int vertexCount, triangleCount;
+
+    // per frame clip space vertices
+    private final float[] clipX, clipY, clipZ, clipW;
+    // per frame near plane clipped corners, four slots per occluder triangle
+    private final float[] cornerX, cornerY, cornerZ, cornerW;
+    // per frame screen space triangles, two slots per occluder triangle since near plane clipping can split one;
+    // pixel x, pixel y and depth of each corner, and the bounds in tiles, empty for an unused slot
+    private final float[] rasterX, rasterY, rasterZ;
+    private final int[] tileMinX, tileMinY, tileMaxX, tileMaxY;
+
+    private final int[] binStart;
+    private final int[] binCursor;
+    private int[] binTriangles = new int[0];
+
+    private final float[][] pyramid;
+    private final int[] levelWidth, levelHeight;
+
+    // the current frame's transform and cull inputs, read by the batches
+    private float m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23, m30, m31, m32, m33;
+    private float[] cullMinX, cullMinY, cullMinZ, cullMaxX, cullMaxY, cullMaxZ;
+    private boolean[] cullVisible;
+
+    private final JobSystem.RangeTask transformTask = this::transform;
+    private final JobSystem.RangeTask setupTask = this::setup;
+    private final JobSystem.RangeTask rasterizeTask = this::rasterize;
+    private final JobSystem.RangeTask cullTask = this::cull;
+
+    private int binnedTriangles;
+    private int tested, occluded;
+
+    /**
+     * @description constructor
+     * @param width depth buffer width, a power of two multiple of TILE_SIZE, e.g. 256
+     * @param height depth buffer height, a power of two multiple of TILE_SIZE, e.g. 128
+     * @param maxVertices total occluder vertices
+     * @param maxTriangles total occluder triangles
+     * @param jobs job system the stages are spread across
+     */
+    public OcclusionCuller(int width, int height, int maxVertices, int maxTriangles, JobSystem jobs) {
+        if (Integer.bitCount(width) != 1 || Integer.bitCount(height) != 1 || width < TILE_SIZE || height < TILE_SIZE) {
+            throw new IllegalArgumentException("Depth buffer sides must be powers of two of at least " + TILE_SIZE);
+        }
+        this.width = width;
+        this.height = height;
+        this.tilesX = width / TILE_SIZE;
+        this.tilesY = height / TILE_SIZE;
+        this.jobs = jobs;
+
+        this.positions = new float[maxVertices * 3];
+        this.indices = new int[maxTriangles * 3];
+        this.clipX = new float[maxVertices];
+        this.clipY = new float[maxVertices];
+        this.clipZ = new float[maxVertices];
+        this.clipW = new float[maxVertices];
+        this.cornerX = new float[maxTriangles * 4];
+        this.cornerY = new float[maxTriangles * 4];
+        this.cornerZ = new float[maxTriangles * 4];
+        this.cornerW = new float[maxTriangles * 4];
+        this.rasterX = new float[maxTriangles * 6];
+        this.rasterY = new float[maxTriangles * 6];
+        this.rasterZ = new float[maxTriangles * 6];
+        this.tileMinX = new int[maxTriangles * 2];
+        this.tileMinY = new int[maxTriangles * 2];
+        this.tileMaxX = new int[maxTriangles * 2];
+        this.tileMaxY = new int[maxTriangles * 2];
+        this.binStart = new int[this.tilesX * this.tilesY + 1];
+        this.binCursor = new int[this.tilesX * this.tilesY];
+
+        int levels = 1 + Integer.numberOfTrailingZeros(Math.max(width, height));
+        this.pyramid = new float[levels][];
+        this.levelWidth = new int[levels];
+        this.levelHeight = new int[levels];
+        for (int level = 0; level < levels; level++) {
+            this.levelWidth[level] = Math.max(1, width >> level);
+            this.levelHeight[level] = Math.max(1, height >> level);
+            this.pyramid[level] = new float[this.levelWidth[level] * this.levelHeight[level]];
+            Arrays.fill(this.pyramid[level], 1);
+        }
+    }
+
+    /**
+     * @description constructor for a 256x128 depth buffer using the default job system
+     * @param maxVertices total occluder vertices
+     * @param maxTriangles total occluder triangles
+     */
+    public OcclusionCuller(int maxVertices, int maxTriangles) {
+        this(256, 128, maxVertices, maxTriangles, JobSystem.getDefault());
+    }
+
+    /**
+     * @description adds a static occluder mesh; keep occluders few, large and simple
+     * @param positions world space vertex positions, xyz
+     * @param indices triangle indices into positions, either winding
+     */
+    public void addOccluder(float[] positions, int[] indices) {
+        int vertices = positions.length / 3;
+        int triangles = indices.length / 3;
+        int maxTriangles = this.indices.length / 3;
+        if (this.vertexCount + vertices > this.clipX.length || this.triangleCount + triangles > maxTriangles) {
+            throw new IllegalStateException("Occluder capacity of " + this.clipX.length + " vertices and "
+                    + maxTriangles + " triangles exceeded");
+        }
+        System.arraycopy(positions, 0, this.positions, this.vertexCount * 3, vertices * 3);
+        for (int i = 0; i < triangles * 3; i++) {
+            if (indices[i] < 0 || indices[i] >= vertices) {
+                throw new IllegalArgumentException("Occluder index " + indices[i] + " is out of range");
+            }
+            this.indices[this.triangleCount * 3 + i] = this.vertexCount + indices[i];
+        }
+        this.vertexCount += vertices;
+        this.triangleCount += triangles;
+    }
+
+    /**
+     * @description removes every occluder
+     */
+    public void clearOccluders() {
+        this.vertexCount = 0;
+        this.triangleCount = 0;
+    }
+
+    /**
+     * @description rasterizes the occluders from a viewpoint and rebuilds the depth pyramid
+     * @param viewProjection the camera's view-projection matrix
+     */
+    public void render(Matrix4f viewProjection) {
+        this.m00 = viewProjection.get(0, 0);
+        this.m01 = viewProjection.get(0, 1);
+        this.m02 = viewProjection.get(0, 2);
+        this.m03 = viewProjection.get(0, 3);
+        this.m10 = viewProjection.get(1, 0);
+        this.m11 = viewProjection.get(1, 1);
+        this.m12 = viewProjection.get(1, 2);
+        this.m13 = viewProjection.get(1, 3);
+        this.m20 = viewProjection.get(2, 0);
+        this.m21 = viewProjection.get(2, 1);
+        this.m22 = viewProjection.get(2, 2);
+        this.m23 = viewProjection.get(2, 3);
+        this.m30 = viewProjection.get(3, 0);
+        this.m31 = viewProjection.get(3, 1);
+        this.m32 = viewProjection.get(3, 2);
+        this.m33 = viewProjection.get(3, 3);
+
+        this.jobs.parallelFor(this.vertexCount, VERTEX_BATCH, this.transformTask);
+        this.jobs.parallelFor(this.triangleCount, TRIANGLE_BATCH, this.setupTask);
+        this.bin();
+        this.jobs.parallelFor(this.tilesX * this.tilesY, 1, this.rasterizeTask);
+        this.buildPyramid();
+    }
+
+    /**
+     * @description tests one bounding box against the last render
+     * @return false if the box is hidden by the occluders or outside the view
+     */
+    public boolean isVisible(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float left = Float.POSITIVE_INFINITY, right = Float.NEGATIVE_INFINITY;
+        float bottom = Float.POSITIVE_INFINITY, top = Float.NEGATIVE_INFINITY;
+        float nearest = Float.POSITIVE_INFINITY;
+        int behind = 0;
+        for (int corner = 0; corner < 8; corner++) {
+            float x = (corner & 1) == 0 ? minX : maxX;
+            float y = (corner & 2) == 0 ? minY : maxY;
+            float z = (corner & 4) == 0 ? minZ : maxZ;
+            float w = this.m30 * x + this.m31 * y + this.m32 * z + this.m33;
+            float clipZ = this.m20 * x + this.m21 * y + this.m22 * z + this.m23;
+            if (clipZ < -w) {
+                behind++;
+                continue;
+            }
+            float inverseW = 1 / w;
+            float sx = ((this.m00 * x + this.m01 * y + this.m02 * z + this.m03) * inverseW * 0.5f + 0.5f) * this.width;
+            float sy = ((this.m10 * x + this.m11 * y + this.m12 * z + this.m13) * inverseW * 0.5f + 0.5f) * this.height;
+            float depth = clipZ * inverseW * 0.5f + 0.5f;
+            left = Math.min(left, sx);
+            right = Math.max(right, sx);
+            bottom = Math.min(bottom, sy);
+            top = Math.max(top, sy);
+            nearest = Math.min(nearest, depth);
+        }
+        if (behind > 0) {
+            // entirely behind the near plane is outside the view, crossing it can't be projected
+            return behind < 8;
+        }
+        if (right < 0 || left >= this.width || top < 0 || bottom >= this.height || nearest > 1) {
+            return false;
+        }
+        int x0 = Math.max(0, (int) left), x1 = Math.min(this.width - 1, (int) right);
+        int y0 = Math.max(0, (int) bottom), y1 = Math.min(this.height - 1, (int) top);
+
+        // coarsest level at which the rectangle still covers at most two texels each way
+        int level = 0;
+        while (level < this.pyramid.length - 1 && ((x1 >> level) - (x0 >> level) > 1 || (y1 >> level) - (y0 >> level) > 1)) {
+            level++;
+        }
+        float[] depths = this.pyramid[level];
+        int levelWidth = this.levelWidth[level];
+        for (int y = y0 >> level; y <= y1 >> level; y++) {
+            for (int x = x0 >> level; x <= x1 >> level; x++) {
+                if (nearest <= depths[y * levelWidth + x]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @description tests a batch of bounding boxes in parallel
+     * @param count number of boxes
+     * @param visible receives whether each box needs drawing
+     */
+    public void cull(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ,
+                     int count, boolean[] visible) {
+        this.cullMinX = minX;
+        this.cullMinY = minY;
+        this.cullMinZ = minZ;
+        this.cullMaxX = maxX;
+        this.cullMaxY = maxY;
+        this.cullMaxZ = maxZ;
+        this.cullVisible = visible;
+        this.jobs.parallelFor(count, CULL_BATCH, this.cullTask);
+        this.cullMinX = this.cullMinY = this.cullMinZ = this.cullMaxX = this.cullMaxY = this.cullMaxZ = null;
+        this.cullVisible = null;
+
+        int hidden = 0;
+        for (int i = 0; i < count; i++) {
+            if (!visible[i]) {
+                hidden++;
+            }
+        }
+        this.tested = count;
+        this.occluded = hidden;
+    }
+
+    /**
+     * @description getter for the depth at a pixel of the last render, e.g. for a debug view
+     * @return depth from 0 at the near plane to 1 at the far plane or where nothing was drawn
+     */
+    public float getDepth(int x, int y) {
+        return this.pyramid[0][y * this.width + x];
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @description getter for the number of triangle and tile pairs rasterized in the last render
+     * @return binned triangle count
+     */
+    public int getRasterizedTriangles() {
+        return this.binnedTriangles;
+    }
+
+    /**
+     * @description getter for the number of boxes in the last cull batch
+     * @return box count
+     */
+    public int getTestedCount() {
+        return this.tested;
+    }
+
+    /**
+     * @description getter for the number of boxes the last cull batch found hidden
+     * @return hidden box count
+     */
+    public int getOccludedCount() {
+        return this.occluded;
+    }
+
+    private void transform(int start, int end) {
+        for (int i = start; i < end; i++) {
+            float x = this.positions[i * 3], y = this.positions[i * 3 + 1], z = this.positions[i * 3 + 2];
+            this.clipX[i] = this.m00 * x + this.m01 * y + this.m02 * z + this.m03;
+            this.clipY[i] = this.m10 * x + this.m11 * y + this.m12 * z + this.m13;
+            this.clipZ[i] = this.m20 * x + this.m21 * y + this.m22 * z + this.m23;
+            this.clipW[i] = this.m30 * x + this.m31 * y + this.m32 * z + this.m33;
+        }
+    }
+
+    private void setup(int start, int end) {
+        float[] x = this.cornerX, y = this.cornerY, z = this.cornerZ, w = this.cornerW;
+        for (int t = start; t < end; t++) {
+            // clip against the near plane into the triangle's own four corner slots
+            int base = t * 4, corners = base;
+            for (int j = 0; j < 3; j++) {
+                int a = this.indices[t * 3 + j], b = this.indices[t * 3 + (j + 1) % 3];
+                // signed distance to the near plane, z = -w in clip space
+                float da = this.clipZ[a] + this.clipW[a], db = this.clipZ[b] + this.clipW[b];
+                if (da >= 0) {
+                    x[corners] = this.clipX[a];
+                    y[corners] = this.clipY[a];
+                    z[corners] = this.clipZ[a];
+                    w[corners] = this.clipW[a];
+                    corners++;
+                }
+                if ((da >= 0) != (db >= 0)) {
+                    float f = da / (da - db);
+                    x[corners] = this.clipX[a] + (this.clipX[b] - this.clipX[a]) * f;
+                    y[corners] = this.clipY[a] + (this.clipY[b] - this.clipY[a]) * f;
+                    z[corners] = this.clipZ[a] + (this.clipZ[b] - this.clipZ[a]) * f;
+                    w[corners] = this.clipW[a] + (this.clipW[b] - this.clipW[a]) * f;
+                    corners++;
+                }
+            }
+            for (int j = base; j < corners; j++) {
+                float inverseW = 1 / w[j];
+                x[j] = (x[j] * inverseW * 0.5f + 0.5f) * this.width;
+                y[j] = (y[j] * inverseW * 0.5f + 0.5f) * this.height;
+                z[j] = z[j] * inverseW * 0.5f + 0.5f;
+            }
+            // a fan of up to two triangles
+            for (int k = 0; k < 2; k++) {
+                int slot = t * 2 + k;
+                int c1 = base + k + 1, c2 = base + k + 2;
+                if (c2 < corners) {
+                    this.setupSlot(slot, x[base], y[base], z[base], x[c1], y[c1], z[c1], x[c2], y[c2], z[c2]);
+                } else {
+                    this.tileMinX[slot] = 0;
+                    this.tileMaxX[slot] = -1;
+                    this.tileMinY[slot] = 0;
+                    this.tileMaxY[slot] = -1;
+                }
+            }
+        }
+    }
+
+    private void setupSlot(int slot, float x0, float y0, float z0, float x1, float y1, float z1,
+                           float x2, float y2, float z2) {
+        this.rasterX[slot * 3] = x0;
+        this.rasterY[slot * 3] = y0;
+        this.rasterZ[slot * 3] = z0;
+        this.rasterX[slot * 3 + 1] = x1;
+        this.rasterY[slot * 3 + 1] = y1;
+        this.rasterZ[slot * 3 + 1] = z1;
+        this.rasterX[slot * 3 + 2] = x2;
+        this.rasterY[slot * 3 + 2] = y2;
+        this.rasterZ[slot * 3 + 2] = z2;
+        float minX = Math.min(x0, Math.min(x1, x2)), maxX = Math.max(x0, Math.max(x1, x2));
+        float minY = Math.min(y0, Math.min(y1, y2)), maxY = Math.max(y0, Math.max(y1, y2));
+        float minZ = Math.min(z0, Math.min(z1, z2));
+        if (maxX < 0 || minX >= this.width || maxY < 0 || minY >= this.height || minZ > 1) {
+            this.tileMinX[slot] = 0;
+            this.tileMaxX[slot] = -1;
+            this.tileMinY[slot] = 0;
+            this.tileMaxY[slot] = -1;
+        } else {
+            this.tileMinX[slot] = Math.max(0, (int) minX) / TILE_SIZE;
+            this.tileMaxX[slot] = Math.min(this.width - 1, (int) maxX) / TILE_SIZE;
+            this.tileMinY[slot] = Math.max(0, (int) minY) / TILE_SIZE;
+            this.tileMaxY[slot] = Math.min(this.height - 1, (int) maxY) / TILE_SIZE;
+        }
+    }
+
+    private void bin() {
+        int tiles = this.tilesX * this.tilesY;
+        Arrays.fill(this.binStart, 0);
+        int entries = 0;
+        for (int t = 0; t < this.triangleCount * 2; t++) {
+            for (int ty = this.tileMinY[t]; ty <= this.tileMaxY[t]; ty++) {
+                for (int tx = this.tileMinX[t]; tx <= this.tileMaxX[t]; tx++) {
+                    this.binStart[ty * this.tilesX + tx + 1]++;
+                    entries++;
+                }
+            }
+        }
+        if (entries > this.binTriangles.length) {
+            this.binTriangles = new int[Math.max(entries, this.binTriangles.length * 2)];
+        }
+        for (int tile = 0; tile < tiles; tile++) {
+            this.binStart[tile + 1] += this.binStart[tile];
+        }
+        System.arraycopy(this.binStart, 0, this.binCursor, 0, tiles);
+        for (int t = 0; t < this.triangleCount * 2; t++) {
+            for (int ty = this.tileMinY[t]; ty <= this.tileMaxY[t]; ty++) {
+                for (int tx = this.tileMinX[t]; tx <= this.tileMaxX[t]; tx++) {
+                    this.binTriangles[this.binCursor[ty * this.tilesX + tx]++] = t;
+                }
+            }
+        }
+        this.binnedTriangles = entries;
+    }
+
+    private void rasterize(int startTile, int endTile) {
+        float[] depth = this.pyramid[0];
+        for (int tile = startTile; tile < endTile; tile++) {
+            int tileX0 = (tile % this.tilesX) * TILE_SIZE;
+            int tileY0 = (tile / this.tilesX) * TILE_SIZE;
+            for (int y = tileY0; y < tileY0 + TILE_SIZE; y++) {
+                Arrays.fill(depth, y * this.width + tileX0, y * this.width + tileX0 + TILE_SIZE, 1);
+            }
+            for (int bin = this.binStart[tile]; bin < this.binStart[tile + 1]; bin++) {
+                this.rasterizeTriangle(this.binTriangles[bin], tileX0, tileY0, depth);
+            }
+        }
+    }
+
+    private void rasterizeTriangle(int t, int tileX0, int tileY0, float[] depth) {
+        float x0 = this.rasterX[t * 3], y0 = this.rasterY[t * 3], z0 = this.rasterZ[t * 3];
+        float x1 = this.rasterX[t * 3 + 1], y1 = this.rasterY[t * 3 + 1], z1 = this.rasterZ[t * 3 + 1];
+        float x2 = this.rasterX[t * 3 + 2], y2 = this.rasterY[t * 3 + 2], z2 = this.rasterZ[t * 3 + 2];
+        float area = (x1 - x0) * (y2 - y0) - (x2 - x0) * (y1 - y0);
+        if (area == 0) {
+            return;
+        }
+        if (area < 0) {
+            // occluders are often single sided walls, so draw both windings by making every triangle counter-clockwise
+            float tx = x1, ty = y1, tz = z1;
+            x1 = x2;
+            y1 = y2;
+            z1 = z2;
+            x2 = tx;
+            y2 = ty;
+            z2 = tz;
+            area = -area;
+        }
+        float dzdx = ((z1 - z0) * (y2 - y0) - (z2 - z0) * (y1 - y0)) / area;
+        float dzdy = ((z2 - z0) * (x1 - x0) - (z1 - z0) * (x2 - x0)) / area;
+
+        int minX = Math.max(tileX0, (int) Math.min(x0, Math.min(x1, x2)));
+        int maxX = Math.min(tileX0 + TILE_SIZE - 1, (int) Math.max(x0, Math.max(x1, x2)));
+        int minY = Math.max(tileY0, (int) Math.min(y0, Math.min(y1, y2)));
+        int maxY = Math.min(tileY0 + TILE_SIZE - 1, (int) Math.max(y0, Math.max(y1, y2)));
+
+        // edge functions at the first pixel center, stepped incrementally across the rectangle
+        float px = minX + 0.5f, py = minY + 0.5f;
+        float e0Row = (x2 - x1) * (py - y1) - (y2 - y1) * (px - x1);
+        float e1Row = (x0 - x2) * (py - y2) - (y0 - y2) * (px - x2);
+        float e2Row = (x1 - x0) * (py - y0) - (y1 - y0) * (px - x0);
+        float zRow = z0 + dzdx * (px - x0) + dzdy * (py - y0);
+        float e0dx = -(y2 - y1), e1dx = -(y0 - y2), e2dx = -(y1 - y0);
+        float e0dy = x2 - x1, e1dy = x0 - x2, e2dy = x1 - x0;
+
+        for (int y = minY; y <= maxY; y++) {
+            float e0 = e0Row, e1 = e1Row, e2 = e2Row, z = zRow;
+            int row = y * this.width;
+            for (int x = minX; x <= maxX; x++) {
+                // the sign bits of the three edges, so the inside test has no branches
+                int outside = Float.floatToRawIntBits(e0) | Float.floatToRawIntBits(e1) | Float.floatToRawIntBits(e2);
+                float current = depth[row + x];
+                depth[row + x] = outside >= 0 && z < current ? z : current;
+                e0 += e0dx;
+                e1 += e1dx;
+                e2 += e2dx;
+                z += dzdx;
+            }
+            e0Row += e0dy;
+            e1Row += e1dy;
+            e2Row += e2dy;
+            zRow += dzdy;
+        }
+    }
+
+    private void buildPyramid() {
+        for (int level = 1; level < this.pyramid.length; level++) {
+            float[] source = this.pyramid[level - 1];
+            float[] target = this.pyramid[level];
+            int sourceWidth = this.levelWidth[level - 1], sourceHeight = this.levelHeight[level - 1];
+            int targetWidth = this.levelWidth[level], targetHeight = this.levelHeight[level];
+            for (int y = 0; y < targetHeight; y++) {
+                int sy0 = Math.min(2 * y, sourceHeight - 1) * sourceWidth;
+                int sy1 = Math.min(2 * y + 1, sourceHeight - 1) * sourceWidth;
+                for (int x = 0; x < targetWidth; x++) {
+                    int sx0 = Math.min(2 * x, sourceWidth - 1), sx1 = Math.min(2 * x + 1, sourceWidth - 1);
+                    target[y * targetWidth + x] = Math.max(Math.max(source[sy0 + sx0], source[sy0 + sx1]),
+                            Math.max(source[sy1 + sx0], source[sy1 + sx1]));
+                }
+            }
+        }
+    }
+
+    private void cull(int start, int end) {
+        for (int i = start; i < end; i++) {
+            this.cullVisible[i] = this.isVisible(this.cullMinX[i], this.cullMinY[i], this.cullMinZ[i],
+                    this.cullMaxX[i], this.cullMaxY[i], this.cullMaxZ[i]);
+        }
+    }
+}
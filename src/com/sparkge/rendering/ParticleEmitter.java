@@ -0,0 +1,155 @@
+/**
+ * @description spawn parameters for a stream or burst of particles
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.math.Vector3f;
+
+public class ParticleEmitter {
+
+    private final Vector3f position = new Vector3f();
+    private final Vector3f velocity = new Vector3f();
+    private float spread;
+    private float rate;
+    private float minLifetime = 1, maxLifetime = 1;
+    private float startSize = 1, endSize = 1;
+    private float r = 1, g = 1, b = 1, a = 1;
+    private boolean enabled = true;
+
+    // fractional particles carried over between frames, and pending one-off bursts
+    float emitAccumulator;
+    int pendingBurst;
+
+    /**
+     * @description queues a one-off burst, e.g. an explosion, emitted on the next simulation step
+     * @param count number of particles
+     */
+    public void burst(int count) {
+        this.pendingBurst += count;
+    }
+
+    /**
+     * @description getter for the spawn position; mutate it in place to move the emitter
+     * @return spawn position
+     */
+    public Vector3f getPosition() {
+        return this.position;
+    }
+
+    /**
+     * @description getter for the base spawn velocity; mutate it in place to redirect the emitter
+     * @return base spawn velocity
+     */
+    public Vector3f getVelocity() {
+        return this.velocity;
+    }
+
+    /**
+     * @description sets the random velocity added to each particle on every axis
+     * @param spread maximum random velocity per axis
+     * @return this
+     */
+    public ParticleEmitter setSpread(float spread) {
+        this.spread = spread;
+        return this;
+    }
+
+    /**
+     * @description sets the continuous emission rate
+     * @param rate particles per second, 0 for burst only emitters
+     * @return this
+     */
+    public ParticleEmitter setRate(float rate) {
+        this.rate = rate;
+        return this;
+    }
+
+    /**
+     * @description sets the range each particle's lifetime is picked from
+     * @param min minimum lifetime in seconds
+     * @param max maximum lifetime in seconds
+     * @return this
+     */
+    public ParticleEmitter setLifetime(float min, float max) {
+        this.minLifetime = min;
+        this.maxLifetime = max;
+        return this;
+    }
+
+    /**
+     * @description sets the point size at birth and death, interpolated linearly
+     * @param start size at birth in pixels
+     * @param end size at death in pixels
+     * @return this
+     */
+    public ParticleEmitter setSize(float start, float end) {
+        this.startSize = start;
+        this.endSize = end;
+        return this;
+    }
+
+    /**
+     * @description sets the particle color; alpha fades to 0 over the lifetime
+     * @return this
+     */
+    public ParticleEmitter setColor(float r, float g, float b, float a) {
+        this.r = r;
+        this.g = g;
+        this.b = b;
+        this.a = a;
+        return this;
+    }
+
+    public ParticleEmitter setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public float getSpread() {
+        return this.spread;
+    }
+
+    public float getRate() {
+        return this.rate;
+    }
+
+    public float getMinLifetime() {
+        return this.minLifetime;
+    }
+
+    public float getMaxLifetime() {
+        return this.maxLifetime;
+    }
+
+    public float getStartSize() {
+        return this.startSize;
+    }
+
+    public float getEndSize() {
+        return this.endSize;
+    }
+
+    public float getR() {
+        return this.r;
+    }
+
+    public float getG() {
+        return this.g;
+    }
+
+    public float getB() {
+        return this.b;
+    }
+
+    public float getA() {
+        return this.a;
+    }
+}
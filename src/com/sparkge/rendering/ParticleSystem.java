@@ -0,0 +1,380 @@
+/**
+ * @description CPU simulated particle system that streams live particles to a GL vertex buffer
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.core.JobSystem;
+import com.sparkge.math.Matrix4f;
+import com.sparkge.math.Vector3f;
+
+import java.util.ArrayList;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL32.GL_PROGRAM_POINT_SIZE;
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
+/**
+ * Particle state is stored as one float array per attribute (structure of arrays) so the integration loop
+ * walks each column linearly and can be auto-vectorized by the JIT. Integration and vertex upload are split
+ * across the JobSystem; dead particles are compacted by swapping the last live particle into their slot.
+ *
+ * Simulation does not touch GL, so update() can run without a context; init(), render() and destroy() need
+ * the context to be current.
+ */
+public class ParticleSystem {
+
+    // 8 floats per particle: position.xyz, size, color.rgba
+    private static final int VERTEX_FLOATS = 8;
+    private static final int VERTEX_BYTES = VERTEX_FLOATS * Float.BYTES;
+    private static final int MIN_BATCH = 4096;
+
+    private static final String VERTEX_SHADER =
+            "#version 330 core\n" +
+            "layout(location = 0) in vec4 aPositionSize;\n" +
+            "layout(location = 1) in vec4 aColor;\n" +
+            "uniform mat4 uViewProjection;\n" +
+            "out vec4 vColor;\n" +
+            "void main() {\n" +
+            "    gl_Position = uViewProjection * vec4(aPositionSize.xyz, 1.0);\n" +
+            "    gl_PointSize = aPositionSize.w;\n" +
+            "    vColor = aColor;\n" +
+            "}\n";
+
+    private static final String FRAGMENT_SHADER =
+            "#version 330 core\n" +
+            "in vec4 vColor;\n" +
+            "out vec4 fragColor;\n" +
+            "void main() {\n" +
+            "    vec2 d = gl_PointCoord * 2.0 - 1.0;\n" +
+            "    float falloff = 1.0 - dot(d, d);\n" +
+            "    if (falloff <= 0.0) discard;\n" +
+            "    fragColor = vec4(vColor.rgb, vColor.a * falloff);\n" +
+            "}\n";
+
+    private final int capacity;
+    private final JobSystem jobs;
+    private final ArrayList<ParticleEmitter> emitters = new ArrayList<>();
+    private int count;
+
+    // particle columns
+    private final float[] posX, posY, posZ;
+    private final float[] velX, velY, velZ;
+    private final float[] age, lifetime;
+    private final float[] startSize, endSize;
+    private final float[] colorR, colorG, colorB, colorA;
+
+    // global forces
+    private final Vector3f gravity = new Vector3f();
+    private float drag;
+
+    // per step state read by the parallel tasks
+    private float stepDt;
+    private float stepDamping;
+    private long mappedAddress;
+
+    private final JobSystem.RangeTask integrateTask = this::integrate;
+    private final JobSystem.RangeTask writeVerticesTask = this::writeVertices;
+
+    private int seed = 0x2545F491;
+
+    private ShaderProgram shader;
+    private int viewProjectionLocation;
+    private int vao, vbo;
+
+    /**
+     * @description constructor
+     * @param capacity maximum number of live particles; emission stops while the system is full
+     * @param jobs job system used to split simulation and upload across cores
+     */
+    public ParticleSystem(int capacity, JobSystem jobs) {
+        this.capacity = capacity;
+        this.jobs = jobs;
+        this.posX = new float[capacity];
+        this.posY = new float[capacity];
+        this.posZ = new float[capacity];
+        this.velX = new float[capacity];
+        this.velY = new float[capacity];
+        this.velZ = new float[capacity];
+        this.age = new float[capacity];
+        this.lifetime = new float[capacity];
+        this.startSize = new float[capacity];
+        this.endSize = new float[capacity];
+        this.colorR = new float[capacity];
+        this.colorG = new float[capacity];
+        this.colorB = new float[capacity];
+        this.colorA = new float[capacity];
+    }
+
+    /**
+     * @description constructor using the shared job system
+     * @param capacity maximum number of live particles
+     */
+    public ParticleSystem(int capacity) {
+        this(capacity, JobSystem.getDefault());
+    }
+
+    /**
+     * @description creates the GL resources, requires a current context
+     */
+    public void init() {
+        this.shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        this.viewProjectionLocation = this.shader.getUniformLocation("uViewProjection");
+
+        this.vao = glGenVertexArrays();
+        this.vbo = glGenBuffers();
+        glBindVertexArray(this.vao);
+        glBindBuffer(GL_ARRAY_BUFFER, this.vbo);
+        glBufferData(GL_ARRAY_BUFFER, (long) this.capacity * VERTEX_BYTES, GL_STREAM_DRAW);
+        glEnableVertexAttribArray(0);
+        glVertexAttribPointer(0, 4, GL_FLOAT, false, VERTEX_BYTES, 0);
+        glEnableVertexAttribArray(1);
+        glVertexAttribPointer(1, 4, GL_FLOAT, false, VERTEX_BYTES, 4 * Float.BYTES);
+        glBindVertexArray(0);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    /**
+     * @description adds an emitter; emitters are simulated until removed
+     * @param emitter the emitter to add
+     */
+    public void addEmitter(ParticleEmitter emitter) {
+        this.emitters.add(emitter);
+    }
+
+    /**
+     * @description removes an emitter, its live particles keep simulating until they expire
+     * @param emitter the emitter to remove
+     */
+    public void removeEmitter(ParticleEmitter emitter) {
+        this.emitters.remove(emitter);
+    }
+
+    /**
+     * @description advances the simulation: emits, integrates and compacts
+     * @param dt time step in seconds
+     */
+    public void update(float dt) {
+        for (int i = 0; i < this.emitters.size(); i++) {
+            this.emit(this.emitters.get(i), dt);
+        }
+
+        this.stepDt = dt;
+        this.stepDamping = Math.max(0, 1 - this.drag * dt);
+        this.jobs.parallelFor(this.count, MIN_BATCH, this.integrateTask);
+
+        this.compact();
+    }
+
+    /**
+     * @description writes the live particles straight into the mapped vertex buffer and draws them
+     * @param viewProjection the camera's view-projection matrix
+     */
+    public void render(Matrix4f viewProjection) {
+        if (this.count == 0) {
+            return;
+        }
+        glBindBuffer(GL_ARRAY_BUFFER, this.vbo);
+        // invalidating the whole buffer lets the driver hand back fresh storage instead of waiting on the GPU
+        this.mappedAddress = nglMapBufferRange(GL_ARRAY_BUFFER, 0, (long) this.count * VERTEX_BYTES,
+                GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_BUFFER_BIT);
+        if (this.mappedAddress == 0) {
+            glBindBuffer(GL_ARRAY_BUFFER, 0);
+            return;
+        }
+        this.jobs.parallelFor(this.count, MIN_BATCH, this.writeVerticesTask);
+        glUnmapBuffer(GL_ARRAY_BUFFER);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        this.mappedAddress = 0;
+
+        this.shader.bind();
+        this.shader.setUniform(this.viewProjectionLocation, viewProjection);
+
+        glEnable(GL_PROGRAM_POINT_SIZE);
+        glEnable(GL_BLEND);
+        glBlendFunc(GL_SRC_ALPHA, GL_ONE);
+        glDepthMask(false);
+
+        glBindVertexArray(this.vao);
+        glDrawArrays(GL_POINTS, 0, this.count);
+        glBindVertexArray(0);
+
+        glDepthMask(true);
+        glDisable(GL_BLEND);
+        glDisable(GL_PROGRAM_POINT_SIZE);
+        this.shader.unbind();
+    }
+
+    /**
+     * @description kills every live particle
+     */
+    public void clear() {
+        this.count = 0;
+    }
+
+    /**
+     * @description frees the GL resources
+     */
+    public void destroy() {
+        if (this.shader != null) {
+            this.shader.destroy();
+            glDeleteBuffers(this.vbo);
+            glDeleteVertexArrays(this.vao);
+            this.shader = null;
+        }
+    }
+
+    /**
+     * @description getter for the global gravity; mutate it in place to change it
+     * @return gravity acceleration
+     */
+    public Vector3f getGravity() {
+        return this.gravity;
+    }
+
+    /**
+     * @description sets linear drag applied to every particle
+     * @param drag fraction of velocity lost per second
+     */
+    public void setDrag(float drag) {
+        this.drag = drag;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    private void emit(ParticleEmitter emitter, float dt) {
+        int spawn = emitter.pendingBurst;
+        emitter.pendingBurst = 0;
+        if (emitter.isEnabled() && emitter.getRate() > 0) {
+            emitter.emitAccumulator += emitter.getRate() * dt;
+            int continuous = (int) emitter.emitAccumulator;
+            emitter.emitAccumulator -= continuous;
+            spawn += continuous;
+        }
+        spawn = Math.min(spawn, this.capacity - this.count);
+
+        Vector3f p = emitter.getPosition();
+        Vector3f v = emitter.getVelocity();
+        float spread = emitter.getSpread();
+        float lifeRange = emitter.getMaxLifetime() - emitter.getMinLifetime();
+        for (int n = 0; n < spawn; n++) {
+            int i = this.count++;
+            this.posX[i] = p.getX();
+            this.posY[i] = p.getY();
+            this.posZ[i] = p.getZ();
+            this.velX[i] = v.getX() + spread * this.nextSigned();
+            this.velY[i] = v.getY() + spread * this.nextSigned();
+            this.velZ[i] = v.getZ() + spread * this.nextSigned();
+            this.age[i] = 0;
+            this.lifetime[i] = emitter.getMinLifetime() + lifeRange * this.nextUnit();
+            this.startSize[i] = emitter.getStartSize();
+            this.endSize[i] = emitter.getEndSize();
+            this.colorR[i] = emitter.getR();
+            this.colorG[i] = emitter.getG();
+            this.colorB[i] = emitter.getB();
+            this.colorA[i] = emitter.getA();
+        }
+    }
+
+    /**
+     * @description semi-implicit Euler integration over [start, end); each column is walked linearly
+     */
+    private void integrate(int start, int end) {
+        float dt = this.stepDt;
+        float damping = this.stepDamping;
+        float gx = this.gravity.getX() * dt, gy = this.gravity.getY() * dt, gz = this.gravity.getZ() * dt;
+        float[] age = this.age;
+        for (int i = start; i < end; i++) {
+            age[i] += dt;
+        }
+        float[] vx = this.velX, vy = this.velY, vz = this.velZ;
+        for (int i = start; i < end; i++) {
+            vx[i] = (vx[i] + gx) * damping;
+            vy[i] = (vy[i] + gy) * damping;
+            vz[i] = (vz[i] + gz) * damping;
+        }
+        float[] px = this.posX, py = this.posY, pz = this.posZ;
+        for (int i = start; i < end; i++) {
+            px[i] += vx[i] * dt;
+            py[i] += vy[i] * dt;
+            pz[i] += vz[i] * dt;
+        }
+    }
+
+    /**
+     * @description removes expired particles by moving the last live particle into their slot
+     */
+    private void compact() {
+        int i = 0;
+        while (i < this.count) {
+            if (this.age[i] < this.lifetime[i]) {
+                i++;
+                continue;
+            }
+            int last = --this.count;
+            this.posX[i] = this.posX[last];
+            this.posY[i] = this.posY[last];
+            this.posZ[i] = this.posZ[last];
+            this.velX[i] = this.velX[last];
+            this.velY[i] = this.velY[last];
+            this.velZ[i] = this.velZ[last];
+            this.age[i] = this.age[last];
+            this.lifetime[i] = this.lifetime[last];
+            this.startSize[i] = this.startSize[last];
+            this.endSize[i] = this.endSize[last];
+            this.colorR[i] = this.colorR[last];
+            this.colorG[i] = this.colorG[last];
+            this.colorB[i] = this.colorB[last];
+            this.colorA[i] = this.colorA[last];
+        }
+    }
+
+    /**
+     * @description writes interleaved vertices for [start, end) directly into the mapped buffer
+     */
+    private void writeVertices(int start, int end) {
+        long address = this.mappedAddress + (long) start * VERTEX_BYTES;
+        for (int i = start; i < end; i++, address += VERTEX_BYTES) {
+            float t = this.age[i] / this.lifetime[i];
+            memPutFloat(address, this.posX[i]);
+            memPutFloat(address + 4, this.posY[i]);
+            memPutFloat(address + 8, this.posZ[i]);
+            memPutFloat(address + 12, this.startSize[i] + (this.endSize[i] - this.startSize[i]) * t);
+            memPutFloat(address + 16, this.colorR[i]);
+            memPutFloat(address + 20, this.colorG[i]);
+            memPutFloat(address + 24, this.colorB[i]);
+            memPutFloat(address + 28, this.colorA[i] * (1 - t));
+        }
+    }
+
+    /**
+     * @description xorshift random number in [0, 1)
+     */
+    private float nextUnit() {
+        int x = this.seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        this.seed = x;
+        return (x >>> 8) * (1.0f / (1 << 24));
+    }
+
+    /**
+     * @description random number in [-1, 1)
+     */
+    private float nextSigned() {
+        return this.nextUnit() * 2 - 1;
+    }
+}
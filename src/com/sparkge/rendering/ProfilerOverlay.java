@@ -0,0 +1,78 @@
+/**
+ * @description on screen frame timings, CPU phases next to GPU passes, and which side limits the frame
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.core.FramePhase;
+import com.sparkge.core.FrameProfiler;
+
+/**
+ * Draw it between TextRenderer.begin() and end(), usually last in the frame. Every line is rebuilt in a
+ * TextBuilder each frame, so the overlay never allocates.
+ *
+ * The CPU cost of a frame is its input, update and render phases. Present is left out because it mostly waits,
+ * on the GPU or the display. The frame is reported GPU bound when the GPU took longer than that. GPU times are
+ * GpuProfiler.LATENCY frames old, which makes no difference to a steady state reading.
+ */
+public class ProfilerOverlay {
+
+    private static final FramePhase[] PHASES = FramePhase.values();
+    private static final int LINE_CAPACITY = 160;
+
+    private final TextRenderer text;
+    private final TextBuilder cpuLine = new TextBuilder(LINE_CAPACITY);
+    private final TextBuilder gpuLine = new TextBuilder(LINE_CAPACITY);
+    private final TextBuilder boundLine = new TextBuilder(LINE_CAPACITY);
+
+    /**
+     * @description constructor
+     * @param text renderer the overlay draws with
+     */
+    public ProfilerOverlay(TextRenderer text) {
+        this.text = text;
+    }
+
+    /**
+     * @description queues the overlay text for the current batch
+     * @param cpu the engine's frame profiler
+     * @param gpu the window's GPU profiler, or null when there is no GL context
+     * @param x left edge in pixels
+     * @param y top edge in pixels
+     */
+    public void draw(FrameProfiler cpu, GpuProfiler gpu, float x, float y) {
+        this.cpuLine.clear().append("CPU ms");
+        for (FramePhase phase : PHASES) {
+            this.cpuLine.append("  ").append(phase.name().toLowerCase()).append(' ');
+            this.cpuLine.append(cpu.getPhaseNanos(phase) / 1e6, 2);
+        }
+        float lineHeight = this.text.getFont().getLineHeight();
+        this.text.drawText(this.cpuLine, x, y, 1, 1, 1, 1);
+        if (gpu == null) {
+            return;
+        }
+
+        this.gpuLine.clear().append("GPU ms  frame ").append(gpu.getFrameNanos() / 1e6, 2);
+        for (int pass = 0; pass < gpu.getPassCount(); pass++) {
+            this.gpuLine.append("  ").append(gpu.getPassName(pass)).append(' ');
+            this.gpuLine.append(gpu.getPassNanos(pass) / 1e6, 2);
+        }
+        this.text.drawText(this.gpuLine, x, y + lineHeight, 1, 1, 1, 1);
+
+        long cpuNanos = cpu.getPhaseNanos(FramePhase.INPUT) + cpu.getPhaseNanos(FramePhase.UPDATE)
+                + cpu.getPhaseNanos(FramePhase.RENDER);
+        boolean gpuBound = gpu.getFrameNanos() > cpuNanos;
+        this.boundLine.clear().append(gpuBound ? "GPU bound" : "CPU bound");
+        if (gpu.getDroppedFrames() > 0) {
+            this.boundLine.append("  (").append(gpu.getDroppedFrames()).append(" GPU frames unread)");
+        }
+        if (gpuBound) {
+            this.text.drawText(this.boundLine, x, y + 2 * lineHeight, 1, 0.5f, 0.3f, 1);
+        } else {
+            this.text.drawText(this.boundLine, x, y + 2 * lineHeight, 0.4f, 1, 0.4f, 1);
+        }
+    }
+}
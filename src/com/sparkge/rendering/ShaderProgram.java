@@ -0,0 +1,144 @@
+/**
+ * @description compiles and links GLSL shader programs
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | matrix uploads use the MathStack
+ *  2026-10-19 | Thomas Wilkins | uniform block bindings
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.math.MathStack;
+import com.sparkge.math.Matrix4f;
+
+import static org.lwjgl.opengl.GL11.GL_FALSE;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL31.*;
+
+public class ShaderProgram {
+
+    private int programId;
+
+    /**
+     * @description constructor, compiles and links the program. Requires a current GL context.
+     * @param vertexSource vertex shader source
+     * @param fragmentSource fragment shader source
+     */
+    public ShaderProgram(String vertexSource, String fragmentSource) {
+        int vertexShader = compile(GL_VERTEX_SHADER, vertexSource);
+        int fragmentShader = compile(GL_FRAGMENT_SHADER, fragmentSource);
+
+        this.programId = glCreateProgram();
+        glAttachShader(this.programId, vertexShader);
+        glAttachShader(this.programId, fragmentShader);
+        glLinkProgram(this.programId);
+
+        // the shader objects are no longer needed once linked
+        glDetachShader(this.programId, vertexShader);
+        glDetachShader(this.programId, fragmentShader);
+        glDeleteShader(vertexShader);
+        glDeleteShader(fragmentShader);
+
+        if (glGetProgrami(this.programId, GL_LINK_STATUS) == GL_FALSE) {
+            String log = glGetProgramInfoLog(this.programId);
+            glDeleteProgram(this.programId);
+            throw new RuntimeException("Failed to link shader program: " + log);
+        }
+    }
+
+    /**
+     * @description binds the program for subsequent draws
+     */
+    public void bind() {
+        glUseProgram(this.programId);
+    }
+
+    /**
+     * @description unbinds any program
+     */
+    public void unbind() {
+        glUseProgram(0);
+    }
+
+    /**
+     * @description looks up a uniform location; do this once at load time rather than per frame
+     * @param name uniform name
+     * @return uniform location, or -1 if the uniform is not active
+     */
+    public int getUniformLocation(String name) {
+        return glGetUniformLocation(this.programId, name);
+    }
+
+    /**
+     * @description assigns a uniform block to a binding point; do this once at load time
+     * @param blockName name of the uniform block
+     * @param binding binding point its buffer range is bound to
+     * @return false if the block is not active in this program
+     */
+    public boolean bindUniformBlock(String blockName, int binding) {
+        int index = glGetUniformBlockIndex(this.programId, blockName);
+        if (index == GL_INVALID_INDEX) {
+            return false;
+        }
+        glUniformBlockBinding(this.programId, index, binding);
+        return true;
+    }
+
+    /**
+     * @description uploads a matrix uniform, the program must be bound
+     * @param location uniform location
+     * @param matrix row-major matrix, transposed to GL's column-major order on upload
+     */
+    public void setUniform(int location, Matrix4f matrix) {
+        try (MathStack stack = MathStack.push()) {
+            glUniformMatrix4fv(location, true, matrix.get(stack.floats(16)));
+        }
+    }
+
+    /**
+     * @description uploads a float uniform, the program must be bound
+     * @param location uniform location
+     * @param value uniform value
+     */
+    public void setUniform(int location, float value) {
+        glUniform1f(location, value);
+    }
+
+    /**
+     * @description uploads an int or sampler uniform, the program must be bound
+     * @param location uniform location
+     * @param value uniform value
+     */
+    public void setUniform(int location, int value) {
+        glUniform1i(location, value);
+    }
+
+    /**
+     * @description deletes the program
+     */
+    public void destroy() {
+        glDeleteProgram(this.programId);
+        this.programId = 0;
+    }
+
+    /**
+     * @description getter for the GL program id
+     * @return program id
+     */
+    public int getProgramId() {
+        return this.programId;
+    }
+
+    private static int compile(int type, String source) {
+        int shader = glCreateShader(type);
+        glShaderSource(shader, source);
+        glCompileShader(shader);
+        if (glGetShaderi(shader, GL_COMPILE_STATUS) == GL_FALSE) {
+            String log = glGetShaderInfoLog(shader);
+            glDeleteShader(shader);
+            throw new RuntimeException("Failed to compile shader: " + log);
+        }
+        return shader;
+    }
+}
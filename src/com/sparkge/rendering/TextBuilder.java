@@ -0,0 +1,116 @@
+/**
+ * @description reusable character buffer for building text that changes every frame without allocating
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Truncate integers to whole leading digits
+ */
+
+package com.sparkge.rendering;
+
+/**
+ * Keep one builder per piece of changing HUD text and rebuild it each frame, e.g.
+ * fps.clear().append("FPS ").append(framesPerSecond), then draw it with TextRenderer.drawText.
+ */
+public class TextBuilder {
+
+    private static final String LONG_MIN = "-9223372036854775808";
+
+    private final char[] chars;
+    private int length;
+
+    /**
+     * @description constructor
+     * @param capacity maximum number of characters, further appends are truncated
+     */
+    public TextBuilder(int capacity) {
+        this.chars = new char[capacity];
+    }
+
+    public TextBuilder clear() {
+        this.length = 0;
+        return this;
+    }
+
+    public TextBuilder append(char c) {
+        if (this.length < this.chars.length) {
+            this.chars[this.length++] = c;
+        }
+        return this;
+    }
+
+    public TextBuilder append(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            this.append(s.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * @description appends the decimal digits of an integer
+     * @param value the value to append
+     * @return this
+     */
+    public TextBuilder append(long value) {
+        if (value == Long.MIN_VALUE) {
+            return this.append(LONG_MIN);
+        }
+        if (value < 0) {
+            this.append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        // keep the leading digits that fit, so a truncated number reads as its start rather than its end
+        int written = Math.min(digits, this.chars.length - this.length);
+        for (int i = written; i < digits; i++) {
+            value /= 10;
+        }
+        for (int i = this.length + written - 1; i >= this.length; i--) {
+            this.chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        this.length += written;
+        return this;
+    }
+
+    /**
+     * @description appends a value rounded to a fixed number of decimal places
+     * @param value the value to append
+     * @param decimals number of digits after the decimal point
+     * @return this
+     */
+    public TextBuilder append(double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return this.append(Double.isNaN(value) ? "NaN" : value > 0 ? "Inf" : "-Inf");
+        }
+        if (value < 0) {
+            this.append('-');
+            value = -value;
+        }
+        long multiplier = 1;
+        for (int i = 0; i < decimals; i++) {
+            multiplier *= 10;
+        }
+        long scaled = Math.round(value * multiplier);
+        this.append(scaled / multiplier);
+        if (decimals > 0) {
+            this.append('.');
+            long fraction = scaled % multiplier;
+            for (long digit = multiplier / 10; digit > 0; digit /= 10) {
+                this.append((char) ('0' + (fraction / digit) % 10));
+            }
+        }
+        return this;
+    }
+
+    public char charAt(int index) {
+        return this.chars[index];
+    }
+
+    public int length() {
+        return this.length;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * @description a laid out run of glyphs for a string: codepoints and their pen positions
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+/**
+ * Layouts store codepoints rather than atlas slots, so a layout stays valid when glyphs are evicted from and
+ * re-baked into the atlas.
+ */
+public class TextLayout {
+
+    final int[] codepoints;
+    final float[] penX;
+    final float width;
+
+    /**
+     * @description constructor, lays out a single line of text
+     * @param font font used for advances and kerning
+     * @param text the text
+     */
+    public TextLayout(Font font, String text) {
+        this.codepoints = new int[text.length()];
+        this.penX = new float[text.length()];
+        float pen = 0;
+        int previous = -1;
+        for (int i = 0; i < text.length(); i++) {
+            int codepoint = text.charAt(i);
+            if (previous >= 0) {
+                pen += font.getKerning(previous, codepoint);
+            }
+            this.codepoints[i] = codepoint;
+            this.penX[i] = pen;
+            pen += font.getAdvance(codepoint);
+            previous = codepoint;
+        }
+        this.width = pen;
+    }
+
+    /**
+     * @description getter for the width of the run
+     * @return width in pixels
+     */
+    public float getWidth() {
+        return this.width;
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * @description batches all screen space text of a frame into a single draw call
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import java.nio.FloatBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.system.MemoryUtil.memAllocFloat;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+/**
+ * Text is positioned in pixels from the top left of the screen. Call begin(), any number of drawText(), then
+ * end(), which uploads every quad with one buffer write and issues one draw.
+ *
+ * Layouts of String text are cached, so static labels are only laid out once. Text that changes every frame
+ * should be built in a TextBuilder, which is laid out as it is drawn and never creates a String.
+ */
+public class TextRenderer {
+
+    // x, y, u, v, r, g, b, a
+    private static final int VERTEX_FLOATS = 8;
+    private static final int VERTICES_PER_GLYPH = 6;
+    private static final int LAYOUT_CACHE_SIZE = 256;
+
+    private static final String VERTEX_SHADER =
+            "#version 330 core\n" +
+            "layout(location = 0) in vec2 aPosition;\n" +
+            "layout(location = 1) in vec2 aTexCoord;\n" +
+            "layout(location = 2) in vec4 aColor;\n" +
+            "uniform vec2 uScreenSize;\n" +
+            "out vec2 vTexCoord;\n" +
+            "out vec4 vColor;\n" +
+            "void main() {\n" +
+            "    vec2 ndc = aPosition / uScreenSize * 2.0 - 1.0;\n" +
+            "    gl_Position = vec4(ndc.x, -ndc.y, 0.0, 1.0);\n" +
+            "    vTexCoord = aTexCoord;\n" +
+            "    vColor = aColor;\n" +
+            "}\n";
+
+    private static final String FRAGMENT_SHADER =
+            "#version 330 core\n" +
+            "in vec2 vTexCoord;\n" +
+            "in vec4 vColor;\n" +
+            "uniform sampler2D uAtlas;\n" +
+            "out vec4 fragColor;\n" +
+            "void main() {\n" +
+            "    fragColor = vec4(vColor.rgb, vColor.a * texture(uAtlas, vTexCoord).r);\n" +
+            "}\n";
+
+    private final Font font;
+    private final int maxGlyphs;
+    private final LinkedHashMap<String, TextLayout> layouts;
+
+    private FloatBuffer vertices;
+    private int glyphCount;
+    private int screenWidth, screenHeight;
+
+    private ShaderProgram shader;
+    private int screenSizeLocation;
+    private int vao, vbo;
+
+    /**
+     * @description constructor
+     * @param font the font every string in the batch is drawn with
+     * @param maxGlyphs maximum glyphs per frame, further glyphs are dropped
+     */
+    public TextRenderer(Font font, int maxGlyphs) {
+        this.font = font;
+        this.maxGlyphs = maxGlyphs;
+        // access ordered, so the least recently drawn layout is evicted first
+        this.layouts = new LinkedHashMap<String, TextLayout>(LAYOUT_CACHE_SIZE * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TextLayout> eldest) {
+                return this.size() > LAYOUT_CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * @description creates the GL resources, requires a current context
+     */
+    public void init() {
+        this.shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        this.screenSizeLocation = this.shader.getUniformLocation("uScreenSize");
+        this.shader.bind();
+        this.shader.setUniform(this.shader.getUniformLocation("uAtlas"), 0);
+        this.shader.unbind();
+
+        this.vertices = memAllocFloat(this.maxGlyphs * VERTICES_PER_GLYPH * VERTEX_FLOATS);
+        int stride = VERTEX_FLOATS * Float.BYTES;
+        this.vao = glGenVertexArrays();
+        this.vbo = glGenBuffers();
+        glBindVertexArray(this.vao);
+        glBindBuffer(GL_ARRAY_BUFFER, this.vbo);
+        glBufferData(GL_ARRAY_BUFFER, (long) this.vertices.capacity() * Float.BYTES, GL_STREAM_DRAW);
+        glEnableVertexAttribArray(0);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, stride, 0);
+        glEnableVertexAttribArray(1);
+        glVertexAttribPointer(1, 2, GL_FLOAT, false, stride, 2 * Float.BYTES);
+        glEnableVertexAttribArray(2);
+        glVertexAttribPointer(2, 4, GL_FLOAT, false, stride, 4 * Float.BYTES);
+        glBindVertexArray(0);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    /**
+     * @description starts a new batch
+     * @param screenWidth target width in pixels
+     * @param screenHeight target height in pixels
+     */
+    public void begin(int screenWidth, int screenHeight) {
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.glyphCount = 0;
+        this.vertices.clear();
+        this.font.nextFrame();
+    }
+
+    /**
+     * @description queues a string, using a cached layout when the same string was drawn recently
+     * @param text the text
+     * @param x left edge in pixels
+     * @param y top edge in pixels
+     */
+    public void drawText(String text, float x, float y, float r, float g, float b, float a) {
+        TextLayout layout = this.layouts.get(text);
+        if (layout == null) {
+            layout = new TextLayout(this.font, text);
+            this.layouts.put(text, layout);
+        }
+        float baseline = y + this.font.getAscent();
+        for (int i = 0; i < layout.codepoints.length; i++) {
+            this.addGlyph(layout.codepoints[i], x + layout.penX[i], baseline, r, g, b, a);
+        }
+    }
+
+    /**
+     * @description queues the contents of a builder, laid out on the fly without allocating
+     * @param text the text
+     * @param x left edge in pixels
+     * @param y top edge in pixels
+     */
+    public void drawText(TextBuilder text, float x, float y, float r, float g, float b, float a) {
+        float baseline = y + this.font.getAscent();
+        float pen = x;
+        int previous = -1;
+        for (int i = 0; i < text.length(); i++) {
+            int codepoint = text.charAt(i);
+            if (previous >= 0) {
+                pen += this.font.getKerning(previous, codepoint);
+            }
+            this.addGlyph(codepoint, pen, baseline, r, g, b, a);
+            pen += this.font.getAdvance(codepoint);
+            previous = codepoint;
+        }
+    }
+
+    /**
+     * @description uploads the batch with a single buffer write and draws it with a single call
+     */
+    public void end() {
+        if (this.glyphCount == 0) {
+            return;
+        }
+        this.vertices.flip();
+        glBindBuffer(GL_ARRAY_BUFFER, this.vbo);
+        // orphan the previous frame's storage so the write doesn't wait on the GPU
+        glBufferData(GL_ARRAY_BUFFER, (long) this.vertices.capacity() * Float.BYTES, GL_STREAM_DRAW);
+        glBufferSubData(GL_ARRAY_BUFFER, 0, this.vertices);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+
+        this.shader.bind();
+        glUniform2f(this.screenSizeLocation, this.screenWidth, this.screenHeight);
+        glActiveTexture(GL_TEXTURE0);
+        glBindTexture(GL_TEXTURE_2D, this.font.getTexture());
+
+        boolean depthTest = glIsEnabled(GL_DEPTH_TEST);
+        glDisable(GL_DEPTH_TEST);
+        glEnable(GL_BLEND);
+        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+
+        glBindVertexArray(this.vao);
+        glDrawArrays(GL_TRIANGLES, 0, this.glyphCount * VERTICES_PER_GLYPH);
+        glBindVertexArray(0);
+
+        glDisable(GL_BLEND);
+        if (depthTest) {
+            glEnable(GL_DEPTH_TEST);
+        }
+        glBindTexture(GL_TEXTURE_2D, 0);
+        this.shader.unbind();
+    }
+
+    /**
+     * @description getter for the number of glyphs in the current batch
+     * @return glyph count
+     */
+    public int getGlyphCount() {
+        return this.glyphCount;
+    }
+
+    public Font getFont() {
+        return this.font;
+    }
+
+    /**
+     * @description frees the GL resources, the font is owned by the caller
+     */
+    public void destroy() {
+        if (this.shader != null) {
+            this.shader.destroy();
+            glDeleteBuffers(this.vbo);
+            glDeleteVertexArrays(this.vao);
+            memFree(this.vertices);
+            this.shader = null;
+        }
+    }
+
+    private void addGlyph(int codepoint, float penX, float baseline, float r, float g, float b, float a) {
+        if (this.glyphCount == this.maxGlyphs || codepoint == ' ') {
+            return;
+        }
+        int slot = this.font.getGlyphSlot(codepoint);
+        if (slot < 0 || this.font.getSlotWidth(slot) == 0) {
+            return;
+        }
+        float x0 = penX + this.font.getSlotOffsetX(slot);
+        float y0 = baseline + this.font.getSlotOffsetY(slot);
+        float x1 = x0 + this.font.getSlotWidth(slot);
+        float y1 = y0 + this.font.getSlotHeight(slot);
+        float texel = 1.0f / this.font.getAtlasSize();
+        float u0 = this.font.getSlotU(slot);
+        float v0 = this.font.getSlotV(slot);
+        float u1 = u0 + this.font.getSlotWidth(slot) * texel;
+        float v1 = v0 + this.font.getSlotHeight(slot) * texel;
+
+        this.putVertex(x0, y0, u0, v0, r, g, b, a);
+        this.putVertex(x0, y1, u0, v1, r, g, b, a);
+        this.putVertex(x1, y1, u1, v1, r, g, b, a);
+        this.putVertex(x0, y0, u0, v0, r, g, b, a);
+        this.putVertex(x1, y1, u1, v1, r, g, b, a);
+        this.putVertex(x1, y0, u1, v0, r, g, b, a);
+        this.glyphCount++;
+    }
+
+    private void putVertex(float x, float y, float u, float v, float r, float g, float b, float a) {
+        this.vertices.put(x).put(y).put(u).put(v).put(r).put(g).put(b).put(a);
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * @description mipmapped RGBA8 2D texture
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL30.glGenerateMipmap;
+
+public class Texture {
+
+    private final int width;
+    private final int height;
+    private int id;
+
+    /**
+     * @description constructor, uploads the image; requires a current context. The image can be freed afterwards
+     * @param image decoded pixels
+     */
+    public Texture(ImageData image) {
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.id = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, this.id);
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 4);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, this.width, this.height, 0, GL_RGBA, GL_UNSIGNED_BYTE,
+                image.getPixels());
+        glGenerateMipmap(GL_TEXTURE_2D);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR_MIPMAP_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        glBindTexture(GL_TEXTURE_2D, 0);
+    }
+
+    /**
+     * @description binds the texture to a texture unit
+     * @param unit texture unit index, 0 for GL_TEXTURE0
+     */
+    public void bind(int unit) {
+        glActiveTexture(GL_TEXTURE0 + unit);
+        glBindTexture(GL_TEXTURE_2D, this.id);
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @description getter for the approximate GPU memory used, including mipmaps
+     * @return size in bytes
+     */
+    public long getSizeBytes() {
+        return (long) this.width * this.height * 4 * 4 / 3;
+    }
+
+    /**
+     * @description frees the GL texture
+     */
+    public void destroy() {
+        if (this.id != 0) {
+            glDeleteTextures(this.id);
+            this.id = 0;
+        }
+    }
+}
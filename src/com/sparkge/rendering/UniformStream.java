@@ -0,0 +1,241 @@
+/**
+ * @description ring-buffered uniform buffer that is written once per frame and bound per draw by offset
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.rendering;
+
+import com.sparkge.core.Log;
+import com.sparkge.math.Matrix4f;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL11.glGetInteger;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.glBindBufferRange;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT;
+import static org.lwjgl.opengl.GL32.*;
+import static org.lwjgl.system.MemoryUtil.*;
+
+/**
+ * A frame packs every uniform block it will draw with (the camera, then per-object constants) into a CPU
+ * staging buffer with allocate() and the put methods, which follow std140 rules. upload() copies the whole
+ * frame into its segment of the GL buffer with a single write, and each draw then only calls bind() with its
+ * block's offset, instead of a glUniform call per value.
+ *
+ *     stream.begin();
+ *     int camera = camera.writeUniforms(stream);
+ *     for each object: offsets[i] = stream.allocate(OBJECT_SIZE); stream.putMatrix(offsets[i], model); ...
+ *     stream.upload();
+ *     stream.bind(Camera.UNIFORM_BINDING, camera, Camera.UNIFORM_BLOCK_SIZE);
+ *     for each object: stream.bind(OBJECT_BINDING, offsets[i], OBJECT_SIZE); draw
+ *     stream.end();
+ *
+ * The GL buffer holds one segment per frame in flight. end() fences the segment and upload() waits on the
+ * fence left by the frame that last used it, which only blocks when the GPU is more than that many frames
+ * behind.
+ */
+public class UniformStream {
+
+    private static final long FENCE_TIMEOUT_NANOS = 1_000_000_000L;
+
+    private final int frameCapacity;
+    private final int framesInFlight;
+    private int alignment;
+    private int segmentSize;
+
+    private ByteBuffer staging;
+    private long stagingAddress;
+    private int used;
+
+    private int ubo;
+    private final long[] fences;
+    private int segment;
+    private long segmentOffset;
+    private boolean uploaded;
+    private long fenceWaits;
+
+    /**
+     * @description constructor
+     * @param frameCapacity bytes of uniform data one frame can pack
+     * @param framesInFlight frames the GPU may lag behind before upload() waits, usually 2 or 3
+     */
+    public UniformStream(int frameCapacity, int framesInFlight) {
+        if (frameCapacity <= 0 || framesInFlight <= 0) {
+            throw new IllegalArgumentException("Uniform stream capacity and frames in flight must be positive");
+        }
+        this.frameCapacity = frameCapacity;
+        this.framesInFlight = framesInFlight;
+        this.fences = new long[framesInFlight];
+    }
+
+    /**
+     * @description creates the GL buffer, requires a current context
+     */
+    public void init() {
+        this.alignment = Math.max(16, glGetInteger(GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT));
+        this.segmentSize = this.align(this.frameCapacity);
+        this.staging = memAlloc(this.frameCapacity);
+        this.stagingAddress = memAddress(this.staging);
+
+        this.ubo = glGenBuffers();
+        glBindBuffer(GL_UNIFORM_BUFFER, this.ubo);
+        glBufferData(GL_UNIFORM_BUFFER, (long) this.segmentSize * this.framesInFlight, GL_STREAM_DRAW);
+        glBindBuffer(GL_UNIFORM_BUFFER, 0);
+        this.segment = this.framesInFlight - 1;
+    }
+
+    /**
+     * @description starts packing a new frame into the next segment
+     */
+    public void begin() {
+        this.segment = (this.segment + 1) % this.framesInFlight;
+        this.segmentOffset = (long) this.segment * this.segmentSize;
+        this.used = 0;
+        this.uploaded = false;
+    }
+
+    /**
+     * @description reserves space for a uniform block, aligned for glBindBufferRange
+     * @param size block size in bytes
+     * @return offset of the block in this frame
+     */
+    public int allocate(int size) {
+        int offset = this.align(this.used);
+        if (this.uploaded) {
+            throw new IllegalStateException("Uniform stream already uploaded this frame");
+        }
+        if (offset + size > this.frameCapacity) {
+            throw new IllegalStateException("Uniform stream full, " + size + " bytes requested with "
+                    + Math.max(0, this.frameCapacity - offset) + " free of " + this.frameCapacity);
+        }
+        this.used = offset + size;
+        return offset;
+    }
+
+    /**
+     * @description writes a mat4 in std140 (column-major) order
+     * @param offset byte offset in the frame, 16 byte aligned
+     * @param matrix row-major matrix
+     */
+    public void putMatrix(int offset, Matrix4f matrix) {
+        for (int col = 0; col < 4; col++) {
+            for (int row = 0; row < 4; row++) {
+                this.staging.putFloat(offset, matrix.get(row, col));
+                offset += Float.BYTES;
+            }
+        }
+    }
+
+    /**
+     * @description writes a vec4, or a vec3 with a padding w, which std140 gives the same 16 bytes
+     * @param offset byte offset in the frame, 16 byte aligned
+     */
+    public void putVector(int offset, float x, float y, float z, float w) {
+        this.staging.putFloat(offset, x);
+        this.staging.putFloat(offset + 4, y);
+        this.staging.putFloat(offset + 8, z);
+        this.staging.putFloat(offset + 12, w);
+    }
+
+    /**
+     * @description writes a float
+     * @param offset byte offset in the frame, 4 byte aligned
+     */
+    public void putFloat(int offset, float value) {
+        this.staging.putFloat(offset, value);
+    }
+
+    /**
+     * @description writes an int
+     * @param offset byte offset in the frame, 4 byte aligned
+     */
+    public void putInt(int offset, int value) {
+        this.staging.putInt(offset, value);
+    }
+
+    /**
+     * @description copies the packed frame into its segment of the GL buffer with one write
+     */
+    public void upload() {
+        long fence = this.fences[this.segment];
+        if (fence != NULL) {
+            // the segment was last used framesInFlight frames ago, normally long finished
+            int status = glClientWaitSync(fence, 0, 0);
+            if (status == GL_TIMEOUT_EXPIRED) {
+                this.fenceWaits++;
+                status = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NANOS);
+                if (status == GL_TIMEOUT_EXPIRED || status == GL_WAIT_FAILED) {
+                    Log.warn("uniform stream segment {} still in use after waiting", this.segment);
+                }
+            }
+            glDeleteSync(fence);
+            this.fences[this.segment] = NULL;
+        }
+        if (this.used > 0) {
+            glBindBuffer(GL_UNIFORM_BUFFER, this.ubo);
+            nglBufferSubData(GL_UNIFORM_BUFFER, this.segmentOffset, this.used, this.stagingAddress);
+            glBindBuffer(GL_UNIFORM_BUFFER, 0);
+        }
+        this.uploaded = true;
+    }
+
+    /**
+     * @description binds a block packed this frame to a uniform binding point
+     * @param binding binding point the shader's block is assigned to
+     * @param offset offset returned by allocate
+     * @param size block size in bytes
+     */
+    public void bind(int binding, int offset, int size) {
+        glBindBufferRange(GL_UNIFORM_BUFFER, binding, this.ubo, this.segmentOffset + offset, size);
+    }
+
+    /**
+     * @description fences the frame's segment once every draw using it has been submitted
+     */
+    public void end() {
+        if (this.uploaded) {
+            this.fences[this.segment] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        }
+    }
+
+    /**
+     * @description getter for the bytes packed this frame, including alignment padding
+     * @return bytes used
+     */
+    public int getBytesUsed() {
+        return this.used;
+    }
+
+    /**
+     * @description getter for how often upload() had to wait for the GPU
+     * @return wait count
+     */
+    public long getFenceWaits() {
+        return this.fenceWaits;
+    }
+
+    /**
+     * @description frees the GL buffer, fences and staging memory
+     */
+    public void destroy() {
+        if (this.ubo != 0) {
+            for (int i = 0; i < this.fences.length; i++) {
+                if (this.fences[i] != NULL) {
+                    glDeleteSync(this.fences[i]);
+                    this.fences[i] = NULL;
+                }
+            }
+            glDeleteBuffers(this.ubo);
+            memFree(this.staging);
+            this.ubo = 0;
+        }
+    }
+
+    private int align(int offset) {
+        return (offset + this.alignment - 1) / this.alignment * this.alignment;
+    }
+}
@@ -3,6 +3,14 @@
  * @author Jeffrey Underdown | junderdown@radialspark.com
  * @history
  *  2018-05-26 | junderdown | Created
+ *  2026-10-19 | Thomas Wilkins | request a 3.3 core context for shader based renderers
+ *  2026-10-19 | Thomas Wilkins | split clear out of update
+ *  2026-10-19 | Thomas Wilkins | added asynchronous frame capture
+ *  2026-10-19 | Thomas Wilkins | added offscreen mode
+ *  2026-10-19 | Thomas Wilkins | added GPU pass timing
+ *  2026-10-19 | Thomas Wilkins | added dynamic resolution scene rendering
+ *  2026-10-19 | Thomas Wilkins | added low latency mode with frame pacing and late polling
+ *  2026-10-19 | Thomas Wilkins | dynamic resolution targets the monitor's refresh rate
  */
 
 package com.sparkge.rendering;
@@ -16,14 +24,35 @@ import java.nio.*;
 import static org.lwjgl.glfw.Callbacks.*;
 import static org.lwjgl.glfw.GLFW.*;
 import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL30.*;
 import static org.lwjgl.system.MemoryStack.*;
 import static org.lwjgl.system.MemoryUtil.*;
 
 public class Window {
 
+    private static final int MAX_GPU_PASSES = 16;
+    // assumed when the monitor doesn't report its refresh rate
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
     private String title;
     private int width, height;
     private long contextHandle;
+    private FrameCapture frameCapture;
+    private boolean offscreen;
+    private Framebuffer framebuffer;
+    private GpuProfiler gpuProfiler;
+    private DynamicResolution dynamicResolution;
+    // the scene target while scaling, sized for the largest scale; the scene uses its lower left corner
+    private Framebuffer sceneTarget;
+    private int framebufferWidth, framebufferHeight;
+    private int sceneWidth, sceneHeight;
+    private boolean sceneResolved = true;
+    private boolean lowLatency;
+    private FramePacer framePacer;
+    private int swapInterval;
+    private long lastPresentNanos;
+    // the primary monitor's refresh period, 0 offscreen or when it's unknown
+    private long refreshNanos;
 
     /**
      * @description constructor
@@ -32,9 +61,24 @@ public class Window {
      * @param height window height in pixels
      */
     public Window(String title, int width, int height) {
+        this(title, width, height, false);
+    }
+
+    /**
+     * @description constructor. An offscreen window never becomes visible: it renders into a framebuffer
+     * object of the given size and presenting just waits for the GPU to finish, so renderer cost can be
+     * measured without a display's refresh rate getting in the way. GLFW still needs a display connection,
+     * on a GPU-less Linux machine run under Xvfb with LIBGL_ALWAYS_SOFTWARE=1 to use Mesa llvmpipe.
+     * @param title window title
+     * @param width window or render target width in pixels
+     * @param height window or render target height in pixels
+     * @param offscreen true to render to a hidden context's framebuffer object
+     */
+    public Window(String title, int width, int height, boolean offscreen) {
         this.title = title;
         this.width = width;
         this.height = height;
+        this.offscreen = offscreen;
     }
 
     /**
@@ -44,11 +88,84 @@ public class Window {
 
         this.initGLFW();
 
-        // Create the window
-        this.contextHandle = glfwCreateWindow(this.width, this.height, this.title, NULL, NULL);
+        // Create the window, an offscreen window only needs a context so keep it tiny
+        this.contextHandle = this.offscreen
+                ? glfwCreateWindow(1, 1, this.title, NULL, NULL)
+                : glfwCreateWindow(this.width, this.height, this.title, NULL, NULL);
         if ( this.contextHandle == NULL )
             throw new RuntimeException("Failed to create the GLFW window");
 
+        if ( !this.offscreen ) {
+            this.centerWindow();
+        }
+
+        // Make the OpenGL context current
+        glfwMakeContextCurrent(this.contextHandle);
+        // Enable v-sync, offscreen rendering runs unthrottled
+        this.swapInterval = this.offscreen ? 0 : 1;
+        glfwSwapInterval(this.swapInterval);
+        if ( !this.offscreen ) {
+            GLFWVidMode vidmode = glfwGetVideoMode(glfwGetPrimaryMonitor());
+            if ( vidmode != null && vidmode.refreshRate() > 0 ) {
+                this.refreshNanos = DynamicResolution.refreshNanos(vidmode.refreshRate());
+            }
+        }
+        if ( this.lowLatency && !this.offscreen ) {
+            boolean tear = glfwExtensionSupported("GLX_EXT_swap_control_tear")
+                    || glfwExtensionSupported("WGL_EXT_swap_control_tear");
+            long pacerRefresh = this.refreshNanos > 0
+                    ? this.refreshNanos : DynamicResolution.refreshNanos(DEFAULT_REFRESH_RATE);
+            this.framePacer = new FramePacer(pacerRefresh, tear);
+        }
+
+        // This line is critical for LWJGL's interoperation with GLFW's
+        // OpenGL context, or any context that is managed externally.
+        // LWJGL detects the context that is current in the current thread,
+        // creates the GLCapabilities instance and makes the OpenGL
+        // bindings available for use.
+        GL.createCapabilities();
+
+        if ( this.offscreen ) {
+            this.framebuffer = new Framebuffer(this.width, this.height);
+            this.framebuffer.bind();
+        } else {
+            // Make the window visible
+            glfwShowWindow(this.contextHandle);
+        }
+
+        this.gpuProfiler = new GpuProfiler(MAX_GPU_PASSES);
+        this.gpuProfiler.init();
+
+        if ( this.offscreen ) {
+            this.framebufferWidth = this.width;
+            this.framebufferHeight = this.height;
+        } else {
+            // the framebuffer can be larger than the window on high DPI displays, and changes when it's resized
+            try ( MemoryStack stack = stackPush() ) {
+                IntBuffer pWidth = stack.mallocInt(1);
+                IntBuffer pHeight = stack.mallocInt(1);
+                glfwGetFramebufferSize(this.contextHandle, pWidth, pHeight);
+                this.framebufferWidth = pWidth.get(0);
+                this.framebufferHeight = pHeight.get(0);
+            }
+            glfwSetFramebufferSizeCallback(this.contextHandle, (window, width, height) -> {
+                this.framebufferWidth = width;
+                this.framebufferHeight = height;
+            });
+        }
+        if ( this.dynamicResolution != null ) {
+            this.targetRefreshRate();
+            this.createSceneTarget();
+        }
+
+        // Set the clear color
+        glClearColor(1.0f, 0.0f, 0.0f, 0.0f);
+    }
+
+    /**
+     * @description centers the window on the primary monitor
+     */
+    private void centerWindow() {
         // Get the thread stack and push a new frame
         try ( MemoryStack stack = stackPush() ) {
             IntBuffer pWidth = stack.mallocInt(1); // int*
@@ -67,33 +184,97 @@ public class Window {
                     (vidmode.height() - pHeight.get(0)) / 2
             );
         } // the stack frame is popped automatically
+    }
 
-        // Make the OpenGL context current
-        glfwMakeContextCurrent(this.contextHandle);
-        // Enable v-sync
-        glfwSwapInterval(1);
+    /**
+     * @description starts a frame; in low latency mode this waits out the frame pacer's delay and then polls
+     *  for events, so the frame's input is as fresh as possible
+     */
+    public void beginFrame() {
+        if (this.framePacer != null) {
+            this.framePacer.waitForFrameStart();
+            glfwPollEvents();
+        }
+    }
 
-        // This line is critical for LWJGL's interoperation with GLFW's
-        // OpenGL context, or any context that is managed externally.
-        // LWJGL detects the context that is current in the current thread,
-        // creates the GLCapabilities instance and makes the OpenGL
-        // bindings available for use.
-        GL.createCapabilities();
+    /**
+     * @description polls for window events now, e.g. just before rendering to late latch input
+     */
+    public void pollEvents() {
+        glfwPollEvents();
+    }
 
-        // Make the window visible
-        glfwShowWindow(this.contextHandle);
+    /**
+     * @description clears the framebuffer for a new frame. With dynamic resolution this binds the scene target
+     *  with the viewport at the current scale; the scene renders there until beginOverlay()
+     */
+    public void clear() {
+        if (this.sceneTarget != null) {
+            float scale = this.dynamicResolution.getScale();
+            int maxWidth = (int) Math.ceil(this.framebufferWidth * this.dynamicResolution.getMaxScale());
+            int maxHeight = (int) Math.ceil(this.framebufferHeight * this.dynamicResolution.getMaxScale());
+            if (maxWidth > this.sceneTarget.getWidth() || maxHeight > this.sceneTarget.getHeight()) {
+                this.sceneTarget.resize(maxWidth, maxHeight); // the window grew
+            }
+            this.sceneWidth = Math.max(1, Math.min(maxWidth, Math.round(this.framebufferWidth * scale)));
+            this.sceneHeight = Math.max(1, Math.min(maxHeight, Math.round(this.framebufferHeight * scale)));
+            this.sceneTarget.bind();
+            glViewport(0, 0, this.sceneWidth, this.sceneHeight);
+            this.sceneResolved = false;
+        } else if (this.offscreen) {
+            this.framebuffer.bind(); // passes may have bound other targets last frame
+        }
+        glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT); // clear the framebuffer
+    }
 
-        // Set the clear color
-        glClearColor(1.0f, 0.0f, 0.0f, 0.0f);
+    /**
+     * @description ends the scene and switches to the window's framebuffer at native resolution, for the HUD
+     *  and anything else that should stay sharp. With dynamic resolution this upscales the scene to the window;
+     *  otherwise, or when called again in the same frame, it does nothing. update() calls it if the game hasn't.
+     */
+    public void beginOverlay() {
+        if (this.sceneResolved) {
+            return;
+        }
+        this.sceneResolved = true;
+        int target = this.offscreen ? this.framebuffer.getFramebufferId() : 0;
+        glBindFramebuffer(GL_READ_FRAMEBUFFER, this.sceneTarget.getFramebufferId());
+        glBindFramebuffer(GL_DRAW_FRAMEBUFFER, target);
+        glBlitFramebuffer(0, 0, this.sceneWidth, this.sceneHeight,
+                0, 0, this.framebufferWidth, this.framebufferHeight, GL_COLOR_BUFFER_BIT, GL_LINEAR);
+        glBindFramebuffer(GL_FRAMEBUFFER, target);
+        glViewport(0, 0, this.framebufferWidth, this.framebufferHeight);
+        // the overlay draws over the scene, with the window's depth buffer left over from last frame
+        glClear(GL_DEPTH_BUFFER_BIT);
     }
 
     /**
-     * @description updates window
+     * @description presents the frame and polls for window events
      */
     public void update() {
-        glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT); // clear the framebuffer
+        this.beginOverlay();
+        if (this.frameCapture != null) {
+            this.frameCapture.capture(); // read back before the back buffer is swapped away
+        }
 
-        glfwSwapBuffers(this.contextHandle); // swap the color buffers
+        if (this.offscreen) {
+            glFinish(); // nothing to present, wait for the GPU so frames don't queue up unbounded
+        } else if (this.framePacer != null) {
+            this.framePacer.endWork(this.gpuProfiler.getFrameNanos());
+            glfwSwapBuffers(this.contextHandle);
+            // block until the swap is done so no frames queue up in the driver and the next one starts fresh
+            glFinish();
+        } else {
+            glfwSwapBuffers(this.contextHandle); // swap the color buffers
+        }
+        this.lastPresentNanos = System.nanoTime();
+        if (this.framePacer != null) {
+            this.framePacer.presented(this.lastPresentNanos);
+            if (this.framePacer.getSwapInterval() != this.swapInterval) {
+                this.swapInterval = this.framePacer.getSwapInterval();
+                glfwSwapInterval(this.swapInterval);
+            }
+        }
 
         // Poll for window events. The key callback above will only be
         // invoked during this call.
@@ -104,6 +285,23 @@ public class Window {
      * @description destroys window and frees memory
      */
     public void destroy() {
+        if (this.frameCapture != null) {
+            this.frameCapture.destroy();
+            this.frameCapture = null;
+        }
+        if (this.framebuffer != null) {
+            this.framebuffer.destroy();
+            this.framebuffer = null;
+        }
+        if (this.gpuProfiler != null) {
+            this.gpuProfiler.destroy();
+            this.gpuProfiler = null;
+        }
+        if (this.sceneTarget != null) {
+            this.sceneTarget.destroy();
+            this.sceneTarget = null;
+        }
+
         // Free the window callbacks and destroy the window
         glfwFreeCallbacks(this.contextHandle);
         glfwDestroyWindow(this.contextHandle);
@@ -113,6 +311,119 @@ public class Window {
         glfwSetErrorCallback(null).free();
     }
 
+    /**
+     * @description getter for the GPU pass timer; the engine times each frame's render phase with it
+     * @return GPU profiler, null before init
+     */
+    public GpuProfiler getGpuProfiler() {
+        return this.gpuProfiler;
+    }
+
+    /**
+     * @description enables low latency mode: frame start is delayed to just before it's needed, input is
+     *  polled again before rendering and the swap interval drops when frames miss vsync; call before init
+     * @param lowLatency true to enable
+     */
+    public void setLowLatency(boolean lowLatency) {
+        this.lowLatency = lowLatency;
+    }
+
+    /**
+     * @description getter for low latency mode
+     * @return true if input should be late latched before rendering
+     */
+    public boolean isLowLatency() {
+        return this.lowLatency;
+    }
+
+    /**
+     * @description getter for the low latency frame pacer
+     * @return frame pacer, or null outside low latency mode
+     */
+    public FramePacer getFramePacer() {
+        return this.framePacer;
+    }
+
+    /**
+     * @description getter for when the last frame was presented
+     * @return System.nanoTime() after the last buffer swap
+     */
+    public long getLastPresentNanos() {
+        return this.lastPresentNanos;
+    }
+
+    /**
+     * @description renders the scene at a scale of the window resolution chosen by the controller, which the
+     *  engine feeds with frame timings; call before or after init. Once the window is open the controller's
+     *  target becomes the monitor's refresh period, its own target is kept offscreen or when that's unknown
+     * @param dynamicResolution the controller, or null to render at native resolution
+     */
+    public void setDynamicResolution(DynamicResolution dynamicResolution) {
+        this.dynamicResolution = dynamicResolution;
+        if (this.contextHandle == NULL) {
+            return; // init creates the scene target
+        }
+        if (this.sceneTarget != null) {
+            this.beginOverlay();
+            this.sceneTarget.destroy();
+            this.sceneTarget = null;
+        }
+        if (dynamicResolution != null) {
+            this.targetRefreshRate();
+            this.createSceneTarget();
+        }
+    }
+
+    /**
+     * @description getter for the primary monitor's refresh period, read at init
+     * @return nanoseconds per refresh, 0 offscreen or when the monitor doesn't report it
+     */
+    public long getRefreshNanos() {
+        return this.refreshNanos;
+    }
+
+    private void targetRefreshRate() {
+        if (this.refreshNanos > 0) {
+            this.dynamicResolution.setTargetFrameNanos(this.refreshNanos);
+        }
+    }
+
+    /**
+     * @description getter for the dynamic resolution controller
+     * @return the controller, or null when rendering at native resolution
+     */
+    public DynamicResolution getDynamicResolution() {
+        return this.dynamicResolution;
+    }
+
+    /**
+     * @description getter for the width the scene renders at this frame
+     * @return width in pixels
+     */
+    public int getSceneWidth() {
+        return this.sceneTarget != null ? this.sceneWidth : this.framebufferWidth;
+    }
+
+    /**
+     * @description getter for the height the scene renders at this frame
+     * @return height in pixels
+     */
+    public int getSceneHeight() {
+        return this.sceneTarget != null ? this.sceneHeight : this.framebufferHeight;
+    }
+
+    /**
+     * @description creates the scene target at the largest scale of the current framebuffer size
+     */
+    private void createSceneTarget() {
+        float maxScale = this.dynamicResolution.getMaxScale();
+        this.sceneTarget = new Framebuffer((int) Math.ceil(this.framebufferWidth * maxScale),
+                (int) Math.ceil(this.framebufferHeight * maxScale));
+        if (this.offscreen) {
+            this.framebuffer.bind();
+        }
+    }
+
     /**
      * @description returns whether window should close
      * @return true if window should close
@@ -137,6 +448,11 @@ public class Window {
         glfwDefaultWindowHints(); // optional, the current window hints are already the default
         glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE); // the window will stay hidden after creation
         glfwWindowHint(GLFW_RESIZABLE, GLFW_TRUE); // the window will be resizable
+        // renderers use GLSL 330 core shaders, forward compatibility is required on macOS
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MAJOR, 3);
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MINOR, 3);
+        glfwWindowHint(GLFW_OPENGL_PROFILE, GLFW_OPENGL_CORE_PROFILE);
+        glfwWindowHint(GLFW_OPENGL_FORWARD_COMPAT, GLFW_TRUE);
     }
 
     /**
@@ -163,6 +479,44 @@ public class Window {
         return this.height;
     }
 
+    /**
+     * @description returns the frame capture facility, creating it on first use. Must be called on the
+     * render thread after init.
+     * @return frame capture for this window's framebuffer
+     */
+    public FrameCapture getFrameCapture() {
+        if (this.frameCapture == null && this.offscreen) {
+            this.frameCapture = new FrameCapture(this.width, this.height);
+            this.frameCapture.init();
+        } else if (this.frameCapture == null) {
+            try ( MemoryStack stack = stackPush() ) {
+                IntBuffer pWidth = stack.mallocInt(1);
+                IntBuffer pHeight = stack.mallocInt(1);
+                // the framebuffer can be larger than the window on high DPI displays
+                glfwGetFramebufferSize(this.contextHandle, pWidth, pHeight);
+                this.frameCapture = new FrameCapture(pWidth.get(0), pHeight.get(0));
+            }
+            this.frameCapture.init();
+        }
+        return this.frameCapture;
+    }
+
+    /**
+     * @description getter for offscreen mode
+     * @return true if rendering to an offscreen framebuffer
+     */
+    public boolean isOffscreen() {
+        return this.offscreen;
+    }
+
+    /**
+     * @description getter for the offscreen render target
+     * @return the framebuffer, or null for a visible window
+     */
+    public Framebuffer getFramebuffer() {
+        return this.framebuffer;
+    }
+
     /**
      * @description getter for context handle
      * @return context handle
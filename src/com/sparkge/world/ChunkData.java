@@ -0,0 +1,64 @@
+/**
+ * @description a decoded chunk waiting to be uploaded
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.world;
+
+import com.sparkge.rendering.ImageData;
+import com.sparkge.rendering.MeshData;
+
+public class ChunkData {
+
+    private final MeshData mesh;
+    private final ImageData image;
+    private final SpawnPoint[] spawns;
+
+    /**
+     * @description constructor, takes ownership of the mesh and image
+     * @param mesh chunk geometry
+     * @param image chunk texture, or null
+     * @param spawns entity spawns in the chunk
+     */
+    public ChunkData(MeshData mesh, ImageData image, SpawnPoint[] spawns) {
+        this.mesh = mesh;
+        this.image = image;
+        this.spawns = spawns;
+    }
+
+    public MeshData getMesh() {
+        return this.mesh;
+    }
+
+    public ImageData getImage() {
+        return this.image;
+    }
+
+    public SpawnPoint[] getSpawns() {
+        return this.spawns;
+    }
+
+    /**
+     * @description getter for the GPU memory the chunk needs once uploaded
+     * @return size in bytes
+     */
+    public long getUploadBytes() {
+        long bytes = this.mesh.getSizeBytes();
+        if (this.image != null) {
+            bytes += (long) this.image.getWidth() * this.image.getHeight() * 4;
+        }
+        return bytes;
+    }
+
+    /**
+     * @description frees the decoded mesh and image
+     */
+    public void free() {
+        this.mesh.free();
+        if (this.image != null) {
+            this.image.free();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * @description reads and writes the binary chunk geometry and spawn format
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.world;
+
+import com.sparkge.rendering.ImageData;
+import com.sparkge.rendering.MeshData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+/**
+ * Layout, little endian:
+ *  header: int magic 'SGCK', int version, int vertex count, int index count, int spawn count
+ *  vertex count * 8 floats (see MeshData), index count ints,
+ *  spawn count * (int type, float distance, float x, float y, float z)
+ *
+ * Vertex and index data are copied straight into the MeshData, with no per vertex parsing.
+ */
+public class ChunkFile {
+
+    private static final int MAGIC = 0x4B434753;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int SPAWN_BYTES = 5 * Integer.BYTES;
+
+    private ChunkFile() {
+    }
+
+    /**
+     * @description reads a chunk's geometry and spawns
+     * @param file chunk file
+     * @param image decoded chunk texture to attach, or null
+     * @return the chunk data
+     * @throws IOException if the file cannot be read or is not a chunk file
+     */
+    public static ChunkData read(Path file, ImageData image) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a chunk file");
+            }
+            ByteBuffer buffer = memAlloc((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new IOException("Unexpected end of " + file);
+                    }
+                }
+                buffer.flip();
+                if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                    throw new IOException(file + " is not a version " + VERSION + " chunk file");
+                }
+                int vertexCount = buffer.getInt();
+                int indexCount = buffer.getInt();
+                int spawnCount = buffer.getInt();
+                long expected = HEADER_BYTES + (long) vertexCount * MeshData.VERTEX_FLOATS * Float.BYTES
+                        + (long) indexCount * Integer.BYTES + (long) spawnCount * SPAWN_BYTES;
+                if (vertexCount < 0 || indexCount < 0 || spawnCount < 0 || expected != size) {
+                    throw new IOException(file + " is truncated or corrupt");
+                }
+
+                MeshData mesh = new MeshData(vertexCount, indexCount);
+                int verticesEnd = buffer.position() + vertexCount * MeshData.VERTEX_FLOATS * Float.BYTES;
+                int indicesEnd = verticesEnd + indexCount * Integer.BYTES;
+                mesh.getVertices().put(buffer.limit(verticesEnd).asFloatBuffer()).flip();
+                mesh.getIndices().put(buffer.limit(indicesEnd).position(verticesEnd).asIntBuffer()).flip();
+                buffer.limit((int) size).position(indicesEnd);
+
+                SpawnPoint[] spawns = new SpawnPoint[spawnCount];
+                for (int i = 0; i < spawnCount; i++) {
+                    spawns[i] = new SpawnPoint(buffer.getInt(), buffer.getFloat(), buffer.getFloat(),
+                            buffer.getFloat(), buffer.getFloat());
+                }
+                return new ChunkData(mesh, image, spawns);
+            } finally {
+                memFree(buffer);
+            }
+        }
+    }
+
+    /**
+     * @description writes a chunk's geometry and spawns, for level tools
+     * @param file chunk file to create or replace
+     * @param mesh chunk geometry
+     * @param spawns entity spawns in the chunk
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, MeshData mesh, SpawnPoint[] spawns) throws IOException {
+        FloatBuffer vertices = mesh.getVertices().duplicate().clear();
+        IntBuffer indices = mesh.getIndices().duplicate().clear();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + vertices.capacity() * Float.BYTES
+                + indices.capacity() * Integer.BYTES + spawns.length * SPAWN_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(mesh.getVertexCount()).putInt(mesh.getIndexCount())
+                .putInt(spawns.length);
+        buffer.asFloatBuffer().put(vertices);
+        buffer.position(buffer.position() + vertices.capacity() * Float.BYTES);
+        buffer.asIntBuffer().put(indices);
+        buffer.position(buffer.position() + indices.capacity() * Integer.BYTES);
+        for (SpawnPoint spawn : spawns) {
+            buffer.putInt(spawn.getType()).putFloat(spawn.getDistance()).putFloat(spawn.getX())
+                    .putFloat(spawn.getY()).putFloat(spawn.getZ());
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * @description notified on the game thread as chunks stream in and out, e.g. to spawn and despawn entities
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.world;
+
+public interface ChunkListener {
+
+    public void chunkLoaded(WorldChunk chunk);
+    public void chunkUnloaded(WorldChunk chunk);
+}
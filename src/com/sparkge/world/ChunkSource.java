@@ -0,0 +1,27 @@
+/**
+ * @description where a WorldStreamer gets its chunks from
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.world;
+
+import java.io.IOException;
+
+public interface ChunkSource {
+
+    /**
+     * @description getter for the number of chunks in the level
+     * @return chunk count, Integer.MAX_VALUE for endless levels
+     */
+    public int getChunkCount();
+
+    /**
+     * @description reads and decodes a chunk; called on streaming threads, so it must not touch GL
+     * @param index chunk index along the rail
+     * @return the decoded chunk
+     * @throws IOException if the chunk cannot be read
+     */
+    public ChunkData load(int index) throws IOException;
+}
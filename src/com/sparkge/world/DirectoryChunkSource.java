@@ -0,0 +1,64 @@
+/**
+ * @description loads a level's chunks from numbered files in a directory
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Free the texture on any failure to read the chunk
+ */
+
+package com.sparkge.world;
+
+import com.sparkge.rendering.ImageData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Chunk i is chunk_0000.sgc (see ChunkFile) with an optional texture chunk_0000.png next to it. The level ends
+ * at the first missing chunk file.
+ */
+public class DirectoryChunkSource implements ChunkSource {
+
+    private final Path directory;
+    private final int chunkCount;
+
+    /**
+     * @description constructor
+     * @param directory level directory
+     */
+    public DirectoryChunkSource(Path directory) {
+        this.directory = directory;
+        int count = 0;
+        while (Files.exists(this.chunkPath(count, ".sgc"))) {
+            count++;
+        }
+        this.chunkCount = count;
+    }
+
+    @Override
+    public int getChunkCount() {
+        return this.chunkCount;
+    }
+
+    @Override
+    public ChunkData load(int index) throws IOException {
+        Path texture = this.chunkPath(index, ".png");
+        ImageData image = Files.exists(texture) ? ImageData.load(texture) : null;
+        boolean loaded = false;
+        try {
+            ChunkData chunk = ChunkFile.read(this.chunkPath(index, ".sgc"), image);
+            loaded = true;
+            return chunk;
+        } finally {
+            // once read the chunk owns the image, otherwise nothing does
+            if (!loaded && image != null) {
+                image.free();
+            }
+        }
+    }
+
+    private Path chunkPath(int index, String extension) {
+        return this.directory.resolve(String.format("chunk_%04d%s", index, extension));
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * @description saves and reloads a large synthetic world and reports how long each step takes
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.world;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Usage: SaveBenchmark [entities] [saves] [directory]
+ *
+ * The world is a body store like the physics module's: position, velocity, orientation and angular velocity
+ * columns, a few material columns, an id column and a flags column. Reports the game thread capture time,
+ * the background write time and the load time, and checks the loaded columns match what was saved.
+ */
+public class SaveBenchmark {
+
+    private static final String[] FLOAT_COLUMNS = {
+            "px", "py", "pz", "vx", "vy", "vz", "qx", "qy", "qz", "qw", "wx", "wy", "wz", "radius", "mass"
+    };
+
+    public static void main(String[] args) throws IOException {
+        int entities = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int saves = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path directory = args.length > 2 ? Path.of(args[2]) : Files.createTempDirectory("sparkge-save");
+        Path file = directory.resolve("quicksave.sgs");
+
+        float[][] floats = new float[FLOAT_COLUMNS.length][entities];
+        int[] ids = new int[entities];
+        byte[] flags = new byte[entities];
+        SaveSchema schema = new SaveSchema(1);
+        for (int c = 0; c < FLOAT_COLUMNS.length; c++) {
+            schema.add(FLOAT_COLUMNS[c], floats[c]);
+        }
+        schema.add("id", ids).add("flags", flags);
+
+        long[] capture = new long[saves];
+        long[] write = new long[saves];
+        try (SaveWriter writer = new SaveWriter(schema)) {
+            for (int s = 0; s < saves; s++) {
+                fill(floats, ids, flags, s);
+                if (!writer.save(file)) {
+                    throw new IllegalStateException("Previous save still writing");
+                }
+                capture[s] = writer.getLastCaptureNanos();
+                // the game would carry on here; the arrays can change straight away
+                fill(floats, ids, flags, s + 1000);
+                writer.await();
+                write[s] = writer.getLastWriteNanos();
+            }
+            System.out.printf("%d entities, %.1f MB image, %d saves%n",
+                    entities, writer.getImageBytes() / 1048576.0, saves);
+        }
+
+        // the file holds the last save, taken before the arrays were changed
+        fill(floats, ids, flags, 0);
+        long start = System.nanoTime();
+        int version = SaveFile.load(file, schema);
+        long load = System.nanoTime() - start;
+
+        float[][] expectedFloats = new float[FLOAT_COLUMNS.length][entities];
+        int[] expectedIds = new int[entities];
+        byte[] expectedFlags = new byte[entities];
+        fill(expectedFloats, expectedIds, expectedFlags, saves - 1);
+        boolean match = Arrays.deepEquals(floats, expectedFloats) && Arrays.equals(ids, expectedIds)
+                && Arrays.equals(flags, expectedFlags);
+
+        Arrays.sort(capture);
+        Arrays.sort(write);
+        System.out.printf("  capture p50  %8.2f ms (game thread)%n", capture[saves / 2] / 1e6);
+        System.out.printf("  capture max  %8.2f ms%n", capture[saves - 1] / 1e6);
+        System.out.printf("  write p50    %8.2f ms (background, including fsync)%n", write[saves / 2] / 1e6);
+        System.out.printf("  load         %8.2f ms%n", load / 1e6);
+        System.out.printf("  version %d, columns %s%n", version, match ? "match" : "DIFFER");
+        Files.deleteIfExists(file);
+    }
+
+    private static void fill(float[][] floats, int[] ids, byte[] flags, int seed) {
+        for (int c = 0; c < floats.length; c++) {
+            for (int i = 0; i < floats[c].length; i++) {
+                floats[c][i] = i * 0.5f + c + seed;
+            }
+        }
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + seed;
+            flags[i] = (byte) (i + seed);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * @description reads and lays out the binary world save format
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Reject truncated saves with an IOException
+ */
+
+package com.sparkge.world;
+
+import com.sparkge.core.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Layout, little endian:
+ *  header: int magic 'SGSV', int format version, int schema version, int column count, then per column
+ *          byte type, int element count, long data offset, short name length, UTF-8 name
+ *  column data at each offset, aligned to DATA_ALIGNMENT
+ *
+ * Column data is the raw array contents, so saving and loading are bulk copies between the arrays and the
+ * file, with no per element encoding.
+ */
+public class SaveFile {
+
+    static final int MAGIC = 0x56534753;
+    static final int FORMAT_VERSION = 1;
+    static final int DATA_ALIGNMENT = 64;
+    // type, element count, data offset and name length, before the name itself
+    static final int COLUMN_HEADER_BYTES = 1 + Integer.BYTES + Long.BYTES + Short.BYTES;
+
+    private SaveFile() {
+    }
+
+    /**
+     * @description maps a save and copies every column it shares with the schema into the live arrays.
+     * Columns only in the file are ignored, columns only in the schema are left unchanged, and a column whose
+     * length changed is copied up to the shorter of the two.
+     * @param file save file
+     * @param schema columns to fill
+     * @return the schema version the file was saved with, for migrating older saves
+     * @throws IOException if the file cannot be read, is not a save, is truncated or corrupt, or was saved by a
+     *  newer schema
+     */
+    public static int load(Path file, SaveSchema schema) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 4 * Integer.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a save file");
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if (map.getInt() != MAGIC) {
+                throw new IOException(file + " is not a save file");
+            }
+            int format = map.getInt();
+            if (format != FORMAT_VERSION) {
+                throw new IOException(file + " has unsupported save format " + format);
+            }
+            int version = map.getInt();
+            if (version > schema.getVersion()) {
+                throw new IOException(file + " was saved by a newer schema, version " + version);
+            }
+            int columns = map.getInt();
+            byte[] name = new byte[Short.MAX_VALUE];
+            for (int c = 0; c < columns; c++) {
+                if (map.remaining() < COLUMN_HEADER_BYTES) {
+                    throw new IOException(file + " is a truncated save");
+                }
+                byte type = map.get();
+                int count = map.getInt();
+                long offset = map.getLong();
+                int nameLength = map.getShort() & 0xffff;
+                if (nameLength > name.length || count < 0 || offset < 0) {
+                    throw new IOException(file + " is corrupt at column " + c);
+                }
+                if (map.remaining() < nameLength || offset + (long) count * SaveSchema.elementBytes(type) > size) {
+                    throw new IOException(file + " is a truncated save");
+                }
+                map.get(name, 0, nameLength);
+                String columnName = new String(name, 0, nameLength, StandardCharsets.UTF_8);
+
+                int index = schema.indexOf(columnName);
+                if (index < 0) {
+                    continue;
+                }
+                if (schema.types.get(index) != type) {
+                    throw new IOException(file + " column " + columnName + " has a different type");
+                }
+                int length = schema.elementCount(index);
+                if (length != count) {
+                    Log.warn("save column {} changed length, copying what fits", columnName);
+                }
+                copyOut(map, (int) offset, type, schema.columns.get(index), Math.min(length, count));
+            }
+            return version;
+        }
+    }
+
+    /**
+     * @description computes where each column's data goes
+     * @param schema the columns
+     * @param offsets receives each column's data offset
+     * @return total file size
+     */
+    static long layout(SaveSchema schema, long[] offsets) {
+        long position = 4 * Integer.BYTES;
+        for (int c = 0; c < schema.getColumnCount(); c++) {
+            position += COLUMN_HEADER_BYTES + schema.names.get(c).getBytes(StandardCharsets.UTF_8).length;
+        }
+        for (int c = 0; c < schema.getColumnCount(); c++) {
+            position = (position + DATA_ALIGNMENT - 1) / DATA_ALIGNMENT * DATA_ALIGNMENT;
+            offsets[c] = position;
+            position += (long) schema.elementCount(c) * SaveSchema.elementBytes(schema.types.get(c));
+        }
+        return position;
+    }
+
+    /**
+     * @description writes the header at the start of a buffer laid out by layout()
+     */
+    static void writeHeader(SaveSchema schema, long[] offsets, ByteBuffer out) {
+        out.putInt(0, MAGIC);
+        out.putInt(4, FORMAT_VERSION);
+        out.putInt(8, schema.getVersion());
+        out.putInt(12, schema.getColumnCount());
+        int position = 16;
+        for (int c = 0; c < schema.getColumnCount(); c++) {
+            byte[] name = schema.names.get(c).getBytes(StandardCharsets.UTF_8);
+            if (name.length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Save column name too long: " + schema.names.get(c));
+            }
+            out.put(position, schema.types.get(c));
+            out.putInt(position + 1, schema.elementCount(c));
+            out.putLong(position + 5, offsets[c]);
+            out.putShort(position + 13, (short) name.length);
+            out.put(position + 15, name);
+            position += 15 + name.length;
+        }
+    }
+
+    private static void copyOut(ByteBuffer in, int offset, byte type, Object column, int count) {
+        ByteBuffer slice = in.slice(offset, count * SaveSchema.elementBytes(type)).order(ByteOrder.LITTLE_ENDIAN);
+        if (type == SaveSchema.TYPE_FLOAT) {
+            slice.asFloatBuffer().get((float[]) column, 0, count);
+        } else if (type == SaveSchema.TYPE_INT) {
+            slice.asIntBuffer().get((int[]) column, 0, count);
+        } else {
+            slice.get((byte[]) column, 0, count);
+        }
+    }
+}
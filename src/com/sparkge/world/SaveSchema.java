@@ -0,0 +1,105 @@
+/**
+ * @description the set of state columns that make up a saved world
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.world;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A column is a named live array, e.g. the position column of a body store; saving copies it out and loading
+ * copies into it, so the arrays must stay the same instances for as long as the schema is used. Single values
+ * such as counts go in arrays of length 1.
+ *
+ * The version is the game's own schema version, written into every save. Columns are matched by name on
+ * load, so adding a column only needs a version bump if older saves need migrating.
+ */
+public class SaveSchema {
+
+    static final byte TYPE_FLOAT = 1;
+    static final byte TYPE_INT = 2;
+    static final byte TYPE_BYTE = 3;
+
+    private final int version;
+    final List<String> names = new ArrayList<>();
+    final List<Object> columns = new ArrayList<>();
+    final List<Byte> types = new ArrayList<>();
+
+    /**
+     * @description constructor
+     * @param version game defined schema version
+     */
+    public SaveSchema(int version) {
+        this.version = version;
+    }
+
+    /**
+     * @description adds a float column
+     * @param name unique column name
+     * @param column live array
+     * @return this schema
+     */
+    public SaveSchema add(String name, float[] column) {
+        return this.add(name, column, TYPE_FLOAT);
+    }
+
+    /**
+     * @description adds an int column
+     * @param name unique column name
+     * @param column live array
+     * @return this schema
+     */
+    public SaveSchema add(String name, int[] column) {
+        return this.add(name, column, TYPE_INT);
+    }
+
+    /**
+     * @description adds a byte column
+     * @param name unique column name
+     * @param column live array
+     * @return this schema
+     */
+    public SaveSchema add(String name, byte[] column) {
+        return this.add(name, column, TYPE_BYTE);
+    }
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    public int getColumnCount() {
+        return this.names.size();
+    }
+
+    int indexOf(String name) {
+        return this.names.indexOf(name);
+    }
+
+    static int elementBytes(byte type) {
+        return type == TYPE_BYTE ? 1 : 4;
+    }
+
+    int elementCount(int column) {
+        Object array = this.columns.get(column);
+        if (array instanceof float[]) {
+            return ((float[]) array).length;
+        } else if (array instanceof int[]) {
+            return ((int[]) array).length;
+        }
+        return ((byte[]) array).length;
+    }
+
+    private SaveSchema add(String name, Object column, byte type) {
+        if (this.names.contains(name)) {
+            throw new IllegalArgumentException("Duplicate save column " + name);
+        }
+        this.names.add(name);
+        this.columns.add(column);
+        this.types.add(type);
+        return this;
+    }
+}
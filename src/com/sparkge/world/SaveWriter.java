@@ -0,0 +1,211 @@
+/**
+ * @description captures the world into an off-heap image and writes it to disk in the background
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Log the save failure with placeholder arguments
+ *  2026-10-19 | Thomas Wilkins | The save thread releases its event ring as it ends
+ */
+
+package com.sparkge.world;
+
+import com.sparkge.core.EventBus;
+import com.sparkge.core.Log;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.system.MemoryUtil.memSet;
+
+/**
+ * save() runs on the game thread but only copies each column into an off-heap image laid out exactly like
+ * the file, one bulk copy per column. The game can keep mutating its arrays as soon as save() returns. A
+ * background thread then writes the image to a temporary file, flushes it and renames it over the save, so a
+ * crash mid-write never leaves a torn save.
+ *
+ * The image is allocated once, with views for every column, so saving allocates nothing on the game thread.
+ * One save is in flight at a time; save() refuses rather than blocks while the previous one is writing.
+ */
+public class SaveWriter implements AutoCloseable {
+
+    private final SaveSchema schema;
+    private final ByteBuffer image;
+    private final Buffer[] views;
+    private final ExecutorService writer;
+
+    private Future<?> pending;
+    private volatile Path target;
+    private volatile long lastWriteNanos;
+    private long lastCaptureNanos;
+
+    /**
+     * @description constructor, allocates the image; the schema must not change afterwards
+     * @param schema the columns to save
+     */
+    public SaveWriter(SaveSchema schema) {
+        this.schema = schema;
+        long[] offsets = new long[schema.getColumnCount()];
+        long size = SaveFile.layout(schema, offsets);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Save image of " + size + " bytes is too large");
+        }
+        this.image = memAlloc((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        // touch every page now, so the first save doesn't take the page faults on the game thread
+        memSet(this.image, 0);
+        SaveFile.writeHeader(schema, offsets, this.image);
+
+        this.views = new Buffer[schema.getColumnCount()];
+        for (int c = 0; c < this.views.length; c++) {
+            byte type = schema.types.get(c);
+            int bytes = schema.elementCount(c) * SaveSchema.elementBytes(type);
+            ByteBuffer slice = this.image.slice((int) offsets[c], bytes).order(ByteOrder.LITTLE_ENDIAN);
+            if (type == SaveSchema.TYPE_FLOAT) {
+                this.views[c] = slice.asFloatBuffer();
+            } else if (type == SaveSchema.TYPE_INT) {
+                this.views[c] = slice.asIntBuffer();
+            } else {
+                this.views[c] = slice;
+            }
+        }
+
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    EventBus.releaseDefaultProducer();
+                }
+            }, "sparkge-save");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * @description captures every column and starts writing them in the background
+     * @param file save file, replaced once the write completes
+     * @return false if the previous save is still being written, nothing is captured then
+     */
+    public boolean save(Path file) {
+        if (this.isWriting()) {
+            return false;
+        }
+        long start = System.nanoTime();
+        for (int c = 0; c < this.views.length; c++) {
+            Object column = this.schema.columns.get(c);
+            Buffer view = this.views[c];
+            view.clear();
+            if (view instanceof FloatBuffer) {
+                ((FloatBuffer) view).put((float[]) column);
+            } else if (view instanceof IntBuffer) {
+                ((IntBuffer) view).put((int[]) column);
+            } else {
+                ((ByteBuffer) view).put((byte[]) column);
+            }
+        }
+        this.lastCaptureNanos = System.nanoTime() - start;
+        this.target = file;
+        this.pending = this.writer.submit(this::write);
+        return true;
+    }
+
+    /**
+     * @description checks whether a save is still being written
+     * @return true while writing
+     */
+    public boolean isWriting() {
+        return this.pending != null && !this.pending.isDone();
+    }
+
+    /**
+     * @description waits for the current save to reach the disk, e.g. before quitting
+     * @throws IOException if the save failed
+     */
+    public void await() throws IOException {
+        if (this.pending == null) {
+            return;
+        }
+        try {
+            this.pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Save failed", e.getCause());
+        }
+    }
+
+    /**
+     * @description getter for how long the last save() held the game thread
+     * @return capture time in nanoseconds
+     */
+    public long getLastCaptureNanos() {
+        return this.lastCaptureNanos;
+    }
+
+    /**
+     * @description getter for how long the last completed background write took
+     * @return write time in nanoseconds
+     */
+    public long getLastWriteNanos() {
+        return this.lastWriteNanos;
+    }
+
+    public int getImageBytes() {
+        return this.image.capacity();
+    }
+
+    /**
+     * @description waits for the current save and frees the image
+     */
+    @Override
+    public void close() {
+        try {
+            this.await();
+        } catch (IOException e) {
+            // already logged by the writer
+        }
+        this.writer.shutdown();
+        memFree(this.image);
+    }
+
+    private Void write() throws IOException {
+        long start = System.nanoTime();
+        Path file = this.target;
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer data = this.image.duplicate();
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.error("save to {} failed: {}", file, e);
+            throw e;
+        }
+        this.lastWriteNanos = System.nanoTime() - start;
+        return null;
+    }
+}
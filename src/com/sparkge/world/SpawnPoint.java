@@ -0,0 +1,51 @@
+/**
+ * @description an entity spawn placed along the rail
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ */
+
+package com.sparkge.world;
+
+public class SpawnPoint {
+
+    private final int type;
+    private final float distance;
+    private final float x, y, z;
+
+    /**
+     * @description constructor
+     * @param type game defined entity type
+     * @param distance rail distance at which the entity should be spawned
+     * @param x world position x
+     * @param y world position y
+     * @param z world position z
+     */
+    public SpawnPoint(int type, float distance, float x, float y, float z) {
+        this.type = type;
+        this.distance = distance;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public int getType() {
+        return this.type;
+    }
+
+    public float getDistance() {
+        return this.distance;
+    }
+
+    public float getX() {
+        return this.x;
+    }
+
+    public float getY() {
+        return this.y;
+    }
+
+    public float getZ() {
+        return this.z;
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * @description one streamed section of the level along the rail
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Track failed loads for retrying
+ */
+
+package com.sparkge.world;
+
+import com.sparkge.rendering.Mesh;
+import com.sparkge.rendering.Texture;
+
+public class WorldChunk {
+
+    static final int LOADING = 0;
+    static final int DECODED = 1;
+    static final int RESIDENT = 2;
+    static final int FAILED = 3;
+
+    private final int index;
+    private final float start;
+    private final float end;
+
+    // written by the streaming thread, read by the game thread
+    volatile int state = LOADING;
+    volatile ChunkData data;
+    // set by the game thread when the chunk leaves the window before it was uploaded
+    volatile boolean cancelled;
+    // failed loads so far and when the next may start, written by the streaming thread before state is FAILED
+    int failures;
+    long retryNanos;
+
+    private Mesh mesh;
+    private Texture texture;
+    private SpawnPoint[] spawns;
+
+    WorldChunk(int index, float chunkLength) {
+        this.index = index;
+        this.start = index * chunkLength;
+        this.end = this.start + chunkLength;
+    }
+
+    /**
+     * @description creates the GL resources from the decoded data and frees it; game thread only
+     */
+    void upload() {
+        ChunkData data = this.data;
+        this.mesh = new Mesh(data.getMesh());
+        if (data.getImage() != null) {
+            this.texture = new Texture(data.getImage());
+        }
+        this.spawns = data.getSpawns();
+        data.free();
+        this.data = null;
+        this.state = RESIDENT;
+    }
+
+    /**
+     * @description frees whatever the chunk holds; game thread only
+     */
+    void release() {
+        if (this.mesh != null) {
+            this.mesh.destroy();
+            this.mesh = null;
+        }
+        if (this.texture != null) {
+            this.texture.destroy();
+            this.texture = null;
+        }
+        ChunkData data = this.data;
+        if (data != null) {
+            data.free();
+            this.data = null;
+        }
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * @description getter for the rail distance at which the chunk begins
+     * @return start distance
+     */
+    public float getStart() {
+        return this.start;
+    }
+
+    /**
+     * @description getter for the rail distance at which the chunk ends
+     * @return end distance
+     */
+    public float getEnd() {
+        return this.end;
+    }
+
+    public boolean isResident() {
+        return this.state == RESIDENT;
+    }
+
+    public Mesh getMesh() {
+        return this.mesh;
+    }
+
+    /**
+     * @description getter for the chunk's texture
+     * @return texture, or null if the chunk has none
+     */
+    public Texture getTexture() {
+        return this.texture;
+    }
+
+    public SpawnPoint[] getSpawns() {
+        return this.spawns;
+    }
+
+    /**
+     * @description getter for the GPU memory held by the chunk
+     * @return size in bytes
+     */
+    public long getResidentBytes() {
+        long bytes = 0;
+        if (this.mesh != null) {
+            bytes += this.mesh.getSizeBytes();
+        }
+        if (this.texture != null) {
+            bytes += this.texture.getSizeBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,294 @@
+/**
+ * @description streams level chunks in ahead of the camera and out behind it
+ * @author Thomas Wilkins | twilkins@radialspark.com
+ * @history
+ *  2026-10-19 | Thomas Wilkins | Created
+ *  2026-10-19 | Thomas Wilkins | Retry failed chunks with backoff
+ *  2026-10-19 | Thomas Wilkins | Streaming threads release their event ring as they end
+ */
+
+package com.sparkge.world;
+
+import com.sparkge.core.EventBus;
+import com.sparkge.core.Log;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The level is cut into equal lengths of rail. Every frame update() is given the camera's rail distance; chunks
+ * from keepBehind before it to loadAhead after it are kept loaded and everything else is unloaded, so memory
+ * is bounded by the window size no matter how long the level is.
+ *
+ * Reading and decoding (file IO, image decompression) happen on low priority streaming threads. The game
+ * thread only creates the GL objects, and spreads that over frames with an upload budget, so a chunk boundary
+ * never costs a frame. As long as loadAhead covers the decode time at the rail speed, chunks are resident well
+ * before the camera reaches them; getStallFrames() counts the frames where that was not the case.
+ *
+ * A chunk that fails to load is retried while it stays in the window, first after RETRY_BASE_NANOS and then
+ * doubling up to RETRY_MAX_NANOS, so a file that is briefly locked or still being written recovers without
+ * hammering the disk when it is really broken. A failed chunk isn't counted as a stall.
+ */
+public class WorldStreamer {
+
+    public static final long RETRY_BASE_NANOS = 250_000_000L;
+    public static final long RETRY_MAX_NANOS = 8_000_000_000L;
+
+    private static final long DEFAULT_UPLOAD_BUDGET_BYTES = 4L * 1024 * 1024;
+
+    private final ChunkSource source;
+    private final float chunkLength;
+    private final float loadAhead;
+    private final float keepBehind;
+    private final int loaderThreads;
+
+    // chunk i lives in slot i % slots.length, the window never holds two chunks with the same slot
+    private final WorldChunk[] slots;
+    private final ConcurrentLinkedQueue<WorldChunk> decoded = new ConcurrentLinkedQueue<>();
+    private ExecutorService loaders;
+    private ChunkListener listener;
+
+    private long uploadBudgetBytes = DEFAULT_UPLOAD_BUDGET_BYTES;
+    private int residentCount;
+    private long stallFrames;
+
+    /**
+     * @description constructor
+     * @param source where chunks are loaded from
+     * @param chunkLength rail distance covered by each chunk
+     * @param loadAhead rail distance ahead of the camera to keep loaded
+     * @param keepBehind rail distance behind the camera to keep loaded before unloading
+     * @param loaderThreads number of streaming threads
+     */
+    public WorldStreamer(ChunkSource source, float chunkLength, float loadAhead, float keepBehind, int loaderThreads) {
+        if (chunkLength <= 0 || loadAhead < 0 || keepBehind < 0 || loaderThreads <= 0) {
+            throw new IllegalArgumentException("Invalid streaming window");
+        }
+        this.source = source;
+        this.chunkLength = chunkLength;
+        this.loadAhead = loadAhead;
+        this.keepBehind = keepBehind;
+        this.loaderThreads = loaderThreads;
+        this.slots = new WorldChunk[(int) Math.ceil((loadAhead + keepBehind) / chunkLength) + 2];
+    }
+
+    /**
+     * @description constructor with two streaming threads
+     */
+    public WorldStreamer(ChunkSource source, float chunkLength, float loadAhead, float keepBehind) {
+        this(source, chunkLength, loadAhead, keepBehind, 2);
+    }
+
+    /**
+     * @description starts the streaming threads
+     */
+    public void init() {
+        this.loaders = Executors.newFixedThreadPool(this.loaderThreads, task -> {
+            Thread thread = new Thread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    EventBus.releaseDefaultProducer();
+                }
+            }, "sparkge-streaming");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * @description moves the streaming window and uploads decoded chunks; call once per frame on the game thread
+     * @param distance the camera's distance along the rail
+     */
+    public void update(float distance) {
+        int chunkCount = this.source.getChunkCount();
+        int first = Math.max(0, (int) Math.floor((distance - this.keepBehind) / this.chunkLength));
+        int last = Math.min(chunkCount - 1, (int) Math.floor((distance + this.loadAhead) / this.chunkLength));
+
+        for (int i = 0; i < this.slots.length; i++) {
+            WorldChunk chunk = this.slots[i];
+            if (chunk != null && (chunk.getIndex() < first || chunk.getIndex() > last)) {
+                this.unload(chunk);
+                this.slots[i] = null;
+            }
+        }
+        // request nearest first so the chunk the camera reaches next is decoded first
+        long now = System.nanoTime();
+        for (int index = first; index <= last; index++) {
+            int slot = index % this.slots.length;
+            WorldChunk chunk = this.slots[slot];
+            if (chunk == null) {
+                WorldChunk created = new WorldChunk(index, this.chunkLength);
+                this.slots[slot] = created;
+                this.loaders.execute(() -> this.decode(created));
+            } else if (chunk.state == WorldChunk.FAILED && now - chunk.retryNanos >= 0) {
+                chunk.state = WorldChunk.LOADING;
+                this.loaders.execute(() -> this.decode(chunk));
+            }
+        }
+
+        this.uploadDecoded();
+
+        int current = (int) Math.floor(distance / this.chunkLength);
+        if (current >= 0 && current < chunkCount) {
+            WorldChunk chunk = this.slots[current % this.slots.length];
+            if (chunk == null || chunk.state != WorldChunk.RESIDENT && chunk.state != WorldChunk.FAILED) {
+                this.stallFrames++;
+            }
+        }
+    }
+
+    /**
+     * @description sets the listener told about chunks loading and unloading
+     * @param listener the listener, or null
+     */
+    public void setListener(ChunkListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @description sets how many bytes of GL data may be created per frame; at least one chunk is always uploaded
+     * @param uploadBudgetBytes budget in bytes
+     */
+    public void setUploadBudgetBytes(long uploadBudgetBytes) {
+        this.uploadBudgetBytes = uploadBudgetBytes;
+    }
+
+    /**
+     * @description getter for the number of chunk slots, see getChunk()
+     * @return slot count
+     */
+    public int getSlotCount() {
+        return this.slots.length;
+    }
+
+    /**
+     * @description getter for the chunk in a slot, for iterating the loaded chunks
+     * @param slot slot index
+     * @return the chunk, or null if the slot has no resident chunk
+     */
+    public WorldChunk getChunk(int slot) {
+        WorldChunk chunk = this.slots[slot];
+        return chunk != null && chunk.state == WorldChunk.RESIDENT ? chunk : null;
+    }
+
+    public int getResidentCount() {
+        return this.residentCount;
+    }
+
+    /**
+     * @description getter for the GPU memory held by resident chunks
+     * @return size in bytes
+     */
+    public long getResidentBytes() {
+        long bytes = 0;
+        for (WorldChunk chunk : this.slots) {
+            if (chunk != null) {
+                bytes += chunk.getResidentBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @description getter for the number of frames the camera was in a chunk that had not finished loading
+     * @return stalled frame count
+     */
+    public long getStallFrames() {
+        return this.stallFrames;
+    }
+
+    public float getChunkLength() {
+        return this.chunkLength;
+    }
+
+    /**
+     * @description stops the streaming threads and frees every chunk
+     */
+    public void destroy() {
+        if (this.loaders != null) {
+            this.loaders.shutdownNow();
+            try {
+                this.loaders.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.loaders = null;
+        }
+        for (int i = 0; i < this.slots.length; i++) {
+            if (this.slots[i] != null) {
+                this.unload(this.slots[i]);
+                this.slots[i] = null;
+            }
+        }
+        WorldChunk chunk;
+        while ((chunk = this.decoded.poll()) != null) {
+            chunk.release();
+        }
+    }
+
+    /**
+     * @description uploads decoded chunks in request order until the frame's budget is spent
+     */
+    private void uploadDecoded() {
+        long budget = this.uploadBudgetBytes;
+        boolean uploaded = false;
+        WorldChunk chunk;
+        while ((chunk = this.decoded.peek()) != null) {
+            if (chunk.cancelled) {
+                this.decoded.poll();
+                chunk.release();
+                continue;
+            }
+            long bytes = chunk.data.getUploadBytes();
+            if (uploaded && bytes > budget) {
+                break;
+            }
+            this.decoded.poll();
+            chunk.upload();
+            this.residentCount++;
+            budget -= bytes;
+            uploaded = true;
+            if (this.listener != null) {
+                this.listener.chunkLoaded(chunk);
+            }
+        }
+    }
+
+    private void unload(WorldChunk chunk) {
+        if (chunk.state == WorldChunk.RESIDENT) {
+            if (this.listener != null) {
+                this.listener.chunkUnloaded(chunk);
+            }
+            chunk.release();
+            this.residentCount--;
+        } else {
+            // still loading or waiting for upload, whoever holds it frees it
+            chunk.cancelled = true;
+        }
+    }
+
+    /**
+     * @description runs on a streaming thread
+     */
+    private void decode(WorldChunk chunk) {
+        if (chunk.cancelled) {
+            return;
+        }
+        try {
+            chunk.data = this.source.load(chunk.getIndex());
+            chunk.state = WorldChunk.DECODED;
+            this.decoded.add(chunk);
+        } catch (IOException | RuntimeException e) {
+            long backoff = RETRY_BASE_NANOS << Math.min(chunk.failures, 5);
+            chunk.failures++;
+            chunk.retryNanos = System.nanoTime() + Math.min(backoff, RETRY_MAX_NANOS);
+            chunk.state = WorldChunk.FAILED;
+            Log.error("failed to load chunk {}: {}", chunk.getIndex(), e);
+        }
+    }
+}